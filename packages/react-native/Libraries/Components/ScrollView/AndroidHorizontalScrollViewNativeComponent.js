@@ -19,11 +19,16 @@ import * as NativeComponentRegistry from '../../NativeComponent/NativeComponentR
 export const __INTERNAL_VIEW_CONFIG: PartialViewConfig = {
   uiViewClassName: 'AndroidHorizontalScrollView',
   bubblingEventTypes: {},
-  directEventTypes: {},
+  directEventTypes: {
+    topNativeViewableItemsChanged: {
+      registrationName: 'onNativeViewableItemsChanged',
+    },
+  },
   validAttributes: {
     decelerationRate: true,
     disableIntervalMomentum: true,
     maintainVisibleContentPosition: true,
+    nativeViewabilityConfig: true,
     endFillColor: {process: require('../../StyleSheet/processColor').default},
     fadingEdgeLength: true,
     nestedScrollEnabled: true,
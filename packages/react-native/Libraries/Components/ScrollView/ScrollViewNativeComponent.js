@@ -30,6 +30,9 @@ export const __INTERNAL_VIEW_CONFIG: PartialViewConfig =
           topMomentumScrollEnd: {
             registrationName: 'onMomentumScrollEnd',
           },
+          topNativeViewableItemsChanged: {
+            registrationName: 'onNativeViewableItemsChanged',
+          },
           topScroll: {
             registrationName: 'onScroll',
           },
@@ -48,6 +51,7 @@ export const __INTERNAL_VIEW_CONFIG: PartialViewConfig =
           enableSyncOnScroll: true, // Fabric only.
           disableIntervalMomentum: true,
           maintainVisibleContentPosition: true,
+          nativeViewabilityConfig: true,
           pagingEnabled: true,
           scrollEnabled: true,
           showsVerticalScrollIndicator: true,
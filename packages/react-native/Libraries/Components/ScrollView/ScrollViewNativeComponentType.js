@@ -13,7 +13,7 @@
 import type {EdgeInsetsProp} from '../../StyleSheet/EdgeInsetsPropType';
 import type {PointProp} from '../../StyleSheet/PointPropType';
 import type {ColorValue} from '../../StyleSheet/StyleSheet';
-import type {ScrollEvent} from '../../Types/CoreEventTypes';
+import type {ScrollEvent, SyntheticEvent} from '../../Types/CoreEventTypes';
 import type {ViewProps} from '../View/ViewPropTypes';
 
 export type ScrollViewNativeProps = $ReadOnly<{
@@ -49,9 +49,24 @@ export type ScrollViewNativeProps = $ReadOnly<{
   }>,
   maximumZoomScale?: ?number,
   minimumZoomScale?: ?number,
+  // Android only
+  nativeViewabilityConfig?: ?$ReadOnly<{
+    itemVisiblePercentThreshold?: ?number,
+    minimumViewTime?: ?number,
+  }>,
   nestedScrollEnabled?: ?boolean,
   onMomentumScrollBegin?: ?(event: ScrollEvent) => void,
   onMomentumScrollEnd?: ?(event: ScrollEvent) => void,
+  onNativeViewableItemsChanged?: ?(
+    event: SyntheticEvent<
+      $ReadOnly<{
+        changed: $ReadOnlyArray<
+          $ReadOnly<{tag: number, index: number, isViewable: boolean}>,
+        >,
+        target: number,
+      }>,
+    >,
+  ) => void,
   onScroll?: ?(event: ScrollEvent) => void,
   onScrollBeginDrag?: ?(event: ScrollEvent) => void,
   onScrollEndDrag?: ?(event: ScrollEvent) => void,
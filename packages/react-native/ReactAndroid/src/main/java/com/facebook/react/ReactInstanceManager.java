@@ -38,6 +38,7 @@ import android.content.Intent;
 import android.content.res.Configuration;
 import android.net.Uri;
 import android.nfc.NfcAdapter;
+import android.os.AsyncTask;
 import android.os.Bundle;
 import android.os.Process;
 import android.view.View;
@@ -61,6 +62,7 @@ import com.facebook.react.bridge.JavaScriptExecutor;
 import com.facebook.react.bridge.JavaScriptExecutorFactory;
 import com.facebook.react.bridge.NativeModuleRegistry;
 import com.facebook.react.bridge.NotThreadSafeBridgeIdleDebugListener;
+import com.facebook.react.bridge.PlatformColorCache;
 import com.facebook.react.bridge.ProxyJavaScriptExecutor;
 import com.facebook.react.bridge.ReactApplicationContext;
 import com.facebook.react.bridge.ReactContext;
@@ -108,6 +110,7 @@ import com.facebook.react.uimanager.ReactRoot;
 import com.facebook.react.uimanager.ReactStage;
 import com.facebook.react.uimanager.UIManagerHelper;
 import com.facebook.react.uimanager.ViewManager;
+import com.facebook.react.uimanager.ViewRecyclingPool;
 import com.facebook.react.uimanager.common.UIManagerType;
 import com.facebook.react.views.imagehelper.ResourceDrawableIdHelper;
 import com.facebook.soloader.SoLoader;
@@ -122,6 +125,10 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
 
 /**
  * This class is managing instances of {@link CatalystInstance}. It exposes a way to configure
@@ -198,6 +205,8 @@ public class ReactInstanceManager {
   private List<ViewManager> mViewManagers;
   private boolean mUseFallbackBundle = true;
   private volatile boolean mInstanceManagerInvalidated = false;
+  private final boolean mLazyViewManagersEnabled;
+  private volatile @Nullable ReactStartupTimeline mStartupTimeline;
 
   private class ReactContextInitParams {
     private final JavaScriptExecutorFactory mJsExecutorFactory;
@@ -266,6 +275,7 @@ public class ReactInstanceManager {
     mUseDeveloperSupport = useDeveloperSupport;
     mRequireActivity = requireActivity;
     mKeepActivity = keepActivity;
+    mLazyViewManagersEnabled = lazyViewManagersEnabled;
     Systrace.beginSection(
         Systrace.TRACE_TAG_REACT_JAVA_BRIDGE, "ReactInstanceManager.initDevSupportManager");
     mDevSupportManager =
@@ -285,6 +295,9 @@ public class ReactInstanceManager {
     mBridgeIdleDebugListener = bridgeIdleDebugListener;
     mLifecycleState = initialLifecycleState;
     mMemoryPressureRouter = new MemoryPressureRouter(applicationContext);
+    if (ReactFeatureFlags.enableViewRecycling) {
+      mMemoryPressureRouter.addMemoryPressureListener(ViewRecyclingPool.getInstance());
+    }
     mJSExceptionHandler = jSExceptionHandler;
     mTMMDelegateBuilder = tmmDelegateBuilder;
     synchronized (mPackages) {
@@ -877,6 +890,8 @@ public class ReactInstanceManager {
   public void onConfigurationChanged(Context updatedContext, @Nullable Configuration newConfig) {
     UiThreadUtil.assertOnUiThread();
 
+    PlatformColorCache.onConfigurationChanged();
+
     ReactContext currentReactContext = getCurrentReactContext();
     if (currentReactContext != null) {
       AppearanceModule appearanceModule =
@@ -982,6 +997,34 @@ public class ReactInstanceManager {
     }
   }
 
+  /**
+   * Same as {@link #getOrCreateViewManagers}, but creates the view managers of the given snapshot
+   * of {@link #mPackages} without holding its lock.
+   */
+  private void createViewManagers(
+      ReactApplicationContext catalystApplicationContext, List<ReactPackage> packages) {
+    ReactMarker.logMarker(CREATE_VIEW_MANAGERS_START);
+    Systrace.beginSection(TRACE_TAG_REACT_JAVA_BRIDGE, "createAllViewManagers");
+    try {
+      ArrayList<ViewManager> viewManagers = new ArrayList<>();
+      for (ReactPackage reactPackage : packages) {
+        // Packages don't have to be thread-safe, and with overlapped startup their native modules
+        // are processed concurrently on another thread
+        synchronized (reactPackage) {
+          viewManagers.addAll(reactPackage.createViewManagers(catalystApplicationContext));
+        }
+      }
+      synchronized (mPackages) {
+        if (mViewManagers == null) {
+          mViewManagers = viewManagers;
+        }
+      }
+    } finally {
+      Systrace.endSection(TRACE_TAG_REACT_JAVA_BRIDGE);
+      ReactMarker.logMarker(CREATE_VIEW_MANAGERS_END);
+    }
+  }
+
   public @Nullable ViewManager createViewManager(String viewManagerName) {
     ReactApplicationContext context;
     synchronized (mReactContextLock) {
@@ -1054,6 +1097,14 @@ public class ReactInstanceManager {
     }
   }
 
+  /**
+   * @return per-stage timings of the most recent React context creation, or null if it hasn't
+   *     started yet
+   */
+  public @Nullable ReactStartupTimeline getStartupTimeline() {
+    return mStartupTimeline;
+  }
+
   /** Add a listener to be notified of react instance events. */
   public void addReactInstanceEventListener(
       com.facebook.react.ReactInstanceEventListener listener) {
@@ -1178,8 +1229,9 @@ public class ReactInstanceManager {
                 Process.setThreadPriority(Process.THREAD_PRIORITY_DISPLAY);
                 ReactMarker.logMarker(VM_INIT);
                 reactApplicationContext =
-                    createReactContext(
-                        initParams.getJsExecutorFactory().create(), initParams.getJsBundleLoader());
+                    ReactFeatureFlags.enableOverlappedStartup
+                        ? createReactContextOverlapped(initParams)
+                        : createReactContext(initParams);
               } catch (Exception e) {
                 // Reset state and bail out. This lets us try again later.
                 mHasStartedCreatingInitialContext = false;
@@ -1378,6 +1430,10 @@ public class ReactInstanceManager {
   private void tearDownReactContext(ReactContext reactContext) {
     FLog.d(ReactConstants.TAG, "ReactInstanceManager.tearDownReactContext()");
     UiThreadUtil.assertOnUiThread();
+    ReactStartupTimeline startupTimeline = mStartupTimeline;
+    if (startupTimeline != null) {
+      startupTimeline.stopTracking();
+    }
     if (mLifecycleState == LifecycleState.RESUMED) {
       reactContext.onHostPause();
     }
@@ -1399,22 +1455,163 @@ public class ReactInstanceManager {
   /**
    * @return instance of {@link ReactContext} configured a {@link CatalystInstance} set
    */
-  private ReactApplicationContext createReactContext(
-      JavaScriptExecutor jsExecutor, JSBundleLoader jsBundleLoader) {
+  private ReactApplicationContext createReactContext(ReactContextInitParams initParams)
+      throws Exception {
+    ReactStartupTimeline timeline = startTimeline(false);
+    timeline.beginStage(ReactStartupTimeline.STAGE_CREATE_JS_EXECUTOR);
+    JavaScriptExecutor jsExecutor;
+    try {
+      jsExecutor = initParams.getJsExecutorFactory().create();
+    } finally {
+      timeline.endStage(ReactStartupTimeline.STAGE_CREATE_JS_EXECUTOR);
+    }
+
     FLog.d(ReactConstants.TAG, "ReactInstanceManager.createReactContext()");
     Assertions.assertCondition(
         !mInstanceManagerInvalidated,
         "Cannot create a new React context on an invalidated ReactInstanceManager");
     ReactMarker.logMarker(CREATE_REACT_CONTEXT_START, jsExecutor.getName());
 
-    final BridgeReactContext reactContext = new BridgeReactContext(mApplicationContext);
+    final BridgeReactContext reactContext = createBridgeReactContext();
 
-    JSExceptionHandler exceptionHandler =
-        mJSExceptionHandler != null ? mJSExceptionHandler : mDevSupportManager;
-    reactContext.setJSExceptionHandler(exceptionHandler);
+    timeline.beginStage(ReactStartupTimeline.STAGE_PROCESS_PACKAGES);
+    NativeModuleRegistry nativeModuleRegistry;
+    try {
+      nativeModuleRegistry = processPackages(reactContext, mPackages);
+    } finally {
+      timeline.endStage(ReactStartupTimeline.STAGE_PROCESS_PACKAGES);
+    }
 
-    NativeModuleRegistry nativeModuleRegistry = processPackages(reactContext, mPackages);
+    return initializeReactContext(
+        reactContext, nativeModuleRegistry, jsExecutor, initParams.getJsBundleLoader(), timeline);
+  }
 
+  /**
+   * Same as {@link #createReactContext(ReactContextInitParams)}, but runs the independent stages
+   * concurrently: the bundle is prefetched, the JS executor and the view managers are created on
+   * {@link AsyncTask#THREAD_POOL_EXECUTOR} while packages are processed on this thread. The
+   * catalyst instance is only created once both the executor and the module registry are ready.
+   */
+  private ReactApplicationContext createReactContextOverlapped(
+      final ReactContextInitParams initParams) throws Exception {
+    FLog.d(ReactConstants.TAG, "ReactInstanceManager.createReactContextOverlapped()");
+    Assertions.assertCondition(
+        !mInstanceManagerInvalidated,
+        "Cannot create a new React context on an invalidated ReactInstanceManager");
+    // The executor's name isn't known yet, it is created concurrently below
+    ReactMarker.logMarker(CREATE_REACT_CONTEXT_START);
+
+    final ReactStartupTimeline timeline = startTimeline(true);
+    final JSBundleLoader jsBundleLoader = initParams.getJsBundleLoader();
+    final BridgeReactContext reactContext = createBridgeReactContext();
+    // View managers are created from a snapshot, so that they don't wait on the packages lock held
+    // while processing packages
+    final List<ReactPackage> packages;
+    synchronized (mPackages) {
+      packages = new ArrayList<>(mPackages);
+    }
+
+    Executor executor = AsyncTask.THREAD_POOL_EXECUTOR;
+    // Prefetching is best effort, it's fine for it to still be running when the bundle loads
+    executor.execute(
+        () -> {
+          timeline.beginStage(ReactStartupTimeline.STAGE_BUNDLE_PREFETCH);
+          try {
+            timeline.setPrefetchedBundleBytes(jsBundleLoader.prefetch());
+          } catch (RuntimeException e) {
+            // Nothing depends on the prefetch, the bundle just gets read from disk at load time
+            FLog.w(TAG, "Unable to prefetch JS bundle", e);
+          } finally {
+            timeline.endStage(ReactStartupTimeline.STAGE_BUNDLE_PREFETCH);
+          }
+        });
+    FutureTask<JavaScriptExecutor> jsExecutorFuture =
+        new FutureTask<>(
+            () -> {
+              timeline.beginStage(ReactStartupTimeline.STAGE_CREATE_JS_EXECUTOR);
+              try {
+                return initParams.getJsExecutorFactory().create();
+              } finally {
+                timeline.endStage(ReactStartupTimeline.STAGE_CREATE_JS_EXECUTOR);
+              }
+            });
+    executor.execute(jsExecutorFuture);
+    // With lazy view managers only the ones that are used get created, on demand
+    @Nullable FutureTask<Void> viewManagersFuture = null;
+    if (!mLazyViewManagersEnabled) {
+      viewManagersFuture =
+          new FutureTask<>(
+              () -> {
+                timeline.beginStage(ReactStartupTimeline.STAGE_CREATE_VIEW_MANAGERS);
+                try {
+                  createViewManagers(reactContext, packages);
+                } finally {
+                  timeline.endStage(ReactStartupTimeline.STAGE_CREATE_VIEW_MANAGERS);
+                }
+                return null;
+              });
+      executor.execute(viewManagersFuture);
+    }
+
+    timeline.beginStage(ReactStartupTimeline.STAGE_PROCESS_PACKAGES);
+    NativeModuleRegistry nativeModuleRegistry;
+    try {
+      nativeModuleRegistry = processPackages(reactContext, packages);
+    } finally {
+      timeline.endStage(ReactStartupTimeline.STAGE_PROCESS_PACKAGES);
+    }
+
+    // Join: the catalyst instance needs the executor, the UIManager needs the view managers
+    JavaScriptExecutor jsExecutor = joinStartupStage(jsExecutorFuture);
+    if (viewManagersFuture != null) {
+      joinStartupStage(viewManagersFuture);
+    }
+
+    return initializeReactContext(
+        reactContext, nativeModuleRegistry, jsExecutor, jsBundleLoader, timeline);
+  }
+
+  private static <T> T joinStartupStage(Future<T> future) throws Exception {
+    try {
+      return future.get();
+    } catch (ExecutionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof Exception) {
+        throw (Exception) cause;
+      } else if (cause instanceof Error) {
+        throw (Error) cause;
+      }
+      throw e;
+    }
+  }
+
+  private ReactStartupTimeline startTimeline(boolean overlapped) {
+    ReactStartupTimeline previousTimeline = mStartupTimeline;
+    if (previousTimeline != null) {
+      previousTimeline.stopTracking();
+    }
+    ReactStartupTimeline timeline = new ReactStartupTimeline(overlapped);
+    mStartupTimeline = timeline;
+    return timeline;
+  }
+
+  private BridgeReactContext createBridgeReactContext() {
+    final BridgeReactContext reactContext = new BridgeReactContext(mApplicationContext);
+    reactContext.setJSExceptionHandler(getJSExceptionHandler());
+    return reactContext;
+  }
+
+  private JSExceptionHandler getJSExceptionHandler() {
+    return mJSExceptionHandler != null ? mJSExceptionHandler : mDevSupportManager;
+  }
+
+  private ReactApplicationContext initializeReactContext(
+      BridgeReactContext reactContext,
+      NativeModuleRegistry nativeModuleRegistry,
+      JavaScriptExecutor jsExecutor,
+      JSBundleLoader jsBundleLoader,
+      ReactStartupTimeline timeline) {
+    JSExceptionHandler exceptionHandler = getJSExceptionHandler();
     CatalystInstanceImpl.Builder catalystInstanceBuilder =
         new CatalystInstanceImpl.Builder()
             .setReactQueueConfigurationSpec(ReactQueueConfigurationSpec.createDefault())
@@ -1427,10 +1624,12 @@ public class ReactInstanceManager {
     ReactMarker.logMarker(CREATE_CATALYST_INSTANCE_START);
     // CREATE_CATALYST_INSTANCE_END is in JSCExecutor.cpp
     Systrace.beginSection(TRACE_TAG_REACT_JAVA_BRIDGE, "createCatalystInstance");
+    timeline.beginStage(ReactStartupTimeline.STAGE_CREATE_CATALYST_INSTANCE);
     final CatalystInstance catalystInstance;
     try {
       catalystInstance = catalystInstanceBuilder.build();
     } finally {
+      timeline.endStage(ReactStartupTimeline.STAGE_CREATE_CATALYST_INSTANCE);
       Systrace.endSection(TRACE_TAG_REACT_JAVA_BRIDGE);
       ReactMarker.logMarker(CREATE_CATALYST_INSTANCE_END);
     }
@@ -1485,6 +1684,8 @@ public class ReactInstanceManager {
 
     ReactMarker.logMarker(ReactMarkerConstants.PRE_RUN_JS_BUNDLE_START);
     Systrace.beginSection(TRACE_TAG_REACT_JAVA_BRIDGE, "runJSBundle");
+    // Ends once the bundle has run on the JS thread, not when it has been queued here
+    timeline.beginRunJSBundle();
     catalystInstance.runJSBundle();
     Systrace.endSection(TRACE_TAG_REACT_JAVA_BRIDGE);
 
@@ -1501,8 +1702,11 @@ public class ReactInstanceManager {
     synchronized (mPackages) {
       for (ReactPackage reactPackage : packages) {
         Systrace.beginSection(TRACE_TAG_REACT_JAVA_BRIDGE, "createAndProcessCustomReactPackage");
+        // Guards against createViewManagers running for the same package on another thread
         try {
-          processPackage(reactPackage, nativeModuleRegistryBuilder);
+          synchronized (reactPackage) {
+            processPackage(reactPackage, nativeModuleRegistryBuilder);
+          }
         } finally {
           Systrace.endSection(TRACE_TAG_REACT_JAVA_BRIDGE);
         }
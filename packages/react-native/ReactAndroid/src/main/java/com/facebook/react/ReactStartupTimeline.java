@@ -0,0 +1,216 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package com.facebook.react;
+
+import android.os.SystemClock;
+import androidx.annotation.Nullable;
+import com.facebook.common.logging.FLog;
+import com.facebook.infer.annotation.Nullsafe;
+import com.facebook.react.bridge.ReactMarker;
+import com.facebook.react.bridge.ReactMarkerConstants;
+import com.facebook.react.common.ReactConstants;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Per-stage timings of a single React context creation in {@link ReactInstanceManager}.
+ *
+ * <p>Stages may overlap when {@link
+ * com.facebook.react.config.ReactFeatureFlags#enableOverlappedStartup} is set, so the sum of the
+ * stage durations can be larger than {@link #getTotalDurationMs()}. All times are {@link
+ * SystemClock#uptimeMillis()}, so they can be compared against app-side markers.
+ *
+ * <p>The JS bundle runs asynchronously on the JS thread, so {@link #STAGE_RUN_JS_BUNDLE} ends with
+ * the {@link ReactMarkerConstants#RUN_JS_BUNDLE_END} marker, and the whole timeline with the first
+ * {@link ReactMarkerConstants#CONTENT_APPEARED} marker.
+ */
+@Nullsafe(Nullsafe.Mode.LOCAL)
+public final class ReactStartupTimeline {
+
+  public static final String STAGE_BUNDLE_PREFETCH = "bundle_prefetch";
+  public static final String STAGE_CREATE_JS_EXECUTOR = "create_js_executor";
+  public static final String STAGE_PROCESS_PACKAGES = "process_packages";
+  public static final String STAGE_CREATE_VIEW_MANAGERS = "create_view_managers";
+  public static final String STAGE_CREATE_CATALYST_INSTANCE = "create_catalyst_instance";
+  public static final String STAGE_RUN_JS_BUNDLE = "run_js_bundle";
+
+  /** A single stage of the startup, and the thread it ran on. */
+  public static final class Stage {
+    private final String mName;
+    private final String mThreadName;
+    private final long mStartTimeMs;
+    private volatile long mEndTimeMs = -1;
+
+    private Stage(String name, String threadName, long startTimeMs) {
+      mName = name;
+      mThreadName = threadName;
+      mStartTimeMs = startTimeMs;
+    }
+
+    public String getName() {
+      return mName;
+    }
+
+    public String getThreadName() {
+      return mThreadName;
+    }
+
+    public long getStartTimeMs() {
+      return mStartTimeMs;
+    }
+
+    /** @return end of the stage, or -1 if it hasn't finished (yet) */
+    public long getEndTimeMs() {
+      return mEndTimeMs;
+    }
+
+    /** @return duration of the stage, or -1 if it hasn't finished (yet) */
+    public long getDurationMs() {
+      return mEndTimeMs < 0 ? -1 : mEndTimeMs - mStartTimeMs;
+    }
+
+    @Override
+    public String toString() {
+      return mName + "[" + mThreadName + "]=" + getDurationMs() + "ms";
+    }
+  }
+
+  private final long mStartTimeMs = SystemClock.uptimeMillis();
+  private final boolean mOverlapped;
+  private final Map<String, Stage> mStages = new LinkedHashMap<>();
+  private long mEndTimeMs = -1;
+  private long mPrefetchedBundleBytes;
+  private final ReactMarker.MarkerListener mMarkerListener =
+      (name, tag, instanceKey) -> {
+        if (name == ReactMarkerConstants.RUN_JS_BUNDLE_END) {
+          endStage(STAGE_RUN_JS_BUNDLE);
+        } else if (name == ReactMarkerConstants.CONTENT_APPEARED) {
+          finish();
+        }
+      };
+
+  /* package */ ReactStartupTimeline(boolean overlapped) {
+    mOverlapped = overlapped;
+  }
+
+  /* package */ synchronized void beginStage(String name) {
+    mStages.put(
+        name, new Stage(name, Thread.currentThread().getName(), SystemClock.uptimeMillis()));
+  }
+
+  /* package */ synchronized void endStage(String name) {
+    Stage stage = mStages.get(name);
+    if (stage != null) {
+      stage.mEndTimeMs = SystemClock.uptimeMillis();
+    }
+  }
+
+  /* package */ synchronized void setPrefetchedBundleBytes(long bytes) {
+    mPrefetchedBundleBytes = bytes;
+  }
+
+  /**
+   * Begins {@link #STAGE_RUN_JS_BUNDLE}, which then ends once the bundle has run on the JS thread.
+   * The timeline finishes once content appears.
+   */
+  /* package */ void beginRunJSBundle() {
+    beginStage(STAGE_RUN_JS_BUNDLE);
+    ReactMarker.addListener(mMarkerListener);
+  }
+
+  /** Stops waiting for the markers, e.g. when the context is torn down before content appeared. */
+  /* package */ void stopTracking() {
+    ReactMarker.removeListener(mMarkerListener);
+  }
+
+  /* package */ void finish() {
+    stopTracking();
+    synchronized (this) {
+      if (mEndTimeMs >= 0) {
+        return;
+      }
+      mEndTimeMs = SystemClock.uptimeMillis();
+    }
+    FLog.d(ReactConstants.TAG, "ReactInstanceManager startup: " + this);
+  }
+
+  /** @return whether the stages were run concurrently */
+  public boolean isOverlapped() {
+    return mOverlapped;
+  }
+
+  public long getStartTimeMs() {
+    return mStartTimeMs;
+  }
+
+  /**
+   * @return time from the start of context creation until content first appeared, or -1 if that
+   *     hasn't happened (yet)
+   */
+  public synchronized long getTotalDurationMs() {
+    return mEndTimeMs < 0 ? -1 : mEndTimeMs - mStartTimeMs;
+  }
+
+  /** @return number of bytes of the JS bundle that were read ahead of the engine */
+  public synchronized long getPrefetchedBundleBytes() {
+    return mPrefetchedBundleBytes;
+  }
+
+  /**
+   * @return time the bundle prefetch ran before the JS bundle started loading, which the engine
+   *     would otherwise have spent waiting on disk reads, or -1 if either stage is missing
+   */
+  public synchronized long getBundlePrefetchTimeSavedMs() {
+    Stage prefetch = mStages.get(STAGE_BUNDLE_PREFETCH);
+    Stage runJSBundle = mStages.get(STAGE_RUN_JS_BUNDLE);
+    if (prefetch == null || runJSBundle == null) {
+      return -1;
+    }
+    long prefetchEndMs =
+        prefetch.mEndTimeMs < 0
+            ? runJSBundle.mStartTimeMs
+            : Math.min(prefetch.mEndTimeMs, runJSBundle.mStartTimeMs);
+    return Math.max(0, prefetchEndMs - prefetch.mStartTimeMs);
+  }
+
+  /** @return the stages, in the order they were started */
+  public synchronized List<Stage> getStages() {
+    return Collections.unmodifiableList(new ArrayList<>(mStages.values()));
+  }
+
+  public synchronized @Nullable Stage getStage(String name) {
+    return mStages.get(name);
+  }
+
+  /** @return duration of every finished stage, in the order they were started */
+  public synchronized Map<String, Long> getStageDurationsMs() {
+    Map<String, Long> durations = new LinkedHashMap<>();
+    for (Stage stage : mStages.values()) {
+      if (stage.getDurationMs() >= 0) {
+        durations.put(stage.getName(), stage.getDurationMs());
+      }
+    }
+    return durations;
+  }
+
+  @Override
+  public synchronized String toString() {
+    return "ReactStartupTimeline{overlapped="
+        + mOverlapped
+        + ", total="
+        + getTotalDurationMs()
+        + "ms, prefetchedBundleBytes="
+        + mPrefetchedBundleBytes
+        + ", stages="
+        + mStages.values()
+        + "}";
+  }
+}
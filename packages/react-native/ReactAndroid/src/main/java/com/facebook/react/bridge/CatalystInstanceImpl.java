@@ -36,6 +36,7 @@ import com.facebook.systrace.TraceListener;
 import java.lang.ref.WeakReference;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.atomic.AtomicInteger;
 
@@ -90,6 +91,8 @@ public class CatalystInstanceImpl implements CatalystInstance {
   private final JSBundleLoader mJSBundleLoader;
   private final ArrayList<PendingJSCall> mJSCallsPendingInit = new ArrayList<PendingJSCall>();
   private final Object mJSCallsPendingInitLock = new Object();
+  private final @Nullable JSCallBatch mJSCallBatch;
+  private final Runnable mFlushJSCallBatchRunnable = this::flushJSCallBatch;
 
   private final NativeModuleRegistry mNativeModuleRegistry;
   private final JSExceptionHandler mJSExceptionHandler;
@@ -133,6 +136,7 @@ public class CatalystInstanceImpl implements CatalystInstance {
     mBridgeIdleListeners = new CopyOnWriteArrayList<>();
     mNativeModuleRegistry = nativeModuleRegistry;
     mJSModuleRegistry = new JavaScriptModuleRegistry();
+    mJSCallBatch = ReactFeatureFlags.enableBatchedJSFunctionCalls ? new JSCallBatch() : null;
     mJSBundleLoader = jsBundleLoader;
     mJSExceptionHandler = jSExceptionHandler;
     mNativeModulesQueueThread = mReactQueueConfiguration.getNativeModulesQueueThread();
@@ -181,7 +185,7 @@ public class CatalystInstanceImpl implements CatalystInstance {
     public void incrementPendingJSCalls() {
       CatalystInstanceImpl impl = mOuter.get();
       if (impl != null) {
-        impl.incrementPendingJSCalls();
+        impl.incrementPendingJSCalls(1);
       }
     }
 
@@ -319,9 +323,62 @@ public class CatalystInstanceImpl implements CatalystInstance {
         }
       }
     }
+    JSCallBatch batch = mJSCallBatch;
+    if (batch != null) {
+      // The calls made until the JS queue gets to the flush are sent in a single JNI call
+      if (batch.add(function)) {
+        mReactQueueConfiguration.getJSQueueThread().runOnQueue(mFlushJSCallBatchRunnable);
+      }
+      return;
+    }
     function.call(this);
   }
 
+  /**
+   * Makes the first {@code count} calls in JS, in order, before returning. A call with a null
+   * module is the invocation of the callback with the same index in {@code callbackIDs}.
+   */
+  private native void jniCallJSBatch(
+      String[] modules, String[] methods, int[] callbackIDs, NativeArray[] arguments, int count);
+
+  /**
+   * Sends the batched calls. This only runs on the JS thread, which keeps the batches in order
+   * without a lock, and the calls are made right away rather than queued behind the work posted to
+   * the JS thread since. As the flush was posted with the first call of the batch, callbacks
+   * invoked from C++, e.g. those of TurboModules, still reach JS after the calls made before them.
+   */
+  private void flushJSCallBatch() {
+    JSCallBatch batch = mJSCallBatch;
+    if (batch == null) {
+      return;
+    }
+    List<Object> calls = batch.takeAll();
+    int count = calls.size();
+    if (count == 0 || mDestroyed) {
+      return;
+    }
+    String[] modules = new String[count];
+    String[] methods = new String[count];
+    int[] callbackIDs = new int[count];
+    NativeArray[] arguments = new NativeArray[count];
+    for (int i = 0; i < count; i++) {
+      Object call = calls.get(i);
+      if (call instanceof PendingJSCall) {
+        PendingJSCall functionCall = (PendingJSCall) call;
+        modules[i] = functionCall.mModule;
+        methods[i] = functionCall.mMethod;
+        arguments[i] =
+            functionCall.mArguments != null ? functionCall.mArguments : new WritableNativeArray();
+      } else {
+        JSCallBatch.PendingJSCallback callback = (JSCallBatch.PendingJSCallback) call;
+        callbackIDs[i] = callback.mCallbackID;
+        arguments[i] = callback.mArguments;
+      }
+    }
+    incrementPendingJSCalls(count);
+    jniCallJSBatch(modules, methods, callbackIDs, arguments, count);
+  }
+
   private native void jniCallJSCallback(int callbackID, NativeArray arguments);
 
   @Override
@@ -331,6 +388,14 @@ public class CatalystInstanceImpl implements CatalystInstance {
       return;
     }
 
+    JSCallBatch batch = mJSCallBatch;
+    if (batch != null) {
+      // Callbacks are batched with the function calls, so that JS sees them in order
+      if (batch.addCallback(callbackID, (NativeArray) arguments)) {
+        mReactQueueConfiguration.getJSQueueThread().runOnQueue(mFlushJSCallBatchRunnable);
+      }
+      return;
+    }
     jniCallJSCallback(callbackID, (NativeArray) arguments);
   }
 
@@ -360,6 +425,7 @@ public class CatalystInstanceImpl implements CatalystInstance {
     // TODO: tell all APIs to shut down
     ReactMarker.logMarker(ReactMarkerConstants.DESTROY_CATALYST_INSTANCE_START);
     mDestroyed = true;
+    mJSBundleLoader.onInstanceDestroyed();
 
     mNativeModulesQueueThread.runOnQueue(
         () -> {
@@ -551,11 +617,13 @@ public class CatalystInstanceImpl implements CatalystInstance {
 
   private native long getJavaScriptContext();
 
-  private void incrementPendingJSCalls() {
-    int oldPendingCalls = mPendingJSCalls.getAndIncrement();
+  private void incrementPendingJSCalls(int count) {
+    int oldPendingCalls = mPendingJSCalls.getAndAdd(count);
     boolean wasIdle = oldPendingCalls == 0;
     Systrace.traceCounter(
-        Systrace.TRACE_TAG_REACT_JAVA_BRIDGE, mJsPendingCallsTitleForTrace, oldPendingCalls + 1);
+        Systrace.TRACE_TAG_REACT_JAVA_BRIDGE,
+        mJsPendingCallsTitleForTrace,
+        oldPendingCalls + count);
     if (wasIdle && !mBridgeIdleListeners.isEmpty()) {
       mNativeModulesQueueThread.runOnQueue(
           () -> {
@@ -18,6 +18,7 @@ import androidx.annotation.Nullable;
 import androidx.core.content.res.ResourcesCompat;
 import com.facebook.common.logging.FLog;
 import com.facebook.react.common.ReactConstants;
+import com.facebook.react.config.ReactFeatureFlags;
 
 public class ColorPropConverter {
 
@@ -164,17 +165,13 @@ public class ColorPropConverter {
       return null;
     }
 
-    boolean isResource = resourcePath.startsWith(PREFIX_RESOURCE);
-    boolean isThemeAttribute = resourcePath.startsWith(PREFIX_ATTR);
-
-    resourcePath = resourcePath.substring(1);
+    if (ReactFeatureFlags.enablePlatformColorCache) {
+      return PlatformColorCache.resolve(context, resourcePath);
+    }
 
     try {
-      if (isResource) {
-        return resolveResource(context, resourcePath);
-      } else if (isThemeAttribute) {
-        return resolveThemeAttribute(context, resourcePath);
-      }
+      int resourceId = getResourceId(context, resourcePath);
+      return resolveColor(context, resourcePath, resourceId, new TypedValue());
     } catch (Resources.NotFoundException exception) {
       // The resource could not be found so do nothing to allow the for loop to continue and
       // try the next fallback resource in the array.  If none of the fallbacks are
@@ -183,44 +180,58 @@ public class ColorPropConverter {
     return null;
   }
 
-  private static int resolveResource(Context context, String resourcePath) {
-    String[] pathTokens = resourcePath.split(PACKAGE_DELIMITER);
+  /**
+   * Looks up the id of the color resource or theme attribute referenced by a resource path. The id
+   * only depends on the path, not on the theme or configuration.
+   *
+   * @return the resource id, or 0 if there is no such resource
+   */
+  /* package */ static int getResourceId(Context context, String resourcePath) {
+    boolean isResource = resourcePath.startsWith(PREFIX_RESOURCE);
+    boolean isThemeAttribute = resourcePath.startsWith(PREFIX_ATTR);
+    if (!isResource && !isThemeAttribute) {
+      return 0;
+    }
+
+    String path = resourcePath.substring(1);
+    if (isThemeAttribute) {
+      path = path.replaceAll(ATTR_SEGMENT, "");
+    }
+    String[] pathTokens = path.split(PACKAGE_DELIMITER);
 
     String packageName = context.getPackageName();
-    String resource = resourcePath;
+    String resource = path;
 
     if (pathTokens.length > 1) {
       packageName = pathTokens[0];
       resource = pathTokens[1];
     }
 
+    if (isThemeAttribute) {
+      return context.getResources().getIdentifier(resource, ATTR, packageName);
+    }
+
     String[] resourceTokens = resource.split(PATH_DELIMITER);
     String resourceType = resourceTokens[0];
     String resourceName = resourceTokens[1];
 
-    int resourceId = context.getResources().getIdentifier(resourceName, resourceType, packageName);
-
-    return ResourcesCompat.getColor(context.getResources(), resourceId, context.getTheme());
+    return context.getResources().getIdentifier(resourceName, resourceType, packageName);
   }
 
-  private static int resolveThemeAttribute(Context context, String resourcePath) {
-    String path = resourcePath.replaceAll(ATTR_SEGMENT, "");
-    String[] pathTokens = path.split(PACKAGE_DELIMITER);
-
-    String packageName = context.getPackageName();
-    String resourceName = path;
-
-    if (pathTokens.length > 1) {
-      packageName = pathTokens[0];
-      resourceName = pathTokens[1];
+  /**
+   * Resolves a resource id returned by {@link #getResourceId} to a color with the context's theme.
+   *
+   * @param outValue receives the theme attribute value, so callers can reuse one instance
+   * @throws Resources.NotFoundException if the resource or attribute doesn't resolve to a color
+   */
+  /* package */ static int resolveColor(
+      Context context, String resourcePath, int resourceId, TypedValue outValue) {
+    if (resourcePath.startsWith(PREFIX_RESOURCE)) {
+      return ResourcesCompat.getColor(context.getResources(), resourceId, context.getTheme());
     }
 
-    int resourceId = context.getResources().getIdentifier(resourceName, ATTR, packageName);
-
-    TypedValue outValue = new TypedValue();
-    Resources.Theme theme = context.getTheme();
-
-    if (theme.resolveAttribute(resourceId, outValue, true)) {
+    if (resourcePath.startsWith(PREFIX_ATTR)
+        && context.getTheme().resolveAttribute(resourceId, outValue, true)) {
       return outValue.data;
     }
 
@@ -64,6 +64,19 @@ public final class FallbackJSBundleLoader extends JSBundleLoader {
     }
   }
 
+  /** Prefetches for the currently preferred loader, the one that will be tried first. */
+  @Override
+  public long prefetch() {
+    return mLoaders.empty() ? 0 : mLoaders.peek().prefetch();
+  }
+
+  @Override
+  public void onInstanceDestroyed() {
+    for (JSBundleLoader loader : mLoaders) {
+      loader.onInstanceDestroyed();
+    }
+  }
+
   private JSBundleLoader getDelegateLoader() {
     if (!mLoaders.empty()) {
       return mLoaders.peek();
@@ -8,8 +8,22 @@
 package com.facebook.react.bridge;
 
 import android.content.Context;
+import androidx.annotation.Nullable;
+import androidx.annotation.VisibleForTesting;
+import com.facebook.common.logging.FLog;
 import com.facebook.react.common.DebugServerException;
+import com.facebook.react.common.ReactConstants;
+import com.facebook.react.config.ReactFeatureFlags;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /** A class that stores JS bundle information and allows a {@link JSBundleLoaderDelegate}. */
 public abstract class JSBundleLoader {
@@ -41,11 +55,57 @@ public abstract class JSBundleLoader {
   public static JSBundleLoader createFileLoader(
       final String fileName, final String assetUrl, final boolean loadSynchronously) {
     return new JSBundleLoader() {
+      private final AtomicBoolean mPrefetchStarted = new AtomicBoolean();
+      private volatile @Nullable PageProfileRecorder mPageProfileRecorder;
+
       @Override
       public String loadScript(JSBundleLoaderDelegate delegate) {
+        if (ReactFeatureFlags.enableBundlePagePrefetch
+            && mPrefetchStarted.compareAndSet(false, true)) {
+          final File bundle = new File(fileName);
+          final JSBundlePageProfile profile = JSBundlePageProfile.read(bundle);
+          if (profile != null) {
+            // Nobody prefetched the bundle, load the profiled pages while the engine starts
+            sBackgroundExecutor.execute(() -> profile.prefetch(bundle));
+          } else {
+            // Nothing was read ahead, so what's in memory once content appears is what the engine
+            // needed
+            mPageProfileRecorder = recordPageProfileWhenContentAppears(bundle);
+          }
+        }
         delegate.loadScriptFromFile(fileName, assetUrl, loadSynchronously);
         return fileName;
       }
+
+      @Override
+      public long prefetch() {
+        if (!ReactFeatureFlags.enableBundlePagePrefetch) {
+          return prefetchFile(fileName);
+        }
+        if (!mPrefetchStarted.compareAndSet(false, true)) {
+          // The bundle is already being loaded
+          return 0;
+        }
+        File bundle = new File(fileName);
+        JSBundlePageProfile profile = JSBundlePageProfile.read(bundle);
+        if (profile != null) {
+          return profile.prefetch(bundle);
+        }
+        // Reading the whole bundle ahead would make every page resident, so record what the engine
+        // loads instead and let the next launch prefetch only that
+        mPageProfileRecorder = recordPageProfileWhenContentAppears(bundle);
+        return 0;
+      }
+
+      @Override
+      public void onInstanceDestroyed() {
+        PageProfileRecorder recorder = mPageProfileRecorder;
+        if (recorder != null) {
+          // Content may never appear, don't keep waiting for it
+          recorder.stop();
+          mPageProfileRecorder = null;
+        }
+      }
     };
   }
 
@@ -109,4 +169,105 @@ public abstract class JSBundleLoader {
 
   /** Loads the script, returning the URL of the source it loaded. */
   public abstract String loadScript(JSBundleLoaderDelegate delegate);
+
+  /**
+   * Warms up the OS page cache for the bundle, so that the engine doesn't have to wait on disk
+   * reads when it loads it. May be called on any thread, concurrently with other startup work and
+   * before {@link #loadScript(JSBundleLoaderDelegate)}. Failures are ignored, the bundle will
+   * simply be read from disk when it's loaded.
+   *
+   * <p>With {@link ReactFeatureFlags#enableBundlePagePrefetch}, a file loader only loads the parts
+   * of the bundle recorded in its {@link JSBundlePageProfile}. When there is no profile yet,
+   * nothing is read ahead and the profile is recorded once content appears.
+   *
+   * @return number of bytes read ahead, 0 if this loader doesn't support prefetching
+   */
+  public long prefetch() {
+    return 0;
+  }
+
+  /**
+   * Called when the instance that loaded the script of this loader is torn down, to stop the work
+   * the loader started for it. The loader may be used again by the next instance.
+   */
+  public void onInstanceDestroyed() {}
+
+  private static final int PREFETCH_BUFFER_SIZE = 64 * 1024;
+
+  // Runs the prefetches started by loadScript and the page profile recordings
+  @VisibleForTesting
+  /* package */ static Executor sBackgroundExecutor =
+      command -> new Thread(command, "js_bundle_loader").start();
+
+  private static final Set<String> sRecordingPageProfiles =
+      Collections.synchronizedSet(new HashSet<String>());
+
+  /**
+   * Records the {@link JSBundlePageProfile} of the bundle in the background once the first content
+   * appeared, so that the next launch can prefetch the parts of the bundle it needs.
+   *
+   * @return the recorder waiting for content to appear, or null if the bundle is already being
+   *     recorded
+   */
+  /* package */ static @Nullable PageProfileRecorder recordPageProfileWhenContentAppears(
+      File bundle) {
+    if (!sRecordingPageProfiles.add(bundle.getPath())) {
+      return null;
+    }
+    PageProfileRecorder recorder = new PageProfileRecorder(bundle);
+    ReactMarker.addListener(recorder);
+    return recorder;
+  }
+
+  /* package */ static final class PageProfileRecorder implements ReactMarker.MarkerListener {
+
+    private final File mBundle;
+    private final AtomicBoolean mStopped = new AtomicBoolean();
+
+    private PageProfileRecorder(File bundle) {
+      mBundle = bundle;
+    }
+
+    @Override
+    public void logMarker(ReactMarkerConstants name, @Nullable String tag, int instanceKey) {
+      if (name != ReactMarkerConstants.CONTENT_APPEARED || !mStopped.compareAndSet(false, true)) {
+        return;
+      }
+      ReactMarker.removeListener(this);
+      sBackgroundExecutor.execute(
+          () -> {
+            try {
+              JSBundlePageProfile.recordResidentPages(mBundle).write(mBundle);
+            } catch (IOException e) {
+              FLog.w(ReactConstants.TAG, "Unable to record JS bundle page profile", e);
+            } finally {
+              sRecordingPageProfiles.remove(mBundle.getPath());
+            }
+          });
+    }
+
+    /** Stops waiting for content to appear, a recording that already started still completes. */
+    /* package */ void stop() {
+      if (mStopped.compareAndSet(false, true)) {
+        ReactMarker.removeListener(this);
+        sRecordingPageProfiles.remove(mBundle.getPath());
+      }
+    }
+  }
+
+  /* package */ static long prefetchFile(String fileName) {
+    ReactMarker.logMarker(ReactMarkerConstants.JS_BUNDLE_PREFETCH_START);
+    byte[] buffer = new byte[PREFETCH_BUFFER_SIZE];
+    long bytesRead = 0;
+    try (InputStream inputStream = new FileInputStream(fileName)) {
+      int read;
+      while ((read = inputStream.read(buffer)) != -1) {
+        bytesRead += read;
+      }
+    } catch (IOException e) {
+      FLog.w(ReactConstants.TAG, "Unable to prefetch JS bundle " + fileName, e);
+    }
+    ReactMarker.logMarker(ReactMarkerConstants.JS_BUNDLE_PREFETCH_END, String.valueOf(bytesRead));
+    return bytesRead;
+  }
 }
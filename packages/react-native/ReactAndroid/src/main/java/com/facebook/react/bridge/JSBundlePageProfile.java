@@ -0,0 +1,228 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package com.facebook.react.bridge;
+
+import androidx.annotation.Nullable;
+import com.facebook.common.logging.FLog;
+import com.facebook.infer.annotation.Nullsafe;
+import com.facebook.proguard.annotations.DoNotStrip;
+import com.facebook.react.common.ReactConstants;
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.RandomAccessFile;
+import java.io.Writer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The parts of a JS bundle file that were read while the app started, stored next to the bundle in
+ * a {@link #FILE_SUFFIX} file.
+ *
+ * <p>A profile is recorded by checking which parts of the bundle are in the page cache once the
+ * first content appeared, so it has to be recorded by a launch that didn't read the whole bundle
+ * ahead. Later launches map just those parts and load them ahead of the engine, which then finds
+ * them in memory instead of faulting them in one page at a time. A profile is only used for the
+ * exact bundle file it was recorded for: when the size or modification time of the bundle changes
+ * it's ignored until it gets recorded again.
+ */
+@DoNotStrip
+@Nullsafe(Nullsafe.Mode.LOCAL)
+/* package */ final class JSBundlePageProfile {
+
+  /* package */ static final String FILE_SUFFIX = ".pages";
+
+  /** Granularity of the profile, a multiple of any page size */
+  /* package */ static final int CHUNK_SIZE = 64 * 1024;
+
+  private static final String VERSION = "v1";
+
+  private final long mBundleLength;
+  private final long mBundleLastModified;
+  // Offset and length of each range, sorted by offset and not overlapping
+  private final long[] mRanges;
+
+  /* package */ JSBundlePageProfile(long bundleLength, long bundleLastModified, long[] ranges) {
+    mBundleLength = bundleLength;
+    mBundleLastModified = bundleLastModified;
+    mRanges = ranges;
+  }
+
+  /* package */ static File getProfileFile(File bundle) {
+    return new File(bundle.getPath() + FILE_SUFFIX);
+  }
+
+  /**
+   * @return the profile of the bundle, or null if there isn't one or it was recorded for a
+   *     different version of the bundle
+   */
+  /* package */ static @Nullable JSBundlePageProfile read(File bundle) {
+    File profileFile = getProfileFile(bundle);
+    if (!profileFile.exists()) {
+      return null;
+    }
+    try (BufferedReader reader =
+        new BufferedReader(
+            new InputStreamReader(new FileInputStream(profileFile), StandardCharsets.UTF_8))) {
+      String header = reader.readLine();
+      if (header == null) {
+        return null;
+      }
+      String[] parts = header.split(" ");
+      if (parts.length != 3
+          || !VERSION.equals(parts[0])
+          || Long.parseLong(parts[1]) != bundle.length()
+          || Long.parseLong(parts[2]) != bundle.lastModified()) {
+        return null;
+      }
+      List<Long> ranges = new ArrayList<>();
+      long previousEnd = 0;
+      String line;
+      while ((line = reader.readLine()) != null) {
+        String[] range = line.split(" ");
+        if (range.length != 2) {
+          return null;
+        }
+        long offset = Long.parseLong(range[0]);
+        long length = Long.parseLong(range[1]);
+        if (offset < previousEnd || length <= 0 || offset + length > bundle.length()) {
+          return null;
+        }
+        ranges.add(offset);
+        ranges.add(length);
+        previousEnd = offset + length;
+      }
+      return new JSBundlePageProfile(bundle.length(), bundle.lastModified(), toArray(ranges));
+    } catch (IOException | NumberFormatException e) {
+      FLog.w(ReactConstants.TAG, "Unable to read JS bundle page profile " + profileFile, e);
+      return null;
+    }
+  }
+
+  /**
+   * Records which chunks of the bundle are in the page cache. The bundle is mapped once and all of
+   * its pages are checked with mincore, which {@link MappedByteBuffer#isLoaded()} can only do for
+   * a whole mapping.
+   */
+  /* package */ static JSBundlePageProfile recordResidentPages(File bundle) throws IOException {
+    ReactBridge.staticInit();
+    long length = bundle.length();
+    long lastModified = bundle.lastModified();
+    boolean[] residentChunks = nativeGetResidentChunks(bundle.getPath(), CHUNK_SIZE);
+    if (residentChunks == null || residentChunks.length != (length + CHUNK_SIZE - 1) / CHUNK_SIZE) {
+      throw new IOException("Unable to check which pages of " + bundle + " are resident");
+    }
+    return fromResidentChunks(length, lastModified, residentChunks);
+  }
+
+  /**
+   * Creates the profile of a bundle from which of its {@link #CHUNK_SIZE} chunks are resident.
+   * Consecutive chunks are merged into a single range.
+   */
+  /* package */ static JSBundlePageProfile fromResidentChunks(
+      long bundleLength, long bundleLastModified, boolean[] residentChunks) {
+    List<Long> ranges = new ArrayList<>();
+    long rangeStart = -1;
+    for (int chunk = 0; chunk < residentChunks.length; chunk++) {
+      long offset = (long) chunk * CHUNK_SIZE;
+      if (residentChunks[chunk] && rangeStart < 0) {
+        rangeStart = offset;
+      } else if (!residentChunks[chunk] && rangeStart >= 0) {
+        ranges.add(rangeStart);
+        ranges.add(offset - rangeStart);
+        rangeStart = -1;
+      }
+    }
+    if (rangeStart >= 0) {
+      ranges.add(rangeStart);
+      ranges.add(bundleLength - rangeStart);
+    }
+    return new JSBundlePageProfile(bundleLength, bundleLastModified, toArray(ranges));
+  }
+
+  /** Stores the profile next to the bundle, replacing the previous one. */
+  /* package */ void write(File bundle) throws IOException {
+    File profileFile = getProfileFile(bundle);
+    File tempFile = new File(profileFile.getPath() + ".tmp");
+    try (Writer writer =
+        new OutputStreamWriter(new FileOutputStream(tempFile), StandardCharsets.UTF_8)) {
+      writer.write(VERSION + " " + mBundleLength + " " + mBundleLastModified + "\n");
+      for (int i = 0; i < mRanges.length; i += 2) {
+        writer.write(mRanges[i] + " " + mRanges[i + 1] + "\n");
+      }
+    }
+    if (!tempFile.renameTo(profileFile)) {
+      tempFile.delete();
+      throw new IOException("Unable to write JS bundle page profile " + profileFile);
+    }
+  }
+
+  /**
+   * Maps the ranges of the profile and loads them into memory, in file order. Failures are
+   * ignored, the bundle will simply be read from disk when it's loaded. Logs {@link
+   * ReactMarkerConstants#JS_BUNDLE_PREFETCH_START} and {@link
+   * ReactMarkerConstants#JS_BUNDLE_PREFETCH_END}, tagged with the number of bytes loaded.
+   *
+   * @return number of bytes loaded
+   */
+  /* package */ long prefetch(File bundle) {
+    ReactMarker.logMarker(ReactMarkerConstants.JS_BUNDLE_PREFETCH_START);
+    long bytesLoaded = 0;
+    try (RandomAccessFile file = new RandomAccessFile(bundle, "r");
+        FileChannel channel = file.getChannel()) {
+      for (int i = 0; i < mRanges.length; i += 2) {
+        MappedByteBuffer buffer =
+            channel.map(FileChannel.MapMode.READ_ONLY, mRanges[i], mRanges[i + 1]);
+        // Advises the kernel that the range will be needed and touches each of its pages
+        buffer.load();
+        bytesLoaded += mRanges[i + 1];
+      }
+    } catch (IOException e) {
+      FLog.w(ReactConstants.TAG, "Unable to prefetch JS bundle " + bundle, e);
+    }
+    ReactMarker.logMarker(
+        ReactMarkerConstants.JS_BUNDLE_PREFETCH_END, String.valueOf(bytesLoaded));
+    return bytesLoaded;
+  }
+
+  /** @return number of ranges in the profile */
+  /* package */ int getRangeCount() {
+    return mRanges.length / 2;
+  }
+
+  /** @return number of bytes the ranges of the profile cover */
+  /* package */ long getByteCount() {
+    long byteCount = 0;
+    for (int i = 1; i < mRanges.length; i += 2) {
+      byteCount += mRanges[i];
+    }
+    return byteCount;
+  }
+
+  /**
+   * @return for each chunk of the file, whether all of its pages are in the page cache, or null if
+   *     the file couldn't be mapped
+   */
+  @DoNotStrip
+  private static native @Nullable boolean[] nativeGetResidentChunks(String path, int chunkSize);
+
+  private static long[] toArray(List<Long> values) {
+    long[] array = new long[values.size()];
+    for (int i = 0; i < array.length; i++) {
+      array[i] = values.get(i);
+    }
+    return array;
+  }
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package com.facebook.react.bridge;
+
+import com.facebook.infer.annotation.Nullsafe;
+import com.facebook.react.bridge.CatalystInstanceImpl.PendingJSCall;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * JS function calls and callbacks made from any thread until the JS message queue gets to them, so
+ * that they are all made in a single JNI call instead of one call each. Each bridge has its own
+ * batch, which it only sends from its JS thread.
+ */
+@Nullsafe(Nullsafe.Mode.LOCAL)
+public final class JSCallBatch {
+
+  /** A callback invocation, batched with the function calls so that JS sees them in order. */
+  /* package */ static final class PendingJSCallback {
+
+    /* package */ final int mCallbackID;
+    /* package */ final NativeArray mArguments;
+
+    /* package */ PendingJSCallback(int callbackID, NativeArray arguments) {
+      mCallbackID = callbackID;
+      mArguments = arguments;
+    }
+  }
+
+  private static final AtomicLong sBatchCount = new AtomicLong();
+  private static final AtomicLong sCallCount = new AtomicLong();
+
+  // PendingJSCalls and PendingJSCallbacks
+  private ArrayList<Object> mCalls = new ArrayList<>();
+
+  /**
+   * Adds a function call to the batch.
+   *
+   * @return whether the batch was empty, in which case the caller has to schedule a flush
+   */
+  /* package */ boolean add(PendingJSCall call) {
+    return addCall(call);
+  }
+
+  /**
+   * Adds a callback invocation to the batch.
+   *
+   * @return whether the batch was empty, in which case the caller has to schedule a flush
+   */
+  /* package */ boolean addCallback(int callbackID, NativeArray arguments) {
+    return addCall(new PendingJSCallback(callbackID, arguments));
+  }
+
+  private synchronized boolean addCall(Object call) {
+    mCalls.add(call);
+    return mCalls.size() == 1;
+  }
+
+  /**
+   * @return the {@link PendingJSCall}s and {@link PendingJSCallback}s of the batch, in the order
+   *     they were made, and starts a new batch
+   */
+  /* package */ synchronized List<Object> takeAll() {
+    List<Object> calls = mCalls;
+    if (!calls.isEmpty()) {
+      mCalls = new ArrayList<>();
+      sBatchCount.incrementAndGet();
+      sCallCount.addAndGet(calls.size());
+    }
+    return calls;
+  }
+
+  /** @return number of JNI calls that sent batches of JS function calls */
+  public static long getBatchCount() {
+    return sBatchCount.get();
+  }
+
+  /** @return number of JS function calls and callbacks sent in batches */
+  public static long getCallCount() {
+    return sCallCount.get();
+  }
+}
@@ -12,9 +12,9 @@ import com.facebook.react.common.build.ReactBuildConfig;
 import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.Method;
 import java.lang.reflect.Proxy;
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Class responsible for holding all the {@link JavaScriptModule}s. Uses Java proxy objects to
@@ -22,14 +22,16 @@ import java.util.Set;
  * method ids so the proper function is executed in JavaScript.
  */
 public final class JavaScriptModuleRegistry {
-  private final HashMap<Class<? extends JavaScriptModule>, JavaScriptModule> mModuleInstances;
+  private final ConcurrentHashMap<Class<? extends JavaScriptModule>, JavaScriptModule>
+      mModuleInstances;
 
   public JavaScriptModuleRegistry() {
-    mModuleInstances = new HashMap<>();
+    mModuleInstances = new ConcurrentHashMap<>();
   }
 
-  public synchronized <T extends JavaScriptModule> T getJavaScriptModule(
+  public <T extends JavaScriptModule> T getJavaScriptModule(
       CatalystInstance instance, Class<T> moduleInterface) {
+    // Modules are looked up for every call, so this doesn't lock once the module exists
     JavaScriptModule module = mModuleInstances.get(moduleInterface);
     if (module != null) {
       return (T) module;
@@ -41,8 +43,8 @@ public final class JavaScriptModuleRegistry {
                 moduleInterface.getClassLoader(),
                 new Class[] {moduleInterface},
                 new JavaScriptModuleInvocationHandler(instance, moduleInterface));
-    mModuleInstances.put(moduleInterface, interfaceProxy);
-    return (T) interfaceProxy;
+    JavaScriptModule existingModule = mModuleInstances.putIfAbsent(moduleInterface, interfaceProxy);
+    return (T) (existingModule != null ? existingModule : interfaceProxy);
   }
 
   private static class JavaScriptModuleInvocationHandler implements InvocationHandler {
@@ -0,0 +1,136 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package com.facebook.react.bridge;
+
+import android.content.Context;
+import android.content.res.Resources;
+import android.util.TypedValue;
+import androidx.annotation.Nullable;
+import com.facebook.infer.annotation.Nullsafe;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Process-wide cache of PlatformColor resource paths resolved by {@link ColorPropConverter}.
+ *
+ * <p>Resource ids only depend on the path, so they are cached for the lifetime of the process.
+ * Colors depend on the theme and the configuration, so they are cached per theme and dropped when
+ * the configuration changes (e.g. dark mode or locale). Paths that don't resolve are cached as
+ * well, so fallback chains don't repeat failed lookups.
+ *
+ * <p>Only enabled when {@link com.facebook.react.config.ReactFeatureFlags#enablePlatformColorCache}
+ * is set.
+ */
+@Nullsafe(Nullsafe.Mode.LOCAL)
+public final class PlatformColorCache {
+
+  /** Number of themes colors are cached for, apps rarely use more than one or two. */
+  private static final int MAX_THEMES = 4;
+
+  /** Colors resolved with one theme, by resource path. A null value means it didn't resolve. */
+  private static final class ThemeColors {
+    private final WeakReference<Resources.Theme> mTheme;
+    private final int mUiMode;
+    private final Map<String, Integer> mColors = new HashMap<>();
+
+    private ThemeColors(Resources.Theme theme, int uiMode) {
+      mTheme = new WeakReference<>(theme);
+      mUiMode = uiMode;
+    }
+  }
+
+  private static final Map<String, Integer> sResourceIds = new HashMap<>();
+  private static final List<ThemeColors> sThemeColors = new ArrayList<>(MAX_THEMES);
+  private static final TypedValue sTypedValue = new TypedValue();
+
+  private static int sHitCount = 0;
+  private static int sMissCount = 0;
+
+  private PlatformColorCache() {}
+
+  /** @see ColorPropConverter#resolveResourcePath */
+  static synchronized @Nullable Integer resolve(Context context, String resourcePath) {
+    ThemeColors themeColors = getThemeColors(context);
+    if (themeColors.mColors.containsKey(resourcePath)) {
+      sHitCount++;
+      return themeColors.mColors.get(resourcePath);
+    }
+    sMissCount++;
+
+    Integer resourceId = sResourceIds.get(resourcePath);
+    if (resourceId == null) {
+      resourceId = ColorPropConverter.getResourceId(context, resourcePath);
+      sResourceIds.put(resourcePath, resourceId);
+    }
+
+    Integer color = null;
+    try {
+      color = ColorPropConverter.resolveColor(context, resourcePath, resourceId, sTypedValue);
+    } catch (Resources.NotFoundException exception) {
+      // Remember that the path doesn't resolve, the caller moves on to the next fallback
+    }
+    themeColors.mColors.put(resourcePath, color);
+    return color;
+  }
+
+  private static ThemeColors getThemeColors(Context context) {
+    Resources.Theme theme = context.getTheme();
+    int uiMode = context.getResources().getConfiguration().uiMode;
+    for (int i = 0; i < sThemeColors.size(); i++) {
+      ThemeColors themeColors = sThemeColors.get(i);
+      if (themeColors.mTheme.get() == theme) {
+        if (themeColors.mUiMode == uiMode) {
+          return themeColors;
+        }
+        // The configuration changed without onConfigurationChanged being forwarded
+        sThemeColors.remove(i);
+        break;
+      }
+    }
+
+    // Drop themes that were garbage collected, then the least recently added one
+    for (int i = sThemeColors.size() - 1; i >= 0; i--) {
+      if (sThemeColors.get(i).mTheme.get() == null) {
+        sThemeColors.remove(i);
+      }
+    }
+    if (sThemeColors.size() == MAX_THEMES) {
+      sThemeColors.remove(0);
+    }
+    ThemeColors themeColors = new ThemeColors(theme, uiMode);
+    sThemeColors.add(themeColors);
+    return themeColors;
+  }
+
+  /**
+   * Drops every resolved color. Should be called when the configuration changes, since resources
+   * and theme attributes can resolve to different colors afterwards.
+   */
+  public static synchronized void onConfigurationChanged() {
+    sThemeColors.clear();
+  }
+
+  /** Drops every resolved color and resource id. */
+  public static synchronized void clear() {
+    sThemeColors.clear();
+    sResourceIds.clear();
+  }
+
+  /** @return number of lookups answered from the cache */
+  public static synchronized int getHitCount() {
+    return sHitCount;
+  }
+
+  /** @return number of lookups that had to resolve the color */
+  public static synchronized int getMissCount() {
+    return sMissCount;
+  }
+}
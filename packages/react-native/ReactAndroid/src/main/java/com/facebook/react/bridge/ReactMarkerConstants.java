@@ -124,7 +124,9 @@ public enum ReactMarkerConstants {
   REACT_BRIDGELESS_LOADING_START,
   REACT_BRIDGELESS_LOADING_END,
   LOAD_REACT_NATIVE_MAPBUFFER_SO_FILE_START,
-  LOAD_REACT_NATIVE_MAPBUFFER_SO_FILE_END;
+  LOAD_REACT_NATIVE_MAPBUFFER_SO_FILE_END,
+  JS_BUNDLE_PREFETCH_START,
+  JS_BUNDLE_PREFETCH_END;
 
   private boolean mHasMatchingNameMarker;
 
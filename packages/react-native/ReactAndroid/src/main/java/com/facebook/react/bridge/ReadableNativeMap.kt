@@ -7,134 +7,127 @@
 
 package com.facebook.react.bridge
 
-import android.annotation.SuppressLint
-import com.facebook.infer.annotation.Assertions
 import com.facebook.jni.HybridData
 import com.facebook.proguard.annotations.DoNotStripAny
 
 /**
  * Implementation of a read-only map in native memory. This will generally be constructed and filled
  * in native code so you shouldn't construct one yourself.
+ *
+ * The contents are imported from native in a single JNI call, the first time the map is read, into
+ * parallel arrays of keys, type tags, unboxed numbers and objects. Small maps are searched linearly,
+ * larger ones through an open-addressing index over the keys.
  */
 @DoNotStripAny
 public open class ReadableNativeMap protected constructor(hybridData: HybridData?) :
     NativeMap(hybridData), ReadableMap {
-  private val keys: Array<String> by
-      lazy(LazyThreadSafetyMode.SYNCHRONIZED) { importKeys().also { jniPassCounter++ } }
-
-  private val localMap: HashMap<String, Any> by
+  @Suppress("UNCHECKED_CAST")
+  private val entries: Entries by
       lazy(LazyThreadSafetyMode.SYNCHRONIZED) {
-        val length = keys.size
-        val res = HashMap<String, Any>(length)
-        val values = importValues()
+        val imported = importEntries()
         jniPassCounter++
-        for (i in 0 until length) {
-          res[keys[i]] = values[i]
-        }
-        res
+        Entries(
+            imported[0] as Array<String>,
+            imported[1] as ByteArray,
+            imported[2] as DoubleArray,
+            imported[3] as Array<Any?>)
       }
 
-  private val localTypeMap: HashMap<String, ReadableType> by
-      lazy(LazyThreadSafetyMode.SYNCHRONIZED) {
-        val length = keys.size
-        val res = HashMap<String, ReadableType>(length)
-        val types = importTypes()
-        jniPassCounter++
-        for (i in 0 until length) {
-          res[keys[i]] = types[i] as ReadableType
-        }
-        res
-      }
+  /** Returns `[String[] keys, byte[] types, double[] numbers, Object[] objects]`. */
+  private external fun importEntries(): Array<Any>
 
-  private external fun importKeys(): Array<String>
+  override fun hasKey(name: String): Boolean = entries.indexOf(name) >= 0
 
-  private external fun importValues(): Array<Any>
+  override fun isNull(name: String): Boolean =
+      entries.typeAt(indexOrThrow(name)) == ReadableType.Null
 
-  private external fun importTypes(): Array<Any>
-
-  override fun hasKey(name: String): Boolean = localMap.containsKey(name)
-
-  override fun isNull(name: String): Boolean {
-    if (localMap.containsKey(name)) {
-      return localMap[name] == null
+  private fun indexOrThrow(name: String): Int {
+    val index = entries.indexOf(name)
+    if (index < 0) {
+      throw NoSuchKeyException(name)
     }
-    throw NoSuchKeyException(name)
+    return index
   }
 
-  @SuppressLint("ReflectionMethodUse")
-  private inline fun <reified T> checkInstance(name: String, instance: Any?, type: Class<T>): T =
-      instance as? T
-          ?: throw UnexpectedNativeTypeException(
-              "Value for $name cannot be cast from ${instance?.javaClass?.simpleName ?: "NULL"} to ${type.simpleName}")
-
-  private fun getValue(name: String): Any {
-    if (hasKey(name)) {
-      return Assertions.assertNotNull(localMap[name])
+  private fun checkType(name: String, index: Int, expected: ReadableType) {
+    val actual = entries.typeAt(index)
+    if (actual != expected) {
+      throw UnexpectedNativeTypeException(
+          "Value for $name cannot be cast from ${actual.typeName()} to ${expected.typeName()}")
     }
-    throw NoSuchKeyException(name)
   }
 
-  private inline fun <reified T> getValue(name: String, type: Class<T>): T =
-      checkInstance(name, getValue(name), type)
-
-  private fun getNullableValue(name: String): Any? = localMap.get(name)
-
-  private inline fun <reified T> getNullableValue(name: String, type: Class<T>): T? {
-    val res = getNullableValue(name)
-    if (res == null) {
-      return null
-    } else {
-      return checkInstance(name, res, type)
+  /** Index of a nullable entry, or -1 if it is missing or null. */
+  private fun nullableIndexOf(name: String, expected: ReadableType): Int {
+    val index = entries.indexOf(name)
+    if (index < 0 || entries.typeAt(index) == ReadableType.Null) {
+      return -1
     }
+    checkType(name, index, expected)
+    return index
   }
 
-  override fun getBoolean(name: String): Boolean = getValue(name, Boolean::class.java)
+  override fun getBoolean(name: String): Boolean {
+    val index = indexOrThrow(name)
+    checkType(name, index, ReadableType.Boolean)
+    return entries.numbers[index] != 0.0
+  }
 
-  override fun getDouble(name: String): Double = getValue(name, Double::class.java)
+  override fun getDouble(name: String): Double {
+    val index = indexOrThrow(name)
+    checkType(name, index, ReadableType.Number)
+    return entries.numbers[index]
+  }
 
   // All numbers coming out of native are doubles, so cast here then truncate
-  override fun getInt(name: String): Int = getValue(name, Double::class.java).toInt()
+  override fun getInt(name: String): Int = getDouble(name).toInt()
 
-  override fun getLong(name: String): Long = getValue(name, Long::class.java)
+  override fun getLong(name: String): Long = getDouble(name).toLong()
 
-  override fun getString(name: String): String? = getNullableValue(name, String::class.java)
+  override fun getString(name: String): String? {
+    val index = nullableIndexOf(name, ReadableType.String)
+    return if (index < 0) null else entries.objects[index] as String
+  }
 
-  override fun getArray(name: String): ReadableArray? =
-      getNullableValue(name, ReadableArray::class.java)
+  override fun getArray(name: String): ReadableArray? {
+    val index = nullableIndexOf(name, ReadableType.Array)
+    return if (index < 0) null else entries.objects[index] as ReadableArray
+  }
 
-  override fun getMap(name: String): ReadableNativeMap? =
-      getNullableValue(name, ReadableNativeMap::class.java)
+  override fun getMap(name: String): ReadableNativeMap? {
+    val index = nullableIndexOf(name, ReadableType.Map)
+    return if (index < 0) null else entries.objects[index] as ReadableNativeMap
+  }
 
-  override fun getType(name: String): ReadableType =
-      localTypeMap[name] ?: throw NoSuchKeyException(name)
+  override fun getType(name: String): ReadableType = entries.typeAt(indexOrThrow(name))
 
   override fun getDynamic(name: String): Dynamic = DynamicFromMap.create(this, name)
 
   override fun getEntryIterator(): Iterator<Map.Entry<String, Any>> {
-    synchronized(this) {
-      val iteratorKeys = keys
-      val iteratorValues = importValues()
-      jniPassCounter++
-      return object : Iterator<Map.Entry<String, Any>> {
-        var currentIndex = 0
-
-        override fun hasNext(): Boolean {
-          return currentIndex < iteratorKeys.size
-        }
+    val iteratorEntries = entries
+    // Null entries are surfaced as null values, as they always have been
+    @Suppress("UNCHECKED_CAST")
+    val iteratorValues =
+        Array(iteratorEntries.size) { iteratorEntries.boxedValueAt(it) } as Array<Any>
+    return object : Iterator<Map.Entry<String, Any>> {
+      var currentIndex = 0
 
-        override fun next(): Map.Entry<String, Any> {
-          val index = currentIndex++
-          return object : MutableMap.MutableEntry<String, Any> {
-            override val key: String
-              get() = iteratorKeys[index]
+      override fun hasNext(): Boolean {
+        return currentIndex < iteratorEntries.size
+      }
 
-            override val value: Any
-              get() = iteratorValues[index]
+      override fun next(): Map.Entry<String, Any> {
+        val index = currentIndex++
+        return object : MutableMap.MutableEntry<String, Any> {
+          override val key: String
+            get() = iteratorEntries.keys[index]
 
-            override fun setValue(newValue: Any): Any {
-              throw UnsupportedOperationException(
-                  "Can't set a value while iterating over a ReadableNativeMap")
-            }
+          override val value: Any
+            get() = iteratorValues[index]
+
+          override fun setValue(newValue: Any): Any {
+            throw UnsupportedOperationException(
+                "Can't set a value while iterating over a ReadableNativeMap")
           }
         }
       }
@@ -142,7 +135,7 @@ public open class ReadableNativeMap protected constructor(hybridData: HybridData
   }
 
   override fun keySetIterator(): ReadableMapKeySetIterator {
-    val iteratorKeys = keys
+    val iteratorKeys = entries.keys
     return object : ReadableMapKeySetIterator {
       var currentIndex = 0
 
@@ -152,30 +145,123 @@ public open class ReadableNativeMap protected constructor(hybridData: HybridData
     }
   }
 
-  override fun hashCode(): Int = localMap.hashCode()
+  override fun hashCode(): Int = entries.contentHashCode()
 
   override fun equals(other: Any?): Boolean =
       if (other !is ReadableNativeMap) {
         false
-      } else localMap == other.localMap
+      } else entries.contentEquals(other.entries)
 
+  @Suppress("UNCHECKED_CAST")
   override fun toHashMap(): HashMap<String, Any> {
-    // we can almost just return getLocalMap(), but we need to convert nested arrays and maps to the
-    // correct types first
-    val hashMap = HashMap(localMap)
-    val iterator: Iterator<*> = hashMap.keys.iterator()
-    while (iterator.hasNext()) {
-      val key = iterator.next() as String
-      when (getType(key)) {
-        ReadableType.Null,
-        ReadableType.Boolean,
-        ReadableType.Number,
-        ReadableType.String -> {}
-        ReadableType.Map -> hashMap[key] = Assertions.assertNotNull(getMap(key)).toHashMap()
-        ReadableType.Array -> hashMap[key] = Assertions.assertNotNull(getArray(key)).toArrayList()
+    val current = entries
+    // Null values are kept as null entries
+    val hashMap = HashMap<String, Any?>(current.size)
+    for (i in 0 until current.size) {
+      val value: Any? =
+          when (current.typeAt(i)) {
+            ReadableType.Map -> (current.objects[i] as ReadableNativeMap).toHashMap()
+            ReadableType.Array -> (current.objects[i] as ReadableArray).toArrayList()
+            else -> current.boxedValueAt(i)
+          }
+      hashMap[current.keys[i]] = value
+    }
+    return hashMap as HashMap<String, Any>
+  }
+
+  /** Flat, parallel-array view over the contents of the map. */
+  private class Entries(
+      val keys: Array<String>,
+      private val types: ByteArray,
+      val numbers: DoubleArray,
+      val objects: Array<Any?>,
+  ) {
+    val size: Int = keys.size
+
+    // Open-addressing table of key indices, only built for maps that are too big to scan
+    private val index: IntArray? = if (size > LINEAR_LOOKUP_MAX_SIZE) buildIndex() else null
+
+    fun typeAt(i: Int): ReadableType = READABLE_TYPES[types[i].toInt()]
+
+    fun indexOf(name: String): Int {
+      val table = index
+      if (table == null) {
+        for (i in 0 until size) {
+          if (keys[i] == name) {
+            return i
+          }
+        }
+        return -1
+      }
+
+      val mask = table.size - 1
+      var slot = name.hashCode() and mask
+      while (true) {
+        val i = table[slot]
+        if (i < 0) {
+          return -1
+        }
+        if (keys[i] == name) {
+          return i
+        }
+        slot = (slot + 1) and mask
       }
     }
-    return hashMap
+
+    fun boxedValueAt(i: Int): Any? =
+        when (typeAt(i)) {
+          ReadableType.Null -> null
+          ReadableType.Boolean -> numbers[i] != 0.0
+          ReadableType.Number -> numbers[i]
+          else -> objects[i]
+        }
+
+    fun contentHashCode(): Int {
+      // Same as HashMap<String, Any>.hashCode() over the boxed values
+      var hash = 0
+      for (i in 0 until size) {
+        hash += keys[i].hashCode() xor (boxedValueAt(i)?.hashCode() ?: 0)
+      }
+      return hash
+    }
+
+    fun contentEquals(other: Entries): Boolean {
+      if (size != other.size) {
+        return false
+      }
+      for (i in 0 until size) {
+        val j = other.indexOf(keys[i])
+        if (j < 0 || types[i] != other.types[j]) {
+          return false
+        }
+        val equal =
+            when (typeAt(i)) {
+              ReadableType.Null -> true
+              ReadableType.Boolean,
+              ReadableType.Number -> numbers[i].compareTo(other.numbers[j]) == 0
+              else -> objects[i] == other.objects[j]
+            }
+        if (!equal) {
+          return false
+        }
+      }
+      return true
+    }
+
+    private fun buildIndex(): IntArray {
+      // Power of two, at least twice the number of keys
+      val capacity = Integer.highestOneBit(size) shl 2
+      val table = IntArray(capacity) { -1 }
+      val mask = capacity - 1
+      for (i in 0 until size) {
+        var slot = keys[i].hashCode() and mask
+        while (table[slot] >= 0) {
+          slot = (slot + 1) and mask
+        }
+        table[slot] = i
+      }
+      return table
+    }
   }
 
   private companion object {
@@ -183,8 +269,14 @@ public open class ReadableNativeMap protected constructor(hybridData: HybridData
       ReactBridge.staticInit()
     }
 
+    private const val LINEAR_LOOKUP_MAX_SIZE = 8
+
+    private val READABLE_TYPES: Array<ReadableType> = ReadableType.values()
+
     private var jniPassCounter: Int = 0
 
+    private fun ReadableType.typeName(): String = if (this == ReadableType.Null) "NULL" else name
+
     @JvmStatic public fun getJNIPassCounter(): Int = jniPassCounter
   }
 }
@@ -7,6 +7,7 @@
 
 package com.facebook.react.common.mapbuffer
 
+import android.util.SparseArray
 import com.facebook.jni.HybridData
 import com.facebook.proguard.annotations.DoNotStrip
 import com.facebook.react.common.annotations.StableReactNativeAPI
@@ -14,12 +15,17 @@ import com.facebook.react.common.mapbuffer.MapBuffer.Companion.KEY_RANGE
 import java.lang.StringBuilder
 import java.nio.ByteBuffer
 import java.nio.ByteOrder
+import java.nio.charset.StandardCharsets
+import java.util.Collections
 import javax.annotation.concurrent.NotThreadSafe
 
 /**
  * Read-only implementation of the [MapBuffer], imported from C++ environment. Use
  * `<react/common/mapbuffer/JReadableMapBuffer.h> to create it.
  *
+ * Strings, child map buffers and lists are decoded lazily and cached per buffer, keyed by their
+ * offset in the dynamic data section, so reading the same value twice doesn't allocate again.
+ *
  * See [MapBuffer] documentation for more details
  */
 @StableReactNativeAPI
@@ -38,6 +44,12 @@ public class ReadableMapBuffer : MapBuffer {
   override var count: Int = 0
     private set
 
+  // Decoded dynamic values, keyed by their offset in the dynamic data section. Allocated on first
+  // read, since most buffers only hold primitives.
+  private var decodedStrings: SparseArray<String>? = null
+  private var mapBuffers: SparseArray<ReadableMapBuffer>? = null
+  private var mapBufferLists: SparseArray<List<ReadableMapBuffer>>? = null
+
   @DoNotStrip
   private constructor(hybridData: HybridData) {
     mHybridData = hybridData
@@ -103,7 +115,7 @@ public class ReadableMapBuffer : MapBuffer {
 
   private fun readDataType(bucketIndex: Int): MapBuffer.DataType {
     val value = readUnsignedShort(getKeyOffsetForBucketIndex(bucketIndex) + TYPE_OFFSET).toInt()
-    return MapBuffer.DataType.values()[value]
+    return DATA_TYPES[value]
   }
 
   private fun getTypedValueOffsetForKey(key: Int, expected: MapBuffer.DataType): Int {
@@ -135,23 +147,64 @@ public class ReadableMapBuffer : MapBuffer {
   }
 
   private fun readStringValue(bufferPosition: Int): String {
-    val offset = offsetForDynamicData + buffer.getInt(bufferPosition)
+    val dynamicOffset = buffer.getInt(bufferPosition)
+    val strings = decodedStrings ?: SparseArray<String>().also { decodedStrings = it }
+    strings[dynamicOffset]?.let {
+      return it
+    }
+
+    val offset = offsetForDynamicData + dynamicOffset
     val sizeOfString = buffer.getInt(offset)
     val result = ByteArray(sizeOfString)
     val stringOffset = offset + Int.SIZE_BYTES
     buffer.position(stringOffset)
     buffer[result, 0, sizeOfString]
-    return String(result)
+    val string = String(result, StandardCharsets.UTF_8)
+    strings.put(dynamicOffset, string)
+    return string
+  }
+
+  private fun readStringViewValue(bufferPosition: Int): CharSequence {
+    val dynamicOffset = buffer.getInt(bufferPosition)
+    decodedStrings?.get(dynamicOffset)?.let {
+      return it
+    }
+
+    val offset = offsetForDynamicData + dynamicOffset
+    val sizeOfString = buffer.getInt(offset)
+    val stringOffset = offset + Int.SIZE_BYTES
+    for (i in stringOffset until stringOffset + sizeOfString) {
+      // Multi-byte UTF-8 sequences have the high bit set, those need to be decoded properly
+      if (buffer.get(i) < 0) {
+        return readStringValue(bufferPosition)
+      }
+    }
+    return AsciiCharSequence(buffer, stringOffset, sizeOfString)
   }
 
   private fun readMapBufferValue(position: Int): ReadableMapBuffer {
-    val offset = offsetForDynamicData + buffer.getInt(position)
-    return ReadableMapBuffer(buffer, offset + Int.SIZE_BYTES)
+    val dynamicOffset = buffer.getInt(position)
+    val children = mapBuffers ?: SparseArray<ReadableMapBuffer>().also { mapBuffers = it }
+    children[dynamicOffset]?.let {
+      return it
+    }
+
+    val offset = offsetForDynamicData + dynamicOffset
+    val child = ReadableMapBuffer(buffer, offset + Int.SIZE_BYTES)
+    children.put(dynamicOffset, child)
+    return child
   }
 
   private fun readMapBufferListValue(position: Int): List<ReadableMapBuffer> {
+    val dynamicOffset = buffer.getInt(position)
+    val lists =
+        mapBufferLists ?: SparseArray<List<ReadableMapBuffer>>().also { mapBufferLists = it }
+    lists[dynamicOffset]?.let {
+      return it
+    }
+
     val readMapBufferList = arrayListOf<ReadableMapBuffer>()
-    var offset = offsetForDynamicData + buffer.getInt(position)
+    var offset = offsetForDynamicData + dynamicOffset
     val sizeMapBufferList = buffer.getInt(offset)
     offset += Int.SIZE_BYTES
     var curLen = 0
@@ -161,7 +214,10 @@ public class ReadableMapBuffer : MapBuffer {
       readMapBufferList.add(ReadableMapBuffer(buffer, offset + curLen))
       curLen = curLen + sizeMapBuffer
     }
-    return readMapBufferList
+    // The same instance is handed out on every read, so don't let callers modify it
+    val list = Collections.unmodifiableList(readMapBufferList)
+    lists.put(dynamicOffset, list)
+    return list
   }
 
   private fun getKeyOffsetForBucketIndex(bucketIndex: Int): Int {
@@ -196,6 +252,20 @@ public class ReadableMapBuffer : MapBuffer {
   override fun getString(key: Int): String =
       readStringValue(getTypedValueOffsetForKey(key, MapBuffer.DataType.STRING))
 
+  /**
+   * Returns the string value for the given key without decoding it, when possible. ASCII strings
+   * are returned as a [CharSequence] reading straight from the underlying buffer, anything else
+   * falls back to the (cached) result of [getString]. The returned view is only valid as long as
+   * this map buffer is.
+   *
+   * @param key key to lookup [String] value for
+   * @return value associated with the requested key
+   * @throws IllegalArgumentException if the key doesn't exist
+   * @throws IllegalStateException if the data type doesn't match
+   */
+  public fun getStringView(key: Int): CharSequence =
+      readStringViewValue(getTypedValueOffsetForKey(key, MapBuffer.DataType.STRING))
+
   override fun getBoolean(key: Int): Boolean =
       readBooleanValue(getTypedValueOffsetForKey(key, MapBuffer.DataType.BOOL))
 
@@ -281,7 +351,7 @@ public class ReadableMapBuffer : MapBuffer {
       get() = readUnsignedShort(bucketOffset).toInt()
 
     override val type: MapBuffer.DataType
-      get() = MapBuffer.DataType.values()[readUnsignedShort(bucketOffset + TYPE_OFFSET).toInt()]
+      get() = DATA_TYPES[readUnsignedShort(bucketOffset + TYPE_OFFSET).toInt()]
 
     override val doubleValue: Double
       get() {
@@ -320,6 +390,35 @@ public class ReadableMapBuffer : MapBuffer {
       }
   }
 
+  /** [CharSequence] over ASCII bytes of a [ByteBuffer], one byte per char. */
+  private class AsciiCharSequence(
+      private val bytes: ByteBuffer,
+      private val start: Int,
+      override val length: Int
+  ) : CharSequence {
+    override fun get(index: Int): Char {
+      if (index < 0 || index >= length) {
+        throw IndexOutOfBoundsException("index: $index, length: $length")
+      }
+      return bytes.get(start + index).toInt().toChar()
+    }
+
+    override fun subSequence(startIndex: Int, endIndex: Int): CharSequence {
+      if (startIndex < 0 || endIndex > length || startIndex > endIndex) {
+        throw IndexOutOfBoundsException("start: $startIndex, end: $endIndex, length: $length")
+      }
+      return AsciiCharSequence(bytes, start + startIndex, endIndex - startIndex)
+    }
+
+    override fun toString(): String {
+      val result = ByteArray(length)
+      for (i in 0 until length) {
+        result[i] = bytes.get(start + i)
+      }
+      return String(result, StandardCharsets.US_ASCII)
+    }
+  }
+
   public companion object {
     // Value used to verify if the data is serialized with LittleEndian order.
     private const val ALIGNMENT = 0xFE
@@ -336,6 +435,8 @@ public class ReadableMapBuffer : MapBuffer {
     // 4 bytes = 2 (key) + 2 (type)
     private const val VALUE_OFFSET = 4
 
+    private val DATA_TYPES: Array<MapBuffer.DataType> = MapBuffer.DataType.values()
+
     init {
       MapBufferSoLoader.staticInit()
     }
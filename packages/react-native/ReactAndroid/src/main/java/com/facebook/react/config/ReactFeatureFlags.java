@@ -111,4 +111,118 @@ public class ReactFeatureFlags {
    * longer work as they won't subscribe to ReactChoreographer for updates.
    */
   public static boolean enableFabricRendererExclusively = false;
+
+  /**
+   * Share immutable rounded border/background geometry between CSSBackgroundDrawables with the same
+   * size, radii and border widths instead of rebuilding it per drawable.
+   */
+  public static boolean enableBorderGeometryCache = false;
+
+  /**
+   * In Bridgeless mode, create eagerly initialized TurboModules in parallel on a bounded pool while
+   * the JS bundle loads, instead of one at a time before loading it.
+   */
+  public static boolean enableParallelEagerTurboModuleInit = false;
+
+  /**
+   * In bridge mode, prefetch the JS bundle and create the JS executor and view managers
+   * concurrently with package processing when creating the React context, instead of one stage
+   * after another.
+   */
+  public static boolean enableOverlappedStartup = false;
+
+  /**
+   * Reuse the decomposed matrix of a previously applied transform with the same values, transform
+   * origin and view size instead of parsing and decomposing it again in BaseViewManager.
+   */
+  public static boolean enableTransformDecompositionCache = false;
+
+  /**
+   * Cache the colors PlatformColor resource paths resolve to per theme, until the configuration
+   * changes, instead of looking up the resource on every color prop.
+   */
+  public static boolean enablePlatformColorCache = false;
+
+  /**
+   * Drop continuous events in the legacy EventDispatcherImpl once events take too long to reach JS.
+   * See EventBackpressurePolicy.
+   */
+  public static boolean enableEventBackpressure = false;
+
+  /**
+   * Execute Fabric view preallocations while the main thread is idle, surfaces with a root view
+   * first, instead of in a slice of every frame. See PreallocationScheduler.
+   */
+  public static boolean enableIdlePreallocationScheduler = false;
+
+  /**
+   * Merge the synchronous prop updates FabricUIManager gets for a view during a frame, e.g. from
+   * native driven animations, and apply them once per frame. See SynchronousPropsBatch.
+   */
+  public static boolean enableSynchronousPropsBatching = false;
+
+  /**
+   * Send the Fabric events to C++ once per event beat, in a single JNI call, instead of one call
+   * per event. See EventEmitterBatch.
+   */
+  public static boolean enableBatchedEventEmitterDispatch = false;
+
+  /**
+   * Coalesce the chunks of incremental network responses into fewer
+   * didReceiveNetworkIncrementalData events while more of the response is already buffered. See
+   * IncrementalResponseChunker.
+   */
+  public static boolean enableIncrementalResponseCoalescing = false;
+
+  /**
+   * Share a single call between identical GET requests in flight in NetworkingModule, and serve
+   * fresh responses from memory when a size is set with
+   * NetworkingModule#setResponseMemoryCacheSize. See RequestDeduplicator.
+   */
+  public static boolean enableNetworkingRequestDeduplication = false;
+
+  /**
+   * Queue the JS function calls and callbacks made through CatalystInstanceImpl until the JS thread
+   * gets to them, and send them with a single JNI call instead of one call each. See JSCallBatch.
+   */
+  public static boolean enableBatchedJSFunctionCalls = false;
+
+  /**
+   * Cache what the node info of a view says about it in ReactAccessibilityDelegate until the
+   * mounting layer changes the view, instead of creating the node infos of its descendants again
+   * every time. Whether a view is visible to the user is still checked every time.
+   */
+  public static boolean enableAccessibilitySummaryCache = false;
+
+  /**
+   * Apply text updates to a TextInput by replacing only the characters and spans that changed,
+   * instead of the whole text.
+   */
+  public static boolean enableIncrementalTextInputUpdates = false;
+
+  /**
+   * Run LayoutAnimations of the legacy renderer by animating the alpha, scale and translation of
+   * the views from a single frame callback, instead of starting an Animation per view.
+   */
+  public static boolean enableHardwareLayoutAnimations = false;
+
+  /**
+   * Queue headless JS tasks in HeadlessJsTaskContext, with per task key concurrency limits and
+   * priorities, instead of starting all of them right away.
+   */
+  public static boolean enableHeadlessJsTaskScheduler = false;
+
+  /**
+   * Prefetch only the parts of a JS bundle file that a previous launch read during startup, by
+   * mapping and loading them ahead of the engine. The parts are recorded next to the bundle on the
+   * first launch after it changed.
+   */
+  public static boolean enableBundlePagePrefetch = false;
+
+  /**
+   * Record the DNS, connect, TLS, time to first byte and download timings and the byte counts of
+   * the requests made with OkHttpClientProvider clients, and how long NetworkingModule takes to
+   * dispatch responses to JS. See NetworkTelemetry.
+   */
+  public static boolean enableNetworkTelemetry = false;
 }
@@ -15,6 +15,7 @@ import com.facebook.react.common.ReactConstants;
 import com.facebook.react.devsupport.interfaces.DevBundleDownloadListener;
 import java.io.File;
 import java.io.IOException;
+import java.util.HashMap;
 import java.util.Map;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -174,57 +175,97 @@ public class BundleDownloader {
 
     MultipartStreamReader bodyReader =
         new MultipartStreamReader(response.body().source(), boundary);
-    boolean completed =
-        bodyReader.readAllParts(
-            new MultipartStreamReader.ChunkListener() {
-              @Override
-              public void onChunkComplete(
-                  Map<String, String> headers, Buffer body, boolean isLastChunk)
-                  throws IOException {
-                // This will get executed for every chunk of the multipart response. The last chunk
-                // (isLastChunk = true) will be the JS bundle, the other ones will be progress
-                // events
-                // encoded as JSON.
-                if (isLastChunk) {
-                  // The http status code for each separate chunk is in the X-Http-Status header.
-                  int status = response.code();
-                  if (headers.containsKey("X-Http-Status")) {
-                    status = Integer.parseInt(headers.get("X-Http-Status"));
+    final File tmpFile = new File(outputFile.getPath() + ".tmp");
+    boolean completed;
+    try {
+      completed =
+          bodyReader.readAllParts(
+              new MultipartStreamReader.PartListener() {
+                private @Nullable Buffer mJSONBody;
+                private boolean mDiscarded;
+
+                @Override
+                public Sink onPartStart(Map<String, String> headers) throws IOException {
+                  // JSON parts are small progress events or errors. The JS bundle is written
+                  // straight to disk instead of being buffered in memory, and parts of any other
+                  // type are skipped.
+                  String contentType = headers != null ? headers.get("Content-Type") : null;
+                  mJSONBody = null;
+                  mDiscarded = false;
+                  if ("application/json".equals(contentType)) {
+                    mJSONBody = new Buffer();
+                    return mJSONBody;
                   }
-                  processBundleResult(
-                      url, status, Headers.of(headers), body, outputFile, bundleInfo, callback);
-                } else {
-                  if (!headers.containsKey("Content-Type")
-                      || !headers.get("Content-Type").equals("application/json")) {
-                    return;
+                  if (contentType == null || "application/javascript".equals(contentType)) {
+                    return Okio.sink(tmpFile);
                   }
+                  mDiscarded = true;
+                  return Okio.blackhole();
+                }
 
-                  try {
-                    JSONObject progress = new JSONObject(body.readUtf8());
-                    String status =
-                        progress.has("status") ? progress.getString("status") : "Bundling";
-                    Integer done = null;
-                    if (progress.has("done")) {
-                      done = progress.getInt("done");
+                @Override
+                public void onPartComplete(Map<String, String> headers, boolean isLastPart)
+                    throws IOException {
+                  // This will get executed for every part of the multipart response. The last part
+                  // (isLastPart = true) will be the JS bundle, the other ones will be progress
+                  // events encoded as JSON.
+                  if (isLastPart) {
+                    // The http status code for each separate part is in the X-Http-Status header.
+                    int status = response.code();
+                    if (headers != null && headers.containsKey("X-Http-Status")) {
+                      status = Integer.parseInt(headers.get("X-Http-Status"));
+                    }
+                    Headers partHeaders = Headers.of(headers != null ? headers : new HashMap<>());
+                    if (mDiscarded) {
+                      callback.onFailure(
+                          new DebugServerException(
+                              "Unexpected Content-Type of the bundle: "
+                                  + headers.get("Content-Type")
+                                  + "\n\nURL: "
+                                  + url
+                                  + "\n\n"));
+                    } else if (mJSONBody != null) {
+                      processBundleResult(
+                          url, status, partHeaders, mJSONBody, outputFile, bundleInfo, callback);
+                    } else {
+                      processStoredBundleResult(
+                          url, status, partHeaders, tmpFile, outputFile, bundleInfo, callback);
                     }
-                    Integer total = null;
-                    if (progress.has("total")) {
-                      total = progress.getInt("total");
+                  } else {
+                    if (mJSONBody == null) {
+                      return;
+                    }
+
+                    try {
+                      JSONObject progress = new JSONObject(mJSONBody.readUtf8());
+                      String status =
+                          progress.has("status") ? progress.getString("status") : "Bundling";
+                      Integer done = null;
+                      if (progress.has("done")) {
+                        done = progress.getInt("done");
+                      }
+                      Integer total = null;
+                      if (progress.has("total")) {
+                        total = progress.getInt("total");
+                      }
+                      callback.onProgress(status, done, total);
+                    } catch (JSONException e) {
+                      FLog.e(ReactConstants.TAG, "Error parsing progress JSON. " + e.toString());
                     }
-                    callback.onProgress(status, done, total);
-                  } catch (JSONException e) {
-                    FLog.e(ReactConstants.TAG, "Error parsing progress JSON. " + e.toString());
                   }
                 }
-              }
 
-              @Override
-              public void onChunkProgress(Map<String, String> headers, long loaded, long total) {
-                if ("application/javascript".equals(headers.get("Content-Type"))) {
-                  callback.onProgress("Downloading", (int) (loaded / 1024), (int) (total / 1024));
+                @Override
+                public void onPartProgress(Map<String, String> headers, long loaded, long total) {
+                  if ("application/javascript".equals(headers.get("Content-Type"))) {
+                    callback.onProgress("Downloading", (int) (loaded / 1024), (int) (total / 1024));
+                  }
                 }
-              }
-            });
+              });
+    } finally {
+      // Once the bundle is stored, tmpFile has been renamed and there's nothing left to delete
+      tmpFile.delete();
+    }
     if (!completed) {
       callback.onFailure(
           new DebugServerException(
@@ -283,6 +324,36 @@ public class BundleDownloader {
     callback.onSuccess();
   }
 
+  /** Same as {@link #processBundleResult}, for a body that was already written to tmpFile. */
+  private void processStoredBundleResult(
+      String url,
+      int statusCode,
+      Headers headers,
+      File tmpFile,
+      File outputFile,
+      @Nullable BundleInfo bundleInfo,
+      DevBundleDownloadListener callback)
+      throws IOException {
+    if (statusCode != 200) {
+      try (BufferedSource body = Okio.buffer(Okio.source(tmpFile))) {
+        processBundleResult(url, statusCode, headers, body, outputFile, bundleInfo, callback);
+      } finally {
+        tmpFile.delete();
+      }
+      return;
+    }
+
+    if (bundleInfo != null) {
+      populateBundleInfo(url, headers, bundleInfo);
+    }
+
+    if (!tmpFile.renameTo(outputFile)) {
+      throw new IOException("Couldn't rename " + tmpFile + " to " + outputFile);
+    }
+
+    callback.onSuccess();
+  }
+
   private static boolean storePlainJSInFile(BufferedSource body, File outputFile)
       throws IOException {
     Sink output = null;
@@ -13,15 +13,29 @@ import java.util.Map;
 import okio.Buffer;
 import okio.BufferedSource;
 import okio.ByteString;
+import okio.Sink;
 
-/** Utility class to parse the body of a response of type multipart/mixed. */
+/**
+ * Utility class to parse the body of a response of type multipart/mixed.
+ *
+ * <p>The response is read one window of {@link #DEFAULT_WINDOW_SIZE} (or the configured size)
+ * bytes at a time and scanned for boundaries as it's read. When parts are streamed with a {@link
+ * PartListener}, no more than two windows are buffered no matter how large the parts are.
+ */
 class MultipartStreamReader {
   // Standard line separator for HTTP.
   private static final String CRLF = "\r\n";
 
+  /* package */ static final int DEFAULT_WINDOW_SIZE = 8 * 1024;
+
+  // Returned when the window ends with what may be the start of a delimiter
+  private static final long NEED_MORE_BYTES = -2;
+
   private final BufferedSource mSource;
   private final String mBoundary;
+  private final int mWindowSize;
   private long mLastProgressEvent;
+  private long mMaxWindowBytes;
 
   public interface ChunkListener {
     /** Invoked when a chunk of a multipart response is fully downloaded. */
@@ -32,18 +46,46 @@ class MultipartStreamReader {
     void onChunkProgress(Map<String, String> headers, long loaded, long total) throws IOException;
   }
 
+  /**
+   * Receives the parts of a multipart response as they are read. Unlike with {@link
+   * ChunkListener}, the body of a part isn't buffered but written to a sink as it arrives.
+   */
+  public interface PartListener {
+    /**
+     * Invoked when the headers of a part are read, or with null headers if the part has none.
+     *
+     * @return the sink the body of the part is written to, or null to skip it. The sink is closed
+     *     once the body has been written, or reading the part failed.
+     */
+    Sink onPartStart(Map<String, String> headers) throws IOException;
+
+    /** Invoked as bytes of the body of the current part are read. */
+    void onPartProgress(Map<String, String> headers, long loaded, long total) throws IOException;
+
+    /** Invoked when the body of a part has been written and its sink closed. */
+    void onPartComplete(Map<String, String> headers, boolean isLastPart) throws IOException;
+  }
+
   public MultipartStreamReader(BufferedSource source, String boundary) {
+    this(source, boundary, DEFAULT_WINDOW_SIZE);
+  }
+
+  /**
+   * @param windowSize number of bytes read from the source at once, it has to fit the headers of
+   *     a part
+   */
+  public MultipartStreamReader(BufferedSource source, String boundary, int windowSize) {
     mSource = source;
     mBoundary = boundary;
+    mWindowSize = windowSize;
   }
 
-  private Map<String, String> parseHeaders(Buffer data) {
+  private static Map<String, String> parseHeaders(Buffer data) throws IOException {
     Map<String, String> headers = new HashMap<>();
 
-    String text = data.readUtf8();
-    String[] lines = text.split(CRLF);
-    for (String line : lines) {
-      int indexOfSeparator = line.indexOf(":");
+    String line;
+    while ((line = data.readUtf8Line()) != null) {
+      int indexOfSeparator = line.indexOf(':');
       if (indexOfSeparator == -1) {
         continue;
       }
@@ -56,23 +98,8 @@ class MultipartStreamReader {
     return headers;
   }
 
-  private void emitChunk(Buffer chunk, boolean done, ChunkListener listener) throws IOException {
-    ByteString marker = ByteString.encodeUtf8(CRLF + CRLF);
-    long indexOfMarker = chunk.indexOf(marker);
-    if (indexOfMarker == -1) {
-      listener.onChunkComplete(null, chunk, done);
-    } else {
-      Buffer headers = new Buffer();
-      Buffer body = new Buffer();
-      chunk.read(headers, indexOfMarker);
-      chunk.skip(marker.size());
-      chunk.readAll(body);
-      listener.onChunkComplete(parseHeaders(headers), body, done);
-    }
-  }
-
   private void emitProgress(
-      Map<String, String> headers, long contentLength, boolean isFinal, ChunkListener listener)
+      Map<String, String> headers, long contentLength, boolean isFinal, PartListener listener)
       throws IOException {
     if (headers == null || listener == null) {
       return;
@@ -83,84 +110,189 @@ class MultipartStreamReader {
       mLastProgressEvent = currentTime;
       long headersContentLength =
           headers.get("Content-Length") != null ? Long.parseLong(headers.get("Content-Length")) : 0;
-      listener.onChunkProgress(headers, contentLength, headersContentLength);
+      listener.onPartProgress(headers, contentLength, headersContentLength);
     }
   }
 
   /**
    * Reads all parts of the multipart response and execute the listener for each chunk received.
+   * The body of each chunk is buffered in memory, use {@link #readAllParts(PartListener)} to
+   * stream them instead.
    *
    * @param listener Listener invoked when chunks are received.
    * @return If the read was successful
    */
-  public boolean readAllParts(ChunkListener listener) throws IOException {
-    ByteString delimiter = ByteString.encodeUtf8(CRLF + "--" + mBoundary + CRLF);
-    ByteString closeDelimiter = ByteString.encodeUtf8(CRLF + "--" + mBoundary + "--" + CRLF);
-    ByteString headersDelimiter = ByteString.encodeUtf8(CRLF + CRLF);
+  public boolean readAllParts(final ChunkListener listener) throws IOException {
+    return readAllParts(
+        new PartListener() {
+          private Buffer mBody = new Buffer();
 
-    int bufferLen = 4 * 1024;
-    long chunkStart = 0;
-    long bytesSeen = 0;
-    Buffer content = new Buffer();
-    Map<String, String> currentHeaders = null;
-    long currentHeadersLength = 0;
+          @Override
+          public Sink onPartStart(Map<String, String> headers) {
+            mBody = new Buffer();
+            return mBody;
+          }
 
-    while (true) {
-      boolean isCloseDelimiter = false;
-
-      // Search only a subset of chunk that we haven't seen before + few bytes
-      // to allow for the edge case when the delimiter is cut by read call.
-      long searchStart = Math.max(bytesSeen - closeDelimiter.size(), chunkStart);
-      long indexOfDelimiter = content.indexOf(delimiter, searchStart);
-      if (indexOfDelimiter == -1) {
-        isCloseDelimiter = true;
-        indexOfDelimiter = content.indexOf(closeDelimiter, searchStart);
+          @Override
+          public void onPartProgress(Map<String, String> headers, long loaded, long total)
+              throws IOException {
+            listener.onChunkProgress(headers, loaded, total);
+          }
+
+          @Override
+          public void onPartComplete(Map<String, String> headers, boolean isLastPart)
+              throws IOException {
+            listener.onChunkComplete(headers, mBody, isLastPart);
+          }
+        });
+  }
+
+  /**
+   * Reads all parts of the multipart response, writing the body of each part to the sink the
+   * listener returns for it as it's read.
+   *
+   * @param listener Listener invoked for each part.
+   * @return If the read was successful
+   */
+  public boolean readAllParts(PartListener listener) throws IOException {
+    ByteString boundary = ByteString.encodeUtf8(CRLF + "--" + mBoundary);
+    ByteString headersDelimiter = ByteString.encodeUtf8(CRLF + CRLF);
+    // Anything before this many bytes from the end of the window can't be part of a delimiter
+    long delimiterLookBehind = boundary.size() + 1;
+    Buffer window = new Buffer();
+
+    // Ignore preamble
+    long indexOfDelimiter;
+    while ((indexOfDelimiter = indexOfDelimiter(window, boundary)) < 0) {
+      window.skip(Math.max(0, window.size() - delimiterLookBehind));
+      if (!fill(window)) {
+        return false;
       }
+    }
+    if (skipDelimiter(window, indexOfDelimiter, boundary)) {
+      return true;
+    }
 
-      if (indexOfDelimiter == -1) {
-        bytesSeen = content.size();
-
-        if (currentHeaders == null) {
-          long indexOfHeaders = content.indexOf(headersDelimiter, searchStart);
-          if (indexOfHeaders >= 0) {
-            mSource.read(content, indexOfHeaders);
-            Buffer headers = new Buffer();
-            content.copyTo(headers, searchStart, indexOfHeaders - searchStart);
-            currentHeadersLength = headers.size() + headersDelimiter.size();
-            currentHeaders = parseHeaders(headers);
+    while (true) {
+      // The headers end before the next delimiter, otherwise the part doesn't have any
+      Map<String, String> headers = null;
+      while (true) {
+        long indexOfHeaders = window.indexOf(headersDelimiter);
+        long indexOfPossibleDelimiter = indexOfPossibleDelimiter(window, boundary);
+        if (indexOfHeaders >= 0
+            && (indexOfPossibleDelimiter < 0
+                || indexOfHeaders + headersDelimiter.size() <= indexOfPossibleDelimiter)) {
+          Buffer headersData = new Buffer();
+          window.read(headersData, indexOfHeaders);
+          window.skip(headersDelimiter.size());
+          headers = parseHeaders(headersData);
+          break;
+        }
+        if (indexOfPossibleDelimiter >= 0) {
+          if (indexOfDelimiter(window, boundary) >= 0) {
+            break;
           }
-        } else {
-          emitProgress(currentHeaders, content.size() - currentHeadersLength, false, listener);
+          // The window ends in the middle of what may be a delimiter, read on to tell
+        } else if (window.size() >= mWindowSize) {
+          // The headers have to fit in a window
+          break;
         }
-
-        long bytesRead = mSource.read(content, bufferLen);
-        if (bytesRead <= 0) {
+        if (!fill(window)) {
           return false;
         }
-        continue;
       }
 
-      long chunkEnd = indexOfDelimiter;
-      long length = chunkEnd - chunkStart;
-
-      // Ignore preamble
-      if (chunkStart > 0) {
-        Buffer chunk = new Buffer();
-        content.skip(chunkStart);
-        content.read(chunk, length);
-        emitProgress(currentHeaders, chunk.size() - currentHeadersLength, true, listener);
-        emitChunk(chunk, isCloseDelimiter, listener);
-        currentHeaders = null;
-        currentHeadersLength = 0;
-      } else {
-        content.skip(chunkEnd);
+      Sink sink = listener.onPartStart(headers);
+      long bodyLength = 0;
+      boolean isLastPart;
+      try {
+        while ((indexOfDelimiter = indexOfDelimiter(window, boundary)) < 0) {
+          long flushable = window.size() - delimiterLookBehind;
+          if (flushable > 0) {
+            writeBody(window, flushable, sink);
+            bodyLength += flushable;
+            emitProgress(headers, bodyLength, false, listener);
+          }
+          if (!fill(window)) {
+            return false;
+          }
+        }
+        writeBody(window, indexOfDelimiter, sink);
+        bodyLength += indexOfDelimiter;
+        isLastPart = skipDelimiter(window, 0, boundary);
+      } finally {
+        if (sink != null) {
+          sink.close();
+        }
       }
 
-      if (isCloseDelimiter) {
+      emitProgress(headers, bodyLength, true, listener);
+      listener.onPartComplete(headers, isLastPart);
+      if (isLastPart) {
         return true;
       }
+    }
+  }
+
+  /** @return largest number of bytes that were buffered at once while reading parts */
+  /* package */ long getMaxWindowBytes() {
+    return mMaxWindowBytes;
+  }
 
-      bytesSeen = chunkStart = delimiter.size();
+  private boolean fill(Buffer window) throws IOException {
+    long bytesRead = mSource.read(window, mWindowSize);
+    mMaxWindowBytes = Math.max(mMaxWindowBytes, window.size());
+    return bytesRead > 0;
+  }
+
+  private static void writeBody(Buffer window, long byteCount, Sink sink) throws IOException {
+    if (sink == null) {
+      window.skip(byteCount);
+    } else {
+      // Moves the segments of the window to the sink rather than copying them
+      sink.write(window, byteCount);
     }
   }
+
+  /**
+   * @return index of the first delimiter or close delimiter in the window, -1 if there is none or
+   *     {@link #NEED_MORE_BYTES} if the window ends with what may be a delimiter
+   */
+  private static long indexOfDelimiter(Buffer window, ByteString boundary) {
+    long index = indexOfPossibleDelimiter(window, boundary);
+    return index >= 0 && window.size() < index + boundary.size() + 2 ? NEED_MORE_BYTES : index;
+  }
+
+  /**
+   * @return index of the first delimiter or close delimiter in the window, or of what may be one
+   *     when the window ends before it can be told apart, -1 if there is none
+   */
+  private static long indexOfPossibleDelimiter(Buffer window, ByteString boundary) {
+    long index = 0;
+    while ((index = window.indexOf(boundary, index)) != -1) {
+      long end = index + boundary.size();
+      if (window.size() < end + 2) {
+        return index;
+      }
+      byte first = window.getByte(end);
+      byte second = window.getByte(end + 1);
+      if ((first == '\r' && second == '\n') || (first == '-' && second == '-')) {
+        return index;
+      }
+      index++;
+    }
+    return -1;
+  }
+
+  /**
+   * Skips everything in the window up to the end of the delimiter at the given index.
+   *
+   * @return whether it's the close delimiter
+   */
+  private static boolean skipDelimiter(Buffer window, long indexOfDelimiter, ByteString boundary)
+      throws IOException {
+    boolean isCloseDelimiter = window.getByte(indexOfDelimiter + boundary.size()) == '-';
+    window.skip(indexOfDelimiter + boundary.size() + 2);
+    return isCloseDelimiter;
+  }
 }
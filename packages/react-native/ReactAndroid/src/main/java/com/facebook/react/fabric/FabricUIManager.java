@@ -23,6 +23,7 @@ import android.annotation.SuppressLint;
 import android.content.Context;
 import android.graphics.Point;
 import android.os.SystemClock;
+import android.view.Choreographer;
 import android.view.View;
 import android.view.accessibility.AccessibilityEvent;
 import androidx.annotation.AnyThread;
@@ -53,6 +54,7 @@ import com.facebook.react.bridge.WritableMap;
 import com.facebook.react.common.build.ReactBuildConfig;
 import com.facebook.react.common.mapbuffer.ReadableMapBuffer;
 import com.facebook.react.config.ReactFeatureFlags;
+import com.facebook.react.fabric.events.EventEmitterBatch;
 import com.facebook.react.fabric.events.EventEmitterWrapper;
 import com.facebook.react.fabric.events.FabricEventEmitter;
 import com.facebook.react.fabric.internal.interop.InteropUIBlockListener;
@@ -61,6 +63,7 @@ import com.facebook.react.fabric.interop.UIBlockViewResolver;
 import com.facebook.react.fabric.mounting.MountItemDispatcher;
 import com.facebook.react.fabric.mounting.MountingManager;
 import com.facebook.react.fabric.mounting.SurfaceMountingManager;
+import com.facebook.react.fabric.mounting.SynchronousPropsBatch;
 import com.facebook.react.fabric.mounting.mountitems.BatchMountItem;
 import com.facebook.react.fabric.mounting.mountitems.DispatchCommandMountItem;
 import com.facebook.react.fabric.mounting.mountitems.MountItem;
@@ -174,6 +177,12 @@ public class FabricUIManager
 
   @NonNull private final BatchEventDispatchedListener mBatchEventDispatchedListener;
 
+  @Nullable private final EventEmitterBatch mEventEmitterBatch;
+
+  // Registered before mBatchEventDispatchedListener, so batched events make it to the beat
+  private final BatchEventDispatchedListener mDispatchEventEmitterBatchListener =
+      this::dispatchEventEmitterBatch;
+
   @NonNull
   private final CopyOnWriteArrayList<UIManagerListener> mListeners = new CopyOnWriteArrayList<>();
 
@@ -184,6 +193,11 @@ public class FabricUIManager
   @NonNull
   private final DispatchUIFrameCallback mDispatchUIFrameCallback;
 
+  @Nullable private final SynchronousPropsBatch mSynchronousPropsBatch;
+
+  private final Choreographer.FrameCallback mApplySynchronousPropsFrameCallback =
+      frameTimeNanos -> applySynchronousProps();
+
   /** Set of events sent synchronously during the current frame render. Cleared after each frame. */
   private final Set<SynchronousEvent> mSynchronousEvents = new HashSet<>();
 
@@ -226,12 +240,16 @@ public class FabricUIManager
       @NonNull ViewManagerRegistry viewManagerRegistry,
       @NonNull BatchEventDispatchedListener batchEventDispatchedListener) {
     mDispatchUIFrameCallback = new DispatchUIFrameCallback(reactContext);
+    mSynchronousPropsBatch =
+        ReactFeatureFlags.enableSynchronousPropsBatching ? new SynchronousPropsBatch() : null;
     mReactApplicationContext = reactContext;
     mMountingManager = new MountingManager(viewManagerRegistry, mMountItemExecutor);
     mMountItemDispatcher =
         new MountItemDispatcher(mMountingManager, new MountItemDispatchListener());
     mEventDispatcher = new FabricEventDispatcher(reactContext);
     mBatchEventDispatchedListener = batchEventDispatchedListener;
+    mEventEmitterBatch =
+        ReactFeatureFlags.enableBatchedEventEmitterDispatch ? new EventEmitterBatch() : null;
     mReactApplicationContext.addLifecycleEventListener(this);
 
     mViewManagerRegistry = viewManagerRegistry;
@@ -255,6 +273,7 @@ public class FabricUIManager
         new ThemedReactContext(
             mReactApplicationContext, rootView.getContext(), reactRootView.getSurfaceID(), rootTag);
     mMountingManager.startSurface(rootTag, reactContext, rootView);
+    mMountItemDispatcher.prioritizePreallocations(rootTag);
     String moduleName = reactRootView.getJSModuleName();
     if (ENABLE_FABRIC_LOGS) {
       FLog.d(TAG, "Starting surface for module: %s and reactTag: %d", moduleName, rootTag);
@@ -303,6 +322,7 @@ public class FabricUIManager
       FLog.d(TAG, "Starting surface for module: %s and reactTag: %d", moduleName, rootTag);
     }
     mMountingManager.startSurface(rootTag, reactContext, rootView);
+    mMountItemDispatcher.prioritizePreallocations(rootTag);
 
     // If startSurface is executed in the UIThread then, it uses the ViewportOffset from the View,
     // Otherwise Fabric relies on calling {@link Binding#setConstraints} method to update the
@@ -334,6 +354,9 @@ public class FabricUIManager
         new ThemedReactContext(
             mReactApplicationContext, context, surfaceHandler.getModuleName(), rootTag);
     mMountingManager.startSurface(rootTag, reactContext, rootView);
+    if (rootView != null) {
+      mMountItemDispatcher.prioritizePreallocations(rootTag);
+    }
 
     surfaceHandler.setSurfaceId(rootTag);
     if (surfaceHandler instanceof SurfaceHandlerBinding) {
@@ -351,6 +374,7 @@ public class FabricUIManager
             surfaceHandler.getModuleName(),
             surfaceHandler.getSurfaceId());
     mMountingManager.attachRootView(surfaceHandler.getSurfaceId(), rootView, reactContext);
+    mMountItemDispatcher.prioritizePreallocations(surfaceHandler.getSurfaceId());
 
     surfaceHandler.setMountable(true);
   }
@@ -364,6 +388,7 @@ public class FabricUIManager
     }
 
     mMountingManager.stopSurface(surfaceHandler.getSurfaceId());
+    mMountItemDispatcher.cancelPreallocations(surfaceHandler.getSurfaceId());
 
     surfaceHandler.stop();
 
@@ -384,6 +409,7 @@ public class FabricUIManager
   public void stopSurface(final int surfaceID) {
     // Mark surfaceId as dead, stop executing mounting instructions
     mMountingManager.stopSurface(surfaceID);
+    mMountItemDispatcher.cancelPreallocations(surfaceID);
 
     // Communicate stopSurface to Cxx - causes an empty ShadowTree to be committed,
     // but all mounting instructions will be ignored because stopSurface was called
@@ -394,6 +420,9 @@ public class FabricUIManager
   @Override
   public void initialize() {
     mEventDispatcher.registerEventEmitter(FABRIC, new FabricEventEmitter(this));
+    if (mEventEmitterBatch != null) {
+      mEventDispatcher.addBatchEventDispatchedListener(mDispatchEventEmitterBatchListener);
+    }
     mEventDispatcher.addBatchEventDispatchedListener(mBatchEventDispatchedListener);
     if (ENABLE_FABRIC_PERF_LOGS) {
       mDevToolsReactPerfLogger = new DevToolsReactPerfLogger();
@@ -432,6 +461,7 @@ public class FabricUIManager
     // memory immediately.
     mDispatchUIFrameCallback.stop();
 
+    mEventDispatcher.removeBatchEventDispatchedListener(mDispatchEventEmitterBatchListener);
     mEventDispatcher.removeBatchEventDispatchedListener(mBatchEventDispatchedListener);
     mEventDispatcher.unregisterEventEmitter(FABRIC);
 
@@ -662,8 +692,6 @@ public class FabricUIManager
       final int reactTag, @NonNull final ReadableMap props) {
     UiThreadUtil.assertOnUiThread();
 
-    int commitNumber = mCurrentSynchronousCommitNumber++;
-
     // We are on the UI thread so it would otherwise be safe to call `tryDispatchMountItems` here to
     // flush previously-queued mountitems, *BUT* we don't know where we are on the callstack.
     // Why isn't it safe, and why do we have additional safeguards here?
@@ -687,20 +715,38 @@ public class FabricUIManager
     //    android.view.View.updateDisplayListIfDirty(View.java:20466)
     // 3. A view is deleted while its parent is being drawn, causing a crash.
 
+    // Updates are only batched from callbacks of the frame that still applies the batch, e.g. from
+    // native driven animations. Other callers expect the update to be visible in this frame.
+    if (mSynchronousPropsBatch != null
+        && mMountingManager.getViewExists(reactTag)
+        && ReactChoreographer.getInstance()
+            .isRunningCallbacksBefore(ReactChoreographer.CallbackType.SYNCHRONOUS_PROPS)) {
+      if (ENABLE_FABRIC_LOGS) {
+        FLog.d(
+            TAG,
+            "SynchronouslyUpdateViewOnUIThread batching update for tag %d: %s",
+            reactTag,
+            (IS_DEVELOPMENT_ENVIRONMENT ? props.toHashMap().toString() : "<hidden>"));
+      }
+      if (mSynchronousPropsBatch.add(reactTag, props)) {
+        ReactChoreographer.getInstance()
+            .postFrameCallback(
+                ReactChoreographer.CallbackType.SYNCHRONOUS_PROPS,
+                mApplySynchronousPropsFrameCallback);
+      }
+      return;
+    }
+
+    // Updates batched earlier are older than this one
+    applySynchronousProps();
+
+    int commitNumber = mCurrentSynchronousCommitNumber++;
+
     MountItem synchronousMountItem =
         new MountItem() {
           @Override
           public void execute(@NonNull MountingManager mountingManager) {
-            try {
-              mountingManager.updateProps(reactTag, props);
-            } catch (Exception ex) {
-              // TODO T42943890: Fix animations in Fabric and remove this try/catch?
-              // There might always be race conditions between surface teardown and
-              // animations/other operations, so it may not be feasible to remove this.
-              // Practically 100% of reported errors from this point are because the
-              // surface has stopped by this point, but the MountItem was queued before
-              // the surface was stopped. It's likely not feasible to prevent all such races.
-            }
+            mountingManager.updatePropsIgnoringErrors(reactTag, props);
           }
 
           @Override
@@ -741,6 +787,26 @@ public class FabricUIManager
         ReactMarkerConstants.FABRIC_UPDATE_UI_MAIN_THREAD_END, null, commitNumber);
   }
 
+  /**
+   * Applies the synchronous prop updates batched during this frame, once per view. Called before
+   * any other update of the views, so that the last writer wins.
+   */
+  @UiThread
+  @ThreadConfined(UI)
+  private void applySynchronousProps() {
+    SynchronousPropsBatch batch = mSynchronousPropsBatch;
+    if (batch == null || batch.isEmpty() || mDestroyed) {
+      return;
+    }
+
+    int commitNumber = mCurrentSynchronousCommitNumber++;
+    ReactMarker.logFabricMarker(
+        ReactMarkerConstants.FABRIC_UPDATE_UI_MAIN_THREAD_START, null, commitNumber);
+    batch.apply(mMountingManager);
+    ReactMarker.logFabricMarker(
+        ReactMarkerConstants.FABRIC_UPDATE_UI_MAIN_THREAD_END, null, commitNumber);
+  }
+
   @SuppressWarnings("unused")
   @AnyThread
   @ThreadConfined(ANY)
@@ -979,6 +1045,21 @@ public class FabricUIManager
       return;
     }
 
+    if (mEventEmitterBatch != null && !UiThreadUtil.isOnUiThread()) {
+      // The batch is owned by the UI thread, events of other threads join it there in order
+      UiThreadUtil.runOnUiThread(
+          () ->
+              receiveEvent(
+                  surfaceId,
+                  reactTag,
+                  eventName,
+                  canCoalesceEvent,
+                  params,
+                  eventCategory,
+                  experimental_isSynchronous));
+      return;
+    }
+
     EventEmitterWrapper eventEmitter = mMountingManager.getEventEmitter(surfaceId, reactTag);
     if (eventEmitter == null) {
       if (mMountingManager.getViewExists(reactTag)) {
@@ -994,6 +1075,16 @@ public class FabricUIManager
       return;
     }
 
+    EventEmitterBatch eventEmitterBatch = mEventEmitterBatch;
+    if (eventEmitterBatch != null) {
+      if (!experimental_isSynchronous && !canCoalesceEvent) {
+        eventEmitterBatch.add(eventEmitter, eventName, params, eventCategory);
+        return;
+      }
+      // Keep the order of the events, the batched ones were dispatched first
+      eventEmitterBatch.dispatch();
+    }
+
     if (experimental_isSynchronous) {
       // add() returns true only if there are no equivalent events already in the set
       boolean firstEventForFrame =
@@ -1010,6 +1101,13 @@ public class FabricUIManager
     }
   }
 
+  /** Sends the events batched since the last event beat to C++, right before the beat. */
+  private void dispatchEventEmitterBatch() {
+    if (mEventEmitterBatch != null && !mDestroyed) {
+      mEventEmitterBatch.dispatch();
+    }
+  }
+
   @Override
   public void onHostResume() {
     ReactChoreographer.getInstance()
@@ -1231,6 +1329,10 @@ public class FabricUIManager
     @ThreadConfined(UI)
     @Override
     public void willMountItems(@Nullable List<MountItem> mountItems) {
+      // The mount items may come from a commit that is newer than the batched updates, which
+      // must not overwrite its props
+      applySynchronousProps();
+
       for (UIManagerListener listener : mListeners) {
         listener.willMountItems(FabricUIManager.this);
       }
@@ -0,0 +1,182 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package com.facebook.react.fabric.events;
+
+import androidx.annotation.Nullable;
+import androidx.annotation.UiThread;
+import com.facebook.infer.annotation.Nullsafe;
+import com.facebook.infer.annotation.ThreadConfined;
+import com.facebook.react.bridge.NativeMap;
+import com.facebook.react.bridge.UiThreadUtil;
+import com.facebook.react.bridge.WritableMap;
+import com.facebook.react.uimanager.events.EventCategoryDef;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Events dispatched until the next event beat, sent to their C++ EventEmitters in a single JNI call
+ * instead of one call per event.
+ *
+ * <p>The batch is owned by the UI thread, which adds the events and sends the batch at the event
+ * beat, so it takes no lock. Events of other threads have to be handed over to the UI thread to
+ * keep their order.
+ *
+ * <p>The emitters and event names of a beat are mostly the same few ones, e.g. the scroll events of
+ * one view, so each of them is sent once and events refer to them by index. C++ then reads each
+ * emitter and name once instead of once per event. The arrays are kept between beats and only
+ * grow.
+ */
+@Nullsafe(Nullsafe.Mode.LOCAL)
+@ThreadConfined(ThreadConfined.UI)
+public final class EventEmitterBatch {
+
+  /**
+   * Sends the first `count` events of the arrays to C++. Event `i` is dispatched through {@code
+   * emitters[emitterIndices[i]]}, skipped if that is null, with the name {@code
+   * eventNames[nameIndices[i]]}.
+   */
+  /* package */ interface Dispatcher {
+    void dispatch(
+        @Nullable EventEmitterWrapper[] emitters,
+        String[] eventNames,
+        int[] emitterIndices,
+        int[] nameIndices,
+        @Nullable NativeMap[] params,
+        int[] categories,
+        int count);
+  }
+
+  private static final int INITIAL_CAPACITY = 16;
+
+  private static final AtomicLong sDispatchCount = new AtomicLong();
+  private static final AtomicLong sDispatchedEventCount = new AtomicLong();
+
+  private final Dispatcher mDispatcher;
+
+  private final Map<EventEmitterWrapper, Integer> mEmitterIndices = new IdentityHashMap<>();
+  private final Map<String, Integer> mNameIndices = new HashMap<>();
+  private @Nullable EventEmitterWrapper[] mEmitters = new EventEmitterWrapper[INITIAL_CAPACITY];
+  private String[] mEventNames = new String[INITIAL_CAPACITY];
+
+  private int[] mEventEmitterIndices = new int[INITIAL_CAPACITY];
+  private int[] mEventNameIndices = new int[INITIAL_CAPACITY];
+  private @Nullable NativeMap[] mParams = new NativeMap[INITIAL_CAPACITY];
+  private int[] mCategories = new int[INITIAL_CAPACITY];
+  private int mCount = 0;
+
+  public EventEmitterBatch() {
+    this(EventEmitterWrapper::dispatchBatch);
+  }
+
+  /* package */ EventEmitterBatch(Dispatcher dispatcher) {
+    mDispatcher = dispatcher;
+  }
+
+  /** Adds an event, dispatched through {@link EventEmitterWrapper#dispatch} otherwise. */
+  @UiThread
+  public void add(
+      EventEmitterWrapper emitter,
+      String eventName,
+      @Nullable WritableMap params,
+      @EventCategoryDef int eventCategory) {
+    UiThreadUtil.assertOnUiThread();
+    if (mCount == mParams.length) {
+      int capacity = mCount * 2;
+      mEventEmitterIndices = Arrays.copyOf(mEventEmitterIndices, capacity);
+      mEventNameIndices = Arrays.copyOf(mEventNameIndices, capacity);
+      mParams = Arrays.copyOf(mParams, capacity);
+      mCategories = Arrays.copyOf(mCategories, capacity);
+    }
+    mEventEmitterIndices[mCount] = getEmitterIndex(emitter);
+    mEventNameIndices[mCount] = getNameIndex(eventName);
+    mParams[mCount] = (NativeMap) params;
+    mCategories[mCount] = eventCategory;
+    mCount++;
+  }
+
+  private int getEmitterIndex(EventEmitterWrapper emitter) {
+    Integer index = mEmitterIndices.get(emitter);
+    if (index == null) {
+      index = mEmitterIndices.size();
+      if (index == mEmitters.length) {
+        mEmitters = Arrays.copyOf(mEmitters, index * 2);
+      }
+      mEmitters[index] = emitter;
+      mEmitterIndices.put(emitter, index);
+    }
+    return index;
+  }
+
+  private int getNameIndex(String eventName) {
+    Integer index = mNameIndices.get(eventName);
+    if (index == null) {
+      index = mNameIndices.size();
+      if (index == mEventNames.length) {
+        mEventNames = Arrays.copyOf(mEventNames, index * 2);
+      }
+      mEventNames[index] = eventName;
+      mNameIndices.put(eventName, index);
+    }
+    return index;
+  }
+
+  /** Sends the events added since the last call to C++, in order. */
+  @UiThread
+  public void dispatch() {
+    UiThreadUtil.assertOnUiThread();
+    int count = mCount;
+    if (count == 0) {
+      return;
+    }
+    try {
+      // Emitters are only destroyed on the UI thread while batching, so none can be destroyed
+      // between this check and the end of the JNI call
+      for (int i = 0, size = mEmitterIndices.size(); i < size; i++) {
+        EventEmitterWrapper emitter = mEmitters[i];
+        if (emitter != null && !emitter.isValid()) {
+          mEmitters[i] = null;
+        }
+      }
+      mDispatcher.dispatch(
+          mEmitters,
+          mEventNames,
+          mEventEmitterIndices,
+          mEventNameIndices,
+          mParams,
+          mCategories,
+          count);
+      sDispatchCount.incrementAndGet();
+      sDispatchedEventCount.addAndGet(count);
+    } finally {
+      // Don't keep emitters and payloads alive until the slots are reused
+      Arrays.fill(mEmitters, 0, mEmitterIndices.size(), null);
+      Arrays.fill(mEventNames, 0, mNameIndices.size(), null);
+      Arrays.fill(mParams, 0, count, null);
+      mEmitterIndices.clear();
+      mNameIndices.clear();
+      mCount = 0;
+    }
+  }
+
+  public boolean isEmpty() {
+    return mCount == 0;
+  }
+
+  /** @return number of JNI calls made to dispatch batches */
+  public static long getDispatchCount() {
+    return sDispatchCount.get();
+  }
+
+  /** @return number of events dispatched in batches, at most one JNI call each before */
+  public static long getDispatchedEventCount() {
+    return sDispatchedEventCount.get();
+  }
+}
@@ -13,7 +13,9 @@ import com.facebook.infer.annotation.Nullsafe;
 import com.facebook.jni.HybridData;
 import com.facebook.proguard.annotations.DoNotStrip;
 import com.facebook.react.bridge.NativeMap;
+import com.facebook.react.bridge.UiThreadUtil;
 import com.facebook.react.bridge.WritableMap;
+import com.facebook.react.config.ReactFeatureFlags;
 import com.facebook.react.fabric.FabricSoLoader;
 import com.facebook.react.uimanager.events.EventCategoryDef;
 
@@ -44,6 +46,15 @@ public class EventEmitterWrapper {
 
   private native void dispatchUniqueEvent(String eventName, @Nullable NativeMap params);
 
+  private static native void dispatchEvents(
+      @Nullable EventEmitterWrapper[] emitters,
+      String[] eventNames,
+      int[] emitterIndices,
+      int[] nameIndices,
+      @Nullable NativeMap[] params,
+      int[] categories,
+      int count);
+
   /**
    * Invokes the execution of the C++ EventEmitter.
    *
@@ -80,13 +91,39 @@ public class EventEmitterWrapper {
     dispatchUniqueEvent(eventName, (NativeMap) params);
   }
 
-  public synchronized void destroy() {
-    if (mHybridData != null) {
-      mHybridData.resetNative();
+  /**
+   * Invokes the C++ EventEmitters of the first `count` events of the arrays in a single call. See
+   * {@link EventEmitterBatch.Dispatcher} for the layout of the arrays.
+   */
+  /* package */ static void dispatchBatch(
+      @Nullable EventEmitterWrapper[] emitters,
+      String[] eventNames,
+      int[] emitterIndices,
+      int[] nameIndices,
+      @Nullable NativeMap[] params,
+      int[] categories,
+      int count) {
+    dispatchEvents(emitters, eventNames, emitterIndices, nameIndices, params, categories, count);
+  }
+
+  /**
+   * Destroys the C++ EventEmitter. When events are batched, this happens on the UI thread, which
+   * also sends the {@link EventEmitterBatch}, so that an emitter isn't destroyed while its events
+   * are being sent.
+   */
+  public void destroy() {
+    if (ReactFeatureFlags.enableBatchedEventEmitterDispatch && !UiThreadUtil.isOnUiThread()) {
+      UiThreadUtil.runOnUiThread(this::destroy);
+      return;
+    }
+    synchronized (this) {
+      if (mHybridData != null) {
+        mHybridData.resetNative();
+      }
     }
   }
 
-  private boolean isValid() {
+  /* package */ boolean isValid() {
     if (mHybridData != null) {
       return mHybridData.isValid();
     }
@@ -11,6 +11,8 @@ import static com.facebook.infer.annotation.ThreadConfined.UI;
 import static com.facebook.react.fabric.FabricUIManager.ENABLE_FABRIC_LOGS;
 import static com.facebook.react.fabric.FabricUIManager.IS_DEVELOPMENT_ENVIRONMENT;
 
+import android.os.Looper;
+import android.os.MessageQueue;
 import android.os.SystemClock;
 import android.view.View;
 import androidx.annotation.NonNull;
@@ -22,12 +24,15 @@ import com.facebook.react.bridge.ReactIgnorableMountingException;
 import com.facebook.react.bridge.ReactNoCrashSoftException;
 import com.facebook.react.bridge.ReactSoftExceptionLogger;
 import com.facebook.react.bridge.RetryableMountingLayerException;
+import com.facebook.react.bridge.UiThreadUtil;
+import com.facebook.react.config.ReactFeatureFlags;
 import com.facebook.react.fabric.mounting.mountitems.DispatchCommandMountItem;
 import com.facebook.react.fabric.mounting.mountitems.MountItem;
 import com.facebook.react.internal.featureflags.ReactNativeFeatureFlags;
 import com.facebook.systrace.Systrace;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Queue;
 import java.util.concurrent.ConcurrentLinkedQueue;
@@ -37,6 +42,7 @@ public class MountItemDispatcher {
   private static final String TAG = "MountItemDispatcher";
   private static final int FRAME_TIME_MS = 16;
   private static final int MAX_TIME_IN_FRAME_FOR_NON_BATCHED_OPERATIONS_MS = 8;
+  private static final int MAX_TIME_IN_IDLE_FOR_PREALLOCATION_MS = 4;
 
   private final MountingManager mMountingManager;
   private final ItemDispatchListener mItemDispatchListener;
@@ -51,6 +57,16 @@ public class MountItemDispatcher {
   @NonNull
   private final ConcurrentLinkedQueue<MountItem> mPreMountItems = new ConcurrentLinkedQueue<>();
 
+  @Nullable private final PreallocationScheduler mPreallocationScheduler;
+
+  private final MessageQueue.IdleHandler mPreallocationIdleHandler =
+      new MessageQueue.IdleHandler() {
+        @Override
+        public boolean queueIdle() {
+          return dispatchPreallocationsWhileIdle();
+        }
+      };
+
   private boolean mInDispatch = false;
   private int mReDispatchCounter = 0;
   private long mBatchedExecutionTime = 0L;
@@ -59,6 +75,8 @@ public class MountItemDispatcher {
   public MountItemDispatcher(MountingManager mountingManager, ItemDispatchListener listener) {
     mMountingManager = mountingManager;
     mItemDispatchListener = listener;
+    mPreallocationScheduler =
+        ReactFeatureFlags.enableIdlePreallocationScheduler ? new PreallocationScheduler() : null;
   }
 
   public void addViewCommandMountItem(DispatchCommandMountItem mountItem) {
@@ -75,7 +93,12 @@ public class MountItemDispatcher {
     // expensive
     // both to queue, to drain, and to execute.
     if (!mMountingManager.surfaceIsStopped(mountItem.getSurfaceId())) {
-      mPreMountItems.add(mountItem);
+      if (mPreallocationScheduler == null) {
+        mPreMountItems.add(mountItem);
+      } else if (mPreallocationScheduler.add(mountItem)) {
+        UiThreadUtil.runOnUiThread(
+            () -> Looper.myQueue().addIdleHandler(mPreallocationIdleHandler));
+      }
     } else if (IS_DEVELOPMENT_ENVIRONMENT) {
       FLog.e(
           TAG,
@@ -85,6 +108,27 @@ public class MountItemDispatcher {
     }
   }
 
+  /**
+   * Executes the pending preallocations of a surface before those of surfaces that aren't shown,
+   * e.g. because it now has a root view. Only has an effect with {@link
+   * ReactFeatureFlags#enableIdlePreallocationScheduler}.
+   */
+  public void prioritizePreallocations(int surfaceId) {
+    if (mPreallocationScheduler != null) {
+      mPreallocationScheduler.prioritizeSurface(surfaceId);
+    }
+  }
+
+  /**
+   * Drops the pending preallocations of a stopped surface. Only has an effect with {@link
+   * ReactFeatureFlags#enableIdlePreallocationScheduler}, otherwise they are skipped on execution.
+   */
+  public void cancelPreallocations(int surfaceId) {
+    if (mPreallocationScheduler != null) {
+      mPreallocationScheduler.cancelSurface(surfaceId);
+    }
+  }
+
   /**
    * Try to dispatch MountItems. In case of the exception, we will retry 10 times before giving up.
    */
@@ -260,7 +304,10 @@ public class MountItemDispatcher {
 
     // If there are MountItems to dispatch, we make sure all the "pre mount items" are executed
     // first
-    Collection<MountItem> preMountItemsToDispatch = getAndResetPreMountItems();
+    Collection<MountItem> preMountItemsToDispatch =
+        mPreallocationScheduler != null
+            ? getAndResetPreallocationsForSurfaces(mountItemsToDispatch)
+            : getAndResetPreMountItems();
     if (preMountItemsToDispatch != null) {
       Systrace.beginSection(
           Systrace.TRACE_TAG_REACT_JAVA_BRIDGE, "MountItemDispatcher::mountViews preMountItems");
@@ -332,6 +379,7 @@ public class MountItemDispatcher {
   @UiThread
   @ThreadConfined(UI)
   public void dispatchPreMountItems(long frameTimeNanos) {
+    // With the scheduler, preallocations wait for the main thread to be idle instead
     if (mPreMountItems.isEmpty()) {
       // Avoid starting systrace if there are no pre mount items.
       return;
@@ -368,6 +416,42 @@ public class MountItemDispatcher {
     Systrace.endSection(Systrace.TRACE_TAG_REACT_JAVA_BRIDGE);
   }
 
+  /**
+   * Executes preallocations, most likely needed first, for a slice of the main thread's idle time.
+   *
+   * @return true to be called again the next time the main thread is idle
+   */
+  @UiThread
+  @ThreadConfined(UI)
+  private boolean dispatchPreallocationsWhileIdle() {
+    PreallocationScheduler scheduler = mPreallocationScheduler;
+    if (scheduler == null || mInDispatch) {
+      return scheduler != null;
+    }
+
+    Systrace.beginSection(
+        Systrace.TRACE_TAG_REACT_JAVA_BRIDGE, "MountItemDispatcher::preallocateViewsWhileIdle");
+    mInDispatch = true;
+    long startTime = SystemClock.uptimeMillis();
+    try {
+      while (SystemClock.uptimeMillis() - startTime < MAX_TIME_IN_IDLE_FOR_PREALLOCATION_MS) {
+        MountItem preallocation = scheduler.poll();
+        if (preallocation == null) {
+          // The scheduler asks for a new idle pass when preallocations are added again
+          return false;
+        }
+        if (ENABLE_FABRIC_LOGS) {
+          printMountItem(preallocation, "dispatchPreallocationsWhileIdle");
+        }
+        executeOrEnqueue(preallocation);
+      }
+      return true;
+    } finally {
+      mInDispatch = false;
+      Systrace.endSection(Systrace.TRACE_TAG_REACT_JAVA_BRIDGE);
+    }
+  }
+
   private void executeOrEnqueue(MountItem item) {
     if (mMountingManager.isWaitingForViewAttach(item.getSurfaceId())) {
       if (ENABLE_FABRIC_LOGS) {
@@ -425,6 +509,24 @@ public class MountItemDispatcher {
     return drainConcurrentItemQueue(mPreMountItems);
   }
 
+  /** Takes the pending preallocations of the surfaces that are about to be mounted. */
+  @Nullable
+  private Collection<MountItem> getAndResetPreallocationsForSurfaces(
+      @Nullable List<MountItem> mountItems) {
+    PreallocationScheduler scheduler = mPreallocationScheduler;
+    if (mountItems == null || scheduler == null || scheduler.isEmpty()) {
+      return null;
+    }
+    HashSet<Integer> surfaceIds = new HashSet<>();
+    List<MountItem> preallocations = new ArrayList<>();
+    for (MountItem mountItem : mountItems) {
+      if (surfaceIds.add(mountItem.getSurfaceId())) {
+        scheduler.drainSurface(mountItem.getSurfaceId(), preallocations);
+      }
+    }
+    return preallocations.isEmpty() ? null : preallocations;
+  }
+
   public long getBatchedExecutionTime() {
     return mBatchedExecutionTime;
   }
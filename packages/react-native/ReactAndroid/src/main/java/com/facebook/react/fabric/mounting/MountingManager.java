@@ -315,6 +315,24 @@ public class MountingManager {
     getSurfaceManagerForViewEnforced(reactTag).updateProps(reactTag, props);
   }
 
+  /**
+   * Updates props outside of a commit, e.g. from native driven animations. Failures are ignored,
+   * since such updates can race with the teardown of the view's surface.
+   */
+  @UiThread
+  public void updatePropsIgnoringErrors(int reactTag, ReadableMap props) {
+    try {
+      updateProps(reactTag, props);
+    } catch (Exception ex) {
+      // TODO T42943890: Fix animations in Fabric and remove this try/catch?
+      // There might always be race conditions between surface teardown and
+      // animations/other operations, so it may not be feasible to remove this.
+      // Practically 100% of reported errors from this point are because the
+      // surface has stopped by this point, but the update was queued before
+      // the surface was stopped. It's likely not feasible to prevent all such races.
+    }
+  }
+
   /**
    * Clears the JS Responder specified by {@link SurfaceMountingManager#setJSResponder}. After this
    * method is called, all the touch events are going to be handled by JS.
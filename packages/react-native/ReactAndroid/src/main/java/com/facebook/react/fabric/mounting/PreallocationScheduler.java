@@ -0,0 +1,168 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package com.facebook.react.fabric.mounting;
+
+import androidx.annotation.Nullable;
+import com.facebook.infer.annotation.Nullsafe;
+import com.facebook.react.fabric.mounting.mountitems.MountItem;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Orders pending view preallocations by how soon their views are likely needed.
+ *
+ * <p>Preallocations are kept per surface. Surfaces that have a root view, and so are being shown
+ * or about to be, come first, the most recently prioritized one first. Other surfaces follow in
+ * the order they requested preallocations. Preallocations of a stopped surface are cancelled
+ * instead of executed.
+ *
+ * <p>Safe to use from any thread. {@link MountItemDispatcher} executes the preallocations on the
+ * main thread, when it is idle, or right before mounting the surface they belong to.
+ */
+@Nullsafe(Nullsafe.Mode.LOCAL)
+public final class PreallocationScheduler {
+
+  private static final AtomicInteger sDispatchedCount = new AtomicInteger();
+  private static final AtomicInteger sCancelledCount = new AtomicInteger();
+  private static final AtomicInteger sUsedCount = new AtomicInteger();
+  private static final AtomicInteger sWastedCount = new AtomicInteger();
+
+  private final Map<Integer, ArrayDeque<MountItem>> mItemsBySurface = new LinkedHashMap<>();
+  private final ArrayList<Integer> mPrioritizedSurfaces = new ArrayList<>();
+  private boolean mIsIdlePassScheduled = false;
+
+  /**
+   * Queues a preallocation.
+   *
+   * @return true if the caller needs to schedule an idle pass to execute it
+   */
+  public synchronized boolean add(MountItem item) {
+    int surfaceId = item.getSurfaceId();
+    ArrayDeque<MountItem> items = mItemsBySurface.get(surfaceId);
+    if (items == null) {
+      items = new ArrayDeque<>();
+      mItemsBySurface.put(surfaceId, items);
+    }
+    items.add(item);
+
+    if (mIsIdlePassScheduled) {
+      return false;
+    }
+    mIsIdlePassScheduled = true;
+    return true;
+  }
+
+  /**
+   * @return the preallocation most likely needed next, or null once there are none, after which
+   *     the next {@link #add} asks for a new idle pass
+   */
+  public synchronized @Nullable MountItem poll() {
+    for (int i = 0; i < mPrioritizedSurfaces.size(); i++) {
+      MountItem item = pollSurface(mPrioritizedSurfaces.get(i));
+      if (item != null) {
+        return item;
+      }
+    }
+    Iterator<ArrayDeque<MountItem>> iterator = mItemsBySurface.values().iterator();
+    while (iterator.hasNext()) {
+      ArrayDeque<MountItem> items = iterator.next();
+      MountItem item = items.poll();
+      if (items.isEmpty()) {
+        iterator.remove();
+      }
+      if (item != null) {
+        sDispatchedCount.incrementAndGet();
+        return item;
+      }
+    }
+    mIsIdlePassScheduled = false;
+    return null;
+  }
+
+  private @Nullable MountItem pollSurface(int surfaceId) {
+    ArrayDeque<MountItem> items = mItemsBySurface.get(surfaceId);
+    if (items == null) {
+      return null;
+    }
+    MountItem item = items.poll();
+    if (items.isEmpty()) {
+      mItemsBySurface.remove(surfaceId);
+    }
+    if (item != null) {
+      sDispatchedCount.incrementAndGet();
+    }
+    return item;
+  }
+
+  /**
+   * Removes every pending preallocation of a surface, so they can be executed before the surface's
+   * mount items.
+   */
+  public synchronized void drainSurface(int surfaceId, List<MountItem> out) {
+    ArrayDeque<MountItem> items = mItemsBySurface.remove(surfaceId);
+    if (items != null) {
+      sDispatchedCount.addAndGet(items.size());
+      out.addAll(items);
+    }
+  }
+
+  /** Executes the preallocations of a surface before the others, e.g. once it has a root view. */
+  public synchronized void prioritizeSurface(int surfaceId) {
+    mPrioritizedSurfaces.remove((Integer) surfaceId);
+    mPrioritizedSurfaces.add(0, surfaceId);
+  }
+
+  /** Drops the pending preallocations of a surface, which was stopped. */
+  public synchronized void cancelSurface(int surfaceId) {
+    mPrioritizedSurfaces.remove((Integer) surfaceId);
+    ArrayDeque<MountItem> items = mItemsBySurface.remove(surfaceId);
+    if (items != null) {
+      sCancelledCount.addAndGet(items.size());
+    }
+  }
+
+  public synchronized boolean isEmpty() {
+    return mItemsBySurface.isEmpty();
+  }
+
+  /* package */ static void onPreallocatedViewUsed() {
+    sUsedCount.incrementAndGet();
+  }
+
+  /* package */ static void onPreallocatedViewWasted() {
+    sWastedCount.incrementAndGet();
+  }
+
+  /** @return number of preallocations handed out to be executed */
+  public static int getDispatchedCount() {
+    return sDispatchedCount.get();
+  }
+
+  /** @return number of preallocations dropped because their surface was stopped */
+  public static int getCancelledCount() {
+    return sCancelledCount.get();
+  }
+
+  /** @return number of preallocated views that were later mounted */
+  public static int getUsedCount() {
+    return sUsedCount.get();
+  }
+
+  /**
+   * @return number of preallocated views that were deleted, or whose surface was stopped, without
+   *     ever being mounted
+   */
+  public static int getWastedCount() {
+    return sWastedCount.get();
+  }
+}
@@ -40,6 +40,7 @@ import com.facebook.react.modules.core.ReactChoreographer;
 import com.facebook.react.touch.JSResponderHandler;
 import com.facebook.react.uimanager.IViewGroupManager;
 import com.facebook.react.uimanager.IllegalViewOperationException;
+import com.facebook.react.uimanager.ReactAccessibilityDelegate;
 import com.facebook.react.uimanager.ReactOverflowViewWithInset;
 import com.facebook.react.uimanager.ReactRoot;
 import com.facebook.react.uimanager.ReactStylesDiffMap;
@@ -49,6 +50,7 @@ import com.facebook.react.uimanager.StateWrapper;
 import com.facebook.react.uimanager.ThemedReactContext;
 import com.facebook.react.uimanager.ViewManager;
 import com.facebook.react.uimanager.ViewManagerRegistry;
+import com.facebook.react.uimanager.ViewRecyclingPool;
 import com.facebook.react.uimanager.events.EventCategoryDef;
 import java.util.ArrayDeque;
 import java.util.HashSet;
@@ -234,6 +236,11 @@ public class SurfaceMountingManager {
             ((ReactRoot) rootView).setRootViewTag(mSurfaceId);
           }
 
+          ThemedReactContext themedReactContext = mThemedReactContext;
+          if (ReactFeatureFlags.enableViewRecycling && themedReactContext != null) {
+            ViewRecyclingPool.getInstance().prewarm(themedReactContext, mViewManagerRegistry);
+          }
+
           if (!ReactNativeFeatureFlags.forceBatchingMountItemsOnAndroid()) {
             mRootViewAttached = true;
           }
@@ -362,12 +369,17 @@ public class SurfaceMountingManager {
       throw new IllegalStateException(message);
     }
     final ViewGroup parentView = (ViewGroup) parentViewState.mView;
+    ReactAccessibilityDelegate.invalidateAccessibilitySummary(parentView);
     ViewState viewState = getViewState(tag);
     final View view = viewState.mView;
     if (view == null) {
       throw new IllegalStateException(
           "Unable to find view for viewState " + viewState + " and tag " + tag);
     }
+    if (viewState.mIsPreallocated) {
+      viewState.mIsPreallocated = false;
+      PreallocationScheduler.onPreallocatedViewUsed();
+    }
 
     // Display children before inserting
     if (SHOW_CHANGED_VIEW_HIERARCHIES) {
@@ -495,6 +507,7 @@ public class SurfaceMountingManager {
     if (parentView == null) {
       throw new IllegalStateException("Unable to find view for tag [" + parentTag + "]");
     }
+    ReactAccessibilityDelegate.invalidateAccessibilitySummary(parentView);
 
     if (SHOW_CHANGED_VIEW_HIERARCHIES) {
       // Display children before deleting any
@@ -654,6 +667,7 @@ public class SurfaceMountingManager {
     if (parentView == null) {
       throw new IllegalStateException("Unable to find view for tag [" + parentTag + "]");
     }
+    ReactAccessibilityDelegate.invalidateAccessibilitySummary(parentView);
 
     if (SHOW_CHANGED_VIEW_HIERARCHIES) {
       // Display children before deleting any
@@ -852,6 +866,7 @@ public class SurfaceMountingManager {
       view =
           viewManager.createView(
               reactTag, mThemedReactContext, propMap, stateWrapper, mJSResponderHandler);
+      ReactAccessibilityDelegate.enableAccessibilitySummaryCache(view);
     }
 
     ViewState viewState = new ViewState(reactTag, view, viewManager);
@@ -877,6 +892,7 @@ public class SurfaceMountingManager {
 
     Assertions.assertNotNull(viewState.mViewManager)
         .updateProperties(view, viewState.mCurrentProps);
+    ReactAccessibilityDelegate.invalidateAccessibilitySummary(view);
   }
 
   @Deprecated
@@ -906,6 +922,7 @@ public class SurfaceMountingManager {
     }
 
     viewState.mViewManager.receiveCommand(viewState.mView, commandId, commandArgs);
+    ReactAccessibilityDelegate.invalidateAccessibilitySummary(viewState.mView);
   }
 
   public void receiveCommand(
@@ -936,6 +953,7 @@ public class SurfaceMountingManager {
     }
 
     viewState.mViewManager.receiveCommand(viewState.mView, commandId, commandArgs);
+    ReactAccessibilityDelegate.invalidateAccessibilitySummary(viewState.mView);
   }
 
   public void sendAccessibilityEvent(int reactTag, int eventType) {
@@ -1092,6 +1110,7 @@ public class SurfaceMountingManager {
         viewManager.updateState(viewState.mView, viewState.mCurrentProps, stateWrapper);
     if (extraData != null) {
       viewManager.updateExtraData(viewState.mView, extraData);
+      ReactAccessibilityDelegate.invalidateAccessibilitySummary(viewState.mView);
     }
 
     // Immediately clear native side of previous state wrapper. This causes the State object in C++
@@ -1168,6 +1187,11 @@ public class SurfaceMountingManager {
 
   @UiThread
   private void onViewStateDeleted(ViewState viewState) {
+    if (viewState.mIsPreallocated) {
+      viewState.mIsPreallocated = false;
+      PreallocationScheduler.onPreallocatedViewWasted();
+    }
+
     // Destroy state immediately instead of waiting for Java GC.
     if (viewState.mStateWrapper != null) {
       viewState.mStateWrapper.destroyState();
@@ -1235,6 +1259,10 @@ public class SurfaceMountingManager {
 
     createViewUnsafe(
         componentName, reactTag, props, stateWrapper, eventEmitterWrapper, isLayoutable);
+    ViewState viewState = getNullableViewState(reactTag);
+    if (viewState != null) {
+      viewState.mIsPreallocated = true;
+    }
   }
 
   @AnyThread
@@ -1350,6 +1378,8 @@ public class SurfaceMountingManager {
     @Nullable public ReadableMap mCurrentLocalData = null;
     @Nullable public StateWrapper mStateWrapper = null;
     @Nullable public EventEmitterWrapper mEventEmitter = null;
+    // Set on preallocated views until they are mounted, to track wasted preallocations
+    public boolean mIsPreallocated = false;
 
     @ThreadConfined(UI)
     @Nullable
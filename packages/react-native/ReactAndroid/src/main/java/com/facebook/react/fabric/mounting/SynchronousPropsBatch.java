@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package com.facebook.react.fabric.mounting;
+
+import android.util.SparseArray;
+import androidx.annotation.UiThread;
+import com.facebook.infer.annotation.Nullsafe;
+import com.facebook.infer.annotation.ThreadConfined;
+import com.facebook.react.bridge.JavaOnlyMap;
+import com.facebook.react.bridge.ReadableMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Synchronous prop updates of the current frame, e.g. from native driven animations, merged per
+ * view so that each view is updated once per frame with the latest value of every prop.
+ *
+ * <p>Props are deep copied when added, since callers usually reuse the map they pass in, which may
+ * be a native map.
+ */
+@Nullsafe(Nullsafe.Mode.LOCAL)
+@ThreadConfined(ThreadConfined.UI)
+public final class SynchronousPropsBatch {
+
+  private static final AtomicInteger sMergedUpdateCount = new AtomicInteger();
+
+  private SparseArray<JavaOnlyMap> mPropsByTag = new SparseArray<>();
+  // Swapped with mPropsByTag while applying, so updates made meanwhile go to the next batch
+  private SparseArray<JavaOnlyMap> mApplyingPropsByTag = new SparseArray<>();
+
+  /**
+   * Adds props to the update of a view, replacing the values of props it already updates.
+   *
+   * @return true if the batch was empty, the caller then needs to schedule {@link #apply}
+   */
+  @UiThread
+  public boolean add(int reactTag, ReadableMap props) {
+    boolean wasEmpty = mPropsByTag.size() == 0;
+    JavaOnlyMap mergedProps = mPropsByTag.get(reactTag);
+    if (mergedProps == null) {
+      mPropsByTag.put(reactTag, JavaOnlyMap.deepClone(props));
+    } else {
+      sMergedUpdateCount.incrementAndGet();
+      mergedProps.merge(JavaOnlyMap.deepClone(props));
+    }
+    return wasEmpty;
+  }
+
+  /** Updates the props of every view in the batch, in tag order, and empties it. */
+  @UiThread
+  public void apply(MountingManager mountingManager) {
+    SparseArray<JavaOnlyMap> propsByTag = mPropsByTag;
+    mPropsByTag = mApplyingPropsByTag;
+    mApplyingPropsByTag = propsByTag;
+
+    try {
+      for (int i = 0, size = propsByTag.size(); i < size; i++) {
+        mountingManager.updatePropsIgnoringErrors(propsByTag.keyAt(i), propsByTag.valueAt(i));
+      }
+    } finally {
+      propsByTag.clear();
+    }
+  }
+
+  public boolean isEmpty() {
+    return mPropsByTag.size() == 0;
+  }
+
+  /** @return number of updates merged into an update of the same view in the same frame */
+  public static int getMergedUpdateCount() {
+    return sMergedUpdateCount.get();
+  }
+}
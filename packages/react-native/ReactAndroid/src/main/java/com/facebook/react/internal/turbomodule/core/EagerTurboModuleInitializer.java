@@ -0,0 +1,208 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package com.facebook.react.internal.turbomodule.core;
+
+import static com.facebook.systrace.Systrace.TRACE_TAG_REACT_JAVA_BRIDGE;
+
+import androidx.annotation.Nullable;
+import com.facebook.common.logging.FLog;
+import com.facebook.infer.annotation.Nullsafe;
+import com.facebook.react.bridge.ReactMarker;
+import com.facebook.react.bridge.ReactMarkerConstants;
+import com.facebook.react.bridge.queue.QueueThreadExceptionHandler;
+import com.facebook.systrace.SystraceMessage;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Creates a set of eagerly initialized TurboModules in parallel.
+ *
+ * <p>The eager-init set is treated as a DAG: a module is only created once every eager module it
+ * depends on has been created. Independent modules are created concurrently on a shared background
+ * executor, and modules that must be created on the UI thread are posted there instead.
+ * Dependencies outside of the eager-init set are ignored for ordering purposes, they get created
+ * lazily when requested.
+ *
+ * <p>{@link TurboModuleManager#getModule(String)} already guarantees that only one thread creates a
+ * given module, so anyone asking for a module that is still being created here simply waits for it.
+ *
+ * <p>The creation of each module is reported with {@link ReactMarkerConstants#CREATE_MODULE_START}
+ * and {@link ReactMarkerConstants#CREATE_MODULE_END} markers, tagged with the module name.
+ */
+@Nullsafe(Nullsafe.Mode.LOCAL)
+public class EagerTurboModuleInitializer {
+
+  private static final String TAG = "EagerTurboModuleInitializer";
+
+  /** Notified once every eager module has been created (successfully or not). */
+  public interface Listener {
+    void onEagerModulesInitialized();
+  }
+
+  interface ModuleFactory {
+    void createModule(String moduleName);
+  }
+
+  interface ModuleInfoProvider {
+    List<String> getDependencies(String moduleName);
+
+    boolean shouldCreateOnUiThread(String moduleName);
+  }
+
+  private final List<String> mModuleNames;
+  private final ModuleFactory mModuleFactory;
+  private final ModuleInfoProvider mModuleInfoProvider;
+  private final Executor mUiExecutor;
+  private final Executor mBackgroundExecutor;
+  private final QueueThreadExceptionHandler mExceptionHandler;
+  private final @Nullable Listener mListener;
+
+  private final Map<String, List<String>> mDependents = new HashMap<>();
+  private final Map<String, AtomicInteger> mPendingDependencies = new HashMap<>();
+  private final AtomicInteger mRemainingModules = new AtomicInteger();
+
+  EagerTurboModuleInitializer(
+      List<String> moduleNames,
+      ModuleFactory moduleFactory,
+      ModuleInfoProvider moduleInfoProvider,
+      Executor uiExecutor,
+      Executor backgroundExecutor,
+      QueueThreadExceptionHandler exceptionHandler,
+      @Nullable Listener listener) {
+    mModuleNames = new ArrayList<>(new LinkedHashSet<>(moduleNames));
+    mModuleFactory = moduleFactory;
+    mModuleInfoProvider = moduleInfoProvider;
+    mUiExecutor = uiExecutor;
+    mBackgroundExecutor = backgroundExecutor;
+    mExceptionHandler = exceptionHandler;
+    mListener = listener;
+  }
+
+  /** Schedule creation of every module whose dependencies are satisfied, and return immediately. */
+  void start() {
+    if (mModuleNames.isEmpty()) {
+      notifyListener();
+      return;
+    }
+
+    buildGraph();
+    mRemainingModules.set(mModuleNames.size());
+
+    for (String moduleName : mModuleNames) {
+      if (mPendingDependencies.get(moduleName).get() == 0) {
+        schedule(moduleName);
+      }
+    }
+  }
+
+  private void buildGraph() {
+    Set<String> eagerModules = new LinkedHashSet<>(mModuleNames);
+    for (String moduleName : mModuleNames) {
+      mDependents.put(moduleName, new ArrayList<>());
+      mPendingDependencies.put(moduleName, new AtomicInteger());
+    }
+
+    for (String moduleName : mModuleNames) {
+      for (String dependency : mModuleInfoProvider.getDependencies(moduleName)) {
+        if (!eagerModules.contains(dependency) || dependency.equals(moduleName)) {
+          continue;
+        }
+        mDependents.get(dependency).add(moduleName);
+        mPendingDependencies.get(moduleName).incrementAndGet();
+      }
+    }
+
+    if (hasCycle()) {
+      FLog.w(
+          TAG,
+          "Dependency cycle between eager TurboModules, ignoring declared dependencies: "
+              + mModuleNames);
+      for (String moduleName : mModuleNames) {
+        mDependents.get(moduleName).clear();
+        mPendingDependencies.get(moduleName).set(0);
+      }
+    }
+  }
+
+  /** Kahn's algorithm: the graph has a cycle iff not every module can be visited. */
+  private boolean hasCycle() {
+    Map<String, Integer> inDegrees = new HashMap<>();
+    ArrayDeque<String> ready = new ArrayDeque<>();
+    for (String moduleName : mModuleNames) {
+      int inDegree = mPendingDependencies.get(moduleName).get();
+      inDegrees.put(moduleName, inDegree);
+      if (inDegree == 0) {
+        ready.add(moduleName);
+      }
+    }
+
+    int visited = 0;
+    while (!ready.isEmpty()) {
+      String moduleName = ready.poll();
+      visited++;
+      for (String dependent : mDependents.get(moduleName)) {
+        int inDegree = inDegrees.get(dependent) - 1;
+        inDegrees.put(dependent, inDegree);
+        if (inDegree == 0) {
+          ready.add(dependent);
+        }
+      }
+    }
+    return visited != mModuleNames.size();
+  }
+
+  private void schedule(final String moduleName) {
+    Runnable createModule = () -> createModule(moduleName);
+    if (mModuleInfoProvider.shouldCreateOnUiThread(moduleName)) {
+      mUiExecutor.execute(createModule);
+    } else {
+      mBackgroundExecutor.execute(createModule);
+    }
+  }
+
+  private void createModule(String moduleName) {
+    SystraceMessage.beginSection(
+            TRACE_TAG_REACT_JAVA_BRIDGE, "EagerTurboModuleInitializer.createModule")
+        .arg("name", moduleName)
+        .flush();
+    ReactMarker.logMarker(ReactMarkerConstants.CREATE_MODULE_START, moduleName);
+    try {
+      mModuleFactory.createModule(moduleName);
+    } catch (RuntimeException e) {
+      // Report the failure the same way as when eager modules are created synchronously, instead
+      // of letting it escape on a pool thread
+      mExceptionHandler.handleException(e);
+    } finally {
+      ReactMarker.logMarker(ReactMarkerConstants.CREATE_MODULE_END, moduleName);
+      SystraceMessage.endSection(TRACE_TAG_REACT_JAVA_BRIDGE).flush();
+
+      // Keep going even if this module failed, so that the rest of the set still gets created.
+      for (String dependent : mDependents.get(moduleName)) {
+        if (mPendingDependencies.get(dependent).decrementAndGet() == 0) {
+          schedule(dependent);
+        }
+      }
+      if (mRemainingModules.decrementAndGet() == 0) {
+        notifyListener();
+      }
+    }
+  }
+
+  private void notifyListener() {
+    if (mListener != null) {
+      mListener.onEagerModulesInitialized();
+    }
+  }
+}
@@ -7,6 +7,7 @@
 
 package com.facebook.react.internal.turbomodule.core;
 
+import android.os.AsyncTask;
 import androidx.annotation.GuardedBy;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
@@ -19,6 +20,8 @@ import com.facebook.react.bridge.NativeModule;
 import com.facebook.react.bridge.ReactNoCrashSoftException;
 import com.facebook.react.bridge.ReactSoftExceptionLogger;
 import com.facebook.react.bridge.RuntimeExecutor;
+import com.facebook.react.bridge.UiThreadUtil;
+import com.facebook.react.bridge.queue.QueueThreadExceptionHandler;
 import com.facebook.react.internal.turbomodule.core.interfaces.TurboModuleRegistry;
 import com.facebook.react.turbomodule.core.CallInvokerHolderImpl;
 import com.facebook.react.turbomodule.core.NativeMethodCallInvokerHolderImpl;
@@ -127,6 +130,40 @@ public class TurboModuleManager implements TurboModuleRegistry {
     return mEagerInitModuleNames;
   }
 
+  /**
+   * Create all eagerly initialized modules on {@link AsyncTask#THREAD_POOL_EXECUTOR}, honoring the
+   * dependencies and UI thread requirements declared by the {@link TurboModuleManagerDelegate}.
+   * Returns immediately; modules requested while they are still being created are waited on as
+   * usual. Exceptions thrown while creating a module are passed to `exceptionHandler`.
+   */
+  public void initializeEagerModulesAsync(
+      QueueThreadExceptionHandler exceptionHandler,
+      @Nullable EagerTurboModuleInitializer.Listener listener) {
+    final TurboModuleManagerDelegate delegate = mDelegate;
+    new EagerTurboModuleInitializer(
+            mEagerInitModuleNames,
+            this::getModule,
+            new EagerTurboModuleInitializer.ModuleInfoProvider() {
+              @Override
+              public List<String> getDependencies(String moduleName) {
+                return delegate == null
+                    ? new ArrayList<>()
+                    : delegate.getEagerInitModuleDependencies(moduleName);
+              }
+
+              @Override
+              public boolean shouldCreateOnUiThread(String moduleName) {
+                return delegate != null
+                    && delegate.unstable_shouldCreateModuleOnUiThread(moduleName);
+              }
+            },
+            UiThreadUtil::runOnUiThread,
+            AsyncTask.THREAD_POOL_EXECUTOR,
+            exceptionHandler,
+            listener)
+        .start();
+  }
+
   // used from TurboModuleManager.cpp
   @SuppressWarnings("unused")
   @DoNotStrip
@@ -65,6 +65,19 @@ public abstract class TurboModuleManagerDelegate {
     return new ArrayList<>();
   }
 
+  /**
+   * Names of the modules that must be created before `moduleName` when eagerly initializing
+   * modules in parallel. Only dependencies that are themselves eagerly initialized affect ordering.
+   */
+  public List<String> getEagerInitModuleDependencies(String moduleName) {
+    return new ArrayList<>();
+  }
+
+  /** Must the module with name `moduleName` be created on the UI thread? */
+  public boolean unstable_shouldCreateModuleOnUiThread(String moduleName) {
+    return false;
+  }
+
   /** Can the TurboModule system create legacy modules? */
   public boolean unstable_shouldEnableLegacyModuleInterop() {
     return false;
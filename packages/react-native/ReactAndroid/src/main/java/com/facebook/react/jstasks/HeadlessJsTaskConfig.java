@@ -11,11 +11,19 @@ import com.facebook.react.bridge.WritableMap;
 
 /** Class that holds the various parameters needed to start a JS task. */
 public class HeadlessJsTaskConfig {
+  /** Priority of tasks that should start before the other pending tasks. */
+  public static final int PRIORITY_HIGH = 1;
+  /** Default priority of tasks. */
+  public static final int PRIORITY_NORMAL = 0;
+  /** Priority of tasks that should only start once no other task is pending. */
+  public static final int PRIORITY_LOW = -1;
+
   private final String mTaskKey;
   private final WritableMap mData;
   private final long mTimeout;
   private final boolean mAllowedInForeground;
   private final HeadlessJsTaskRetryPolicy mRetryPolicy;
+  private final int mPriority;
 
   /**
    * Create a HeadlessJsTaskConfig. Equivalent to calling {@link #HeadlessJsTaskConfig(String,
@@ -78,11 +86,36 @@ public class HeadlessJsTaskConfig {
       long timeout,
       boolean allowedInForeground,
       HeadlessJsTaskRetryPolicy retryPolicy) {
+    this(taskKey, data, timeout, allowedInForeground, retryPolicy, PRIORITY_NORMAL);
+  }
+
+  /**
+   * Create a HeadlessJsTaskConfig.
+   *
+   * @param taskKey the key for the JS task to execute. This is the same key that you call {@code
+   *     AppRegistry.registerTask} with in JS.
+   * @param data a map of parameters passed to the JS task executor.
+   * @param timeout the amount of time (in ms) after which the React instance should be terminated
+   *     regardless of whether the task has completed or not. A value of 0 means no timeout.
+   * @param allowedInForeground whether to allow this task to run while the app is in the foreground
+   * @param retryPolicy the number of times & delays the task should be retried on error.
+   * @param priority order in which pending tasks start when their number is limited, see {@link
+   *     HeadlessJsTaskContext#setMaxConcurrentTasks}. One of {@link #PRIORITY_HIGH}, {@link
+   *     #PRIORITY_NORMAL} or {@link #PRIORITY_LOW}.
+   */
+  public HeadlessJsTaskConfig(
+      String taskKey,
+      WritableMap data,
+      long timeout,
+      boolean allowedInForeground,
+      HeadlessJsTaskRetryPolicy retryPolicy,
+      int priority) {
     mTaskKey = taskKey;
     mData = data;
     mTimeout = timeout;
     mAllowedInForeground = allowedInForeground;
     mRetryPolicy = retryPolicy;
+    mPriority = priority;
   }
 
   public HeadlessJsTaskConfig(HeadlessJsTaskConfig source) {
@@ -90,6 +123,7 @@ public class HeadlessJsTaskConfig {
     mData = source.mData.copy();
     mTimeout = source.mTimeout;
     mAllowedInForeground = source.mAllowedInForeground;
+    mPriority = source.mPriority;
 
     final HeadlessJsTaskRetryPolicy retryPolicy = source.mRetryPolicy;
     if (retryPolicy != null) {
@@ -118,4 +152,8 @@ public class HeadlessJsTaskConfig {
   /* package */ HeadlessJsTaskRetryPolicy getRetryPolicy() {
     return mRetryPolicy;
   }
+
+  /* package */ int getPriority() {
+    return mPriority;
+  }
 }
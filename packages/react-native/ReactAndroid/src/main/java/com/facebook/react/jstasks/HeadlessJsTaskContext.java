@@ -7,30 +7,46 @@
 
 package com.facebook.react.jstasks;
 
+import android.os.SystemClock;
 import android.util.SparseArray;
+import androidx.annotation.Nullable;
 import com.facebook.infer.annotation.Assertions;
 import com.facebook.react.bridge.ReactContext;
 import com.facebook.react.bridge.ReactSoftExceptionLogger;
 import com.facebook.react.bridge.UiThreadUtil;
 import com.facebook.react.common.LifecycleState;
+import com.facebook.react.config.ReactFeatureFlags;
 import com.facebook.react.modules.appregistry.AppRegistry;
 import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.PriorityQueue;
 import java.util.Set;
 import java.util.WeakHashMap;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Helper class for dealing with JS tasks. Handles per-ReactContext active task tracking, starting /
  * stopping tasks and notifying listeners.
+ *
+ * <p>When {@link ReactFeatureFlags#enableHeadlessJsTaskScheduler} is on, tasks wait in a queue
+ * until fewer than {@link #setMaxConcurrentTasks} tasks with the same key run, and start by
+ * priority. A task identical to one that is still waiting isn't queued again.
  */
 public class HeadlessJsTaskContext {
 
   private static final WeakHashMap<ReactContext, HeadlessJsTaskContext> INSTANCES =
       new WeakHashMap<>();
 
+  private static @Nullable ScheduledThreadPoolExecutor sTimeoutExecutor;
+
   /**
    * Get the task helper instance for a particular {@link ReactContext}. There is only one instance
    * per context.
@@ -55,6 +71,24 @@ public class HeadlessJsTaskContext {
   private final Map<Integer, HeadlessJsTaskConfig> mActiveTaskConfigs = new ConcurrentHashMap<>();
   private final SparseArray<Runnable> mTaskTimeouts = new SparseArray<>();
 
+  private final PriorityQueue<PendingTask> mPendingTasks = new PriorityQueue<>();
+  private final Map<Integer, PendingTask> mPendingTasksById = new ConcurrentHashMap<>();
+  private final Map<String, Integer> mRunningTaskCounts = new HashMap<>();
+  private final Map<String, Integer> mMaxConcurrentTasks = new HashMap<>();
+  private final Map<Integer, Long> mTaskStartTimesMs = new HashMap<>();
+  private final Map<Integer, ScheduledFuture<?>> mTaskTimeoutFutures = new HashMap<>();
+  private int mDefaultMaxConcurrentTasks = Integer.MAX_VALUE;
+  private long mLastPendingTaskSequence = 0;
+  private boolean mIsStartPendingTasksPosted = false;
+
+  private long mStartedTaskCount = 0;
+  private long mFinishedTaskCount = 0;
+  private long mCoalescedTaskCount = 0;
+  private long mTotalQueueWaitMs = 0;
+  private long mMaxQueueWaitMs = 0;
+  private long mTotalRunTimeMs = 0;
+  private long mMaxRunTimeMs = 0;
+
   private HeadlessJsTaskContext(ReactContext reactContext) {
     mReactContext = new WeakReference<ReactContext>(reactContext);
   }
@@ -75,18 +109,56 @@ public class HeadlessJsTaskContext {
     mHeadlessJsTaskEventListeners.remove(listener);
   }
 
-  /** Get whether there are any running JS tasks at the moment. */
+  /** Get whether there are any running or pending JS tasks at the moment. */
   public boolean hasActiveTasks() {
-    return mActiveTasks.size() > 0;
+    return mActiveTasks.size() > 0 || !mPendingTasksById.isEmpty();
+  }
+
+  /**
+   * Limit the number of tasks with this key that run at the same time. The other tasks wait until
+   * one of them finishes. Only used when {@link ReactFeatureFlags#enableHeadlessJsTaskScheduler}
+   * is on.
+   */
+  public synchronized void setMaxConcurrentTasks(String taskKey, int maxConcurrentTasks) {
+    Assertions.assertCondition(maxConcurrentTasks > 0, "maxConcurrentTasks must be positive");
+    mMaxConcurrentTasks.put(taskKey, maxConcurrentTasks);
+    postStartPendingTasks();
+  }
+
+  /**
+   * Limit the number of tasks with the same key that run at the same time, for task keys without
+   * their own limit. There is no limit by default.
+   */
+  public synchronized void setDefaultMaxConcurrentTasks(int maxConcurrentTasks) {
+    Assertions.assertCondition(maxConcurrentTasks > 0, "maxConcurrentTasks must be positive");
+    mDefaultMaxConcurrentTasks = maxConcurrentTasks;
+    postStartPendingTasks();
+  }
+
+  /** @return how long the tasks scheduled with concurrency limits waited and ran */
+  public synchronized HeadlessJsTaskMetrics getTaskMetrics() {
+    return new HeadlessJsTaskMetrics(
+        mStartedTaskCount,
+        mFinishedTaskCount,
+        mCoalescedTaskCount,
+        mPendingTasks.size(),
+        mTotalQueueWaitMs,
+        mMaxQueueWaitMs,
+        mTotalRunTimeMs,
+        mMaxRunTimeMs);
   }
 
   /**
    * Start a JS task. Handles invoking {@link AppRegistry#startHeadlessTask} and notifying
    * listeners.
    *
-   * @return a unique id representing this task instance.
+   * @return a unique id representing this task instance. With the scheduler, this is the id of the
+   *     identical task that is still waiting to start, if there is one.
    */
   public synchronized int startTask(final HeadlessJsTaskConfig taskConfig) {
+    if (ReactFeatureFlags.enableHeadlessJsTaskScheduler) {
+      return scheduleTask(taskConfig);
+    }
     final int taskId = mLastTaskId.incrementAndGet();
     startTask(taskConfig, taskId);
     return taskId;
@@ -102,13 +174,7 @@ public class HeadlessJsTaskContext {
         Assertions.assertNotNull(
             mReactContext.get(),
             "Tried to start a task on a react context that has already been destroyed");
-    if (reactContext.getLifecycleState() == LifecycleState.RESUMED
-        && !taskConfig.isAllowedInForeground()) {
-      throw new IllegalStateException(
-          "Tried to start task "
-              + taskConfig.getTaskKey()
-              + " while in foreground, but this is not allowed.");
-    }
+    assertAllowedToStart(reactContext, taskConfig);
     mActiveTasks.add(taskId);
     mActiveTaskConfigs.put(taskId, new HeadlessJsTaskConfig(taskConfig));
     if (reactContext.hasActiveReactInstance()) {
@@ -128,6 +194,103 @@ public class HeadlessJsTaskContext {
     }
   }
 
+  private static void assertAllowedToStart(
+      ReactContext reactContext, HeadlessJsTaskConfig taskConfig) {
+    if (reactContext.getLifecycleState() == LifecycleState.RESUMED
+        && !taskConfig.isAllowedInForeground()) {
+      throw new IllegalStateException(
+          "Tried to start task "
+              + taskConfig.getTaskKey()
+              + " while in foreground, but this is not allowed.");
+    }
+  }
+
+  /**
+   * Queue a JS task, which starts right away if it is allowed to run and this is the UI thread, or
+   * once the UI thread gets to it otherwise.
+   */
+  private int scheduleTask(HeadlessJsTaskConfig taskConfig) {
+    ReactContext reactContext =
+        Assertions.assertNotNull(
+            mReactContext.get(),
+            "Tried to start a task on a react context that has already been destroyed");
+    assertAllowedToStart(reactContext, taskConfig);
+
+    // An identical task that didn't start yet will do the same work
+    for (PendingTask pendingTask : mPendingTasks) {
+      if (pendingTask.mConfig.getTaskKey().equals(taskConfig.getTaskKey())
+          && pendingTask.mConfig.getData().equals(taskConfig.getData())) {
+        mCoalescedTaskCount++;
+        return pendingTask.mTaskId;
+      }
+    }
+
+    int taskId = mLastTaskId.incrementAndGet();
+    PendingTask pendingTask =
+        new PendingTask(
+            taskId, taskConfig, SystemClock.uptimeMillis(), ++mLastPendingTaskSequence);
+    mPendingTasks.add(pendingTask);
+    mPendingTasksById.put(taskId, pendingTask);
+    if (UiThreadUtil.isOnUiThread()) {
+      startPendingTasks();
+    } else {
+      postStartPendingTasks();
+    }
+    return taskId;
+  }
+
+  private void postStartPendingTasks() {
+    if (!mIsStartPendingTasksPosted && !mPendingTasks.isEmpty()) {
+      mIsStartPendingTasksPosted = true;
+      UiThreadUtil.runOnUiThread(this::startPendingTasks);
+    }
+  }
+
+  /** Start the pending tasks that their concurrency limit allows, by priority. */
+  private synchronized void startPendingTasks() {
+    mIsStartPendingTasksPosted = false;
+    List<PendingTask> waitingTasks = new ArrayList<>();
+    PendingTask pendingTask;
+    while ((pendingTask = mPendingTasks.poll()) != null) {
+      String taskKey = pendingTask.mConfig.getTaskKey();
+      int runningTaskCount = getRunningTaskCount(taskKey);
+      Integer maxConcurrentTasks = mMaxConcurrentTasks.get(taskKey);
+      if (runningTaskCount
+          >= (maxConcurrentTasks != null ? maxConcurrentTasks : mDefaultMaxConcurrentTasks)) {
+        waitingTasks.add(pendingTask);
+        continue;
+      }
+
+      int taskId = pendingTask.mTaskId;
+      mPendingTasksById.remove(taskId);
+      // Listeners may finish the task as soon as it starts
+      long nowMs = SystemClock.uptimeMillis();
+      mTaskStartTimesMs.put(taskId, nowMs);
+      mRunningTaskCounts.put(taskKey, runningTaskCount + 1);
+      try {
+        startTask(pendingTask.mConfig, taskId);
+      } catch (IllegalStateException e) {
+        // The app came to the foreground while the task was waiting
+        ReactSoftExceptionLogger.logSoftException("HeadlessJsTaskContext", e);
+        mTaskStartTimesMs.remove(taskId);
+        mRunningTaskCounts.put(taskKey, runningTaskCount);
+        notifyTaskFinished(taskId);
+        continue;
+      }
+
+      long queueWaitMs = nowMs - pendingTask.mQueuedTimeMs;
+      mStartedTaskCount++;
+      mTotalQueueWaitMs += queueWaitMs;
+      mMaxQueueWaitMs = Math.max(mMaxQueueWaitMs, queueWaitMs);
+    }
+    mPendingTasks.addAll(waitingTasks);
+  }
+
+  private int getRunningTaskCount(String taskKey) {
+    Integer runningTaskCount = mRunningTaskCounts.get(taskKey);
+    return runningTaskCount != null ? runningTaskCount : 0;
+  }
+
   /**
    * Retry a running JS task with a delay. Invokes {@link
    * HeadlessJsTaskContext#startTask(HeadlessJsTaskConfig, int)} as long as the process does not get
@@ -153,7 +316,8 @@ public class HeadlessJsTaskContext {
             sourceTaskConfig.getData(),
             sourceTaskConfig.getTimeout(),
             sourceTaskConfig.isAllowedInForeground(),
-            retryPolicy.update());
+            retryPolicy.update(),
+            sourceTaskConfig.getPriority());
 
     final Runnable retryAttempt =
         new Runnable() {
@@ -176,10 +340,26 @@ public class HeadlessJsTaskContext {
   public synchronized void finishTask(final int taskId) {
     Assertions.assertCondition(
         mActiveTasks.remove(taskId), "Tried to finish non-existent task with id " + taskId + ".");
+    HeadlessJsTaskConfig taskConfig = mActiveTaskConfigs.remove(taskId);
     Assertions.assertCondition(
-        mActiveTaskConfigs.remove(taskId) != null,
-        "Tried to remove non-existent task config with id " + taskId + ".");
+        taskConfig != null, "Tried to remove non-existent task config with id " + taskId + ".");
     removeTimeout(taskId);
+
+    Long startTimeMs = mTaskStartTimesMs.remove(taskId);
+    if (startTimeMs != null && taskConfig != null) {
+      long runTimeMs = SystemClock.uptimeMillis() - startTimeMs;
+      mFinishedTaskCount++;
+      mTotalRunTimeMs += runTimeMs;
+      mMaxRunTimeMs = Math.max(mMaxRunTimeMs, runTimeMs);
+      String taskKey = taskConfig.getTaskKey();
+      mRunningTaskCounts.put(taskKey, getRunningTaskCount(taskKey) - 1);
+      postStartPendingTasks();
+    }
+
+    notifyTaskFinished(taskId);
+  }
+
+  private void notifyTaskFinished(final int taskId) {
     UiThreadUtil.runOnUiThread(
         new Runnable() {
           @Override
@@ -192,6 +372,10 @@ public class HeadlessJsTaskContext {
   }
 
   private void removeTimeout(int taskId) {
+    ScheduledFuture<?> timeoutFuture = mTaskTimeoutFutures.remove(taskId);
+    if (timeoutFuture != null) {
+      timeoutFuture.cancel(false);
+    }
     Runnable runnable = mTaskTimeouts.get(taskId);
     if (runnable != null) {
       UiThreadUtil.removeOnUiThread(runnable);
@@ -208,8 +392,62 @@ public class HeadlessJsTaskContext {
   }
 
   private void scheduleTaskTimeout(final int taskId, long timeout) {
+    if (ReactFeatureFlags.enableHeadlessJsTaskScheduler) {
+      // Timeouts don't need the UI thread, which may be busy while many tasks start
+      Runnable timeoutRunnable =
+          () -> {
+            synchronized (HeadlessJsTaskContext.this) {
+              if (mTaskTimeoutFutures.remove(taskId) != null) {
+                finishTask(taskId);
+              }
+            }
+          };
+      mTaskTimeoutFutures.put(
+          taskId, getTimeoutExecutor().schedule(timeoutRunnable, timeout, TimeUnit.MILLISECONDS));
+      return;
+    }
     Runnable runnable = () -> finishTask(taskId);
     mTaskTimeouts.append(taskId, runnable);
     UiThreadUtil.runOnUiThread(runnable, timeout);
   }
+
+  private static synchronized ScheduledThreadPoolExecutor getTimeoutExecutor() {
+    if (sTimeoutExecutor == null) {
+      ScheduledThreadPoolExecutor executor =
+          new ScheduledThreadPoolExecutor(
+              1,
+              runnable -> {
+                Thread thread = new Thread(runnable, "HeadlessJsTaskTimeouts");
+                thread.setDaemon(true);
+                return thread;
+              });
+      // Most tasks finish before their timeout
+      executor.setRemoveOnCancelPolicy(true);
+      sTimeoutExecutor = executor;
+    }
+    return sTimeoutExecutor;
+  }
+
+  private static final class PendingTask implements Comparable<PendingTask> {
+    private final int mTaskId;
+    private final HeadlessJsTaskConfig mConfig;
+    private final long mQueuedTimeMs;
+    private final long mSequence;
+
+    private PendingTask(int taskId, HeadlessJsTaskConfig config, long queuedTimeMs, long sequence) {
+      mTaskId = taskId;
+      mConfig = config;
+      mQueuedTimeMs = queuedTimeMs;
+      mSequence = sequence;
+    }
+
+    @Override
+    public int compareTo(PendingTask other) {
+      // Higher priorities first, then in the order the tasks were started
+      if (mConfig.getPriority() != other.mConfig.getPriority()) {
+        return Integer.compare(other.mConfig.getPriority(), mConfig.getPriority());
+      }
+      return Long.compare(mSequence, other.mSequence);
+    }
+  }
 }
@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package com.facebook.react.jstasks;
+
+import com.facebook.infer.annotation.Nullsafe;
+
+/**
+ * Snapshot of how long the JS tasks of a {@link HeadlessJsTaskContext} waited to start and ran,
+ * when they are scheduled with concurrency limits.
+ */
+@Nullsafe(Nullsafe.Mode.LOCAL)
+public final class HeadlessJsTaskMetrics {
+  private final long mStartedTaskCount;
+  private final long mFinishedTaskCount;
+  private final long mCoalescedTaskCount;
+  private final int mPendingTaskCount;
+  private final long mTotalQueueWaitMs;
+  private final long mMaxQueueWaitMs;
+  private final long mTotalRunTimeMs;
+  private final long mMaxRunTimeMs;
+
+  /* package */ HeadlessJsTaskMetrics(
+      long startedTaskCount,
+      long finishedTaskCount,
+      long coalescedTaskCount,
+      int pendingTaskCount,
+      long totalQueueWaitMs,
+      long maxQueueWaitMs,
+      long totalRunTimeMs,
+      long maxRunTimeMs) {
+    mStartedTaskCount = startedTaskCount;
+    mFinishedTaskCount = finishedTaskCount;
+    mCoalescedTaskCount = coalescedTaskCount;
+    mPendingTaskCount = pendingTaskCount;
+    mTotalQueueWaitMs = totalQueueWaitMs;
+    mMaxQueueWaitMs = maxQueueWaitMs;
+    mTotalRunTimeMs = totalRunTimeMs;
+    mMaxRunTimeMs = maxRunTimeMs;
+  }
+
+  /** @return number of tasks that started */
+  public long getStartedTaskCount() {
+    return mStartedTaskCount;
+  }
+
+  /** @return number of tasks that finished or timed out */
+  public long getFinishedTaskCount() {
+    return mFinishedTaskCount;
+  }
+
+  /** @return number of tasks that were merged into an identical task that was still pending */
+  public long getCoalescedTaskCount() {
+    return mCoalescedTaskCount;
+  }
+
+  /** @return number of tasks waiting to start */
+  public int getPendingTaskCount() {
+    return mPendingTaskCount;
+  }
+
+  /** @return time the started tasks spent waiting to start, in ms */
+  public long getTotalQueueWaitMs() {
+    return mTotalQueueWaitMs;
+  }
+
+  /** @return longest time a started task spent waiting to start, in ms */
+  public long getMaxQueueWaitMs() {
+    return mMaxQueueWaitMs;
+  }
+
+  /** @return time the finished tasks ran for, in ms */
+  public long getTotalRunTimeMs() {
+    return mTotalRunTimeMs;
+  }
+
+  /** @return longest time a finished task ran for, in ms */
+  public long getMaxRunTimeMs() {
+    return mMaxRunTimeMs;
+  }
+}
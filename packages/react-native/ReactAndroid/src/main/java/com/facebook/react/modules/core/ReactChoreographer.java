@@ -13,13 +13,25 @@ import com.facebook.common.logging.FLog;
 import com.facebook.infer.annotation.Assertions;
 import com.facebook.react.bridge.UiThreadUtil;
 import com.facebook.react.common.ReactConstants;
+import com.facebook.react.common.annotations.VisibleForTesting;
 import com.facebook.react.internal.ChoreographerProvider;
-import java.util.ArrayDeque;
+import com.facebook.systrace.Systrace;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
 
 /**
  * A simple wrapper around Choreographer that allows us to control the order certain callbacks are
  * executed within a given frame. The wrapped Choreographer instance will always be the main thread
  * one and the API's are safe to use from any thread.
+ *
+ * <p>Callbacks are posted to lock-free queues, one per {@link CallbackType}, so threads posting
+ * callbacks never wait on each other or on a frame in progress. The wrapped Choreographer is only
+ * asked for a frame while there are callbacks waiting to run, and the frame is removed again once
+ * every callback has been cancelled. Posting returns a {@link FrameCallbackHandle} that cancels the
+ * callback in constant time.
  */
 public final class ReactChoreographer {
 
@@ -34,13 +46,19 @@ public final class ReactChoreographer {
     /** For use by {@link com.facebook.react.animated.NativeAnimatedModule} */
     NATIVE_ANIMATED_MODULE(2),
 
+    /**
+     * For use by {@link com.facebook.react.fabric.FabricUIManager} to apply the synchronous prop
+     * updates of the frame, after native driven animations have computed them.
+     */
+    SYNCHRONOUS_PROPS(3),
+
     /** Events that make JS do things. */
-    TIMERS_EVENTS(3),
+    TIMERS_EVENTS(4),
 
     /**
      * Event used to trigger the idle callback. Called after all UI work has been dispatched to JS.
      */
-    IDLE_EVENT(4),
+    IDLE_EVENT(5),
     ;
 
     private final int mOrder;
@@ -56,6 +74,15 @@ public final class ReactChoreographer {
 
   private static ReactChoreographer sInstance;
 
+  private static final CallbackType[] CALLBACK_TYPES = CallbackType.values();
+  private static final String[] TRACE_SECTION_NAMES = new String[CALLBACK_TYPES.length];
+
+  static {
+    for (CallbackType type : CALLBACK_TYPES) {
+      TRACE_SECTION_NAMES[type.getOrder()] = "ReactChoreographer." + type.name();
+    }
+  }
+
   public static void initialize(ChoreographerProvider choreographerProvider) {
     if (sInstance == null) {
       sInstance = new ReactChoreographer(choreographerProvider);
@@ -67,44 +94,103 @@ public final class ReactChoreographer {
     return sInstance;
   }
 
-  private @Nullable ChoreographerProvider.Choreographer mChoreographer;
+  /** Receives how long the callbacks of each type took, to find frames that went over budget. */
+  public interface FrameTimingListener {
+    /**
+     * Called on the main thread after the callbacks of one type ran, only for types that had
+     * callbacks to run in the frame.
+     */
+    void onCallbacksRun(CallbackType type, long frameTimeNanos, long durationNanos);
+  }
+
+  /** A posted frame callback, which can be cancelled until it runs. */
+  public static final class FrameCallbackHandle {
+    private static final int STATE_PENDING = 0;
+    private static final int STATE_RUN = 1;
+    private static final int STATE_CANCELLED = 2;
+
+    private static final AtomicIntegerFieldUpdater<FrameCallbackHandle> STATE_UPDATER =
+        AtomicIntegerFieldUpdater.newUpdater(FrameCallbackHandle.class, "mState");
 
-  private final ArrayDeque<Choreographer.FrameCallback>[] mCallbackQueues;
+    private final ReactChoreographer mReactChoreographer;
+    private final Choreographer.FrameCallback mCallback;
+    private volatile int mState = STATE_PENDING;
+
+    private FrameCallbackHandle(
+        ReactChoreographer reactChoreographer, Choreographer.FrameCallback callback) {
+      mReactChoreographer = reactChoreographer;
+      mCallback = callback;
+    }
+
+    /**
+     * Prevents the callback from running, if it didn't already.
+     *
+     * @return true if the callback was cancelled before it ran
+     */
+    public boolean cancel() {
+      if (!STATE_UPDATER.compareAndSet(this, STATE_PENDING, STATE_CANCELLED)) {
+        return false;
+      }
+      mReactChoreographer.onCallbackCancelled();
+      return true;
+    }
+
+    private boolean claim() {
+      if (!STATE_UPDATER.compareAndSet(this, STATE_PENDING, STATE_RUN)) {
+        return false;
+      }
+      mReactChoreographer.mPendingCallbackCount.decrementAndGet();
+      return true;
+    }
+  }
+
+  private volatile @Nullable ChoreographerProvider.Choreographer mChoreographer;
+
+  private final ConcurrentLinkedQueue<FrameCallbackHandle>[] mCallbackQueues;
+  // Callbacks that were posted and neither ran nor were cancelled yet
+  private final AtomicInteger mPendingCallbackCount = new AtomicInteger(0);
+
+  // Only taken when the number of pending callbacks goes from or to 0 and around a frame, never
+  // while callbacks run
+  private final Object mFrameCallbackLock = new Object();
+  private boolean mHasPostedCallback = false;
+  private boolean mIsRunningFrame = false;
+
+  // Only accessed on the main thread, from the frame callback
+  private final ArrayList<FrameCallbackHandle> mRunningCallbacks = new ArrayList<>();
+  // Order of the type of the callbacks running, -1 outside of a frame. Only accessed on the main
+  // thread.
+  private int mRunningCallbackOrder = -1;
+
+  private volatile @Nullable FrameTimingListener mFrameTimingListener;
 
   private final Choreographer.FrameCallback mFrameCallback =
       new Choreographer.FrameCallback() {
         @Override
         public void doFrame(long frameTimeNanos) {
-          synchronized (mCallbackQueues) {
-            // Callbacks run once and are then automatically removed, the callback will
-            // be posted again from postFrameCallback
+          // Callbacks run once and are then automatically removed, the callback will be posted
+          // again once callbacks are left for the next frame. Callbacks posted while this runs
+          // don't request a frame, as they may still run in this one.
+          synchronized (mFrameCallbackLock) {
             mHasPostedCallback = false;
-
-            for (int i = 0; i < mCallbackQueues.length; i++) {
-              ArrayDeque<Choreographer.FrameCallback> callbackQueue = mCallbackQueues[i];
-              int initialLength = callbackQueue.size();
-              for (int callback = 0; callback < initialLength; callback++) {
-                Choreographer.FrameCallback frameCallback = callbackQueue.pollFirst();
-                if (frameCallback != null) {
-                  frameCallback.doFrame(frameTimeNanos);
-                  mTotalCallbacks--;
-                } else {
-                  FLog.e(ReactConstants.TAG, "Tried to execute non-existent frame callback");
-                }
-              }
+            mIsRunningFrame = true;
+          }
+          try {
+            runCallbacks(frameTimeNanos);
+          } finally {
+            synchronized (mFrameCallbackLock) {
+              mIsRunningFrame = false;
+              maybePostFrameCallbackOnChoreographer();
             }
-            maybeRemoveFrameCallback();
           }
         }
       };
 
-  private int mTotalCallbacks = 0;
-  private boolean mHasPostedCallback = false;
-
-  private ReactChoreographer(ChoreographerProvider choreographerProvider) {
-    mCallbackQueues = new ArrayDeque[CallbackType.values().length];
+  @VisibleForTesting
+  /* package */ ReactChoreographer(ChoreographerProvider choreographerProvider) {
+    mCallbackQueues = new ConcurrentLinkedQueue[CALLBACK_TYPES.length];
     for (int i = 0; i < mCallbackQueues.length; i++) {
-      mCallbackQueues[i] = new ArrayDeque<>();
+      mCallbackQueues[i] = new ConcurrentLinkedQueue<>();
     }
 
     UiThreadUtil.runOnUiThread(
@@ -113,60 +199,137 @@ public final class ReactChoreographer {
         });
   }
 
-  public void postFrameCallback(CallbackType type, Choreographer.FrameCallback frameCallback) {
-    synchronized (mCallbackQueues) {
-      mCallbackQueues[type.getOrder()].addLast(frameCallback);
-      mTotalCallbacks++;
-      Assertions.assertCondition(mTotalCallbacks > 0);
-
-      if (!mHasPostedCallback) {
-        if (mChoreographer == null) {
-          // Schedule on the main thread, at which point the constructor's async work will have
-          // completed
-          UiThreadUtil.runOnUiThread(
-              () -> {
-                synchronized (mCallbackQueues) {
-                  postFrameCallbackOnChoreographer();
-                }
-              });
-        } else {
-          postFrameCallbackOnChoreographer();
+  private void runCallbacks(long frameTimeNanos) {
+    FrameTimingListener timingListener = mFrameTimingListener;
+    for (int i = 0; i < mCallbackQueues.length; i++) {
+      // Only run the callbacks posted until now, callbacks posting themselves again run in the
+      // next frame
+      ConcurrentLinkedQueue<FrameCallbackHandle> callbackQueue = mCallbackQueues[i];
+      FrameCallbackHandle handle;
+      while ((handle = callbackQueue.poll()) != null) {
+        mRunningCallbacks.add(handle);
+      }
+      if (mRunningCallbacks.isEmpty()) {
+        continue;
+      }
+
+      long startNanos = timingListener != null ? System.nanoTime() : 0;
+      Systrace.beginSection(Systrace.TRACE_TAG_REACT_JAVA_BRIDGE, TRACE_SECTION_NAMES[i]);
+      mRunningCallbackOrder = i;
+      int callback = 0;
+      try {
+        while (callback < mRunningCallbacks.size()) {
+          FrameCallbackHandle runningHandle = mRunningCallbacks.get(callback++);
+          if (runningHandle.claim()) {
+            runningHandle.mCallback.doFrame(frameTimeNanos);
+          }
         }
+      } finally {
+        // If a callback threw, the ones after it didn't run yet, keep them for the next frame
+        for (int remaining = callback; remaining < mRunningCallbacks.size(); remaining++) {
+          callbackQueue.add(mRunningCallbacks.get(remaining));
+        }
+        mRunningCallbacks.clear();
+        mRunningCallbackOrder = -1;
+        Systrace.endSection(Systrace.TRACE_TAG_REACT_JAVA_BRIDGE);
+      }
+      if (timingListener != null) {
+        timingListener.onCallbacksRun(
+            CALLBACK_TYPES[i], frameTimeNanos, System.nanoTime() - startNanos);
       }
     }
   }
 
   /**
-   * This method writes on mHasPostedCallback and it should be called from another method that has
-   * the lock mCallbackQueues
+   * @return true when called from a callback of a type that runs before callbacks of the given
+   *     type, which then still run in the current frame if they are posted now
    */
-  private void postFrameCallbackOnChoreographer() {
-    mChoreographer.postFrameCallback(mFrameCallback);
-    mHasPostedCallback = true;
+  public boolean isRunningCallbacksBefore(CallbackType type) {
+    return UiThreadUtil.isOnUiThread()
+        && mRunningCallbackOrder >= 0
+        && mRunningCallbackOrder < type.getOrder();
   }
 
-  public void removeFrameCallback(CallbackType type, Choreographer.FrameCallback frameCallback) {
-    synchronized (mCallbackQueues) {
-      if (mCallbackQueues[type.getOrder()].removeFirstOccurrence(frameCallback)) {
-        mTotalCallbacks--;
-        maybeRemoveFrameCallback();
-      } else {
-        FLog.e(ReactConstants.TAG, "Tried to remove non-existent frame callback");
-      }
-    }
+  public void postFrameCallback(CallbackType type, Choreographer.FrameCallback frameCallback) {
+    postCancellableFrameCallback(type, frameCallback);
   }
 
   /**
-   * This method reads and writes on mHasPostedCallback and it should be called from another method
-   * that already has the lock on mCallbackQueues.
+   * Same as {@link #postFrameCallback}, returning a handle that cancels the callback without
+   * searching for it like {@link #removeFrameCallback} does.
    */
-  private void maybeRemoveFrameCallback() {
-    Assertions.assertCondition(mTotalCallbacks >= 0);
-    if (mTotalCallbacks == 0 && mHasPostedCallback) {
-      if (mChoreographer != null) {
-        mChoreographer.removeFrameCallback(mFrameCallback);
+  public FrameCallbackHandle postCancellableFrameCallback(
+      CallbackType type, Choreographer.FrameCallback frameCallback) {
+    FrameCallbackHandle handle = new FrameCallbackHandle(this, frameCallback);
+    // Counted before it's queued, so that a frame running it can't make the count negative
+    boolean wasIdle = mPendingCallbackCount.getAndIncrement() == 0;
+    mCallbackQueues[type.getOrder()].add(handle);
+    // Otherwise a frame was already requested, or the frame in progress requests one when it ends
+    if (wasIdle) {
+      synchronized (mFrameCallbackLock) {
+        maybePostFrameCallbackOnChoreographer();
       }
-      mHasPostedCallback = false;
     }
+    return handle;
+  }
+
+  /** Must be called with {@link #mFrameCallbackLock} held. */
+  private void maybePostFrameCallbackOnChoreographer() {
+    if (mHasPostedCallback || mIsRunningFrame || mPendingCallbackCount.get() == 0) {
+      return;
+    }
+    ChoreographerProvider.Choreographer choreographer = mChoreographer;
+    if (choreographer != null) {
+      choreographer.postFrameCallback(mFrameCallback);
+      mHasPostedCallback = true;
+    } else {
+      // Schedule on the main thread, at which point the constructor's async work will have
+      // completed
+      UiThreadUtil.runOnUiThread(
+          () -> {
+            synchronized (mFrameCallbackLock) {
+              maybePostFrameCallbackOnChoreographer();
+            }
+          });
+    }
+  }
+
+  private void onCallbackCancelled() {
+    if (mPendingCallbackCount.decrementAndGet() != 0) {
+      return;
+    }
+    synchronized (mFrameCallbackLock) {
+      // Nothing is left to run, unless a callback was posted in the meantime
+      if (mHasPostedCallback && mPendingCallbackCount.get() == 0) {
+        Assertions.assertNotNull(mChoreographer).removeFrameCallback(mFrameCallback);
+        mHasPostedCallback = false;
+      }
+    }
+  }
+
+  public void removeFrameCallback(CallbackType type, Choreographer.FrameCallback frameCallback) {
+    Iterator<FrameCallbackHandle> iterator = mCallbackQueues[type.getOrder()].iterator();
+    while (iterator.hasNext()) {
+      FrameCallbackHandle handle = iterator.next();
+      if (handle.mCallback == frameCallback && handle.cancel()) {
+        iterator.remove();
+        return;
+      }
+    }
+    // The callback may have been taken off the queue by the frame in progress
+    if (UiThreadUtil.isOnUiThread()) {
+      for (int i = 0; i < mRunningCallbacks.size(); i++) {
+        FrameCallbackHandle handle = mRunningCallbacks.get(i);
+        if (handle.mCallback == frameCallback && handle.cancel()) {
+          return;
+        }
+      }
+    }
+    FLog.e(ReactConstants.TAG, "Tried to remove non-existent frame callback");
+  }
+
+  /** Sets the listener receiving how long each type of callbacks took per frame. */
+  public void setFrameTimingListener(@Nullable FrameTimingListener listener) {
+    mFrameTimingListener = listener;
   }
 }
@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package com.facebook.react.modules.network;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Coalesces the decoded chunks of an incremental response into fewer, larger
+ * didReceiveNetworkIncrementalData events.
+ *
+ * <p>Data is held back only while more of the response is already buffered, so it never waits for
+ * the network. While it is, chunks are merged until enough data is pending or the flush
+ * interval has passed. The interval adapts to the response: it doubles while flushes carry little
+ * data, which happens with streams of many small messages, and halves again once they carry more.
+ */
+public final class IncrementalResponseChunker {
+
+  /* package */ static final long MIN_FLUSH_INTERVAL_NS = 16 * 1000000; // 16ms
+  /* package */ static final long MAX_FLUSH_INTERVAL_NS = 100 * 1000000; // 100ms
+  /* package */ static final int MAX_PENDING_BYTES = 64 * 1024; // 64K
+  /* package */ static final int SMALL_FLUSH_BYTES = 1024; // 1K
+
+  private static final AtomicLong sEventCount = new AtomicLong();
+  private static final AtomicLong sByteCount = new AtomicLong();
+
+  private final StringBuilder mPending = new StringBuilder();
+  private int mPendingBytes = 0;
+  private long mLastFlushNs;
+  private long mFlushIntervalNs = MIN_FLUSH_INTERVAL_NS;
+
+  /* package */ IncrementalResponseChunker(long nowNs) {
+    mLastFlushNs = nowNs;
+  }
+
+  /** Adds a decoded chunk, which was {@code byteCount} bytes of the response. */
+  /* package */ void append(String data, int byteCount) {
+    mPending.append(data);
+    mPendingBytes += byteCount;
+  }
+
+  /**
+   * @param isMoreDataBuffered whether more of the response can be read without waiting for the
+   *     network
+   * @return whether the pending data should be sent now
+   */
+  /* package */ boolean shouldFlush(long nowNs, boolean isMoreDataBuffered) {
+    if (mPendingBytes == 0) {
+      return false;
+    }
+    return !isMoreDataBuffered
+        || mPendingBytes >= MAX_PENDING_BYTES
+        || nowNs - mLastFlushNs >= mFlushIntervalNs;
+  }
+
+  /** @return the pending data, which is then cleared, to send in a single event */
+  /* package */ String flush(long nowNs) {
+    String data = mPending.toString();
+    sEventCount.incrementAndGet();
+    sByteCount.addAndGet(mPendingBytes);
+
+    if (mPendingBytes < SMALL_FLUSH_BYTES) {
+      mFlushIntervalNs = Math.min(mFlushIntervalNs * 2, MAX_FLUSH_INTERVAL_NS);
+    } else {
+      mFlushIntervalNs = Math.max(mFlushIntervalNs / 2, MIN_FLUSH_INTERVAL_NS);
+    }
+    mPending.setLength(0);
+    mPendingBytes = 0;
+    mLastFlushNs = nowNs;
+    return data;
+  }
+
+  /* package */ long getFlushIntervalNs() {
+    return mFlushIntervalNs;
+  }
+
+  /** @return number of incremental data events sent to JS */
+  public static long getEventCount() {
+    return sEventCount.get();
+  }
+
+  /** @return number of response bytes delivered in incremental data events */
+  public static long getByteCount() {
+    return sByteCount.get();
+  }
+}
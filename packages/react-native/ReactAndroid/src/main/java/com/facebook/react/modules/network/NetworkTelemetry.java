@@ -0,0 +1,290 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package com.facebook.react.modules.network;
+
+import androidx.annotation.Nullable;
+import com.facebook.infer.annotation.Nullsafe;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import okhttp3.EventListener;
+
+/**
+ * Timings and byte counts of the network requests made with clients from {@link
+ * OkHttpClientProvider}, when {@link
+ * com.facebook.react.config.ReactFeatureFlags#enableNetworkTelemetry} is set.
+ *
+ * <p>Each phase of a request is aggregated into a {@link Histogram} with fixed buckets, so memory
+ * stays the same no matter how many requests are made. Listeners get the timings of every single
+ * request.
+ */
+@Nullsafe(Nullsafe.Mode.LOCAL)
+public final class NetworkTelemetry {
+
+  /** Resolving the host name */
+  public static final String PHASE_DNS = "dns";
+
+  /** Opening the connection, including the TLS handshake */
+  public static final String PHASE_CONNECT = "connect";
+
+  /** The TLS handshake */
+  public static final String PHASE_TLS = "tls";
+
+  /** From the start of the call until the first byte of the response headers */
+  public static final String PHASE_TTFB = "ttfb";
+
+  /** Reading the response body */
+  public static final String PHASE_DOWNLOAD = "download";
+
+  /** The whole call */
+  public static final String PHASE_TOTAL = "total";
+
+  /** From the response arriving until NetworkingModule dispatched it to JS */
+  public static final String PHASE_JS_DELIVERY = "jsDelivery";
+
+  // The phases of a call, PHASE_JS_DELIVERY is recorded separately
+  /* package */ static final String[] CALL_PHASES = {
+    PHASE_DNS, PHASE_CONNECT, PHASE_TLS, PHASE_TTFB, PHASE_DOWNLOAD, PHASE_TOTAL
+  };
+
+  private static final String[] PHASES = {
+    PHASE_DNS,
+    PHASE_CONNECT,
+    PHASE_TLS,
+    PHASE_TTFB,
+    PHASE_DOWNLOAD,
+    PHASE_TOTAL,
+    PHASE_JS_DELIVERY
+  };
+
+  // Upper bounds of the histogram buckets, the last one takes everything larger
+  private static final long[] BUCKET_UPPER_BOUNDS_MS = {
+    1, 2, 5, 10, 20, 50, 100, 200, 500, 1000, 2000, 5000, 10000, 30000, Long.MAX_VALUE
+  };
+
+  /** Receives the timings of each request as it completes. */
+  public interface Listener {
+    void onRequestCompleted(RequestTiming timing);
+  }
+
+  /** Timings of a single request, in ms. Phases that didn't happen are -1. */
+  public static final class RequestTiming {
+    private final String mUrl;
+    private final long[] mPhaseDurationsMs;
+    private final long mRequestBytes;
+    private final long mResponseBytes;
+    private final boolean mFailed;
+
+    /* package */ RequestTiming(
+        String url,
+        long[] phaseDurationsMs,
+        long requestBytes,
+        long responseBytes,
+        boolean failed) {
+      mUrl = url;
+      mPhaseDurationsMs = phaseDurationsMs;
+      mRequestBytes = requestBytes;
+      mResponseBytes = responseBytes;
+      mFailed = failed;
+    }
+
+    public String getUrl() {
+      return mUrl;
+    }
+
+    /** @return duration of one of the phases of the call, -1 if it didn't happen */
+    public long getPhaseDurationMs(String phase) {
+      int index = Arrays.asList(CALL_PHASES).indexOf(phase);
+      return index < 0 ? -1 : mPhaseDurationsMs[index];
+    }
+
+    /** @return number of bytes of the request body that were sent */
+    public long getRequestBytes() {
+      return mRequestBytes;
+    }
+
+    /** @return number of bytes of the response body that were read */
+    public long getResponseBytes() {
+      return mResponseBytes;
+    }
+
+    public boolean isFailed() {
+      return mFailed;
+    }
+  }
+
+  /** Snapshot of the durations recorded for a phase. */
+  public static final class Histogram {
+    private final long[] mBucketCounts;
+    private final long mCount;
+    private final long mSumMs;
+    private final long mMaxMs;
+
+    private Histogram(long[] bucketCounts, long count, long sumMs, long maxMs) {
+      mBucketCounts = bucketCounts;
+      mCount = count;
+      mSumMs = sumMs;
+      mMaxMs = maxMs;
+    }
+
+    public long getCount() {
+      return mCount;
+    }
+
+    public long getSumMs() {
+      return mSumMs;
+    }
+
+    public long getMaxMs() {
+      return mMaxMs;
+    }
+
+    /** @return upper bound of each bucket, the last bucket takes everything larger */
+    public long[] getBucketUpperBoundsMs() {
+      return BUCKET_UPPER_BOUNDS_MS.clone();
+    }
+
+    public long[] getBucketCounts() {
+      return mBucketCounts.clone();
+    }
+
+    /**
+     * @param percentile between 0 and 100
+     * @return upper bound of the bucket the percentile falls in, capped at the largest duration
+     *     recorded, or 0 if nothing was recorded
+     */
+    public long getPercentileMs(double percentile) {
+      long rank = (long) Math.ceil(mCount * percentile / 100);
+      long seen = 0;
+      for (int i = 0; i < mBucketCounts.length; i++) {
+        seen += mBucketCounts[i];
+        if (seen >= rank && seen > 0) {
+          return Math.min(BUCKET_UPPER_BOUNDS_MS[i], mMaxMs);
+        }
+      }
+      return 0;
+    }
+  }
+
+  private static final NetworkTelemetry sInstance = new NetworkTelemetry();
+
+  private final List<Listener> mListeners = new CopyOnWriteArrayList<>();
+  private final EventListener.Factory mEventListenerFactory =
+      call -> new NetworkTelemetryEventListener(this);
+
+  private final long[][] mBucketCounts = new long[PHASES.length][BUCKET_UPPER_BOUNDS_MS.length];
+  private final long[] mCounts = new long[PHASES.length];
+  private final long[] mSumsMs = new long[PHASES.length];
+  private final long[] mMaxesMs = new long[PHASES.length];
+  private long mRequestCount;
+  private long mFailedRequestCount;
+  private long mRequestBytes;
+  private long mResponseBytes;
+
+  /* package */ NetworkTelemetry() {}
+
+  public static NetworkTelemetry getInstance() {
+    return sInstance;
+  }
+
+  public void addListener(Listener listener) {
+    if (!mListeners.contains(listener)) {
+      mListeners.add(listener);
+    }
+  }
+
+  public void removeListener(Listener listener) {
+    mListeners.remove(listener);
+  }
+
+  /** @return factory of the {@link EventListener}s that record the calls of an OkHttp client */
+  public EventListener.Factory getEventListenerFactory() {
+    return mEventListenerFactory;
+  }
+
+  /* package */ void recordCall(RequestTiming timing) {
+    synchronized (this) {
+      mRequestCount++;
+      if (timing.isFailed()) {
+        mFailedRequestCount++;
+      }
+      mRequestBytes += timing.getRequestBytes();
+      mResponseBytes += timing.getResponseBytes();
+      for (int i = 0; i < CALL_PHASES.length; i++) {
+        if (timing.mPhaseDurationsMs[i] >= 0) {
+          record(i, timing.mPhaseDurationsMs[i]);
+        }
+      }
+    }
+    for (Listener listener : mListeners) {
+      listener.onRequestCompleted(timing);
+    }
+  }
+
+  /** Records how long a response waited between arriving and being dispatched to JS. */
+  /* package */ synchronized void recordJSDelivery(long durationMs) {
+    record(PHASES.length - 1, Math.max(0, durationMs));
+  }
+
+  private void record(int phase, long durationMs) {
+    int bucket = 0;
+    while (durationMs > BUCKET_UPPER_BOUNDS_MS[bucket]) {
+      bucket++;
+    }
+    mBucketCounts[phase][bucket]++;
+    mCounts[phase]++;
+    mSumsMs[phase] += durationMs;
+    mMaxesMs[phase] = Math.max(mMaxesMs[phase], durationMs);
+  }
+
+  /** @return the durations recorded for one of the PHASE_ constants, or null if it's unknown */
+  public synchronized @Nullable Histogram getHistogram(String phase) {
+    int index = Arrays.asList(PHASES).indexOf(phase);
+    if (index < 0) {
+      return null;
+    }
+    return new Histogram(
+        mBucketCounts[index].clone(), mCounts[index], mSumsMs[index], mMaxesMs[index]);
+  }
+
+  /** @return the PHASE_ constants, in the order the phases happen */
+  public static String[] getPhases() {
+    return PHASES.clone();
+  }
+
+  public synchronized long getRequestCount() {
+    return mRequestCount;
+  }
+
+  public synchronized long getFailedRequestCount() {
+    return mFailedRequestCount;
+  }
+
+  /** @return number of bytes of request bodies that were sent */
+  public synchronized long getRequestBytes() {
+    return mRequestBytes;
+  }
+
+  /** @return number of bytes of response bodies that were read */
+  public synchronized long getResponseBytes() {
+    return mResponseBytes;
+  }
+
+  public synchronized void reset() {
+    for (long[] bucketCounts : mBucketCounts) {
+      Arrays.fill(bucketCounts, 0);
+    }
+    Arrays.fill(mCounts, 0);
+    Arrays.fill(mSumsMs, 0);
+    Arrays.fill(mMaxesMs, 0);
+    mRequestCount = 0;
+    mFailedRequestCount = 0;
+    mRequestBytes = 0;
+    mResponseBytes = 0;
+  }
+}
@@ -0,0 +1,149 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package com.facebook.react.modules.network;
+
+import android.os.SystemClock;
+import androidx.annotation.Nullable;
+import com.facebook.infer.annotation.Nullsafe;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Proxy;
+import java.util.Arrays;
+import java.util.List;
+import okhttp3.Call;
+import okhttp3.EventListener;
+import okhttp3.Handshake;
+import okhttp3.Protocol;
+
+/**
+ * Records the phases of a single call for {@link NetworkTelemetry}. Phases that happen more than
+ * once, e.g. when following redirects, are added up.
+ */
+@Nullsafe(Nullsafe.Mode.LOCAL)
+/* package */ final class NetworkTelemetryEventListener extends EventListener {
+
+  private static final int DNS = 0;
+  private static final int CONNECT = 1;
+  private static final int TLS = 2;
+  private static final int TTFB = 3;
+  private static final int DOWNLOAD = 4;
+  private static final int TOTAL = 5;
+
+  private final NetworkTelemetry mTelemetry;
+  private final long[] mStartTimesNs = new long[NetworkTelemetry.CALL_PHASES.length];
+  private final long[] mDurationsNs = new long[NetworkTelemetry.CALL_PHASES.length];
+  private long mRequestBytes;
+  private long mResponseBytes;
+
+  /* package */ NetworkTelemetryEventListener(NetworkTelemetry telemetry) {
+    mTelemetry = telemetry;
+    Arrays.fill(mDurationsNs, -1);
+  }
+
+  private void start(int phase) {
+    mStartTimesNs[phase] = SystemClock.elapsedRealtimeNanos();
+  }
+
+  private void end(int phase) {
+    long durationNs = SystemClock.elapsedRealtimeNanos() - mStartTimesNs[phase];
+    mDurationsNs[phase] = Math.max(mDurationsNs[phase], 0) + durationNs;
+  }
+
+  @Override
+  public void callStart(Call call) {
+    start(TOTAL);
+    start(TTFB);
+  }
+
+  @Override
+  public void dnsStart(Call call, String domainName) {
+    start(DNS);
+  }
+
+  @Override
+  public void dnsEnd(Call call, String domainName, List<InetAddress> inetAddressList) {
+    end(DNS);
+  }
+
+  @Override
+  public void connectStart(Call call, InetSocketAddress inetSocketAddress, Proxy proxy) {
+    start(CONNECT);
+  }
+
+  @Override
+  public void secureConnectStart(Call call) {
+    start(TLS);
+  }
+
+  @Override
+  public void secureConnectEnd(Call call, @Nullable Handshake handshake) {
+    end(TLS);
+  }
+
+  @Override
+  public void connectEnd(
+      Call call, InetSocketAddress inetSocketAddress, Proxy proxy, @Nullable Protocol protocol) {
+    end(CONNECT);
+  }
+
+  @Override
+  public void connectFailed(
+      Call call,
+      InetSocketAddress inetSocketAddress,
+      Proxy proxy,
+      @Nullable Protocol protocol,
+      IOException ioe) {
+    end(CONNECT);
+  }
+
+  @Override
+  public void requestBodyEnd(Call call, long byteCount) {
+    mRequestBytes += byteCount;
+  }
+
+  @Override
+  public void responseHeadersStart(Call call) {
+    // Only the first response counts, later ones are for redirects or retries
+    if (mDurationsNs[TTFB] < 0) {
+      end(TTFB);
+    }
+  }
+
+  @Override
+  public void responseBodyStart(Call call) {
+    start(DOWNLOAD);
+  }
+
+  @Override
+  public void responseBodyEnd(Call call, long byteCount) {
+    end(DOWNLOAD);
+    mResponseBytes += byteCount;
+  }
+
+  @Override
+  public void callEnd(Call call) {
+    finish(call, false);
+  }
+
+  @Override
+  public void callFailed(Call call, IOException ioe) {
+    finish(call, true);
+  }
+
+  private void finish(Call call, boolean failed) {
+    end(TOTAL);
+    long[] durationsMs = new long[mDurationsNs.length];
+    for (int i = 0; i < durationsMs.length; i++) {
+      durationsMs[i] = mDurationsNs[i] < 0 ? -1 : mDurationsNs[i] / 1000000;
+    }
+    mTelemetry.recordCall(
+        new NetworkTelemetry.RequestTiming(
+            call.request().url().toString(), durationsMs, mRequestBytes, mResponseBytes, failed));
+  }
+}
@@ -9,31 +9,37 @@ package com.facebook.react.modules.network;
 
 import android.net.Uri;
 import android.os.Bundle;
+import android.os.SystemClock;
 import android.util.Base64;
 import androidx.annotation.Nullable;
 import com.facebook.common.logging.FLog;
 import com.facebook.fbreact.specs.NativeNetworkingAndroidSpec;
 import com.facebook.react.bridge.Arguments;
 import com.facebook.react.bridge.GuardedAsyncTask;
+import com.facebook.react.bridge.Promise;
 import com.facebook.react.bridge.ReactApplicationContext;
 import com.facebook.react.bridge.ReactMethod;
 import com.facebook.react.bridge.ReadableArray;
 import com.facebook.react.bridge.ReadableMap;
 import com.facebook.react.bridge.WritableMap;
 import com.facebook.react.common.network.OkHttpCallUtil;
+import com.facebook.react.config.ReactFeatureFlags;
 import com.facebook.react.module.annotations.ReactModule;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Locale;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
+import okhttp3.CacheControl;
 import okhttp3.Call;
 import okhttp3.Callback;
+import okhttp3.Cookie;
 import okhttp3.CookieJar;
 import okhttp3.Headers;
 import okhttp3.JavaNetCookieJar;
@@ -95,6 +101,7 @@ public final class NetworkingModule extends NativeNetworkingAndroidSpec {
 
   private static @Nullable com.facebook.react.modules.network.CustomClientBuilder
       customClientBuilder = null;
+  private static long sResponseMemoryCacheSize = 0;
 
   private final OkHttpClient mClient;
   private final ForwardingCookieHandler mCookieHandler;
@@ -104,6 +111,8 @@ public final class NetworkingModule extends NativeNetworkingAndroidSpec {
   private final List<RequestBodyHandler> mRequestBodyHandlers = new ArrayList<>();
   private final List<UriHandler> mUriHandlers = new ArrayList<>();
   private final List<ResponseHandler> mResponseHandlers = new ArrayList<>();
+  private final @Nullable RequestDeduplicator mRequestDeduplicator;
+  private final @Nullable ResponseMemoryCache mResponseMemoryCache;
   private boolean mShuttingDown;
 
   public NetworkingModule(
@@ -126,6 +135,12 @@ public final class NetworkingModule extends NativeNetworkingAndroidSpec {
     mShuttingDown = false;
     mDefaultUserAgent = defaultUserAgent;
     mRequestIds = new HashSet<>();
+    mRequestDeduplicator =
+        ReactFeatureFlags.enableNetworkingRequestDeduplication ? new RequestDeduplicator() : null;
+    mResponseMemoryCache =
+        mRequestDeduplicator != null && sResponseMemoryCacheSize > 0
+            ? new ResponseMemoryCache(sResponseMemoryCacheSize)
+            : null;
   }
 
   /**
@@ -170,6 +185,15 @@ public final class NetworkingModule extends NativeNetworkingAndroidSpec {
     customClientBuilder = ccb;
   }
 
+  /**
+   * Sets the size in bytes of the in-memory cache of fresh GET responses used by modules created
+   * afterwards, 0 for none. The cache is only used with {@link
+   * ReactFeatureFlags#enableNetworkingRequestDeduplication}.
+   */
+  public static void setResponseMemoryCacheSize(long maxSizeBytes) {
+    sResponseMemoryCacheSize = maxSizeBytes;
+  }
+
   /**
    * @deprecated To be removed in a future release. See
    *     https://github.com/facebook/react-native/pull/37798#pullrequestreview-1518338914
@@ -455,10 +479,27 @@ public final class NetworkingModule extends NativeNetworkingAndroidSpec {
     }
 
     requestBuilder.method(method, wrapRequestBodyWithProgressEmitter(requestBody, requestId));
+    Request request = requestBuilder.build();
 
     addRequest(requestId);
+    RequestDeduplicator requestDeduplicator = mRequestDeduplicator;
+    if (requestDeduplicator != null && !useIncrementalUpdates && method.equals("GET")) {
+      List<Cookie> cookies =
+          withCredentials
+              ? mCookieJarContainer.loadForRequest(request.url())
+              : Collections.<Cookie>emptyList();
+      sendDeduplicatedRequest(
+          reactApplicationContext,
+          requestDeduplicator,
+          client,
+          request,
+          RequestDeduplicator.getKey(request, timeout, withCredentials, cookies),
+          requestId,
+          responseType);
+      return;
+    }
     client
-        .newCall(requestBuilder.build())
+        .newCall(request)
         .enqueue(
             new Callback() {
               @Override
@@ -480,90 +521,192 @@ public final class NetworkingModule extends NativeNetworkingAndroidSpec {
                   return;
                 }
                 removeRequest(requestId);
-                // Before we touch the body send headers to JS
-                ResponseUtil.onResponseReceived(
+                handleResponse(
                     reactApplicationContext,
                     requestId,
-                    response.code(),
-                    translateHeaders(response.headers()),
-                    response.request().url().toString());
-
-                try {
-                  // OkHttp implements something called transparent gzip, which mean that it will
-                  // automatically add the Accept-Encoding gzip header and handle decoding
-                  // internally.
-                  // The issue is that it won't handle decoding if the user provides a
-                  // Accept-Encoding
-                  // header. This is also undesirable considering that iOS does handle the decoding
-                  // even
-                  // when the header is provided. To make sure this works in all cases, handle gzip
-                  // body
-                  // here also. This works fine since OKHttp will remove the Content-Encoding header
-                  // if
-                  // it used transparent gzip.
-                  // See
-                  // https://github.com/square/okhttp/blob/5b37cda9e00626f43acf354df145fd452c3031f1/okhttp/src/main/java/okhttp3/internal/http/BridgeInterceptor.java#L76-L111
-                  ResponseBody responseBody = response.body();
-                  if ("gzip".equalsIgnoreCase(response.header("Content-Encoding"))
-                      && responseBody != null) {
-                    GzipSource gzipSource = new GzipSource(responseBody.source());
-                    String contentType = response.header("Content-Type");
-                    responseBody =
-                        ResponseBody.create(
-                            contentType != null ? MediaType.parse(contentType) : null,
-                            -1L,
-                            Okio.buffer(gzipSource));
-                  }
-
-                  // Check if a handler is registered
-                  for (ResponseHandler handler : mResponseHandlers) {
-                    if (handler.supports(responseType)) {
-                      WritableMap res = handler.toResponseData(responseBody);
-                      ResponseUtil.onDataReceived(reactApplicationContext, requestId, res);
-                      ResponseUtil.onRequestSuccess(reactApplicationContext, requestId);
-                      return;
-                    }
-                  }
-
-                  // If JS wants progress updates during the download, and it requested a text
-                  // response,
-                  // periodically send response data updates to JS.
-                  if (useIncrementalUpdates && responseType.equals("text")) {
-                    readWithProgress(requestId, responseBody);
-                    ResponseUtil.onRequestSuccess(reactApplicationContext, requestId);
-                    return;
-                  }
-
-                  // Otherwise send the data in one big chunk, in the format that JS requested.
-                  String responseString = "";
-                  if (responseType.equals("text")) {
-                    try {
-                      responseString = responseBody.string();
-                    } catch (IOException e) {
-                      if (response.request().method().equalsIgnoreCase("HEAD")) {
-                        // The request is an `HEAD` and the body is empty,
-                        // the OkHttp will produce an exception.
-                        // Ignore the exception to not invalidate the request in the
-                        // Javascript layer.
-                        // Introduced to fix issue #7463.
-                      } else {
-                        ResponseUtil.onRequestError(
-                            reactApplicationContext, requestId, e.getMessage(), e);
-                      }
-                    }
-                  } else if (responseType.equals("base64")) {
-                    responseString = Base64.encodeToString(responseBody.bytes(), Base64.NO_WRAP);
-                  }
-                  ResponseUtil.onDataReceived(reactApplicationContext, requestId, responseString);
-                  ResponseUtil.onRequestSuccess(reactApplicationContext, requestId);
-                } catch (IOException e) {
-                  ResponseUtil.onRequestError(
-                      reactApplicationContext, requestId, e.getMessage(), e);
-                }
+                    responseType,
+                    useIncrementalUpdates,
+                    response);
+                recordJSDelivery(response);
               }
             });
   }
 
+  /**
+   * Sends a GET request, unless an identical one is in flight or its response is in the memory
+   * cache, in which case that response is shared with this request.
+   */
+  private void sendDeduplicatedRequest(
+      final @Nullable ReactApplicationContext reactApplicationContext,
+      final RequestDeduplicator requestDeduplicator,
+      OkHttpClient client,
+      Request request,
+      final String key,
+      int requestId,
+      String responseType) {
+    final ResponseMemoryCache responseMemoryCache = mResponseMemoryCache;
+    CacheControl cacheControl = request.cacheControl();
+    if (responseMemoryCache != null && !cacheControl.noCache() && !cacheControl.noStore()) {
+      Response cachedResponse = responseMemoryCache.get(key, SystemClock.elapsedRealtime());
+      if (cachedResponse != null) {
+        removeRequest(requestId);
+        handleResponse(reactApplicationContext, requestId, responseType, false, cachedResponse);
+        return;
+      }
+    }
+
+    final RequestDeduplicator.Group group =
+        requestDeduplicator.join(key, requestId, responseType);
+    if (group == null) {
+      // The response of the identical request in flight will be sent for this one too
+      return;
+    }
+    // Tagged with the group, so that the call isn't cancelled with the request that made it
+    Call call = client.newCall(request.newBuilder().tag(group).build());
+    requestDeduplicator.setCall(group, call);
+    call.enqueue(
+        new Callback() {
+          @Override
+          public void onFailure(Call call, IOException e) {
+            if (!requestDeduplicator.complete(group) || mShuttingDown) {
+              return;
+            }
+            String errorMessage =
+                e.getMessage() != null
+                    ? e.getMessage()
+                    : "Error while executing request: " + e.getClass().getSimpleName();
+            for (int i = 0; i < group.size(); i++) {
+              removeRequest(group.getRequestId(i));
+              ResponseUtil.onRequestError(
+                  reactApplicationContext, group.getRequestId(i), errorMessage, e);
+            }
+          }
+
+          @Override
+          public void onResponse(Call call, Response response) {
+            // The body is read once and a copy of the response is sent for every request
+            ResponseBody responseBody = response.body();
+            byte[] body;
+            try {
+              body = responseBody != null ? responseBody.bytes() : new byte[0];
+            } catch (IOException e) {
+              onFailure(call, e);
+              return;
+            }
+            if (!requestDeduplicator.complete(group) || mShuttingDown) {
+              return;
+            }
+            if (responseMemoryCache != null) {
+              responseMemoryCache.put(key, response, body, SystemClock.elapsedRealtime());
+            }
+            MediaType contentType = responseBody != null ? responseBody.contentType() : null;
+            for (int i = 0; i < group.size(); i++) {
+              removeRequest(group.getRequestId(i));
+              handleResponse(
+                  reactApplicationContext,
+                  group.getRequestId(i),
+                  group.getResponseType(i),
+                  false,
+                  response.newBuilder().body(ResponseBody.create(contentType, body)).build());
+            }
+            // A single response arrived, however many requests it was sent for
+            recordJSDelivery(response);
+          }
+        });
+  }
+
+  /**
+   * Records the time between the response arriving and it having been dispatched to JS. Responses
+   * from the disk cache didn't arrive over the network, so they aren't recorded.
+   */
+  private static void recordJSDelivery(Response response) {
+    if (response.cacheResponse() != null && response.networkResponse() == null) {
+      return;
+    }
+    if (ReactFeatureFlags.enableNetworkTelemetry && response.receivedResponseAtMillis() > 0) {
+      NetworkTelemetry.getInstance()
+          .recordJSDelivery(System.currentTimeMillis() - response.receivedResponseAtMillis());
+    }
+  }
+
+  private void handleResponse(
+      @Nullable ReactApplicationContext reactApplicationContext,
+      int requestId,
+      String responseType,
+      boolean useIncrementalUpdates,
+      Response response) {
+    // Before we touch the body send headers to JS
+    ResponseUtil.onResponseReceived(
+        reactApplicationContext,
+        requestId,
+        response.code(),
+        translateHeaders(response.headers()),
+        response.request().url().toString());
+
+    try {
+      // OkHttp implements something called transparent gzip, which mean that it will automatically
+      // add the Accept-Encoding gzip header and handle decoding internally.
+      // The issue is that it won't handle decoding if the user provides a Accept-Encoding header.
+      // This is also undesirable considering that iOS does handle the decoding even when the header
+      // is provided. To make sure this works in all cases, handle gzip body here also. This works
+      // fine since OKHttp will remove the Content-Encoding header if it used transparent gzip.
+      // See
+      // https://github.com/square/okhttp/blob/5b37cda9e00626f43acf354df145fd452c3031f1/okhttp/src/main/java/okhttp3/internal/http/BridgeInterceptor.java#L76-L111
+      ResponseBody responseBody = response.body();
+      if ("gzip".equalsIgnoreCase(response.header("Content-Encoding")) && responseBody != null) {
+        GzipSource gzipSource = new GzipSource(responseBody.source());
+        String contentType = response.header("Content-Type");
+        responseBody =
+            ResponseBody.create(
+                contentType != null ? MediaType.parse(contentType) : null,
+                -1L,
+                Okio.buffer(gzipSource));
+      }
+
+      // Check if a handler is registered
+      for (ResponseHandler handler : mResponseHandlers) {
+        if (handler.supports(responseType)) {
+          WritableMap res = handler.toResponseData(responseBody);
+          ResponseUtil.onDataReceived(reactApplicationContext, requestId, res);
+          ResponseUtil.onRequestSuccess(reactApplicationContext, requestId);
+          return;
+        }
+      }
+
+      // If JS wants progress updates during the download, and it requested a text response,
+      // periodically send response data updates to JS.
+      if (useIncrementalUpdates && responseType.equals("text")) {
+        readWithProgress(requestId, responseBody);
+        ResponseUtil.onRequestSuccess(reactApplicationContext, requestId);
+        return;
+      }
+
+      // Otherwise send the data in one big chunk, in the format that JS requested.
+      String responseString = "";
+      if (responseType.equals("text")) {
+        try {
+          responseString = responseBody.string();
+        } catch (IOException e) {
+          if (response.request().method().equalsIgnoreCase("HEAD")) {
+            // The request is an `HEAD` and the body is empty,
+            // the OkHttp will produce an exception.
+            // Ignore the exception to not invalidate the request in the
+            // Javascript layer.
+            // Introduced to fix issue #7463.
+          } else {
+            ResponseUtil.onRequestError(reactApplicationContext, requestId, e.getMessage(), e);
+          }
+        }
+      } else if (responseType.equals("base64")) {
+        responseString = Base64.encodeToString(responseBody.bytes(), Base64.NO_WRAP);
+      }
+      ResponseUtil.onDataReceived(reactApplicationContext, requestId, responseString);
+      ResponseUtil.onRequestSuccess(reactApplicationContext, requestId);
+    } catch (IOException e) {
+      ResponseUtil.onRequestError(reactApplicationContext, requestId, e.getMessage(), e);
+    }
+  }
+
   private RequestBody wrapRequestBodyWithProgressEmitter(
       final RequestBody requestBody, final int requestId) {
     if (requestBody == null) {
@@ -611,12 +754,38 @@ public final class NetworkingModule extends NativeNetworkingAndroidSpec {
       int read;
       final ReactApplicationContext reactApplicationContext =
           getReactApplicationContextIfActiveOrWarn();
+      if (!ReactFeatureFlags.enableIncrementalResponseCoalescing) {
+        while ((read = inputStream.read(buffer)) != -1) {
+          ResponseUtil.onIncrementalDataReceived(
+              reactApplicationContext,
+              requestId,
+              streamDecoder.decodeNext(buffer, read),
+              totalBytesRead,
+              contentLength);
+        }
+        return;
+      }
+
+      IncrementalResponseChunker chunker = new IncrementalResponseChunker(System.nanoTime());
       while ((read = inputStream.read(buffer)) != -1) {
+        chunker.append(streamDecoder.decodeNext(buffer, read), read);
+        long now = System.nanoTime();
+        if (chunker.shouldFlush(now, inputStream.available() > 0)) {
+          ResponseUtil.onIncrementalDataReceived(
+              reactApplicationContext,
+              requestId,
+              chunker.flush(now),
+              getTotalBytesRead(responseBody, totalBytesRead),
+              contentLength);
+        }
+      }
+      long end = System.nanoTime();
+      if (chunker.shouldFlush(end, false)) {
         ResponseUtil.onIncrementalDataReceived(
             reactApplicationContext,
             requestId,
-            streamDecoder.decodeNext(buffer, read),
-            totalBytesRead,
+            chunker.flush(end),
+            getTotalBytesRead(responseBody, totalBytesRead),
             contentLength);
       }
     } finally {
@@ -624,6 +793,12 @@ public final class NetworkingModule extends NativeNetworkingAndroidSpec {
     }
   }
 
+  private static long getTotalBytesRead(ResponseBody responseBody, long defaultValue) {
+    return responseBody instanceof ProgressResponseBody
+        ? ((ProgressResponseBody) responseBody).totalBytesRead()
+        : defaultValue;
+  }
+
   private static boolean shouldDispatch(long now, long last) {
     return last + CHUNK_TIMEOUT_NS < now;
   }
@@ -636,6 +811,7 @@ public final class NetworkingModule extends NativeNetworkingAndroidSpec {
     mRequestIds.remove(requestId);
   }
 
+  // Requests sharing a call leave its group, the call is cancelled with the last one
   private synchronized void cancelAllRequests() {
     for (Integer requestId : mRequestIds) {
       cancelRequest(requestId);
@@ -665,7 +841,27 @@ public final class NetworkingModule extends NativeNetworkingAndroidSpec {
     removeRequest(requestId);
   }
 
+  private void cancelCall(final Call call) {
+    new GuardedAsyncTask<Void, Void>(getReactApplicationContext()) {
+      @Override
+      protected void doInBackgroundGuarded(Void... params) {
+        call.cancel();
+      }
+    }.execute();
+  }
+
   private void cancelRequest(final int requestId) {
+    RequestDeduplicator.Group group =
+        mRequestDeduplicator != null ? mRequestDeduplicator.leave(requestId) : null;
+    if (group != null) {
+      // The call is shared with identical requests, it is only cancelled once they all left
+      Call call = group.getCall();
+      if (group.size() == 0 && call != null) {
+        cancelCall(call);
+      }
+      return;
+    }
+
     // We have to use AsyncTask since this might trigger a NetworkOnMainThreadException, this is an
     // open issue on OkHttp: https://github.com/square/okhttp/issues/869
     new GuardedAsyncTask<Void, Void>(getReactApplicationContext()) {
@@ -681,6 +877,61 @@ public final class NetworkingModule extends NativeNetworkingAndroidSpec {
     mCookieHandler.clearCookies(callback);
   }
 
+  /**
+   * Resolves with the number of requests that shared the response of an identical request and
+   * the hits, misses and size of the memory response cache.
+   */
+  @Override
+  public void getRequestDeduplicationStats(Promise promise) {
+    WritableMap stats = Arguments.createMap();
+    RequestDeduplicator requestDeduplicator = mRequestDeduplicator;
+    ResponseMemoryCache responseMemoryCache = mResponseMemoryCache;
+    stats.putDouble(
+        "deduplicatedRequests",
+        requestDeduplicator != null ? requestDeduplicator.getDeduplicatedCount() : 0);
+    stats.putDouble(
+        "memoryCacheHits", responseMemoryCache != null ? responseMemoryCache.getHitCount() : 0);
+    stats.putDouble(
+        "memoryCacheMisses",
+        responseMemoryCache != null ? responseMemoryCache.getMissCount() : 0);
+    stats.putDouble(
+        "memoryCacheSizeBytes",
+        responseMemoryCache != null ? responseMemoryCache.getSizeBytes() : 0);
+    promise.resolve(stats);
+  }
+
+  /**
+   * Resolves with the number of requests, their byte counts and a summary of the durations of each
+   * {@link NetworkTelemetry} phase. Only recorded with {@link
+   * ReactFeatureFlags#enableNetworkTelemetry}.
+   */
+  @Override
+  public void getNetworkTelemetry(Promise promise) {
+    NetworkTelemetry telemetry = NetworkTelemetry.getInstance();
+    WritableMap result = Arguments.createMap();
+    result.putDouble("requests", telemetry.getRequestCount());
+    result.putDouble("failedRequests", telemetry.getFailedRequestCount());
+    result.putDouble("requestBytes", telemetry.getRequestBytes());
+    result.putDouble("responseBytes", telemetry.getResponseBytes());
+    WritableMap phases = Arguments.createMap();
+    for (String phase : NetworkTelemetry.getPhases()) {
+      NetworkTelemetry.Histogram histogram = telemetry.getHistogram(phase);
+      if (histogram == null) {
+        continue;
+      }
+      WritableMap summary = Arguments.createMap();
+      summary.putDouble("count", histogram.getCount());
+      summary.putDouble("sumMs", histogram.getSumMs());
+      summary.putDouble("maxMs", histogram.getMaxMs());
+      summary.putDouble("p50Ms", histogram.getPercentileMs(50));
+      summary.putDouble("p90Ms", histogram.getPercentileMs(90));
+      summary.putDouble("p99Ms", histogram.getPercentileMs(99));
+      phases.putMap(phase, summary);
+    }
+    result.putMap("phases", phases);
+    promise.resolve(result);
+  }
+
   @Override
   public void addListener(String eventName) {}
 
@@ -9,6 +9,7 @@ package com.facebook.react.modules.network;
 
 import android.content.Context;
 import androidx.annotation.Nullable;
+import com.facebook.react.config.ReactFeatureFlags;
 import java.io.File;
 import java.util.concurrent.TimeUnit;
 import okhttp3.Cache;
@@ -60,6 +61,10 @@ public class OkHttpClientProvider {
             .writeTimeout(0, TimeUnit.MILLISECONDS)
             .cookieJar(new ReactCookieJarContainer());
 
+    if (ReactFeatureFlags.enableNetworkTelemetry) {
+      client.eventListenerFactory(NetworkTelemetry.getInstance().getEventListenerFactory());
+    }
+
     return client;
   }
 
@@ -11,9 +11,9 @@ import com.facebook.common.logging.FLog;
 import com.facebook.react.common.ReactConstants;
 import java.nio.ByteBuffer;
 import java.nio.CharBuffer;
-import java.nio.charset.CharacterCodingException;
 import java.nio.charset.Charset;
 import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
 
 /**
  * Class to decode encoded strings from byte array chunks. As in different encodings single
@@ -26,10 +26,18 @@ import java.nio.charset.CharsetDecoder;
 class ProgressiveStringDecoder {
 
   private static final String EMPTY_STRING = "";
+  // No charset needs more bytes than this for a character
+  private static final int MAX_REMAINDER_LENGTH = 8;
 
   private final CharsetDecoder mDecoder;
 
-  private byte[] remainder = null;
+  // Bytes of a character split across chunks, decoded with the next chunk
+  private final byte[] mRemainder = new byte[MAX_REMAINDER_LENGTH];
+  private int mRemainderLength = 0;
+
+  // Reused between chunks, so that only the returned strings are allocated
+  private byte[] mJoinedData = new byte[0];
+  private CharBuffer mDecoded = CharBuffer.allocate(0);
 
   /**
    * @param charset expected charset of the data
@@ -46,43 +54,37 @@ class ProgressiveStringDecoder {
    * @return
    */
   public String decodeNext(byte[] data, int length) {
-    byte[] decodeData;
-
-    if (remainder != null) {
-      decodeData = new byte[remainder.length + length];
-      System.arraycopy(remainder, 0, decodeData, 0, remainder.length);
-      System.arraycopy(data, 0, decodeData, remainder.length, length);
-      length += remainder.length;
+    ByteBuffer decodeBuffer;
+    if (mRemainderLength > 0) {
+      int joinedLength = mRemainderLength + length;
+      if (mJoinedData.length < joinedLength) {
+        mJoinedData = new byte[joinedLength];
+      }
+      System.arraycopy(mRemainder, 0, mJoinedData, 0, mRemainderLength);
+      System.arraycopy(data, 0, mJoinedData, mRemainderLength, length);
+      decodeBuffer = ByteBuffer.wrap(mJoinedData, 0, joinedLength);
     } else {
-      decodeData = data;
+      decodeBuffer = ByteBuffer.wrap(data, 0, length);
     }
 
-    ByteBuffer decodeBuffer = ByteBuffer.wrap(decodeData, 0, length);
-    CharBuffer result = null;
-    boolean decoded = false;
-    int remainderLength = 0;
-    while (!decoded && (remainderLength < 4)) {
-      try {
-        result = mDecoder.decode(decodeBuffer);
-        decoded = true;
-      } catch (CharacterCodingException e) {
-        remainderLength++;
-        decodeBuffer = ByteBuffer.wrap(decodeData, 0, length - remainderLength);
-      }
-    }
-    boolean hasRemainder = decoded && remainderLength > 0;
-    if (hasRemainder) {
-      remainder = new byte[remainderLength];
-      System.arraycopy(decodeData, length - remainderLength, remainder, 0, remainderLength);
-    } else {
-      remainder = null;
+    int maxDecodedLength =
+        (int) Math.ceil(decodeBuffer.remaining() * (double) mDecoder.maxCharsPerByte());
+    if (mDecoded.capacity() < maxDecodedLength) {
+      mDecoded = CharBuffer.allocate(maxDecodedLength);
     }
+    mDecoded.clear();
 
-    if (!decoded) {
+    // Not the end of the input, so a partial character at the end is left in the buffer
+    CoderResult result = mDecoder.decode(decodeBuffer, mDecoded, false);
+    if (result.isError() || decodeBuffer.remaining() > MAX_REMAINDER_LENGTH) {
       FLog.w(ReactConstants.TAG, "failed to decode string from byte array");
+      mDecoder.reset();
+      mRemainderLength = 0;
       return EMPTY_STRING;
-    } else {
-      return new String(result.array(), 0, result.length());
     }
+
+    mRemainderLength = decodeBuffer.remaining();
+    decodeBuffer.get(mRemainder, 0, mRemainderLength);
+    return new String(mDecoded.array(), 0, mDecoded.position());
   }
 }
@@ -0,0 +1,152 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package com.facebook.react.modules.network;
+
+import androidx.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import okhttp3.Call;
+import okhttp3.Cookie;
+import okhttp3.Headers;
+import okhttp3.Request;
+
+/**
+ * Groups identical idempotent requests made while one of them is in flight, so that a single call
+ * is made and its response is shared by every request of the group.
+ *
+ * <p>Requests are identical when their method, URL, headers, timeout, whether they are made with
+ * credentials and the cookies sent with them are. The call of a group is tagged with the group
+ * instead of a request id, it is only cancelled once every request of the group left it.
+ */
+/* package */ final class RequestDeduplicator {
+
+  /** Identical requests sharing a single call. */
+  /* package */ static final class Group {
+    private final String mKey;
+    private final List<Integer> mRequestIds = new ArrayList<>();
+    private final List<String> mResponseTypes = new ArrayList<>();
+    private @Nullable Call mCall;
+
+    private Group(String key) {
+      mKey = key;
+    }
+
+    /* package */ String getKey() {
+      return mKey;
+    }
+
+    /* package */ int size() {
+      return mRequestIds.size();
+    }
+
+    /* package */ int getRequestId(int index) {
+      return mRequestIds.get(index);
+    }
+
+    /** @return the response type the request at this index asked for, e.g. "text" */
+    /* package */ String getResponseType(int index) {
+      return mResponseTypes.get(index);
+    }
+
+    /* package */ @Nullable Call getCall() {
+      return mCall;
+    }
+  }
+
+  private final Map<String, Group> mGroupsByKey = new HashMap<>();
+  private final Map<Integer, Group> mGroupsByRequestId = new HashMap<>();
+  private long mDeduplicatedCount = 0;
+
+  /**
+   * Adds a request to the group of identical requests in flight, if there is one.
+   *
+   * @return a new group the caller has to make the call for, with {@link #setCall}, or null if the
+   *     request joined a group already in flight
+   */
+  /* package */ synchronized @Nullable Group join(String key, int requestId, String responseType) {
+    Group group = mGroupsByKey.get(key);
+    boolean isNew = group == null;
+    if (group == null) {
+      group = new Group(key);
+      mGroupsByKey.put(key, group);
+    } else {
+      mDeduplicatedCount++;
+    }
+    group.mRequestIds.add(requestId);
+    group.mResponseTypes.add(responseType);
+    mGroupsByRequestId.put(requestId, group);
+    return isNew ? group : null;
+  }
+
+  /* package */ synchronized void setCall(Group group, Call call) {
+    group.mCall = call;
+  }
+
+  /**
+   * Ends a group once its call completed, so that new requests make a new call.
+   *
+   * @return whether the group still had requests waiting for the response
+   */
+  /* package */ synchronized boolean complete(Group group) {
+    if (mGroupsByKey.get(group.mKey) == group) {
+      mGroupsByKey.remove(group.mKey);
+    }
+    for (int requestId : group.mRequestIds) {
+      mGroupsByRequestId.remove(requestId);
+    }
+    return !group.mRequestIds.isEmpty();
+  }
+
+  /**
+   * Removes an aborted request from its group.
+   *
+   * @return the group the request was in, or null if it wasn't deduplicated. The group's call
+   *     should be cancelled if no request is left in it.
+   */
+  /* package */ synchronized @Nullable Group leave(int requestId) {
+    Group group = mGroupsByRequestId.remove(requestId);
+    if (group == null) {
+      return null;
+    }
+    int index = group.mRequestIds.indexOf(requestId);
+    group.mRequestIds.remove(index);
+    group.mResponseTypes.remove(index);
+    if (group.mRequestIds.isEmpty() && mGroupsByKey.get(group.mKey) == group) {
+      mGroupsByKey.remove(group.mKey);
+    }
+    return group;
+  }
+
+  /** @return number of requests that shared the call of an identical request */
+  /* package */ synchronized long getDeduplicatedCount() {
+    return mDeduplicatedCount;
+  }
+
+  /** @return the key of a request, equal for requests that can share a response */
+  /* package */ static String getKey(
+      Request request, int timeout, boolean withCredentials, List<Cookie> cookies) {
+    StringBuilder key = new StringBuilder();
+    key.append(request.method()).append(' ').append(request.url()).append('\n');
+    key.append("timeout: ").append(timeout).append('\n');
+    // Without credentials the cookies of the response aren't stored either
+    key.append("withCredentials: ").append(withCredentials).append('\n');
+    // Header names are sorted, so the order of the headers doesn't matter
+    Headers headers = request.headers();
+    for (String name : headers.names()) {
+      for (String value : headers.values(name)) {
+        key.append(name).append(": ").append(value).append('\n');
+      }
+    }
+    for (Cookie cookie : cookies) {
+      key.append("cookie: ").append(cookie.name()).append('=').append(cookie.value()).append('\n');
+    }
+    return key.toString();
+  }
+}
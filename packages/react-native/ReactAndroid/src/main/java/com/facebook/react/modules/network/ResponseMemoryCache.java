@@ -0,0 +1,166 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package com.facebook.react.modules.network;
+
+import androidx.annotation.Nullable;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import okhttp3.CacheControl;
+import okhttp3.MediaType;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+
+/**
+ * Bounded in-memory cache of fresh GET responses, in front of OkHttp's disk cache. Responses are
+ * only kept for what is left of their Cache-Control max-age once their current age is taken into
+ * account, and the least recently used ones are evicted once the cache is full.
+ */
+/* package */ final class ResponseMemoryCache {
+
+  private final long mMaxSizeBytes;
+  private final LinkedHashMap<String, Entry> mEntries = new LinkedHashMap<>(16, 0.75f, true);
+  private long mSizeBytes = 0;
+  private long mHitCount = 0;
+  private long mMissCount = 0;
+
+  /* package */ ResponseMemoryCache(long maxSizeBytes) {
+    mMaxSizeBytes = maxSizeBytes;
+  }
+
+  /** @return a copy of the cached response, with its own body, or null if there is none fresh */
+  /* package */ synchronized @Nullable Response get(String key, long nowMs) {
+    Entry entry = mEntries.get(key);
+    if (entry != null && entry.mExpiresAtMs <= nowMs) {
+      remove(key);
+      entry = null;
+    }
+    if (entry == null) {
+      mMissCount++;
+      return null;
+    }
+    mHitCount++;
+    return entry.newResponse();
+  }
+
+  /**
+   * Keeps a response if it is fresh for some time and small enough.
+   *
+   * @param body the body of the response, which was already read
+   */
+  /* package */ synchronized void put(String key, Response response, byte[] body, long nowMs) {
+    long freshnessMs = getFreshnessMs(response, System.currentTimeMillis());
+    // A single response may not take more than an eighth of the cache
+    if (freshnessMs <= 0 || body.length > mMaxSizeBytes / 8) {
+      return;
+    }
+    remove(key);
+    ResponseBody responseBody = response.body();
+    Entry entry =
+        new Entry(
+            response.newBuilder().body(null).build(),
+            responseBody != null ? responseBody.contentType() : null,
+            body,
+            nowMs + freshnessMs);
+    mEntries.put(key, entry);
+    mSizeBytes += body.length;
+
+    Iterator<Map.Entry<String, Entry>> iterator = mEntries.entrySet().iterator();
+    while (mSizeBytes > mMaxSizeBytes && iterator.hasNext()) {
+      mSizeBytes -= iterator.next().getValue().mBody.length;
+      iterator.remove();
+    }
+  }
+
+  /* package */ synchronized long getHitCount() {
+    return mHitCount;
+  }
+
+  /* package */ synchronized long getMissCount() {
+    return mMissCount;
+  }
+
+  /* package */ synchronized long getSizeBytes() {
+    return mSizeBytes;
+  }
+
+  private void remove(String key) {
+    Entry entry = mEntries.remove(key);
+    if (entry != null) {
+      mSizeBytes -= entry.mBody.length;
+    }
+  }
+
+  /**
+   * @param currentTimeMs the current wall clock time, which the response's timestamps are in
+   * @return how long a response may still be served from memory, 0 or less if it may not be
+   */
+  /* package */ static long getFreshnessMs(Response response, long currentTimeMs) {
+    CacheControl requestCacheControl = response.request().cacheControl();
+    CacheControl cacheControl = response.cacheControl();
+    if (response.code() != 200
+        || !response.request().method().equals("GET")
+        || requestCacheControl.noStore()
+        || cacheControl.noStore()
+        || cacheControl.noCache()
+        || cacheControl.maxAgeSeconds() <= 0) {
+      return 0;
+    }
+    return cacheControl.maxAgeSeconds() * 1000L - getAgeMs(response, currentTimeMs);
+  }
+
+  /**
+   * @return the current age of the response, computed like RFC 7234 section 4.2.3 and OkHttp's
+   *     CacheStrategy do, so that time spent in caches and in flight counts against its max-age
+   */
+  private static long getAgeMs(Response response, long currentTimeMs) {
+    long sentAtMs = response.sentRequestAtMillis();
+    long receivedAtMs = response.receivedResponseAtMillis();
+    Date servedDate = response.headers().getDate("Date");
+
+    long receivedAgeMs =
+        servedDate != null && receivedAtMs > 0
+            ? Math.max(0, receivedAtMs - servedDate.getTime())
+            : 0;
+    String ageHeader = response.header("Age");
+    if (ageHeader != null) {
+      try {
+        receivedAgeMs = Math.max(receivedAgeMs, Long.parseLong(ageHeader.trim()) * 1000L);
+      } catch (NumberFormatException e) {
+        // An invalid Age is ignored, as by OkHttp
+      }
+    }
+    if (receivedAtMs <= 0) {
+      return receivedAgeMs;
+    }
+
+    long responseDelayMs = sentAtMs > 0 ? Math.max(0, receivedAtMs - sentAtMs) : 0;
+    long residentTimeMs = Math.max(0, currentTimeMs - receivedAtMs);
+    return receivedAgeMs + responseDelayMs + residentTimeMs;
+  }
+
+  private static final class Entry {
+    private final Response mResponse;
+    private final @Nullable MediaType mContentType;
+    private final byte[] mBody;
+    private final long mExpiresAtMs;
+
+    private Entry(
+        Response response, @Nullable MediaType contentType, byte[] body, long expiresAtMs) {
+      mResponse = response;
+      mContentType = contentType;
+      mBody = body;
+      mExpiresAtMs = expiresAtMs;
+    }
+
+    private Response newResponse() {
+      return mResponse.newBuilder().body(ResponseBody.create(mContentType, mBody)).build();
+    }
+  }
+}
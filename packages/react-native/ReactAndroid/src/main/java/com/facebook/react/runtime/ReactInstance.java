@@ -38,6 +38,7 @@ import com.facebook.react.bridge.queue.QueueThreadExceptionHandler;
 import com.facebook.react.bridge.queue.ReactQueueConfiguration;
 import com.facebook.react.bridge.queue.ReactQueueConfigurationImpl;
 import com.facebook.react.bridge.queue.ReactQueueConfigurationSpec;
+import com.facebook.react.config.ReactFeatureFlags;
 import com.facebook.react.devsupport.StackTraceHelper;
 import com.facebook.react.devsupport.interfaces.DevSupportManager;
 import com.facebook.react.fabric.Binding;
@@ -95,12 +96,14 @@ final class ReactInstance {
   private final List<ReactPackage> mReactPackages;
 
   private final ReactQueueConfiguration mQueueConfiguration;
+  private final QueueThreadExceptionHandler mExceptionHandler;
   private final TurboModuleManager mTurboModuleManager;
   private final FabricUIManager mFabricUIManager;
   private final JavaTimerManager mJavaTimerManager;
   private final BridgelessViewManagerResolver mViewManagerResolver;
 
   private JavaScriptContextHolder mJavaScriptContextHolder;
+  private @Nullable JSBundleLoader mBundleLoader;
 
   static {
     loadLibraryIfNeeded();
@@ -118,6 +121,7 @@ final class ReactInstance {
       @Nullable ReactHostInspectorTarget reactHostInspectorTarget) {
     mBridgelessReactContext = bridgelessReactContext;
     mDelegate = delegate;
+    mExceptionHandler = exceptionHandler;
 
     Systrace.beginSection(Systrace.TRACE_TAG_REACT_JAVA_BRIDGE, "ReactInstance.initialize");
 
@@ -300,6 +304,12 @@ final class ReactInstance {
   }
 
   void initializeEagerTurboModules() {
+    if (ReactFeatureFlags.enableParallelEagerTurboModuleInit) {
+      // Create eager TurboModules in the background, overlapping with JS bundle loading
+      mTurboModuleManager.initializeEagerModulesAsync(mExceptionHandler, null);
+      return;
+    }
+
     // Eagerly initialize TurboModules
     for (String moduleName : mTurboModuleManager.getEagerInitModuleNames()) {
       mTurboModuleManager.getModule(moduleName);
@@ -343,6 +353,7 @@ final class ReactInstance {
   public void loadJSBundle(JSBundleLoader bundleLoader) {
     // Load the JS bundle
     Systrace.beginSection(Systrace.TRACE_TAG_REACT_JAVA_BRIDGE, "ReactInstance.loadJSBundle");
+    mBundleLoader = bundleLoader;
     bundleLoader.loadScript(
         new JSBundleLoaderDelegate() {
           @Override
@@ -460,6 +471,10 @@ final class ReactInstance {
     mTurboModuleManager.invalidate();
     mFabricUIManager.invalidate();
     mJavaTimerManager.onInstanceDestroy();
+    JSBundleLoader bundleLoader = mBundleLoader;
+    if (bundleLoader != null) {
+      bundleLoader.onInstanceDestroyed();
+    }
     mHybridData.resetNative();
     mJavaScriptContextHolder.clear();
   }
@@ -27,6 +27,7 @@ import com.facebook.react.bridge.ReadableMapKeySetIterator;
 import com.facebook.react.bridge.ReadableType;
 import com.facebook.react.common.MapBuilder;
 import com.facebook.react.common.ReactConstants;
+import com.facebook.react.config.ReactFeatureFlags;
 import com.facebook.react.uimanager.ReactAccessibilityDelegate.AccessibilityRole;
 import com.facebook.react.uimanager.ReactAccessibilityDelegate.Role;
 import com.facebook.react.uimanager.annotations.ReactProp;
@@ -535,14 +536,23 @@ public abstract class BaseViewManager<T extends View, C extends LayoutShadowNode
       return;
     }
 
-    sMatrixDecompositionContext.reset();
-    TransformHelper.processTransform(
-        transforms,
-        sTransformDecompositionArray,
-        PixelUtil.toDIPFromPixel(view.getWidth()),
-        PixelUtil.toDIPFromPixel(view.getHeight()),
-        transformOrigin);
-    MatrixMathHelper.decomposeMatrix(sTransformDecompositionArray, sMatrixDecompositionContext);
+    if (ReactFeatureFlags.enableTransformDecompositionCache) {
+      TransformDecompositionCache.decompose(
+          transforms,
+          PixelUtil.toDIPFromPixel(view.getWidth()),
+          PixelUtil.toDIPFromPixel(view.getHeight()),
+          transformOrigin,
+          sMatrixDecompositionContext);
+    } else {
+      sMatrixDecompositionContext.reset();
+      TransformHelper.processTransform(
+          transforms,
+          sTransformDecompositionArray,
+          PixelUtil.toDIPFromPixel(view.getWidth()),
+          PixelUtil.toDIPFromPixel(view.getHeight()),
+          transformOrigin);
+      MatrixMathHelper.decomposeMatrix(sTransformDecompositionArray, sMatrixDecompositionContext);
+    }
     view.setTranslationX(
         PixelUtil.toPixelFromDIP(
             sanitizeFloatPropertyValue((float) sMatrixDecompositionContext.translation[0])));
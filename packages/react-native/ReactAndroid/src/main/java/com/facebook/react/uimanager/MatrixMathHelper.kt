@@ -74,7 +74,10 @@ public object MatrixMathHelper {
     out[15] = b0 * a03 + b1 * a13 + b2 * a23 + b3 * a33
   }
 
-  /** @param transformMatrix 16-element array of numbers representing 4x4 transform matrix */
+  /**
+   * @param transformMatrix 16-element array of numbers representing 4x4 transform matrix
+   * @param ctx receives the decomposition, its scratch space is used so this doesn't allocate
+   */
   @JvmStatic
   public fun decomposeMatrix(transformMatrix: DoubleArray, ctx: MatrixDecompositionContext) {
     Assertions.assertCondition(transformMatrix.size == 16)
@@ -86,38 +89,40 @@ public object MatrixMathHelper {
     val translation = ctx.translation
     val rotationDegrees = ctx.rotationDegrees
 
-    // create normalized, 2d array matrix
-    // and normalized 1d array perspectiveMatrix with redefined 4th column
+    // create normalized matrix (row-major, 4 per row)
+    // and normalized perspectiveMatrix with redefined 4th column
     if (isZero(transformMatrix[15])) {
       return
     }
-    val matrix = Array(4) { DoubleArray(4) }
-    val perspectiveMatrix = DoubleArray(16)
-    for (i in 0..3) {
-      for (j in 0..3) {
-        val value = transformMatrix[i * 4 + j] / transformMatrix[15]
-        matrix[i][j] = value
-        perspectiveMatrix[i * 4 + j] = if (j == 3) 0.0 else value
-      }
+    val matrix = ctx.normalizedMatrix
+    val perspectiveMatrix = ctx.perspectiveMatrix
+    for (i in 0..15) {
+      val value = transformMatrix[i] / transformMatrix[15]
+      matrix[i] = value
+      perspectiveMatrix[i] = if (i % 4 == 3) 0.0 else value
     }
     perspectiveMatrix[15] = 1.0
 
     // test for singularity of upper 3x3 part of the perspective matrix
-    if (isZero(determinant(perspectiveMatrix))) {
+    val det = determinant(perspectiveMatrix)
+    if (isZero(det)) {
       return
     }
 
     // isolate perspective
-    if (!isZero(matrix[0][3]) || !isZero(matrix[1][3]) || !isZero(matrix[2][3])) {
-      // rightHandSide is the right hand side of the equation.
-      // rightHandSide is a vector, or point in 3d space relative to the origin.
-      val rightHandSide = doubleArrayOf(matrix[0][3], matrix[1][3], matrix[2][3], matrix[3][3])
-
-      // Solve the equation by inverting perspectiveMatrix and multiplying
-      // rightHandSide by the inverse.
-      val inversePerspectiveMatrix = inverse(perspectiveMatrix)
-      val transposedInversePerspectiveMatrix = transpose(inversePerspectiveMatrix)
-      multiplyVectorByMatrix(rightHandSide, transposedInversePerspectiveMatrix, perspective)
+    if (!isZero(matrix[3]) || !isZero(matrix[7]) || !isZero(matrix[11])) {
+      // The right hand side of the equation is the 4th column, a point in 3d space relative to
+      // the origin. Solve the equation by inverting perspectiveMatrix and multiplying the right
+      // hand side by the transposed inverse.
+      val inverse = ctx.inversePerspectiveMatrix
+      inverseInto(perspectiveMatrix, det, inverse)
+      for (i in 0..3) {
+        perspective[i] =
+            matrix[3] * inverse[i * 4] +
+                matrix[7] * inverse[i * 4 + 1] +
+                matrix[11] * inverse[i * 4 + 2] +
+                matrix[15] * inverse[i * 4 + 3]
+      }
     } else {
       // no perspective
       perspective[2] = 0.0
@@ -128,65 +133,86 @@ public object MatrixMathHelper {
 
     // translation is simple
     for (i in 0..2) {
-      translation[i] = matrix[3][i]
+      translation[i] = matrix[12 + i]
     }
 
     // Now get scale and shear.
-    // 'row' is a 3 element array of 3 component vectors
-    val row = Array(3) { DoubleArray(3) }
+    // 'row' holds 3 component vectors, row i starts at offset i * 3
+    val row = ctx.rows
     for (i in 0..2) {
-      row[i][0] = matrix[i][0]
-      row[i][1] = matrix[i][1]
-      row[i][2] = matrix[i][2]
+      row[i * 3] = matrix[i * 4]
+      row[i * 3 + 1] = matrix[i * 4 + 1]
+      row[i * 3 + 2] = matrix[i * 4 + 2]
     }
 
     // Compute X scale factor and normalize first row.
-    scale[0] = v3Length(row[0])
-    row[0] = v3Normalize(row[0], scale[0])
+    scale[0] = v3Length(row, 0)
+    v3Normalize(row, 0, scale[0])
 
     // Compute XY shear factor and make 2nd row orthogonal to 1st.
-    skew[0] = v3Dot(row[0], row[1])
-    row[1] = v3Combine(row[1], row[0], 1.0, -skew[0])
+    skew[0] = v3Dot(row, 0, 3)
+    v3Combine(row, 3, 0, 1.0, -skew[0])
 
     // Now, compute Y scale and normalize 2nd row.
-    scale[1] = v3Length(row[1])
-    row[1] = v3Normalize(row[1], scale[1])
+    scale[1] = v3Length(row, 3)
+    v3Normalize(row, 3, scale[1])
     skew[0] /= scale[1]
 
     // Compute XZ and YZ shears, orthogonalize 3rd row
-    skew[1] = v3Dot(row[0], row[2])
-    row[2] = v3Combine(row[2], row[0], 1.0, -skew[1])
-    skew[2] = v3Dot(row[1], row[2])
-    row[2] = v3Combine(row[2], row[1], 1.0, -skew[2])
+    skew[1] = v3Dot(row, 0, 6)
+    v3Combine(row, 6, 0, 1.0, -skew[1])
+    skew[2] = v3Dot(row, 3, 6)
+    v3Combine(row, 6, 3, 1.0, -skew[2])
 
     // Next, get Z scale and normalize 3rd row.
-    scale[2] = v3Length(row[2])
-    row[2] = v3Normalize(row[2], scale[2])
+    scale[2] = v3Length(row, 6)
+    v3Normalize(row, 6, scale[2])
     skew[1] /= scale[2]
     skew[2] /= scale[2]
 
     // At this point, the matrix (in rows) is orthonormal.
     // Check for a coordinate system flip.  If the determinant
     // is -1, then negate the matrix and the scaling factors.
-    val pdum3 = v3Cross(row[1], row[2])
-    if (v3Dot(row[0], pdum3) < 0) {
+    val pdum3x = row[4] * row[8] - row[5] * row[7]
+    val pdum3y = row[5] * row[6] - row[3] * row[8]
+    val pdum3z = row[3] * row[7] - row[4] * row[6]
+    if (row[0] * pdum3x + row[1] * pdum3y + row[2] * pdum3z < 0) {
       for (i in 0..2) {
         scale[i] *= -1.0
-        row[i][0] *= -1.0
-        row[i][1] *= -1.0
-        row[i][2] *= -1.0
+        row[i * 3] *= -1.0
+        row[i * 3 + 1] *= -1.0
+        row[i * 3 + 2] *= -1.0
       }
     }
 
     // Now, get the rotations out
     // Based on: http://nghiaho.com/?page_id=846
     val conv = 180 / Math.PI
-    rotationDegrees[0] = roundTo3Places(-Math.atan2(row[2][1], row[2][2]) * conv)
+    rotationDegrees[0] = roundTo3Places(-Math.atan2(row[7], row[8]) * conv)
     rotationDegrees[1] =
-        roundTo3Places(
-            -Math.atan2(-row[2][0], Math.sqrt(row[2][1] * row[2][1] + row[2][2] * row[2][2])) *
-                conv)
-    rotationDegrees[2] = roundTo3Places(-Math.atan2(row[1][0], row[0][0]) * conv)
+        roundTo3Places(-Math.atan2(-row[6], Math.sqrt(row[7] * row[7] + row[8] * row[8])) * conv)
+    rotationDegrees[2] = roundTo3Places(-Math.atan2(row[3], row[0]) * conv)
+  }
+
+  private fun v3Length(v: DoubleArray, offset: Int): Double =
+      Math.sqrt(
+          v[offset] * v[offset] + v[offset + 1] * v[offset + 1] + v[offset + 2] * v[offset + 2])
+
+  private fun v3Normalize(v: DoubleArray, offset: Int, norm: Double) {
+    val im = 1 / if (isZero(norm)) v3Length(v, offset) else norm
+    v[offset] *= im
+    v[offset + 1] *= im
+    v[offset + 2] *= im
+  }
+
+  private fun v3Dot(v: DoubleArray, a: Int, b: Int): Double =
+      v[a] * v[b] + v[a + 1] * v[b + 1] + v[a + 2] * v[b + 2]
+
+  /** Stores aScale * a + bScale * b into a. */
+  private fun v3Combine(v: DoubleArray, a: Int, b: Int, aScale: Double, bScale: Double) {
+    v[a] = aScale * v[a] + bScale * v[b]
+    v[a + 1] = aScale * v[a + 1] + bScale * v[b + 1]
+    v[a + 2] = aScale * v[a + 2] + bScale * v[b + 2]
   }
 
   @JvmStatic
@@ -233,6 +259,13 @@ public object MatrixMathHelper {
     if (isZero(det)) {
       return matrix
     }
+    val result = DoubleArray(16)
+    inverseInto(matrix, det, result)
+    return result
+  }
+
+  /** Writes the inverse of a matrix with the given non-zero determinant into [out]. */
+  private fun inverseInto(matrix: DoubleArray, det: Double, out: DoubleArray) {
     val m00 = matrix[0]
     val m01 = matrix[1]
     val m02 = matrix[2]
@@ -249,39 +282,54 @@ public object MatrixMathHelper {
     val m31 = matrix[13]
     val m32 = matrix[14]
     val m33 = matrix[15]
-    return doubleArrayOf(
+    out[0] =
         ((m12 * m23 * m31 - m13 * m22 * m31 + m13 * m21 * m32) - m11 * m23 * m32 - m12 * m21 * m33 +
-            m11 * m22 * m33) / det,
+            m11 * m22 * m33) / det
+    out[1] =
         (m03 * m22 * m31 - m02 * m23 * m31 - m03 * m21 * m32 + m01 * m23 * m32 + m02 * m21 * m33 -
-            m01 * m22 * m33) / det,
+            m01 * m22 * m33) / det
+    out[2] =
         ((m02 * m13 * m31 - m03 * m12 * m31 + m03 * m11 * m32) - m01 * m13 * m32 - m02 * m11 * m33 +
-            m01 * m12 * m33) / det,
+            m01 * m12 * m33) / det
+    out[3] =
         (m03 * m12 * m21 - m02 * m13 * m21 - m03 * m11 * m22 + m01 * m13 * m22 + m02 * m11 * m23 -
-            m01 * m12 * m23) / det,
+            m01 * m12 * m23) / det
+    out[4] =
         (m13 * m22 * m30 - m12 * m23 * m30 - m13 * m20 * m32 + m10 * m23 * m32 + m12 * m20 * m33 -
-            m10 * m22 * m33) / det,
+            m10 * m22 * m33) / det
+    out[5] =
         ((m02 * m23 * m30 - m03 * m22 * m30 + m03 * m20 * m32) - m00 * m23 * m32 - m02 * m20 * m33 +
-            m00 * m22 * m33) / det,
+            m00 * m22 * m33) / det
+    out[6] =
         (m03 * m12 * m30 - m02 * m13 * m30 - m03 * m10 * m32 + m00 * m13 * m32 + m02 * m10 * m33 -
-            m00 * m12 * m33) / det,
+            m00 * m12 * m33) / det
+    out[7] =
         ((m02 * m13 * m20 - m03 * m12 * m20 + m03 * m10 * m22) - m00 * m13 * m22 - m02 * m10 * m23 +
-            m00 * m12 * m23) / det,
+            m00 * m12 * m23) / det
+    out[8] =
         ((m11 * m23 * m30 - m13 * m21 * m30 + m13 * m20 * m31) - m10 * m23 * m31 - m11 * m20 * m33 +
-            m10 * m21 * m33) / det,
+            m10 * m21 * m33) / det
+    out[9] =
         (m03 * m21 * m30 - m01 * m23 * m30 - m03 * m20 * m31 + m00 * m23 * m31 + m01 * m20 * m33 -
-            m00 * m21 * m33) / det,
+            m00 * m21 * m33) / det
+    out[10] =
         ((m01 * m13 * m30 - m03 * m11 * m30 + m03 * m10 * m31) - m00 * m13 * m31 - m01 * m10 * m33 +
-            m00 * m11 * m33) / det,
+            m00 * m11 * m33) / det
+    out[11] =
         (m03 * m11 * m20 - m01 * m13 * m20 - m03 * m10 * m21 + m00 * m13 * m21 + m01 * m10 * m23 -
-            m00 * m11 * m23) / det,
+            m00 * m11 * m23) / det
+    out[12] =
         (m12 * m21 * m30 - m11 * m22 * m30 - m12 * m20 * m31 + m10 * m22 * m31 + m11 * m20 * m32 -
-            m10 * m21 * m32) / det,
+            m10 * m21 * m32) / det
+    out[13] =
         ((m01 * m22 * m30 - m02 * m21 * m30 + m02 * m20 * m31) - m00 * m22 * m31 - m01 * m20 * m32 +
-            m00 * m21 * m32) / det,
+            m00 * m21 * m32) / det
+    out[14] =
         (m02 * m11 * m30 - m01 * m12 * m30 - m02 * m10 * m31 + m00 * m12 * m31 + m01 * m10 * m32 -
-            m00 * m11 * m32) / det,
+            m00 * m11 * m32) / det
+    out[15] =
         ((m01 * m12 * m20 - m02 * m11 * m20 + m02 * m10 * m21) - m00 * m12 * m21 - m01 * m10 * m22 +
-            m00 * m11 * m22) / det)
+            m00 * m11 * m22) / det
   }
 
   /** Turns columns into rows and rows into columns. */
@@ -477,6 +525,12 @@ public object MatrixMathHelper {
     @JvmField public var translation: DoubleArray = DoubleArray(3)
     @JvmField public var rotationDegrees: DoubleArray = DoubleArray(3)
 
+    // Scratch space for decomposeMatrix
+    internal val normalizedMatrix = DoubleArray(16)
+    internal val perspectiveMatrix = DoubleArray(16)
+    internal val inversePerspectiveMatrix = DoubleArray(16)
+    internal val rows = DoubleArray(9)
+
     public fun reset() {
       resetArray(perspective)
       resetArray(scale)
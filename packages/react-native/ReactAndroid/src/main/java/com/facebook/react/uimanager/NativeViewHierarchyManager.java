@@ -136,6 +136,7 @@ public class NativeViewHierarchyManager {
 
       if (props != null) {
         viewManager.updateProperties(viewToUpdate, props);
+        ReactAccessibilityDelegate.invalidateAccessibilitySummary(viewToUpdate);
       }
     } catch (IllegalViewOperationException e) {
       FLog.e(TAG, "Unable to update properties for view tag " + tag, e);
@@ -151,6 +152,7 @@ public class NativeViewHierarchyManager {
     ViewManager viewManager = resolveViewManager(tag);
     View viewToUpdate = resolveView(tag);
     viewManager.updateExtraData(viewToUpdate, extraData);
+    ReactAccessibilityDelegate.invalidateAccessibilitySummary(viewToUpdate);
   }
 
   public synchronized void updateLayout(
@@ -275,6 +277,7 @@ public class NativeViewHierarchyManager {
 
       View view =
           viewManager.createView(tag, themedContext, initialProps, null, mJSResponderHandler);
+      ReactAccessibilityDelegate.enableAccessibilitySummaryCache(view);
       mTagsToViews.put(tag, view);
       mTagsToViewManagers.put(tag, viewManager);
     } finally {
@@ -401,6 +404,7 @@ public class NativeViewHierarchyManager {
               + constructManageChildrenErrorMessage(
                   viewToManage, viewManager, indicesToRemove, viewsToAdd, tagsToDelete));
     }
+    ReactAccessibilityDelegate.invalidateAccessibilitySummary(viewToManage);
 
     int lastIndexToRemove = viewManager.getChildCount(viewToManage);
 
@@ -571,6 +575,7 @@ public class NativeViewHierarchyManager {
     UiThreadUtil.assertOnUiThread();
     ViewGroup viewToManage = (ViewGroup) mTagsToViews.get(tag);
     ViewGroupManager viewManager = (ViewGroupManager) resolveViewManager(tag);
+    ReactAccessibilityDelegate.invalidateAccessibilitySummary(viewToManage);
 
     for (int i = 0; i < childrenTags.size(); i++) {
       View viewToAdd = mTagsToViews.get(childrenTags.getInt(i));
@@ -833,6 +838,7 @@ public class NativeViewHierarchyManager {
     }
     ViewManager viewManager = resolveViewManager(reactTag);
     viewManager.receiveCommand(view, commandId, args);
+    ReactAccessibilityDelegate.invalidateAccessibilitySummary(view);
   }
 
   public synchronized void dispatchCommand(
@@ -856,6 +862,7 @@ public class NativeViewHierarchyManager {
     }
     ViewManager viewManager = resolveViewManager(reactTag);
     viewManager.receiveCommand(view, commandId, args);
+    ReactAccessibilityDelegate.invalidateAccessibilitySummary(view);
   }
 
   /**
@@ -8,18 +8,18 @@
 package com.facebook.react.uimanager;
 
 import androidx.annotation.Nullable;
-import androidx.core.util.Pools;
 import com.facebook.infer.annotation.Nullsafe;
 import com.facebook.react.bridge.Arguments;
 import com.facebook.react.bridge.WritableMap;
 import com.facebook.react.uimanager.events.Event;
+import com.facebook.react.uimanager.events.EventPool;
 
 /** Event used to notify JS component about changes of its position or dimensions */
 @Nullsafe(Nullsafe.Mode.LOCAL)
 public class OnLayoutEvent extends Event<OnLayoutEvent> {
 
-  private static final Pools.SynchronizedPool<OnLayoutEvent> EVENTS_POOL =
-      new Pools.SynchronizedPool<>(20);
+  private static final EventPool<OnLayoutEvent> EVENTS_POOL =
+      new EventPool<>(20, OnLayoutEvent::new);
 
   private int mX, mY, mWidth, mHeight;
 
@@ -31,9 +31,6 @@ public class OnLayoutEvent extends Event<OnLayoutEvent> {
   public static OnLayoutEvent obtain(
       int surfaceId, int viewTag, int x, int y, int width, int height) {
     OnLayoutEvent event = EVENTS_POOL.acquire();
-    if (event == null) {
-      event = new OnLayoutEvent();
-    }
     event.init(surfaceId, viewTag, x, y, width, height);
     return event;
   }
@@ -21,6 +21,7 @@ import android.text.style.AbsoluteSizeSpan;
 import android.text.style.ClickableSpan;
 import android.view.View;
 import android.view.ViewGroup;
+import android.view.ViewParent;
 import android.view.accessibility.AccessibilityEvent;
 import android.widget.EditText;
 import android.widget.TextView;
@@ -44,6 +45,7 @@ import com.facebook.react.bridge.ReadableMapKeySetIterator;
 import com.facebook.react.bridge.ReadableType;
 import com.facebook.react.bridge.UIManager;
 import com.facebook.react.bridge.WritableMap;
+import com.facebook.react.config.ReactFeatureFlags;
 import com.facebook.react.uimanager.ReactAccessibilityDelegate.AccessibilityRole;
 import com.facebook.react.uimanager.common.ViewUtil;
 import com.facebook.react.uimanager.events.Event;
@@ -69,6 +71,12 @@ public class ReactAccessibilityDelegate extends ExploreByTouchHelper {
 
   public static final HashMap<String, Integer> sActionIdMap = new HashMap<>();
 
+  // Accessibility summaries are only accessed on the UI thread
+  private static boolean sHasSummaries = false;
+  // Tags the views whose summaries may be cached, until they have one
+  private static final Object NO_SUMMARY = new Object();
+  private static final Rect sVisibleRect = new Rect();
+
   static {
     sActionIdMap.put("activate", AccessibilityActionCompat.ACTION_CLICK.getId());
     sActionIdMap.put("longpress", AccessibilityActionCompat.ACTION_LONG_CLICK.getId());
@@ -707,6 +715,123 @@ public class ReactAccessibilityDelegate extends ExploreByTouchHelper {
     }
   }
 
+  /**
+   * Lets the accessibility summary of a view be cached. Called by the mounting layer for the views
+   * it creates, as it invalidates their summaries when they change. The summaries of other views,
+   * e.g. those a native component adds itself, are never cached.
+   */
+  public static void enableAccessibilitySummaryCache(View view) {
+    if (ReactFeatureFlags.enableAccessibilitySummaryCache) {
+      view.setTag(R.id.accessibility_summary, NO_SUMMARY);
+    }
+  }
+
+  /**
+   * Drops the cached accessibility summary of a view. Called by the mounting layer when the props,
+   * state or children of the view change, or a command was sent to it.
+   */
+  public static void invalidateAccessibilitySummary(View view) {
+    if (sHasSummaries && view.getTag(R.id.accessibility_summary) instanceof AccessibilitySummary) {
+      view.setTag(R.id.accessibility_summary, NO_SUMMARY);
+    }
+  }
+
+  /**
+   * @return what the node info of the view says about it, created once and cached until the view
+   *     changes if the mounting layer manages it, or null if the node info can't be created
+   */
+  private static @Nullable AccessibilitySummary getAccessibilitySummary(View view) {
+    Object tag = view.getTag(R.id.accessibility_summary);
+    if (tag instanceof AccessibilitySummary) {
+      return (AccessibilitySummary) tag;
+    }
+    AccessibilityNodeInfoCompat node = createNodeInfoFromView(view);
+    if (node == null) {
+      return null;
+    }
+    AccessibilitySummary summary;
+    try {
+      summary = new AccessibilitySummary(node, view);
+    } finally {
+      node.recycle();
+    }
+    // The text of an EditText changes as the user types, without the mounting layer knowing
+    if (tag == NO_SUMMARY && !(view instanceof EditText)) {
+      view.setTag(R.id.accessibility_summary, summary);
+      sHasSummaries = true;
+    }
+    return summary;
+  }
+
+  /**
+   * Same as {@link AccessibilityNodeInfoCompat#isVisibleToUser} of the node info of the view,
+   * without creating it. Visibility changes with layout, scrolling and clipping, so it isn't part
+   * of the cached summaries.
+   */
+  private static boolean isVisibleToUser(View view) {
+    if (view.getWindowVisibility() != View.VISIBLE) {
+      return false;
+    }
+    ViewParent current = view.getParent();
+    View ancestor = view;
+    while (true) {
+      if (ancestor.getVisibility() != View.VISIBLE || ancestor.getAlpha() <= 0) {
+        return false;
+      }
+      if (!(current instanceof View)) {
+        break;
+      }
+      ancestor = (View) current;
+      current = ancestor.getParent();
+    }
+    return view.getGlobalVisibleRect(sVisibleRect);
+  }
+
+  /**
+   * What the node info of a view says about the view itself, which doesn't depend on whether it is
+   * visible to the user. Descendants and visibility are always evaluated again, only creating the
+   * node infos is avoided.
+   */
+  private static final class AccessibilitySummary {
+    // Same as isAccessibilityFocusable, for a view visible to the user
+    private final boolean mIsActionable;
+    // Whether the importance of the view lets it speak at all
+    private final boolean mCanSpeak;
+    // Same as isSpeakingNode, without the descendants
+    private final boolean mIsSpeaking;
+    // The description of the view, unless it is derived from its children
+    private final @Nullable String mDescription;
+
+    private AccessibilitySummary(AccessibilityNodeInfoCompat node, View view) {
+      mIsActionable = node.isScreenReaderFocusable() || isActionableForAccessibility(node);
+      final int important = ViewCompat.getImportantForAccessibility(view);
+      mCanSpeak =
+          important != ViewCompat.IMPORTANT_FOR_ACCESSIBILITY_NO_HIDE_DESCENDANTS
+              && (important != ViewCompat.IMPORTANT_FOR_ACCESSIBILITY_NO
+                  || node.getChildCount() > 0);
+      mIsSpeaking = mCanSpeak && (hasText(node) || hasStateDescription(node) || node.isCheckable());
+
+      final CharSequence contentDescription = node.getContentDescription();
+      final CharSequence nodeText = node.getText();
+      final boolean hasNodeText = !TextUtils.isEmpty(nodeText);
+      if (!TextUtils.isEmpty(contentDescription)
+          && (!(view instanceof EditText) || !hasNodeText)) {
+        mDescription = contentDescription.toString();
+      } else if (hasNodeText) {
+        mDescription = nodeText.toString();
+      } else {
+        mDescription = null;
+      }
+    }
+  }
+
+  private static boolean isSpeakingView(View view, AccessibilitySummary summary) {
+    return summary.mIsSpeaking
+        || (summary.mCanSpeak
+            && view instanceof ViewGroup
+            && hasNonActionableSpeakingChildren((ViewGroup) view));
+  }
+
   // Explicitly re-set the delegate, even if one has already been set.
   public static void resetDelegate(
       final View view, boolean originalFocus, int originalImportantForAccessibility) {
@@ -929,11 +1054,39 @@ public class ReactAccessibilityDelegate extends ExploreByTouchHelper {
       return mLinks.size();
     }
 
+    @Override
+    public boolean equals(@Nullable Object other) {
+      return other instanceof AccessibilityLinks
+          && mLinks.equals(((AccessibilityLinks) other).mLinks);
+    }
+
+    @Override
+    public int hashCode() {
+      return mLinks.hashCode();
+    }
+
     private static class AccessibleLink {
       public String description;
       public int start;
       public int end;
       public int id;
+
+      @Override
+      public boolean equals(@Nullable Object other) {
+        if (!(other instanceof AccessibleLink)) {
+          return false;
+        }
+        AccessibleLink link = (AccessibleLink) other;
+        return id == link.id
+            && start == link.start
+            && end == link.end
+            && description.equals(link.description);
+      }
+
+      @Override
+      public int hashCode() {
+        return ((id * 31 + start) * 31 + end) * 31 + description.hashCode();
+      }
     }
   }
 
@@ -972,7 +1125,10 @@ public class ReactAccessibilityDelegate extends ExploreByTouchHelper {
       return false;
     }
 
-    final ViewGroup viewGroup = (ViewGroup) view;
+    return hasNonActionableSpeakingChildren((ViewGroup) view);
+  }
+
+  private static boolean hasNonActionableSpeakingChildren(ViewGroup viewGroup) {
     for (int i = 0, count = viewGroup.getChildCount(); i < count; i++) {
       final View childView = viewGroup.getChildAt(i);
 
@@ -980,6 +1136,20 @@ public class ReactAccessibilityDelegate extends ExploreByTouchHelper {
         continue;
       }
 
+      if (ReactFeatureFlags.enableAccessibilitySummaryCache) {
+        if (!isVisibleToUser(childView)) {
+          continue;
+        }
+        AccessibilitySummary childSummary = getAccessibilitySummary(childView);
+        if (childSummary == null || childSummary.mIsActionable) {
+          continue;
+        }
+        if (isSpeakingView(childView, childSummary)) {
+          return true;
+        }
+        continue;
+      }
+
       final AccessibilityNodeInfoCompat childNode = AccessibilityNodeInfoCompat.obtain();
       try {
         ViewCompat.onInitializeAccessibilityNodeInfo(childView, childNode);
@@ -1174,6 +1344,38 @@ public class ReactAccessibilityDelegate extends ExploreByTouchHelper {
   @Nullable
   public static CharSequence getTalkbackDescription(
       View view, @Nullable AccessibilityNodeInfoCompat info) {
+    if (info != null || !ReactFeatureFlags.enableAccessibilitySummaryCache) {
+      return computeTalkbackDescription(view, info);
+    }
+    AccessibilitySummary summary = getAccessibilitySummary(view);
+    if (summary == null) {
+      return null;
+    }
+    if (summary.mDescription != null) {
+      return summary.mDescription;
+    }
+    if (!(view instanceof ViewGroup)) {
+      return null;
+    }
+    final StringBuilder concatChildDescription = new StringBuilder();
+    final ViewGroup viewGroup = (ViewGroup) view;
+    for (int i = 0, count = viewGroup.getChildCount(); i < count; i++) {
+      final View child = viewGroup.getChildAt(i);
+      AccessibilitySummary childSummary = getAccessibilitySummary(child);
+      if (childSummary != null
+          && isSpeakingView(child, childSummary)
+          && (!childSummary.mIsActionable || !isVisibleToUser(child))) {
+        CharSequence childNodeDescription = getTalkbackDescription(child, null);
+        if (!TextUtils.isEmpty(childNodeDescription)) {
+          concatChildDescription.append(childNodeDescription + delimiter);
+        }
+      }
+    }
+    return removeFinalDelimiter(concatChildDescription);
+  }
+
+  private static @Nullable CharSequence computeTalkbackDescription(
+      View view, @Nullable AccessibilityNodeInfoCompat info) {
     final AccessibilityNodeInfoCompat node =
         info == null ? createNodeInfoFromView(view) : AccessibilityNodeInfoCompat.obtain(info);
 
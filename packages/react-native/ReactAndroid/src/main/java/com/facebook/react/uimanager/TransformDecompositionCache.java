@@ -0,0 +1,267 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package com.facebook.react.uimanager;
+
+import android.util.LruCache;
+import androidx.annotation.Nullable;
+import androidx.annotation.UiThread;
+import com.facebook.infer.annotation.Nullsafe;
+import com.facebook.react.bridge.ReadableArray;
+import com.facebook.react.bridge.ReadableMap;
+import com.facebook.react.bridge.ReadableMapKeySetIterator;
+import com.facebook.react.common.annotations.VisibleForTesting;
+import java.util.Arrays;
+
+/**
+ * Bounded cache from a transform description (transforms, transform origin and view size) to its
+ * decomposed matrix. Animated lists keep re-applying the same handful of transforms, which would
+ * otherwise be parsed, multiplied and decomposed again on every update.
+ *
+ * <p>Building the key only reads the transform values, string values such as "45deg" or "50%" are
+ * kept as strings and only parsed on a miss. Lookups reuse a scratch key, so a hit doesn't
+ * allocate.
+ *
+ * <p>Only enabled when {@link
+ * com.facebook.react.config.ReactFeatureFlags#enableTransformDecompositionCache} is set.
+ */
+@Nullsafe(Nullsafe.Mode.LOCAL)
+@UiThread
+/* package */ final class TransformDecompositionCache {
+
+  private static final int MAX_SIZE = 64;
+
+  // Tags separating the values in a key, so that e.g. a number and a numeric string can't collide
+  private static final double TAG_OPERATION = 1;
+  private static final double TAG_NUMBER = 2;
+  private static final double TAG_STRING = 3;
+  private static final double TAG_ORIGIN = 4;
+  private static final double TAG_NULL = 5;
+  private static final double TAG_ARRAY = 6;
+
+  private static final LruCache<Key, double[]> sCache = new LruCache<>(MAX_SIZE);
+  private static final Key sScratchKey = new Key();
+  private static final double[] sTransformMatrix = new double[16];
+
+  private TransformDecompositionCache() {}
+
+  /**
+   * Same as {@link TransformHelper#processTransform} followed by {@link
+   * MatrixMathHelper#decomposeMatrix}, reusing a previous result for an identical description.
+   */
+  static void decompose(
+      ReadableArray transforms,
+      float viewWidth,
+      float viewHeight,
+      @Nullable ReadableArray transformOrigin,
+      MatrixMathHelper.MatrixDecompositionContext ctx) {
+    Key key = sScratchKey;
+    key.reset();
+    key.addNumber(viewWidth);
+    key.addNumber(viewHeight);
+    addArray(key, transforms);
+    key.addTag(TAG_ORIGIN);
+    if (transformOrigin != null) {
+      addArray(key, transformOrigin);
+    }
+    key.computeHash();
+
+    double[] decomposition = sCache.get(key);
+    if (decomposition == null) {
+      ctx.reset();
+      TransformHelper.processTransform(
+          transforms, sTransformMatrix, viewWidth, viewHeight, transformOrigin);
+      MatrixMathHelper.decomposeMatrix(sTransformMatrix, ctx);
+      decomposition = new double[16];
+      int offset = 0;
+      offset = copy(ctx.perspective, decomposition, offset);
+      offset = copy(ctx.scale, decomposition, offset);
+      offset = copy(ctx.skew, decomposition, offset);
+      offset = copy(ctx.translation, decomposition, offset);
+      copy(ctx.rotationDegrees, decomposition, offset);
+      sCache.put(key.copy(), decomposition);
+    } else {
+      int offset = 0;
+      offset = restore(decomposition, offset, ctx.perspective);
+      offset = restore(decomposition, offset, ctx.scale);
+      offset = restore(decomposition, offset, ctx.skew);
+      offset = restore(decomposition, offset, ctx.translation);
+      restore(decomposition, offset, ctx.rotationDegrees);
+    }
+  }
+
+  private static int copy(double[] from, double[] to, int offset) {
+    System.arraycopy(from, 0, to, offset, from.length);
+    return offset + from.length;
+  }
+
+  private static int restore(double[] from, int offset, double[] to) {
+    System.arraycopy(from, offset, to, 0, to.length);
+    return offset + to.length;
+  }
+
+  private static void addArray(Key key, ReadableArray array) {
+    key.addTag(TAG_ARRAY);
+    key.addNumber(array.size());
+    for (int i = 0, size = array.size(); i < size; i++) {
+      switch (array.getType(i)) {
+        case Number:
+          key.addTag(TAG_NUMBER);
+          key.addNumber(array.getDouble(i));
+          break;
+        case String:
+          key.addTag(TAG_STRING);
+          key.addString(array.getString(i));
+          break;
+        case Array:
+          addArray(key, array.getArray(i));
+          break;
+        case Map:
+          addMap(key, array.getMap(i));
+          break;
+        default:
+          key.addTag(TAG_NULL);
+          break;
+      }
+    }
+  }
+
+  private static void addMap(Key key, ReadableMap map) {
+    ReadableMapKeySetIterator iterator = map.keySetIterator();
+    while (iterator.hasNextKey()) {
+      String name = iterator.nextKey();
+      key.addTag(TAG_OPERATION);
+      key.addString(name);
+      switch (map.getType(name)) {
+        case Number:
+          key.addTag(TAG_NUMBER);
+          key.addNumber(map.getDouble(name));
+          break;
+        case String:
+          key.addTag(TAG_STRING);
+          key.addString(map.getString(name));
+          break;
+        case Array:
+          addArray(key, map.getArray(name));
+          break;
+        default:
+          key.addTag(TAG_NULL);
+          break;
+      }
+    }
+  }
+
+  /** Drops every cached decomposition. */
+  static void clear() {
+    sCache.evictAll();
+  }
+
+  @VisibleForTesting
+  static int hitCount() {
+    return sCache.hitCount();
+  }
+
+  @VisibleForTesting
+  static int missCount() {
+    return sCache.missCount();
+  }
+
+  /** Flattened transform description: numbers and tags in one array, strings in another. */
+  private static final class Key {
+    private double[] mNumbers;
+    private int mNumberCount;
+    private String[] mStrings;
+    private int mStringCount;
+    private int mHash;
+
+    Key() {
+      this(new double[32], new String[8]);
+    }
+
+    private Key(double[] numbers, String[] strings) {
+      mNumbers = numbers;
+      mStrings = strings;
+    }
+
+    void reset() {
+      mNumberCount = 0;
+      Arrays.fill(mStrings, 0, mStringCount, null);
+      mStringCount = 0;
+    }
+
+    void addTag(double tag) {
+      addNumber(tag);
+    }
+
+    void addNumber(double value) {
+      if (mNumberCount == mNumbers.length) {
+        mNumbers = Arrays.copyOf(mNumbers, mNumberCount * 2);
+      }
+      mNumbers[mNumberCount++] = value;
+    }
+
+    void addString(String value) {
+      if (mStringCount == mStrings.length) {
+        mStrings = Arrays.copyOf(mStrings, mStringCount * 2);
+      }
+      mStrings[mStringCount++] = value;
+    }
+
+    void computeHash() {
+      int hash = 1;
+      for (int i = 0; i < mNumberCount; i++) {
+        long bits = Double.doubleToLongBits(mNumbers[i]);
+        hash = 31 * hash + (int) (bits ^ (bits >>> 32));
+      }
+      for (int i = 0; i < mStringCount; i++) {
+        hash = 31 * hash + mStrings[i].hashCode();
+      }
+      mHash = hash;
+    }
+
+    Key copy() {
+      Key key =
+          new Key(Arrays.copyOf(mNumbers, mNumberCount), Arrays.copyOf(mStrings, mStringCount));
+      key.mNumberCount = mNumberCount;
+      key.mStringCount = mStringCount;
+      key.mHash = mHash;
+      return key;
+    }
+
+    @Override
+    public int hashCode() {
+      return mHash;
+    }
+
+    @Override
+    public boolean equals(@Nullable Object obj) {
+      if (this == obj) {
+        return true;
+      }
+      if (!(obj instanceof Key)) {
+        return false;
+      }
+      Key other = (Key) obj;
+      if (mHash != other.mHash
+          || mNumberCount != other.mNumberCount
+          || mStringCount != other.mStringCount) {
+        return false;
+      }
+      for (int i = 0; i < mNumberCount; i++) {
+        if (Double.doubleToLongBits(mNumbers[i]) != Double.doubleToLongBits(other.mNumbers[i])) {
+          return false;
+        }
+      }
+      for (int i = 0; i < mStringCount; i++) {
+        if (!mStrings[i].equals(other.mStrings[i])) {
+          return false;
+        }
+      }
+      return true;
+    }
+  }
+}
@@ -17,6 +17,7 @@ import android.widget.EditText;
 import androidx.annotation.Nullable;
 import androidx.core.view.ViewCompat;
 import com.facebook.infer.annotation.Nullsafe;
+import com.facebook.react.R;
 import com.facebook.react.bridge.CatalystInstance;
 import com.facebook.react.bridge.ReactContext;
 import com.facebook.react.bridge.ReactNoCrashSoftException;
@@ -185,6 +186,12 @@ public class UIManagerHelper {
       return -1;
     }
 
+    // A recycled view may have been created for another surface than the one it's used by
+    Object recycledSurfaceId = view.getTag(R.id.view_surface_id);
+    if (recycledSurfaceId instanceof Integer) {
+      return (Integer) recycledSurfaceId;
+    }
+
     Context context = view.getContext();
     if (!(context instanceof ThemedReactContext) && context instanceof ContextWrapper) {
       context = ((ContextWrapper) context).getBaseContext();
@@ -24,9 +24,7 @@ import com.facebook.react.uimanager.annotations.ReactProp;
 import com.facebook.react.uimanager.annotations.ReactPropGroup;
 import com.facebook.react.uimanager.annotations.ReactPropertyHolder;
 import com.facebook.yoga.YogaMeasureMode;
-import java.util.HashMap;
 import java.util.Map;
-import java.util.Stack;
 
 /**
  * Class responsible for knowing how to create and update catalyst Views of a given type. It is also
@@ -40,11 +38,11 @@ public abstract class ViewManager<T extends View, C extends ReactShadowNode>
   private static final String NAME = ViewManager.class.getSimpleName();
 
   /**
-   * For View recycling: we store a Stack of unused, dead Views. This is null by default, and when
-   * null signals that View Recycling is disabled. `enableViewRecycling` must be explicitly called
-   * in a concrete constructor to enable View Recycling per ViewManager.
+   * For View recycling: unused, dead Views are stored in the global {@link ViewRecyclingPool}. This
+   * is false by default, `setupViewRecycling` must be explicitly called in a concrete constructor
+   * to enable View Recycling per ViewManager.
    */
-  @Nullable private HashMap<Integer, Stack<T>> mRecyclableViews = null;
+  private boolean mViewRecyclingEnabled = false;
 
   public ViewManager() {
     super(null);
@@ -57,18 +55,20 @@ public abstract class ViewManager<T extends View, C extends ReactShadowNode>
   /** Call in constructor of concrete ViewManager class to enable. */
   protected void setupViewRecycling() {
     if (ReactFeatureFlags.enableViewRecycling) {
-      mRecyclableViews = new HashMap<>();
+      mViewRecyclingEnabled = true;
     }
   }
 
-  private @Nullable Stack<T> getRecyclableViewStack(int surfaceId) {
-    if (mRecyclableViews == null) {
+  /* package */ boolean isViewRecyclingEnabled() {
+    return mViewRecyclingEnabled;
+  }
+
+  @SuppressWarnings("unchecked")
+  private @Nullable T acquireRecyclableView(ThemedReactContext reactContext) {
+    if (!mViewRecyclingEnabled) {
       return null;
     }
-    if (!mRecyclableViews.containsKey(surfaceId)) {
-      mRecyclableViews.put(surfaceId, new Stack<T>());
-    }
-    return mRecyclableViews.get(surfaceId);
+    return (T) ViewRecyclingPool.getInstance().acquire(getName(), reactContext);
   }
 
   /**
@@ -177,9 +177,9 @@ public abstract class ViewManager<T extends View, C extends ReactShadowNode>
       @Nullable ReactStylesDiffMap initialProps,
       @Nullable StateWrapper stateWrapper) {
     T view = null;
-    @Nullable Stack<T> recyclableViews = getRecyclableViewStack(reactContext.getSurfaceId());
-    if (recyclableViews != null && !recyclableViews.empty()) {
-      view = recycleView(reactContext, recyclableViews.pop());
+    @Nullable T recyclableView = acquireRecyclableView(reactContext);
+    if (recyclableView != null) {
+      view = recycleView(reactContext, recyclableView);
     } else {
       view = createViewInstance(reactContext);
     }
@@ -223,10 +223,9 @@ public abstract class ViewManager<T extends View, C extends ReactShadowNode>
 
     // View recycling
     ThemedReactContext themedReactContext = (ThemedReactContext) viewContext;
-    int surfaceId = themedReactContext.getSurfaceId();
-    @Nullable Stack<T> recyclableViews = getRecyclableViewStack(surfaceId);
-    if (recyclableViews != null) {
-      recyclableViews.push(prepareToRecycleView(themedReactContext, view));
+    if (mViewRecyclingEnabled) {
+      ViewRecyclingPool.getInstance()
+          .release(getName(), prepareToRecycleView(themedReactContext, view));
     }
   }
 
@@ -465,8 +464,8 @@ public abstract class ViewManager<T extends View, C extends ReactShadowNode>
    * currently only need this for recycling cleanup. Only called in Fabric.
    */
   public void onSurfaceStopped(int surfaceId) {
-    if (mRecyclableViews != null) {
-      mRecyclableViews.remove(surfaceId);
+    if (mViewRecyclingEnabled) {
+      ViewRecyclingPool.getInstance().onSurfaceStopped(getName(), surfaceId);
     }
   }
 
@@ -474,8 +473,8 @@ public abstract class ViewManager<T extends View, C extends ReactShadowNode>
   /* package */ void trimMemory() {
     // Wipe out all existing recyclable Views, but do not disable View Recycling entirely.
     // We only take any action if View Recycling is already enabled.
-    if (mRecyclableViews != null) {
-      mRecyclableViews = new HashMap<>();
+    if (mViewRecyclingEnabled) {
+      ViewRecyclingPool.getInstance().clear(getName());
     }
   }
 }
@@ -0,0 +1,409 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package com.facebook.react.uimanager;
+
+import android.app.Activity;
+import android.content.Context;
+import android.os.Looper;
+import android.os.MessageQueue;
+import android.os.SystemClock;
+import android.view.View;
+import androidx.annotation.Nullable;
+import androidx.annotation.UiThread;
+import com.facebook.common.logging.FLog;
+import com.facebook.infer.annotation.Nullsafe;
+import com.facebook.react.R;
+import com.facebook.react.bridge.MemoryPressureListener;
+import com.facebook.react.bridge.UiThreadUtil;
+import com.facebook.react.common.ReactConstants;
+import com.facebook.react.common.annotations.VisibleForTesting;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Process-wide pool of recyclable views, used by every {@link ViewManager} that enabled view
+ * recycling through {@link ViewManager#setupViewRecycling()}.
+ *
+ * <p>The pool is bounded per component type and shared by all surfaces, so views released by a
+ * surface that is navigated away from are reused by the next one. Views keep the {@link
+ * ThemedReactContext} they were created with, so they are only handed out to surfaces of the same
+ * React instance in the same Activity, and the surface they now belong to is stored in a view tag
+ * that {@link UIManagerHelper#getSurfaceId(View)} reads. Views of a destroyed instance or Activity
+ * are dropped when a surface stops.
+ *
+ * <p>On memory pressure the whole pool is evicted. While idle, the pool can pre-inflate the most
+ * used component types for a surface that was just started, see {@link
+ * #prewarm(ThemedReactContext, ViewManagerRegistry)}.
+ */
+@Nullsafe(Nullsafe.Mode.LOCAL)
+public final class ViewRecyclingPool implements MemoryPressureListener {
+
+  /** Default maximum number of pooled views per component type, across all surfaces. */
+  public static final int DEFAULT_MAX_SIZE = 32;
+
+  // A component type has to be requested this many times before it's worth pre-inflating
+  private static final int PREWARM_MIN_USES = 8;
+  private static final int PREWARM_COMPONENT_TYPES = 4;
+  private static final int PREWARM_VIEWS_PER_TYPE = 4;
+  // Keep each idle callback short, in case input arrives while we are inflating
+  private static final long PREWARM_BUDGET_MS = 4;
+
+  private static final ViewRecyclingPool sInstance = new ViewRecyclingPool();
+
+  /** Hit rate and size of the pool for a single component type. */
+  public static final class Stats {
+    private int mHits;
+    private int mMisses;
+    private int mDropped;
+    private int mPrewarmed;
+    private int mSize;
+
+    private Stats() {}
+
+    private Stats(Stats other) {
+      mHits = other.mHits;
+      mMisses = other.mMisses;
+      mDropped = other.mDropped;
+      mPrewarmed = other.mPrewarmed;
+      mSize = other.mSize;
+    }
+
+    /** @return number of views that were taken from the pool instead of being created */
+    public int getHits() {
+      return mHits;
+    }
+
+    /** @return number of views that had to be created because the pool was empty */
+    public int getMisses() {
+      return mMisses;
+    }
+
+    /** @return number of views that were discarded because the pool was full */
+    public int getDropped() {
+      return mDropped;
+    }
+
+    /** @return number of views that were inflated ahead of time while idle */
+    public int getPrewarmed() {
+      return mPrewarmed;
+    }
+
+    /** @return number of views currently pooled */
+    public int getSize() {
+      return mSize;
+    }
+
+    public float getHitRate() {
+      int requests = mHits + mMisses;
+      return requests == 0 ? 0f : (float) mHits / requests;
+    }
+
+    @Override
+    public String toString() {
+      return "hits="
+          + mHits
+          + ", misses="
+          + mMisses
+          + ", hitRate="
+          + getHitRate()
+          + ", dropped="
+          + mDropped
+          + ", prewarmed="
+          + mPrewarmed
+          + ", size="
+          + mSize;
+    }
+  }
+
+  /** Pooled views of a single component type, most recently released first. */
+  private static final class ComponentPool {
+    private final ArrayDeque<View> mViews = new ArrayDeque<>();
+    private final Stats mStats = new Stats();
+    private int mMaxSize = DEFAULT_MAX_SIZE;
+  }
+
+  private static final class PrewarmRequest {
+    private final String mComponentName;
+    private final ViewManager mViewManager;
+    private final ThemedReactContext mContext;
+    private int mRemaining;
+    private boolean mCancelled = false;
+
+    private PrewarmRequest(
+        String componentName, ViewManager viewManager, ThemedReactContext context, int count) {
+      mComponentName = componentName;
+      mViewManager = viewManager;
+      mContext = context;
+      mRemaining = count;
+    }
+  }
+
+  private final Map<String, ComponentPool> mPools = new HashMap<>();
+  private final ArrayDeque<PrewarmRequest> mPrewarmRequests = new ArrayDeque<>();
+  private @Nullable PrewarmRequest mCurrentPrewarmRequest;
+  private boolean mIdleHandlerScheduled = false;
+
+  private final MessageQueue.IdleHandler mPrewarmIdleHandler = this::prewarmWhileIdle;
+
+  @VisibleForTesting
+  /* package */ ViewRecyclingPool() {}
+
+  public static ViewRecyclingPool getInstance() {
+    return sInstance;
+  }
+
+  private ComponentPool getPool(String componentName) {
+    ComponentPool pool = mPools.get(componentName);
+    if (pool == null) {
+      pool = new ComponentPool();
+      mPools.put(componentName, pool);
+    }
+    return pool;
+  }
+
+  /** Sets the maximum number of pooled views for a component type, across all surfaces. */
+  public synchronized void setMaxSize(String componentName, int maxSize) {
+    ComponentPool pool = getPool(componentName);
+    pool.mMaxSize = maxSize;
+    trimToSize(pool, maxSize);
+  }
+
+  /**
+   * @return a pooled view of the given type that can be used by the surface of the given context,
+   *     whichever surface created it, or null if there is none and a new one has to be created
+   */
+  /* package */ synchronized @Nullable View acquire(
+      String componentName, ThemedReactContext context) {
+    ComponentPool pool = getPool(componentName);
+    Iterator<View> iterator = pool.mViews.iterator();
+    while (iterator.hasNext()) {
+      View view = iterator.next();
+      if (canBeReusedBy(view, context)) {
+        iterator.remove();
+        pool.mStats.mHits++;
+        pool.mStats.mSize--;
+        // The view may have been created for another surface, its events go to this one now
+        view.setTag(R.id.view_surface_id, context.getSurfaceId());
+        return view;
+      }
+    }
+    pool.mStats.mMisses++;
+    return null;
+  }
+
+  private static boolean canBeReusedBy(View view, ThemedReactContext context) {
+    Context viewContext = view.getContext();
+    return viewContext instanceof ThemedReactContext
+        && ((ThemedReactContext) viewContext).getReactApplicationContext()
+            == context.getReactApplicationContext()
+        && ((ThemedReactContext) viewContext).getBaseContext() == context.getBaseContext();
+  }
+
+  /** @return whether the instance or the Activity the view was created for is gone */
+  private static boolean isStale(View view) {
+    Context viewContext = view.getContext();
+    if (!(viewContext instanceof ThemedReactContext)) {
+      return true;
+    }
+    ThemedReactContext themedContext = (ThemedReactContext) viewContext;
+    Context baseContext = themedContext.getBaseContext();
+    return !themedContext.getReactApplicationContext().hasActiveReactInstance()
+        || (baseContext instanceof Activity && ((Activity) baseContext).isFinishing());
+  }
+
+  /**
+   * Returns a view to the pool.
+   *
+   * @return false if the view was dropped because the pool for its type is full
+   */
+  /* package */ synchronized boolean release(String componentName, View view) {
+    ComponentPool pool = getPool(componentName);
+    if (pool.mStats.mSize >= pool.mMaxSize) {
+      pool.mStats.mDropped++;
+      return false;
+    }
+    pool.mViews.push(view);
+    pool.mStats.mSize++;
+    return true;
+  }
+
+  /**
+   * Called when a surface stops. Its pooled views stay available to other surfaces, only the views
+   * that can't be reused anymore, because their instance or Activity is gone, are dropped.
+   */
+  /* package */ synchronized void onSurfaceStopped(String componentName, int surfaceId) {
+    ComponentPool pool = mPools.get(componentName);
+    if (pool != null) {
+      Iterator<View> views = pool.mViews.iterator();
+      while (views.hasNext()) {
+        if (isStale(views.next())) {
+          views.remove();
+          pool.mStats.mSize--;
+        }
+      }
+    }
+
+    Iterator<PrewarmRequest> iterator = mPrewarmRequests.iterator();
+    while (iterator.hasNext()) {
+      PrewarmRequest request = iterator.next();
+      if (request.mContext.getSurfaceId() == surfaceId) {
+        request.mCancelled = true;
+        iterator.remove();
+      }
+    }
+    if (mCurrentPrewarmRequest != null
+        && mCurrentPrewarmRequest.mContext.getSurfaceId() == surfaceId) {
+      mCurrentPrewarmRequest.mCancelled = true;
+    }
+  }
+
+  /** Drops every pooled view of the given type. */
+  /* package */ synchronized void clear(String componentName) {
+    ComponentPool pool = mPools.get(componentName);
+    if (pool != null) {
+      trimToSize(pool, 0);
+    }
+  }
+
+  /** Drops every pooled view and cancels any pending pre-inflation. */
+  public synchronized void clear() {
+    for (ComponentPool pool : mPools.values()) {
+      trimToSize(pool, 0);
+    }
+    for (PrewarmRequest request : mPrewarmRequests) {
+      request.mCancelled = true;
+    }
+    mPrewarmRequests.clear();
+    if (mCurrentPrewarmRequest != null) {
+      mCurrentPrewarmRequest.mCancelled = true;
+    }
+  }
+
+  private static void trimToSize(ComponentPool pool, int maxSize) {
+    while (pool.mStats.mSize > maxSize) {
+      pool.mViews.removeLast();
+      pool.mStats.mSize--;
+    }
+  }
+
+  /** With even slight memory pressure, we immediately evict all recyclable Views. */
+  @Override
+  public void handleMemoryPressure(int level) {
+    clear();
+  }
+
+  /**
+   * Schedules pre-inflation of the most used component types for a surface that was just started.
+   * Views are created one at a time while the UI thread is idle, and pending work is cancelled when
+   * the surface stops or on memory pressure.
+   */
+  @UiThread
+  public void prewarm(ThemedReactContext context, ViewManagerRegistry viewManagerRegistry) {
+    UiThreadUtil.assertOnUiThread();
+    for (String componentName : getMostUsedComponents()) {
+      @Nullable ViewManager viewManager = viewManagerRegistry.getViewManagerIfExists(componentName);
+      if (viewManager == null || !viewManager.isViewRecyclingEnabled()) {
+        continue;
+      }
+      synchronized (this) {
+        ComponentPool pool = getPool(componentName);
+        int count = Math.min(PREWARM_VIEWS_PER_TYPE, pool.mMaxSize) - pool.mStats.mSize;
+        if (count > 0) {
+          mPrewarmRequests.add(new PrewarmRequest(componentName, viewManager, context, count));
+        }
+      }
+    }
+
+    synchronized (this) {
+      if (!mPrewarmRequests.isEmpty() && !mIdleHandlerScheduled) {
+        mIdleHandlerScheduled = true;
+        Looper.myQueue().addIdleHandler(mPrewarmIdleHandler);
+      }
+    }
+  }
+
+  private synchronized List<String> getMostUsedComponents() {
+    List<Map.Entry<String, ComponentPool>> candidates = new ArrayList<>();
+    for (Map.Entry<String, ComponentPool> entry : mPools.entrySet()) {
+      Stats stats = entry.getValue().mStats;
+      if (stats.mHits + stats.mMisses >= PREWARM_MIN_USES) {
+        candidates.add(entry);
+      }
+    }
+    Collections.sort(
+        candidates,
+        (a, b) -> {
+          Stats first = a.getValue().mStats;
+          Stats second = b.getValue().mStats;
+          return Integer.compare(second.mHits + second.mMisses, first.mHits + first.mMisses);
+        });
+
+    List<String> componentNames = new ArrayList<>();
+    for (int i = 0; i < candidates.size() && i < PREWARM_COMPONENT_TYPES; i++) {
+      componentNames.add(candidates.get(i).getKey());
+    }
+    return componentNames;
+  }
+
+  /** Inflates views until the budget runs out, returns whether there is more work left. */
+  private boolean prewarmWhileIdle() {
+    long deadline = SystemClock.uptimeMillis() + PREWARM_BUDGET_MS;
+    while (SystemClock.uptimeMillis() < deadline) {
+      PrewarmRequest request;
+      synchronized (this) {
+        request = mPrewarmRequests.peek();
+        if (request == null) {
+          mIdleHandlerScheduled = false;
+          return false;
+        }
+        if (--request.mRemaining <= 0) {
+          mPrewarmRequests.poll();
+        }
+        mCurrentPrewarmRequest = request;
+      }
+
+      View view;
+      try {
+        view = request.mViewManager.createViewInstance(request.mContext);
+      } catch (RuntimeException e) {
+        FLog.w(ReactConstants.TAG, "Unable to pre-inflate " + request.mComponentName, e);
+        view = null;
+      }
+
+      synchronized (this) {
+        mCurrentPrewarmRequest = null;
+        // The surface may have stopped while the view was being created
+        if (view != null
+            && !request.mCancelled
+            && release(request.mComponentName, view)) {
+          getPool(request.mComponentName).mStats.mPrewarmed++;
+        }
+      }
+    }
+
+    synchronized (this) {
+      mIdleHandlerScheduled = !mPrewarmRequests.isEmpty();
+      return mIdleHandlerScheduled;
+    }
+  }
+
+  /** @return a snapshot of the pool statistics, per component type */
+  public synchronized Map<String, Stats> getStats() {
+    Map<String, Stats> stats = new LinkedHashMap<>();
+    for (Map.Entry<String, ComponentPool> entry : mPools.entrySet()) {
+      stats.put(entry.getKey(), new Stats(entry.getValue().mStats));
+    }
+    return stats;
+  }
+}
@@ -0,0 +1,529 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package com.facebook.react.uimanager.drawable;
+
+import android.graphics.Path;
+import android.graphics.PointF;
+import android.graphics.RectF;
+import androidx.annotation.Nullable;
+import com.facebook.infer.annotation.Nullsafe;
+
+/**
+ * Paths and corner points used by {@link CSSBackgroundDrawable} to render a rounded background and
+ * its borders.
+ *
+ * <p>Instances from {@link BorderGeometryCache} are immutable and may be shared between any number
+ * of drawables. Callers must never mutate the returned paths, rects or points; copy them first
+ * (e.g. {@code new Path(geometry.outerClipPath)}) when handing them out. A drawable that doesn't
+ * use the cache owns its instance and {@link #update}s it in place.
+ */
+@Nullsafe(Nullsafe.Mode.LOCAL)
+final class BorderGeometry {
+
+  // There is a small gap between the edges of adjacent paths
+  // such as between the backgroundColorRenderPath and its border.
+  // The smallest amount (found to be 0.8f) is used to extend
+  // the paths, overlapping them and closing the visible gap.
+  static final float GAP_BETWEEN_PATHS = 0.8f;
+
+  final Path innerClipPath = new Path();
+  final Path backgroundColorRenderPath = new Path();
+  final Path outerClipPath = new Path();
+  final Path outlinePath = new Path();
+  final Path centerDrawPath = new Path();
+  final RectF innerClipRect = new RectF();
+  final RectF outerClipRect = new RectF();
+  final PointF innerTopLeftCorner = new PointF();
+  final PointF innerTopRightCorner = new PointF();
+  final PointF innerBottomRightCorner = new PointF();
+  final PointF innerBottomLeftCorner = new PointF();
+
+  BorderGeometry(Key key) {
+    update(key);
+  }
+
+  /**
+   * Recomputes the geometry in place, reusing the existing paths. Must only be called on instances
+   * that aren't shared through {@link BorderGeometryCache}.
+   */
+  void update(Key key) {
+    innerClipPath.reset();
+    backgroundColorRenderPath.reset();
+    outerClipPath.reset();
+    outlinePath.reset();
+    centerDrawPath.reset();
+
+    final RectF outlineRect = new RectF(key.mLeft, key.mTop, key.mRight, key.mBottom);
+    final RectF centerDrawRect = new RectF(outlineRect);
+    final RectF borderWidth =
+        new RectF(key.mBorderLeft, key.mBorderTop, key.mBorderRight, key.mBorderBottom);
+
+    innerClipRect.set(outlineRect);
+    outerClipRect.set(outlineRect);
+
+    if (key.mClipInnerBorder) {
+      innerClipRect.top += borderWidth.top;
+      innerClipRect.bottom -= borderWidth.bottom;
+      innerClipRect.left += borderWidth.left;
+      innerClipRect.right -= borderWidth.right;
+    }
+
+    centerDrawRect.top += borderWidth.top * 0.5f;
+    centerDrawRect.bottom -= borderWidth.bottom * 0.5f;
+    centerDrawRect.left += borderWidth.left * 0.5f;
+    centerDrawRect.right -= borderWidth.right * 0.5f;
+
+    final float topLeftRadius = key.mTopLeftRadius;
+    final float topRightRadius = key.mTopRightRadius;
+    final float bottomLeftRadius = key.mBottomLeftRadius;
+    final float bottomRightRadius = key.mBottomRightRadius;
+    final float extraRadiusForOutline = key.mExtraRadiusForOutline;
+
+    final float innerTopLeftRadiusX = Math.max(topLeftRadius - borderWidth.left, 0);
+    final float innerTopLeftRadiusY = Math.max(topLeftRadius - borderWidth.top, 0);
+    final float innerTopRightRadiusX = Math.max(topRightRadius - borderWidth.right, 0);
+    final float innerTopRightRadiusY = Math.max(topRightRadius - borderWidth.top, 0);
+    final float innerBottomRightRadiusX = Math.max(bottomRightRadius - borderWidth.right, 0);
+    final float innerBottomRightRadiusY = Math.max(bottomRightRadius - borderWidth.bottom, 0);
+    final float innerBottomLeftRadiusX = Math.max(bottomLeftRadius - borderWidth.left, 0);
+    final float innerBottomLeftRadiusY = Math.max(bottomLeftRadius - borderWidth.bottom, 0);
+
+    innerClipPath.addRoundRect(
+        innerClipRect,
+        new float[] {
+          innerTopLeftRadiusX,
+          innerTopLeftRadiusY,
+          innerTopRightRadiusX,
+          innerTopRightRadiusY,
+          innerBottomRightRadiusX,
+          innerBottomRightRadiusY,
+          innerBottomLeftRadiusX,
+          innerBottomLeftRadiusY,
+        },
+        Path.Direction.CW);
+
+    // There is a small gap between backgroundColorRenderPath and its
+    // border. GAP_BETWEEN_PATHS is used to slightly enlarge the rectangle
+    // (innerClipRect), ensuring the border can be drawn on top without the gap.
+    backgroundColorRenderPath.addRoundRect(
+        innerClipRect.left - GAP_BETWEEN_PATHS,
+        innerClipRect.top - GAP_BETWEEN_PATHS,
+        innerClipRect.right + GAP_BETWEEN_PATHS,
+        innerClipRect.bottom + GAP_BETWEEN_PATHS,
+        new float[] {
+          innerTopLeftRadiusX,
+          innerTopLeftRadiusY,
+          innerTopRightRadiusX,
+          innerTopRightRadiusY,
+          innerBottomRightRadiusX,
+          innerBottomRightRadiusY,
+          innerBottomLeftRadiusX,
+          innerBottomLeftRadiusY,
+        },
+        Path.Direction.CW);
+
+    outerClipPath.addRoundRect(
+        outerClipRect,
+        new float[] {
+          topLeftRadius,
+          topLeftRadius,
+          topRightRadius,
+          topRightRadius,
+          bottomRightRadius,
+          bottomRightRadius,
+          bottomLeftRadius,
+          bottomLeftRadius
+        },
+        Path.Direction.CW);
+
+    outlinePath.addRoundRect(
+        outlineRect,
+        new float[] {
+          topLeftRadius + extraRadiusForOutline,
+          topLeftRadius + extraRadiusForOutline,
+          topRightRadius + extraRadiusForOutline,
+          topRightRadius + extraRadiusForOutline,
+          bottomRightRadius + extraRadiusForOutline,
+          bottomRightRadius + extraRadiusForOutline,
+          bottomLeftRadius + extraRadiusForOutline,
+          bottomLeftRadius + extraRadiusForOutline
+        },
+        Path.Direction.CW);
+
+    centerDrawPath.addRoundRect(
+        centerDrawRect,
+        new float[] {
+          Math.max(
+              topLeftRadius - borderWidth.left * 0.5f,
+              (borderWidth.left > 0.0f) ? (topLeftRadius / borderWidth.left) : 0.0f),
+          Math.max(
+              topLeftRadius - borderWidth.top * 0.5f,
+              (borderWidth.top > 0.0f) ? (topLeftRadius / borderWidth.top) : 0.0f),
+          Math.max(
+              topRightRadius - borderWidth.right * 0.5f,
+              (borderWidth.right > 0.0f) ? (topRightRadius / borderWidth.right) : 0.0f),
+          Math.max(
+              topRightRadius - borderWidth.top * 0.5f,
+              (borderWidth.top > 0.0f) ? (topRightRadius / borderWidth.top) : 0.0f),
+          Math.max(
+              bottomRightRadius - borderWidth.right * 0.5f,
+              (borderWidth.right > 0.0f) ? (bottomRightRadius / borderWidth.right) : 0.0f),
+          Math.max(
+              bottomRightRadius - borderWidth.bottom * 0.5f,
+              (borderWidth.bottom > 0.0f) ? (bottomRightRadius / borderWidth.bottom) : 0.0f),
+          Math.max(
+              bottomLeftRadius - borderWidth.left * 0.5f,
+              (borderWidth.left > 0.0f) ? (bottomLeftRadius / borderWidth.left) : 0.0f),
+          Math.max(
+              bottomLeftRadius - borderWidth.bottom * 0.5f,
+              (borderWidth.bottom > 0.0f) ? (bottomLeftRadius / borderWidth.bottom) : 0.0f)
+        },
+        Path.Direction.CW);
+
+    /**
+     * Rounded Multi-Colored Border Algorithm:
+     *
+     * <p>Let O (for outer) = (top, left, bottom, right) be the rectangle that represents the size
+     * and position of a view V. Since the box-sizing of all React Native views is border-box, any
+     * border of V will render inside O.
+     *
+     * <p>Let BorderWidth = (borderTop, borderLeft, borderBottom, borderRight).
+     *
+     * <p>Let I (for inner) = O - BorderWidth.
+     *
+     * <p>Then, remembering that O and I are rectangles and that I is inside O, O - I gives us the
+     * border of V. Therefore, we can use canvas.clipPath to draw V's border.
+     *
+     * <p>canvas.clipPath(O, Region.OP.INTERSECT);
+     *
+     * <p>canvas.clipPath(I, Region.OP.DIFFERENCE);
+     *
+     * <p>canvas.drawRect(O, paint);
+     *
+     * <p>This lets us draw non-rounded single-color borders.
+     *
+     * <p>To extend this algorithm to rounded single-color borders, we:
+     *
+     * <p>1. Curve the corners of O by the (border radii of V) using Path#addRoundRect.
+     *
+     * <p>2. Curve the corners of I by (border radii of V - border widths of V) using
+     * Path#addRoundRect.
+     *
+     * <p>Let O' = curve(O, border radii of V).
+     *
+     * <p>Let I' = curve(I, border radii of V - border widths of V)
+     *
+     * <p>The rationale behind this decision is the (first sentence of the) following section in the
+     * CSS Backgrounds and Borders Module Level 3:
+     * https://www.w3.org/TR/css3-background/#the-border-radius.
+     *
+     * <p>After both O and I have been curved, we can execute the following lines once again to
+     * render curved single-color borders:
+     *
+     * <p>canvas.clipPath(O, Region.OP.INTERSECT);
+     *
+     * <p>canvas.clipPath(I, Region.OP.DIFFERENCE);
+     *
+     * <p>canvas.drawRect(O, paint);
+     *
+     * <p>To extend this algorithm to rendering multi-colored rounded borders, we render each side
+     * of the border as its own quadrilateral. Suppose that we were handling the case where all the
+     * border radii are 0. Then, the four quadrilaterals would be:
+     *
+     * <p>Left: (O.left, O.top), (I.left, I.top), (I.left, I.bottom), (O.left, O.bottom)
+     *
+     * <p>Top: (O.left, O.top), (I.left, I.top), (I.right, I.top), (O.right, O.top)
+     *
+     * <p>Right: (O.right, O.top), (I.right, I.top), (I.right, I.bottom), (O.right, O.bottom)
+     *
+     * <p>Bottom: (O.right, O.bottom), (I.right, I.bottom), (I.left, I.bottom), (O.left, O.bottom)
+     *
+     * <p>Now, lets consider what happens when we render a rounded border (radii != 0). For the sake
+     * of simplicity, let's focus on the top edge of the Left border:
+     *
+     * <p>Let borderTopLeftRadius = 5. Let borderLeftWidth = 1. Let borderTopWidth = 2.
+     *
+     * <p>We know that O is curved by the ellipse E_O (a = 5, b = 5). We know that I is curved by
+     * the ellipse E_I (a = 5 - 1, b = 5 - 2).
+     *
+     * <p>Since we have clipping, it should be safe to set the top-left point of the Left
+     * quadrilateral's top edge to (O.left, O.top).
+     *
+     * <p>But, what should the top-right point be?
+     *
+     * <p>The fact that the border is curved shouldn't change the slope (nor the position) of the
+     * line connecting the top-left and top-right points of the Left quadrilateral's top edge.
+     * Therefore, The top-right point should lie somewhere on the line L = (1 - a) * (O.left, O.top)
+     * + a * (I.left, I.top).
+     *
+     * <p>a != 0, because then the top-left and top-right points would be the same and
+     * borderLeftWidth = 1. a != 1, because then the top-right point would not touch an edge of the
+     * ellipse E_I. We want the top-right point to touch an edge of the inner ellipse because the
+     * border curves with E_I on the top-left corner of V.
+     *
+     * <p>Therefore, it must be the case that a > 1. Two natural locations of the top-right point
+     * exist: 1. The first intersection of L with E_I. 2. The second intersection of L with E_I.
+     *
+     * <p>We choose the top-right point of the top edge of the Left quadrilateral to be an arbitrary
+     * intersection of L with E_I.
+     */
+
+    /** Compute innerTopLeftCorner */
+    innerTopLeftCorner.x = innerClipRect.left;
+    innerTopLeftCorner.y = innerClipRect.top;
+
+    getEllipseIntersectionWithLine(
+        // Ellipse Bounds
+        innerClipRect.left,
+        innerClipRect.top,
+        innerClipRect.left + 2 * innerTopLeftRadiusX,
+        innerClipRect.top + 2 * innerTopLeftRadiusY,
+
+        // Line Start
+        outerClipRect.left,
+        outerClipRect.top,
+
+        // Line End
+        innerClipRect.left,
+        innerClipRect.top,
+
+        // Result
+        innerTopLeftCorner);
+
+    /** Compute innerBottomLeftCorner */
+    innerBottomLeftCorner.x = innerClipRect.left;
+    innerBottomLeftCorner.y = innerClipRect.bottom;
+
+    getEllipseIntersectionWithLine(
+        // Ellipse Bounds
+        innerClipRect.left,
+        innerClipRect.bottom - 2 * innerBottomLeftRadiusY,
+        innerClipRect.left + 2 * innerBottomLeftRadiusX,
+        innerClipRect.bottom,
+
+        // Line Start
+        outerClipRect.left,
+        outerClipRect.bottom,
+
+        // Line End
+        innerClipRect.left,
+        innerClipRect.bottom,
+
+        // Result
+        innerBottomLeftCorner);
+
+    /** Compute innerTopRightCorner */
+    innerTopRightCorner.x = innerClipRect.right;
+    innerTopRightCorner.y = innerClipRect.top;
+
+    getEllipseIntersectionWithLine(
+        // Ellipse Bounds
+        innerClipRect.right - 2 * innerTopRightRadiusX,
+        innerClipRect.top,
+        innerClipRect.right,
+        innerClipRect.top + 2 * innerTopRightRadiusY,
+
+        // Line Start
+        outerClipRect.right,
+        outerClipRect.top,
+
+        // Line End
+        innerClipRect.right,
+        innerClipRect.top,
+
+        // Result
+        innerTopRightCorner);
+
+    /** Compute innerBottomRightCorner */
+    innerBottomRightCorner.x = innerClipRect.right;
+    innerBottomRightCorner.y = innerClipRect.bottom;
+
+    getEllipseIntersectionWithLine(
+        // Ellipse Bounds
+        innerClipRect.right - 2 * innerBottomRightRadiusX,
+        innerClipRect.bottom - 2 * innerBottomRightRadiusY,
+        innerClipRect.right,
+        innerClipRect.bottom,
+
+        // Line Start
+        outerClipRect.right,
+        outerClipRect.bottom,
+
+        // Line End
+        innerClipRect.right,
+        innerClipRect.bottom,
+
+        // Result
+        innerBottomRightCorner);
+  }
+
+  private static void getEllipseIntersectionWithLine(
+      double ellipseBoundsLeft,
+      double ellipseBoundsTop,
+      double ellipseBoundsRight,
+      double ellipseBoundsBottom,
+      double lineStartX,
+      double lineStartY,
+      double lineEndX,
+      double lineEndY,
+      PointF result) {
+    final double ellipseCenterX = (ellipseBoundsLeft + ellipseBoundsRight) / 2;
+    final double ellipseCenterY = (ellipseBoundsTop + ellipseBoundsBottom) / 2;
+
+    /**
+     * Step 1:
+     *
+     * <p>Translate the line so that the ellipse is at the origin.
+     *
+     * <p>Why? It makes the math easier by changing the ellipse equation from ((x -
+     * ellipseCenterX)/a)^2 + ((y - ellipseCenterY)/b)^2 = 1 to (x/a)^2 + (y/b)^2 = 1.
+     */
+    lineStartX -= ellipseCenterX;
+    lineStartY -= ellipseCenterY;
+    lineEndX -= ellipseCenterX;
+    lineEndY -= ellipseCenterY;
+
+    /**
+     * Step 2:
+     *
+     * <p>Ellipse equation: (x/a)^2 + (y/b)^2 = 1 Line equation: y = mx + c
+     */
+    final double a = Math.abs(ellipseBoundsRight - ellipseBoundsLeft) / 2;
+    final double b = Math.abs(ellipseBoundsBottom - ellipseBoundsTop) / 2;
+    final double m = (lineEndY - lineStartY) / (lineEndX - lineStartX);
+    final double c = lineStartY - m * lineStartX; // Just a point on the line
+
+    /**
+     * Step 3:
+     *
+     * <p>Substitute the Line equation into the Ellipse equation. Solve for x. Eventually, you'll
+     * have to use the quadratic formula.
+     *
+     * <p>Quadratic formula: Ax^2 + Bx + C = 0
+     */
+    final double A = (b * b + a * a * m * m);
+    final double B = 2 * a * a * c * m;
+    final double C = (a * a * (c * c - b * b));
+
+    /**
+     * Step 4:
+     *
+     * <p>Apply Quadratic formula. D = determinant / 2A
+     */
+    final double D = Math.sqrt(-C / A + Math.pow(B / (2 * A), 2));
+    final double x2 = -B / (2 * A) - D;
+    final double y2 = m * x2 + c;
+
+    /**
+     * Step 5:
+     *
+     * <p>Undo the space transformation in Step 5.
+     */
+    final double x = x2 + ellipseCenterX;
+    final double y = y2 + ellipseCenterY;
+
+    if (!Double.isNaN(x) && !Double.isNaN(y)) {
+      result.x = (float) x;
+      result.y = (float) y;
+    }
+  }
+
+  /**
+   * Every input that {@link BorderGeometry} depends on. Two drawables with equal keys produce
+   * identical geometry, which is what allows {@link BorderGeometryCache} to share instances.
+   */
+  static final class Key {
+    private final float mLeft;
+    private final float mTop;
+    private final float mRight;
+    private final float mBottom;
+    private final float mBorderLeft;
+    private final float mBorderTop;
+    private final float mBorderRight;
+    private final float mBorderBottom;
+    private final float mTopLeftRadius;
+    private final float mTopRightRadius;
+    private final float mBottomRightRadius;
+    private final float mBottomLeftRadius;
+    private final float mExtraRadiusForOutline;
+    private final boolean mClipInnerBorder;
+    private final int mHashCode;
+
+    Key(
+        RectF bounds,
+        RectF borderWidth,
+        float topLeftRadius,
+        float topRightRadius,
+        float bottomRightRadius,
+        float bottomLeftRadius,
+        float extraRadiusForOutline,
+        boolean clipInnerBorder) {
+      mLeft = bounds.left;
+      mTop = bounds.top;
+      mRight = bounds.right;
+      mBottom = bounds.bottom;
+      mBorderLeft = borderWidth.left;
+      mBorderTop = borderWidth.top;
+      mBorderRight = borderWidth.right;
+      mBorderBottom = borderWidth.bottom;
+      mTopLeftRadius = topLeftRadius;
+      mTopRightRadius = topRightRadius;
+      mBottomRightRadius = bottomRightRadius;
+      mBottomLeftRadius = bottomLeftRadius;
+      mExtraRadiusForOutline = extraRadiusForOutline;
+      mClipInnerBorder = clipInnerBorder;
+
+      int hash = Float.floatToIntBits(mLeft);
+      hash = 31 * hash + Float.floatToIntBits(mTop);
+      hash = 31 * hash + Float.floatToIntBits(mRight);
+      hash = 31 * hash + Float.floatToIntBits(mBottom);
+      hash = 31 * hash + Float.floatToIntBits(mBorderLeft);
+      hash = 31 * hash + Float.floatToIntBits(mBorderTop);
+      hash = 31 * hash + Float.floatToIntBits(mBorderRight);
+      hash = 31 * hash + Float.floatToIntBits(mBorderBottom);
+      hash = 31 * hash + Float.floatToIntBits(mTopLeftRadius);
+      hash = 31 * hash + Float.floatToIntBits(mTopRightRadius);
+      hash = 31 * hash + Float.floatToIntBits(mBottomRightRadius);
+      hash = 31 * hash + Float.floatToIntBits(mBottomLeftRadius);
+      hash = 31 * hash + Float.floatToIntBits(mExtraRadiusForOutline);
+      hash = 31 * hash + (mClipInnerBorder ? 1 : 0);
+      mHashCode = hash;
+    }
+
+    @Override
+    public boolean equals(@Nullable Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof Key)) {
+        return false;
+      }
+      Key other = (Key) o;
+      return mHashCode == other.mHashCode
+          && Float.compare(mLeft, other.mLeft) == 0
+          && Float.compare(mTop, other.mTop) == 0
+          && Float.compare(mRight, other.mRight) == 0
+          && Float.compare(mBottom, other.mBottom) == 0
+          && Float.compare(mBorderLeft, other.mBorderLeft) == 0
+          && Float.compare(mBorderTop, other.mBorderTop) == 0
+          && Float.compare(mBorderRight, other.mBorderRight) == 0
+          && Float.compare(mBorderBottom, other.mBorderBottom) == 0
+          && Float.compare(mTopLeftRadius, other.mTopLeftRadius) == 0
+          && Float.compare(mTopRightRadius, other.mTopRightRadius) == 0
+          && Float.compare(mBottomRightRadius, other.mBottomRightRadius) == 0
+          && Float.compare(mBottomLeftRadius, other.mBottomLeftRadius) == 0
+          && Float.compare(mExtraRadiusForOutline, other.mExtraRadiusForOutline) == 0
+          && mClipInnerBorder == other.mClipInnerBorder;
+    }
+
+    @Override
+    public int hashCode() {
+      return mHashCode;
+    }
+  }
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package com.facebook.react.uimanager.drawable;
+
+import android.util.LruCache;
+import com.facebook.infer.annotation.Nullsafe;
+import com.facebook.react.common.annotations.VisibleForTesting;
+
+/**
+ * Process-wide, bounded cache of {@link BorderGeometry} shared by every {@link
+ * CSSBackgroundDrawable}. Lists of identically styled rounded views (e.g. cards) resolve to the
+ * same key, so their paths are built once and reused instead of being recomputed per drawable.
+ *
+ * <p>Only enabled when {@link com.facebook.react.config.ReactFeatureFlags#enableBorderGeometryCache}
+ * is set.
+ */
+@Nullsafe(Nullsafe.Mode.LOCAL)
+public final class BorderGeometryCache {
+
+  private static final int MAX_SIZE = 128;
+
+  private static final LruCache<BorderGeometry.Key, BorderGeometry> sCache =
+      new LruCache<>(MAX_SIZE);
+
+  private BorderGeometryCache() {}
+
+  static BorderGeometry get(BorderGeometry.Key key) {
+    BorderGeometry geometry = sCache.get(key);
+    if (geometry == null) {
+      geometry = new BorderGeometry(key);
+      sCache.put(key, geometry);
+    }
+    return geometry;
+  }
+
+  /** Drops every cached geometry, e.g. in response to memory pressure. */
+  public static void clear() {
+    sCache.evictAll();
+  }
+
+  @VisibleForTesting
+  public static int hitCount() {
+    return sCache.hitCount();
+  }
+
+  @VisibleForTesting
+  public static int missCount() {
+    return sCache.missCount();
+  }
+
+  @VisibleForTesting
+  public static int size() {
+    return sCache.size();
+  }
+}
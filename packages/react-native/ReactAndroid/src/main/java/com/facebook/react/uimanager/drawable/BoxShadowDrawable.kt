@@ -81,7 +81,7 @@ internal class BoxShadowDrawable(
     }
 
     with(canvas) {
-      val borderBoxPath = background.getBorderBoxPath()
+      val borderBoxPath = background.getSharedBorderBoxPath()
       if (borderBoxPath != null) {
         clipOutPath(borderBoxPath)
       } else {
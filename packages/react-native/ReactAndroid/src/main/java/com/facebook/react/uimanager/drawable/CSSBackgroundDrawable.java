@@ -28,6 +28,7 @@ import androidx.core.graphics.ColorUtils;
 import androidx.core.util.Preconditions;
 import com.facebook.infer.annotation.Nullsafe;
 import com.facebook.react.common.annotations.VisibleForTesting;
+import com.facebook.react.config.ReactFeatureFlags;
 import com.facebook.react.modules.i18nmanager.I18nUtil;
 import com.facebook.react.uimanager.FloatUtil;
 import com.facebook.react.uimanager.LengthPercentage;
@@ -46,8 +47,8 @@ import java.util.Objects;
  * properties).
  *
  * <p>The implementation tries to allocate as few objects as possible depending on which properties
- * are set. E.g. for views with rounded background/borders we allocate {@code
- * mInnerClipPathForBorderRadius} and {@code mInnerClipTempRectForBorderRadius}. In case when view
+ * are set. E.g. for views with rounded background/borders we allocate a {@link BorderGeometry}
+ * (which may be shared with other drawables through {@link BorderGeometryCache}). In case when view
  * have a rectangular borders we allocate {@code mBorderWidthResult} and similar. When only
  * background color is set we won't allocate any extra/unnecessary objects.
  */
@@ -92,21 +93,11 @@ public class CSSBackgroundDrawable extends Drawable {
   private @Nullable Spacing mBorderAlpha;
   private @Nullable BorderStyle mBorderStyle;
 
-  private @Nullable Path mInnerClipPathForBorderRadius;
-  private @Nullable Path mBackgroundColorRenderPath;
-  private @Nullable Path mOuterClipPathForBorderRadius;
-  private @Nullable Path mPathForBorderRadiusOutline;
+  /* Paths used for rounded backgrounds/borders, possibly shared with other drawables */
+  private @Nullable BorderGeometry mBorderGeometry;
+  private boolean mBorderGeometryShared = false;
   private @Nullable Path mPathForBorder;
   private final Path mPathForSingleBorder = new Path();
-  private @Nullable Path mCenterDrawPath;
-  private @Nullable RectF mInnerClipTempRectForBorderRadius;
-  private @Nullable RectF mOuterClipTempRectForBorderRadius;
-  private @Nullable RectF mTempRectForBorderRadiusOutline;
-  private @Nullable RectF mTempRectForCenterDrawPath;
-  private @Nullable PointF mInnerTopLeftCorner;
-  private @Nullable PointF mInnerTopRightCorner;
-  private @Nullable PointF mInnerBottomRightCorner;
-  private @Nullable PointF mInnerBottomLeftCorner;
   private boolean mNeedUpdatePathForBorderRadius = false;
 
   /* Used by all types of background and for drawing borders */
@@ -114,11 +105,8 @@ public class CSSBackgroundDrawable extends Drawable {
   private int mColor = Color.TRANSPARENT;
   private int mAlpha = 255;
 
-  // There is a small gap between the edges of adjacent paths
-  // such as between the mBackgroundColorRenderPath and its border.
-  // The smallest amount (found to be 0.8f) is used to extend
-  // the paths, overlapping them and closing the visible gap.
-  private final float mGapBetweenPaths = 0.8f;
+  // See BorderGeometry.GAP_BETWEEN_PATHS
+  private final float mGapBetweenPaths = BorderGeometry.GAP_BETWEEN_PATHS;
 
   private BorderRadiusStyle mBorderRadius = new BorderRadiusStyle();
   private ComputedBorderRadius mComputedBorderRadius = new ComputedBorderRadius();
@@ -193,7 +181,7 @@ public class CSSBackgroundDrawable extends Drawable {
     if (hasRoundedBorders()) {
       updatePath();
 
-      outline.setConvexPath(Preconditions.checkNotNull(mPathForBorderRadiusOutline));
+      outline.setConvexPath(Preconditions.checkNotNull(mBorderGeometry).outlinePath);
     } else {
       outline.setRect(getBounds());
     }
@@ -319,7 +307,21 @@ public class CSSBackgroundDrawable extends Drawable {
   public @Nullable Path getBorderBoxPath() {
     if (hasRoundedBorders()) {
       updatePath();
-      return new Path(Preconditions.checkNotNull(mOuterClipPathForBorderRadius));
+      return new Path(Preconditions.checkNotNull(mBorderGeometry).outerClipPath);
+    }
+
+    return null;
+  }
+
+  /**
+   * Like {@link #getBorderBoxPath()}, but returns the path backing this drawable instead of a copy.
+   * The path may be shared with other drawables and must not be mutated.
+   */
+  @Nullable
+  Path getSharedBorderBoxPath() {
+    if (hasRoundedBorders()) {
+      updatePath();
+      return Preconditions.checkNotNull(mBorderGeometry).outerClipPath;
     }
 
     return null;
@@ -332,7 +334,7 @@ public class CSSBackgroundDrawable extends Drawable {
   public @Nullable Path getPaddingBoxPath() {
     if (hasRoundedBorders()) {
       updatePath();
-      return new Path(Preconditions.checkNotNull(mInnerClipPathForBorderRadius));
+      return new Path(Preconditions.checkNotNull(mBorderGeometry).innerClipPath);
     }
 
     return null;
@@ -353,17 +355,18 @@ public class CSSBackgroundDrawable extends Drawable {
 
   private void drawRoundedBackgroundWithBorders(Canvas canvas) {
     updatePath();
+    final BorderGeometry geometry = Preconditions.checkNotNull(mBorderGeometry);
     canvas.save();
 
     // Clip outer border
-    canvas.clipPath(Preconditions.checkNotNull(mOuterClipPathForBorderRadius), Region.Op.INTERSECT);
+    canvas.clipPath(geometry.outerClipPath, Region.Op.INTERSECT);
 
     // Draws the View without its border first (with background color fill)
     int useColor = ColorUtils.setAlphaComponent(mColor, getOpacity());
     if (Color.alpha(useColor) != 0) { // color is not transparent
       mPaint.setColor(useColor);
       mPaint.setStyle(Paint.Style.FILL);
-      canvas.drawPath(Preconditions.checkNotNull(mBackgroundColorRenderPath), mPaint);
+      canvas.drawPath(geometry.backgroundColorRenderPath, mPaint);
     }
 
     final RectF borderWidth = getDirectionAwareBorderInsets();
@@ -407,7 +410,7 @@ public class CSSBackgroundDrawable extends Drawable {
           mPaint.setColor(multiplyColorAlpha(borderColor, mAlpha));
           mPaint.setStyle(Paint.Style.STROKE);
           mPaint.setStrokeWidth(fullBorderWidth);
-          canvas.drawPath(Preconditions.checkNotNull(mCenterDrawPath), mPaint);
+          canvas.drawPath(geometry.centerDrawPath, mPaint);
         }
       }
       // In the case of uneven border widths/colors draw quadrilateral in each direction
@@ -415,8 +418,7 @@ public class CSSBackgroundDrawable extends Drawable {
         mPaint.setStyle(Paint.Style.FILL);
 
         // Clip inner border
-        canvas.clipPath(
-            Preconditions.checkNotNull(mInnerClipPathForBorderRadius), Region.Op.DIFFERENCE);
+        canvas.clipPath(geometry.innerClipPath, Region.Op.DIFFERENCE);
 
         final boolean isRTL = getLayoutDirection() == View.LAYOUT_DIRECTION_RTL;
         int colorStart = getBorderColor(Spacing.START);
@@ -456,17 +458,16 @@ public class CSSBackgroundDrawable extends Drawable {
           }
         }
 
-        final RectF outerClipTempRect =
-            Preconditions.checkNotNull(mOuterClipTempRectForBorderRadius);
+        final RectF outerClipTempRect = geometry.outerClipRect;
         final float left = outerClipTempRect.left;
         final float right = outerClipTempRect.right;
         final float top = outerClipTempRect.top;
         final float bottom = outerClipTempRect.bottom;
 
-        final PointF innerTopLeftCorner = Preconditions.checkNotNull(mInnerTopLeftCorner);
-        final PointF innerTopRightCorner = Preconditions.checkNotNull(mInnerTopRightCorner);
-        final PointF innerBottomLeftCorner = Preconditions.checkNotNull(mInnerBottomLeftCorner);
-        final PointF innerBottomRightCorner = Preconditions.checkNotNull(mInnerBottomRightCorner);
+        final PointF innerTopLeftCorner = geometry.innerTopLeftCorner;
+        final PointF innerTopRightCorner = geometry.innerTopRightCorner;
+        final PointF innerBottomLeftCorner = geometry.innerBottomLeftCorner;
+        final PointF innerBottomRightCorner = geometry.innerBottomRightCorner;
 
         // mGapBetweenPaths is used to close the gap between the diagonal
         // edges of the quadrilaterals on adjacent sides of the rectangle
@@ -534,53 +535,7 @@ public class CSSBackgroundDrawable extends Drawable {
 
     mNeedUpdatePathForBorderRadius = false;
 
-    if (mInnerClipPathForBorderRadius == null) {
-      mInnerClipPathForBorderRadius = new Path();
-    }
-
-    if (mBackgroundColorRenderPath == null) {
-      mBackgroundColorRenderPath = new Path();
-    }
-
-    if (mOuterClipPathForBorderRadius == null) {
-      mOuterClipPathForBorderRadius = new Path();
-    }
-
-    if (mPathForBorderRadiusOutline == null) {
-      mPathForBorderRadiusOutline = new Path();
-    }
-
-    if (mCenterDrawPath == null) {
-      mCenterDrawPath = new Path();
-    }
-
-    if (mInnerClipTempRectForBorderRadius == null) {
-      mInnerClipTempRectForBorderRadius = new RectF();
-    }
-
-    if (mOuterClipTempRectForBorderRadius == null) {
-      mOuterClipTempRectForBorderRadius = new RectF();
-    }
-
-    if (mTempRectForBorderRadiusOutline == null) {
-      mTempRectForBorderRadiusOutline = new RectF();
-    }
-
-    if (mTempRectForCenterDrawPath == null) {
-      mTempRectForCenterDrawPath = new RectF();
-    }
-
-    mInnerClipPathForBorderRadius.reset();
-    mBackgroundColorRenderPath.reset();
-    mOuterClipPathForBorderRadius.reset();
-    mPathForBorderRadiusOutline.reset();
-    mCenterDrawPath.reset();
-
-    mInnerClipTempRectForBorderRadius.set(getBounds());
-    mOuterClipTempRectForBorderRadius.set(getBounds());
-    mTempRectForBorderRadiusOutline.set(getBounds());
-    mTempRectForCenterDrawPath.set(getBounds());
-
+    final RectF bounds = new RectF(getBounds());
     final RectF borderWidth = getDirectionAwareBorderInsets();
 
     int colorLeft = getBorderColor(Spacing.LEFT);
@@ -605,91 +560,15 @@ public class CSSBackgroundDrawable extends Drawable {
     }
 
     // Clip border ONLY if its color is non transparent
-    if (Color.alpha(colorLeft) != 0
-        && Color.alpha(colorTop) != 0
-        && Color.alpha(colorRight) != 0
-        && Color.alpha(colorBottom) != 0
-        && Color.alpha(borderColor) != 0) {
-
-      mInnerClipTempRectForBorderRadius.top += borderWidth.top;
-      mInnerClipTempRectForBorderRadius.bottom -= borderWidth.bottom;
-      mInnerClipTempRectForBorderRadius.left += borderWidth.left;
-      mInnerClipTempRectForBorderRadius.right -= borderWidth.right;
-    }
-
-    mTempRectForCenterDrawPath.top += borderWidth.top * 0.5f;
-    mTempRectForCenterDrawPath.bottom -= borderWidth.bottom * 0.5f;
-    mTempRectForCenterDrawPath.left += borderWidth.left * 0.5f;
-    mTempRectForCenterDrawPath.right -= borderWidth.right * 0.5f;
+    final boolean clipInnerBorder =
+        Color.alpha(colorLeft) != 0
+            && Color.alpha(colorTop) != 0
+            && Color.alpha(colorRight) != 0
+            && Color.alpha(colorBottom) != 0
+            && Color.alpha(borderColor) != 0;
 
     mComputedBorderRadius =
-        mBorderRadius.resolve(
-            getLayoutDirection(),
-            mContext,
-            mOuterClipTempRectForBorderRadius.width(),
-            mOuterClipTempRectForBorderRadius.height());
-    float topLeftRadius = mComputedBorderRadius.getTopLeft();
-    float topRightRadius = mComputedBorderRadius.getTopRight();
-    float bottomLeftRadius = mComputedBorderRadius.getBottomLeft();
-    float bottomRightRadius = mComputedBorderRadius.getBottomRight();
-
-    final float innerTopLeftRadiusX = Math.max(topLeftRadius - borderWidth.left, 0);
-    final float innerTopLeftRadiusY = Math.max(topLeftRadius - borderWidth.top, 0);
-    final float innerTopRightRadiusX = Math.max(topRightRadius - borderWidth.right, 0);
-    final float innerTopRightRadiusY = Math.max(topRightRadius - borderWidth.top, 0);
-    final float innerBottomRightRadiusX = Math.max(bottomRightRadius - borderWidth.right, 0);
-    final float innerBottomRightRadiusY = Math.max(bottomRightRadius - borderWidth.bottom, 0);
-    final float innerBottomLeftRadiusX = Math.max(bottomLeftRadius - borderWidth.left, 0);
-    final float innerBottomLeftRadiusY = Math.max(bottomLeftRadius - borderWidth.bottom, 0);
-
-    mInnerClipPathForBorderRadius.addRoundRect(
-        mInnerClipTempRectForBorderRadius,
-        new float[] {
-          innerTopLeftRadiusX,
-          innerTopLeftRadiusY,
-          innerTopRightRadiusX,
-          innerTopRightRadiusY,
-          innerBottomRightRadiusX,
-          innerBottomRightRadiusY,
-          innerBottomLeftRadiusX,
-          innerBottomLeftRadiusY,
-        },
-        Path.Direction.CW);
-
-    // There is a small gap between mBackgroundColorRenderPath and its
-    // border. mGapBetweenPaths is used to slightly enlarge the rectangle
-    // (mInnerClipTempRectForBorderRadius), ensuring the border can be
-    // drawn on top without the gap.
-    mBackgroundColorRenderPath.addRoundRect(
-        mInnerClipTempRectForBorderRadius.left - mGapBetweenPaths,
-        mInnerClipTempRectForBorderRadius.top - mGapBetweenPaths,
-        mInnerClipTempRectForBorderRadius.right + mGapBetweenPaths,
-        mInnerClipTempRectForBorderRadius.bottom + mGapBetweenPaths,
-        new float[] {
-          innerTopLeftRadiusX,
-          innerTopLeftRadiusY,
-          innerTopRightRadiusX,
-          innerTopRightRadiusY,
-          innerBottomRightRadiusX,
-          innerBottomRightRadiusY,
-          innerBottomLeftRadiusX,
-          innerBottomLeftRadiusY,
-        },
-        Path.Direction.CW);
-
-    mOuterClipPathForBorderRadius.addRoundRect(
-        mOuterClipTempRectForBorderRadius,
-        new float[] {
-          topLeftRadius,
-          topLeftRadius,
-          topRightRadius,
-          topRightRadius,
-          bottomRightRadius,
-          bottomRightRadius,
-          bottomLeftRadius,
-          bottomLeftRadius
-        },
-        Path.Direction.CW);
+        mBorderRadius.resolve(getLayoutDirection(), mContext, bounds.width(), bounds.height());
 
     float extraRadiusForOutline = 0;
 
@@ -697,310 +576,25 @@ public class CSSBackgroundDrawable extends Drawable {
       extraRadiusForOutline = mBorderWidth.get(Spacing.ALL) / 2f;
     }
 
-    mPathForBorderRadiusOutline.addRoundRect(
-        mTempRectForBorderRadiusOutline,
-        new float[] {
-          topLeftRadius + extraRadiusForOutline,
-          topLeftRadius + extraRadiusForOutline,
-          topRightRadius + extraRadiusForOutline,
-          topRightRadius + extraRadiusForOutline,
-          bottomRightRadius + extraRadiusForOutline,
-          bottomRightRadius + extraRadiusForOutline,
-          bottomLeftRadius + extraRadiusForOutline,
-          bottomLeftRadius + extraRadiusForOutline
-        },
-        Path.Direction.CW);
-
-    mCenterDrawPath.addRoundRect(
-        mTempRectForCenterDrawPath,
-        new float[] {
-          Math.max(
-              topLeftRadius - borderWidth.left * 0.5f,
-              (borderWidth.left > 0.0f) ? (topLeftRadius / borderWidth.left) : 0.0f),
-          Math.max(
-              topLeftRadius - borderWidth.top * 0.5f,
-              (borderWidth.top > 0.0f) ? (topLeftRadius / borderWidth.top) : 0.0f),
-          Math.max(
-              topRightRadius - borderWidth.right * 0.5f,
-              (borderWidth.right > 0.0f) ? (topRightRadius / borderWidth.right) : 0.0f),
-          Math.max(
-              topRightRadius - borderWidth.top * 0.5f,
-              (borderWidth.top > 0.0f) ? (topRightRadius / borderWidth.top) : 0.0f),
-          Math.max(
-              bottomRightRadius - borderWidth.right * 0.5f,
-              (borderWidth.right > 0.0f) ? (bottomRightRadius / borderWidth.right) : 0.0f),
-          Math.max(
-              bottomRightRadius - borderWidth.bottom * 0.5f,
-              (borderWidth.bottom > 0.0f) ? (bottomRightRadius / borderWidth.bottom) : 0.0f),
-          Math.max(
-              bottomLeftRadius - borderWidth.left * 0.5f,
-              (borderWidth.left > 0.0f) ? (bottomLeftRadius / borderWidth.left) : 0.0f),
-          Math.max(
-              bottomLeftRadius - borderWidth.bottom * 0.5f,
-              (borderWidth.bottom > 0.0f) ? (bottomLeftRadius / borderWidth.bottom) : 0.0f)
-        },
-        Path.Direction.CW);
-
-    /**
-     * Rounded Multi-Colored Border Algorithm:
-     *
-     * <p>Let O (for outer) = (top, left, bottom, right) be the rectangle that represents the size
-     * and position of a view V. Since the box-sizing of all React Native views is border-box, any
-     * border of V will render inside O.
-     *
-     * <p>Let BorderWidth = (borderTop, borderLeft, borderBottom, borderRight).
-     *
-     * <p>Let I (for inner) = O - BorderWidth.
-     *
-     * <p>Then, remembering that O and I are rectangles and that I is inside O, O - I gives us the
-     * border of V. Therefore, we can use canvas.clipPath to draw V's border.
-     *
-     * <p>canvas.clipPath(O, Region.OP.INTERSECT);
-     *
-     * <p>canvas.clipPath(I, Region.OP.DIFFERENCE);
-     *
-     * <p>canvas.drawRect(O, paint);
-     *
-     * <p>This lets us draw non-rounded single-color borders.
-     *
-     * <p>To extend this algorithm to rounded single-color borders, we:
-     *
-     * <p>1. Curve the corners of O by the (border radii of V) using Path#addRoundRect.
-     *
-     * <p>2. Curve the corners of I by (border radii of V - border widths of V) using
-     * Path#addRoundRect.
-     *
-     * <p>Let O' = curve(O, border radii of V).
-     *
-     * <p>Let I' = curve(I, border radii of V - border widths of V)
-     *
-     * <p>The rationale behind this decision is the (first sentence of the) following section in the
-     * CSS Backgrounds and Borders Module Level 3:
-     * https://www.w3.org/TR/css3-background/#the-border-radius.
-     *
-     * <p>After both O and I have been curved, we can execute the following lines once again to
-     * render curved single-color borders:
-     *
-     * <p>canvas.clipPath(O, Region.OP.INTERSECT);
-     *
-     * <p>canvas.clipPath(I, Region.OP.DIFFERENCE);
-     *
-     * <p>canvas.drawRect(O, paint);
-     *
-     * <p>To extend this algorithm to rendering multi-colored rounded borders, we render each side
-     * of the border as its own quadrilateral. Suppose that we were handling the case where all the
-     * border radii are 0. Then, the four quadrilaterals would be:
-     *
-     * <p>Left: (O.left, O.top), (I.left, I.top), (I.left, I.bottom), (O.left, O.bottom)
-     *
-     * <p>Top: (O.left, O.top), (I.left, I.top), (I.right, I.top), (O.right, O.top)
-     *
-     * <p>Right: (O.right, O.top), (I.right, I.top), (I.right, I.bottom), (O.right, O.bottom)
-     *
-     * <p>Bottom: (O.right, O.bottom), (I.right, I.bottom), (I.left, I.bottom), (O.left, O.bottom)
-     *
-     * <p>Now, lets consider what happens when we render a rounded border (radii != 0). For the sake
-     * of simplicity, let's focus on the top edge of the Left border:
-     *
-     * <p>Let borderTopLeftRadius = 5. Let borderLeftWidth = 1. Let borderTopWidth = 2.
-     *
-     * <p>We know that O is curved by the ellipse E_O (a = 5, b = 5). We know that I is curved by
-     * the ellipse E_I (a = 5 - 1, b = 5 - 2).
-     *
-     * <p>Since we have clipping, it should be safe to set the top-left point of the Left
-     * quadrilateral's top edge to (O.left, O.top).
-     *
-     * <p>But, what should the top-right point be?
-     *
-     * <p>The fact that the border is curved shouldn't change the slope (nor the position) of the
-     * line connecting the top-left and top-right points of the Left quadrilateral's top edge.
-     * Therefore, The top-right point should lie somewhere on the line L = (1 - a) * (O.left, O.top)
-     * + a * (I.left, I.top).
-     *
-     * <p>a != 0, because then the top-left and top-right points would be the same and
-     * borderLeftWidth = 1. a != 1, because then the top-right point would not touch an edge of the
-     * ellipse E_I. We want the top-right point to touch an edge of the inner ellipse because the
-     * border curves with E_I on the top-left corner of V.
-     *
-     * <p>Therefore, it must be the case that a > 1. Two natural locations of the top-right point
-     * exist: 1. The first intersection of L with E_I. 2. The second intersection of L with E_I.
-     *
-     * <p>We choose the top-right point of the top edge of the Left quadrilateral to be an arbitrary
-     * intersection of L with E_I.
-     */
-    if (mInnerTopLeftCorner == null) {
-      mInnerTopLeftCorner = new PointF();
-    }
-
-    /** Compute mInnerTopLeftCorner */
-    mInnerTopLeftCorner.x = mInnerClipTempRectForBorderRadius.left;
-    mInnerTopLeftCorner.y = mInnerClipTempRectForBorderRadius.top;
-
-    getEllipseIntersectionWithLine(
-        // Ellipse Bounds
-        mInnerClipTempRectForBorderRadius.left,
-        mInnerClipTempRectForBorderRadius.top,
-        mInnerClipTempRectForBorderRadius.left + 2 * innerTopLeftRadiusX,
-        mInnerClipTempRectForBorderRadius.top + 2 * innerTopLeftRadiusY,
-
-        // Line Start
-        mOuterClipTempRectForBorderRadius.left,
-        mOuterClipTempRectForBorderRadius.top,
-
-        // Line End
-        mInnerClipTempRectForBorderRadius.left,
-        mInnerClipTempRectForBorderRadius.top,
-
-        // Result
-        mInnerTopLeftCorner);
-
-    /** Compute mInnerBottomLeftCorner */
-    if (mInnerBottomLeftCorner == null) {
-      mInnerBottomLeftCorner = new PointF();
-    }
-
-    mInnerBottomLeftCorner.x = mInnerClipTempRectForBorderRadius.left;
-    mInnerBottomLeftCorner.y = mInnerClipTempRectForBorderRadius.bottom;
-
-    getEllipseIntersectionWithLine(
-        // Ellipse Bounds
-        mInnerClipTempRectForBorderRadius.left,
-        mInnerClipTempRectForBorderRadius.bottom - 2 * innerBottomLeftRadiusY,
-        mInnerClipTempRectForBorderRadius.left + 2 * innerBottomLeftRadiusX,
-        mInnerClipTempRectForBorderRadius.bottom,
-
-        // Line Start
-        mOuterClipTempRectForBorderRadius.left,
-        mOuterClipTempRectForBorderRadius.bottom,
-
-        // Line End
-        mInnerClipTempRectForBorderRadius.left,
-        mInnerClipTempRectForBorderRadius.bottom,
-
-        // Result
-        mInnerBottomLeftCorner);
-
-    /** Compute mInnerTopRightCorner */
-    if (mInnerTopRightCorner == null) {
-      mInnerTopRightCorner = new PointF();
-    }
-
-    mInnerTopRightCorner.x = mInnerClipTempRectForBorderRadius.right;
-    mInnerTopRightCorner.y = mInnerClipTempRectForBorderRadius.top;
-
-    getEllipseIntersectionWithLine(
-        // Ellipse Bounds
-        mInnerClipTempRectForBorderRadius.right - 2 * innerTopRightRadiusX,
-        mInnerClipTempRectForBorderRadius.top,
-        mInnerClipTempRectForBorderRadius.right,
-        mInnerClipTempRectForBorderRadius.top + 2 * innerTopRightRadiusY,
-
-        // Line Start
-        mOuterClipTempRectForBorderRadius.right,
-        mOuterClipTempRectForBorderRadius.top,
-
-        // Line End
-        mInnerClipTempRectForBorderRadius.right,
-        mInnerClipTempRectForBorderRadius.top,
-
-        // Result
-        mInnerTopRightCorner);
-
-    /** Compute mInnerBottomRightCorner */
-    if (mInnerBottomRightCorner == null) {
-      mInnerBottomRightCorner = new PointF();
-    }
-
-    mInnerBottomRightCorner.x = mInnerClipTempRectForBorderRadius.right;
-    mInnerBottomRightCorner.y = mInnerClipTempRectForBorderRadius.bottom;
-
-    getEllipseIntersectionWithLine(
-        // Ellipse Bounds
-        mInnerClipTempRectForBorderRadius.right - 2 * innerBottomRightRadiusX,
-        mInnerClipTempRectForBorderRadius.bottom - 2 * innerBottomRightRadiusY,
-        mInnerClipTempRectForBorderRadius.right,
-        mInnerClipTempRectForBorderRadius.bottom,
-
-        // Line Start
-        mOuterClipTempRectForBorderRadius.right,
-        mOuterClipTempRectForBorderRadius.bottom,
-
-        // Line End
-        mInnerClipTempRectForBorderRadius.right,
-        mInnerClipTempRectForBorderRadius.bottom,
-
-        // Result
-        mInnerBottomRightCorner);
-  }
-
-  private static void getEllipseIntersectionWithLine(
-      double ellipseBoundsLeft,
-      double ellipseBoundsTop,
-      double ellipseBoundsRight,
-      double ellipseBoundsBottom,
-      double lineStartX,
-      double lineStartY,
-      double lineEndX,
-      double lineEndY,
-      PointF result) {
-    final double ellipseCenterX = (ellipseBoundsLeft + ellipseBoundsRight) / 2;
-    final double ellipseCenterY = (ellipseBoundsTop + ellipseBoundsBottom) / 2;
-
-    /**
-     * Step 1:
-     *
-     * <p>Translate the line so that the ellipse is at the origin.
-     *
-     * <p>Why? It makes the math easier by changing the ellipse equation from ((x -
-     * ellipseCenterX)/a)^2 + ((y - ellipseCenterY)/b)^2 = 1 to (x/a)^2 + (y/b)^2 = 1.
-     */
-    lineStartX -= ellipseCenterX;
-    lineStartY -= ellipseCenterY;
-    lineEndX -= ellipseCenterX;
-    lineEndY -= ellipseCenterY;
-
-    /**
-     * Step 2:
-     *
-     * <p>Ellipse equation: (x/a)^2 + (y/b)^2 = 1 Line equation: y = mx + c
-     */
-    final double a = Math.abs(ellipseBoundsRight - ellipseBoundsLeft) / 2;
-    final double b = Math.abs(ellipseBoundsBottom - ellipseBoundsTop) / 2;
-    final double m = (lineEndY - lineStartY) / (lineEndX - lineStartX);
-    final double c = lineStartY - m * lineStartX; // Just a point on the line
-
-    /**
-     * Step 3:
-     *
-     * <p>Substitute the Line equation into the Ellipse equation. Solve for x. Eventually, you'll
-     * have to use the quadratic formula.
-     *
-     * <p>Quadratic formula: Ax^2 + Bx + C = 0
-     */
-    final double A = (b * b + a * a * m * m);
-    final double B = 2 * a * a * c * m;
-    final double C = (a * a * (c * c - b * b));
-
-    /**
-     * Step 4:
-     *
-     * <p>Apply Quadratic formula. D = determinant / 2A
-     */
-    final double D = Math.sqrt(-C / A + Math.pow(B / (2 * A), 2));
-    final double x2 = -B / (2 * A) - D;
-    final double y2 = m * x2 + c;
-
-    /**
-     * Step 5:
-     *
-     * <p>Undo the space transformation in Step 5.
-     */
-    final double x = x2 + ellipseCenterX;
-    final double y = y2 + ellipseCenterY;
-
-    if (!Double.isNaN(x) && !Double.isNaN(y)) {
-      result.x = (float) x;
-      result.y = (float) y;
+    BorderGeometry.Key key =
+        new BorderGeometry.Key(
+            bounds,
+            borderWidth,
+            mComputedBorderRadius.getTopLeft(),
+            mComputedBorderRadius.getTopRight(),
+            mComputedBorderRadius.getBottomRight(),
+            mComputedBorderRadius.getBottomLeft(),
+            extraRadiusForOutline,
+            clipInnerBorder);
+
+    if (ReactFeatureFlags.enableBorderGeometryCache) {
+      mBorderGeometry = BorderGeometryCache.get(key);
+      mBorderGeometryShared = true;
+    } else if (mBorderGeometry == null || mBorderGeometryShared) {
+      mBorderGeometry = new BorderGeometry(key);
+      mBorderGeometryShared = false;
+    } else {
+      mBorderGeometry.update(key);
     }
   }
 
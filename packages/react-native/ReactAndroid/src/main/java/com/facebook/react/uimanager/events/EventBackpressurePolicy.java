@@ -0,0 +1,61 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package com.facebook.react.uimanager.events;
+
+import com.facebook.infer.annotation.Nullsafe;
+
+/**
+ * Configures how {@link EventDispatcherImpl} sheds load when the JS thread falls behind.
+ *
+ * <p>The dispatcher tracks how long a batch of events takes to reach JS, from the frame that
+ * scheduled it until it has been dispatched. Once that latency goes over {@link
+ * #getDropLatencyMs()}, continuous events that can't be coalesced are dropped while more than
+ * {@link #getMaxPendingContinuousEvents()} of them are already waiting. Discrete events are always
+ * delivered.
+ *
+ * <p>Events that can be coalesced, like layout and content size events, keep being coalesced by
+ * their own coalescing key, so that events of different gestures are never merged.
+ */
+@Nullsafe(Nullsafe.Mode.LOCAL)
+public final class EventBackpressurePolicy {
+
+  public static final EventBackpressurePolicy DEFAULT = new EventBackpressurePolicy(200, 64);
+
+  private final long mDropLatencyMs;
+  private final int mMaxPendingContinuousEvents;
+
+  public EventBackpressurePolicy(long dropLatencyMs, int maxPendingContinuousEvents) {
+    if (dropLatencyMs < 0) {
+      throw new IllegalArgumentException("dropLatencyMs can't be negative: " + dropLatencyMs);
+    }
+    if (maxPendingContinuousEvents < 0) {
+      throw new IllegalArgumentException(
+          "maxPendingContinuousEvents can't be negative: " + maxPendingContinuousEvents);
+    }
+    mDropLatencyMs = dropLatencyMs;
+    mMaxPendingContinuousEvents = maxPendingContinuousEvents;
+  }
+
+  public long getDropLatencyMs() {
+    return mDropLatencyMs;
+  }
+
+  public int getMaxPendingContinuousEvents() {
+    return mMaxPendingContinuousEvents;
+  }
+
+  /** @return whether events taking this long to reach JS means continuous events can be dropped */
+  /* package */ boolean shouldDropContinuousEvents(long latencyMs) {
+    return latencyMs >= mDropLatencyMs;
+  }
+
+  /** Continuous events, which only matter for their latest value, can be dropped under pressure. */
+  /* package */ static boolean isContinuous(Event event) {
+    return event.getEventCategory() == EventCategoryDef.CONTINUOUS;
+  }
+}
@@ -7,8 +7,10 @@
 
 package com.facebook.react.uimanager.events;
 
+import android.os.SystemClock;
 import android.util.LongSparseArray;
 import android.view.Choreographer;
+import androidx.annotation.Nullable;
 import com.facebook.infer.annotation.Assertions;
 import com.facebook.infer.annotation.Nullsafe;
 import com.facebook.react.bridge.LifecycleEventListener;
@@ -55,6 +57,12 @@ import java.util.concurrent.atomic.AtomicInteger;
  *
  * <p>Event Cookie Composition: VIEW_TAG_MASK = 0x00000000ffffffff EVENT_TYPE_ID_MASK =
  * 0x0000ffff00000000 COALESCING_KEY_MASK = 0xffff000000000000
+ *
+ * <p>== Backpressure ==
+ *
+ * <p>With an {@link EventBackpressurePolicy} set, the time it takes a batch of events to reach JS
+ * is tracked, and continuous events are dropped while it is too long. See {@link
+ * #setBackpressurePolicy}.
  */
 @Nullsafe(Nullsafe.Mode.LOCAL)
 public class EventDispatcherImpl implements EventDispatcher, LifecycleEventListener {
@@ -105,10 +113,19 @@ public class EventDispatcherImpl implements EventDispatcher, LifecycleEventListe
   private short mNextEventTypeId = 0;
   private volatile boolean mHasDispatchScheduled = false;
 
+  private volatile @Nullable EventBackpressurePolicy mBackpressurePolicy;
+  private volatile long mDispatchScheduledTimeMs = 0;
+  private volatile long mDispatchLatencyMs = 0;
+  private int mPendingContinuousEventCount = 0;
+  private volatile int mCoalescedEventCount = 0;
+  private volatile int mDroppedEventCount = 0;
+
   public EventDispatcherImpl(ReactApplicationContext reactContext) {
     mReactContext = reactContext;
     mReactContext.addLifecycleEventListener(this);
     mReactEventEmitter = new ReactEventEmitter(mReactContext);
+    mBackpressurePolicy =
+        ReactFeatureFlags.enableEventBackpressure ? EventBackpressurePolicy.DEFAULT : null;
   }
 
   /** Sends the given Event to JS, coalescing eligible events if JS is backed up. */
@@ -154,6 +171,25 @@ public class EventDispatcherImpl implements EventDispatcher, LifecycleEventListe
     mListeners.remove(listener);
   }
 
+  /**
+   * Sets how events are shed when JS falls behind, or disables it with {@code null}. Defaults to
+   * {@link EventBackpressurePolicy#DEFAULT} when {@link ReactFeatureFlags#enableEventBackpressure}
+   * is set.
+   */
+  public void setBackpressurePolicy(@Nullable EventBackpressurePolicy policy) {
+    mBackpressurePolicy = policy;
+  }
+
+  /** @return number of events that were coalesced into another event instead of dispatched */
+  public int getCoalescedEventCount() {
+    return mCoalescedEventCount;
+  }
+
+  /** @return number of events that were dropped because JS was too far behind */
+  public int getDroppedEventCount() {
+    return mDroppedEventCount;
+  }
+
   public void addBatchEventDispatchedListener(BatchEventDispatchedListener listener) {
     mPostEventDispatchListeners.add(listener);
   }
@@ -199,12 +235,19 @@ public class EventDispatcherImpl implements EventDispatcher, LifecycleEventListe
    * frame and another from this frame during the next.
    */
   private void moveStagedEventsToDispatchQueue() {
+    EventBackpressurePolicy policy = mBackpressurePolicy;
+    boolean dropContinuousEvents =
+        policy != null && policy.shouldDropContinuousEvents(getDispatchLatencyMs());
+
     synchronized (mEventsStagingLock) {
       synchronized (mEventsToDispatchLock) {
         for (int i = 0; i < mEventStaging.size(); i++) {
           Event event = mEventStaging.get(i);
 
           if (!event.canCoalesce()) {
+            if (maybeDropEvent(event, policy, dropContinuousEvents)) {
+              continue;
+            }
             addEventToEventsToDispatch(event);
             continue;
           }
@@ -217,6 +260,9 @@ public class EventDispatcherImpl implements EventDispatcher, LifecycleEventListe
           Integer lastEventIdx = mEventCookieToLastEventIdx.get(eventCookie);
 
           if (lastEventIdx == null) {
+            if (maybeDropEvent(event, policy, dropContinuousEvents)) {
+              continue;
+            }
             eventToAdd = event;
             mEventCookieToLastEventIdx.put(eventCookie, mEventsToDispatchSize);
           } else {
@@ -227,6 +273,9 @@ public class EventDispatcherImpl implements EventDispatcher, LifecycleEventListe
               mEventCookieToLastEventIdx.put(eventCookie, mEventsToDispatchSize);
               eventToDispose = lastEvent;
               mEventsToDispatch[lastEventIdx] = null;
+              if (EventBackpressurePolicy.isContinuous(lastEvent)) {
+                mPendingContinuousEventCount--;
+              }
             } else {
               eventToDispose = event;
             }
@@ -236,6 +285,7 @@ public class EventDispatcherImpl implements EventDispatcher, LifecycleEventListe
             addEventToEventsToDispatch(eventToAdd);
           }
           if (eventToDispose != null) {
+            mCoalescedEventCount++;
             eventToDispose.dispose();
           }
         }
@@ -244,6 +294,37 @@ public class EventDispatcherImpl implements EventDispatcher, LifecycleEventListe
     }
   }
 
+  /**
+   * Drops continuous events while JS is far behind and too many of them are already pending. Must
+   * be called with {@link #mEventsToDispatchLock} held.
+   */
+  private boolean maybeDropEvent(
+      Event event, @Nullable EventBackpressurePolicy policy, boolean dropContinuousEvents) {
+    if (policy == null
+        || !dropContinuousEvents
+        || mPendingContinuousEventCount < policy.getMaxPendingContinuousEvents()
+        || !EventBackpressurePolicy.isContinuous(event)) {
+      return false;
+    }
+    mDroppedEventCount++;
+    Systrace.endAsyncFlow(
+        Systrace.TRACE_TAG_REACT_JAVA_BRIDGE, event.getEventName(), event.getUniqueID());
+    event.dispose();
+    return true;
+  }
+
+  /**
+   * @return the smoothed time batches took to reach JS, or how long the pending one has been
+   *     waiting if that's longer
+   */
+  private long getDispatchLatencyMs() {
+    long latencyMs = mDispatchLatencyMs;
+    if (mHasDispatchScheduled) {
+      latencyMs = Math.max(latencyMs, SystemClock.uptimeMillis() - mDispatchScheduledTimeMs);
+    }
+    return latencyMs;
+  }
+
   private long getEventCookie(int viewTag, String eventName, short coalescingKey) {
     short eventTypeId;
     Short eventIdObj = mEventNameToEventId.get(eventName);
@@ -294,6 +375,7 @@ public class EventDispatcherImpl implements EventDispatcher, LifecycleEventListe
         moveStagedEventsToDispatchQueue();
 
         if (!mHasDispatchScheduled) {
+          mDispatchScheduledTimeMs = SystemClock.uptimeMillis();
           mHasDispatchScheduled = true;
           Systrace.startAsyncFlow(
               Systrace.TRACE_TAG_REACT_JAVA_BRIDGE,
@@ -355,6 +437,7 @@ public class EventDispatcherImpl implements EventDispatcher, LifecycleEventListe
             Systrace.TRACE_TAG_REACT_JAVA_BRIDGE,
             "ScheduleDispatchFrameCallback",
             mHasDispatchScheduledCount.getAndIncrement());
+        long scheduledTimeMs = mDispatchScheduledTimeMs;
         mHasDispatchScheduled = false;
         Assertions.assertNotNull(mReactEventEmitter);
         synchronized (mEventsToDispatchLock) {
@@ -383,6 +466,11 @@ public class EventDispatcherImpl implements EventDispatcher, LifecycleEventListe
         for (BatchEventDispatchedListener listener : mPostEventDispatchListeners) {
           listener.onBatchEventDispatched();
         }
+        if (mBackpressurePolicy != null) {
+          // Exponential moving average, so a single slow batch doesn't start dropping events
+          long latencyMs = SystemClock.uptimeMillis() - scheduledTimeMs;
+          mDispatchLatencyMs = (3 * mDispatchLatencyMs + latencyMs) / 4;
+        }
       } finally {
         Systrace.endSection(Systrace.TRACE_TAG_REACT_JAVA_BRIDGE);
       }
@@ -394,10 +482,14 @@ public class EventDispatcherImpl implements EventDispatcher, LifecycleEventListe
       mEventsToDispatch = Arrays.copyOf(mEventsToDispatch, 2 * mEventsToDispatch.length);
     }
     mEventsToDispatch[mEventsToDispatchSize++] = event;
+    if (EventBackpressurePolicy.isContinuous(event)) {
+      mPendingContinuousEventCount++;
+    }
   }
 
   private void clearEventsToDispatch() {
     Arrays.fill(mEventsToDispatch, 0, mEventsToDispatchSize, null);
     mEventsToDispatchSize = 0;
+    mPendingContinuousEventCount = 0;
   }
 }
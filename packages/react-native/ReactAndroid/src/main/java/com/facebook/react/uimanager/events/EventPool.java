@@ -0,0 +1,175 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package com.facebook.react.uimanager.events;
+
+import androidx.annotation.Nullable;
+import com.facebook.common.logging.FLog;
+import com.facebook.infer.annotation.Nullsafe;
+import com.facebook.react.common.ReactConstants;
+import com.facebook.react.common.annotations.VisibleForTesting;
+import com.facebook.react.common.build.ReactBuildConfig;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Pool of reusable {@link Event}s of one type. Events are obtained with {@link #acquire()} and
+ * given back with {@link #release} from {@link Event#onDispose()}, once the dispatcher is done with
+ * them.
+ *
+ * <p>Events are obtained and disposed on different threads (e.g. UI and JS), so the pool is a
+ * fixed set of slots that are claimed and filled with compare-and-set instead of a lock. Pools are
+ * small, sized after how many events of the type are usually in flight at once.
+ *
+ * <p>In debug builds, events that are garbage collected without ever being released are reported,
+ * since they mean an {@link Event#dispose()} call is missing.
+ */
+@Nullsafe(Nullsafe.Mode.LOCAL)
+public final class EventPool<T extends Event> {
+
+  /** Creates a new event when the pool is empty. */
+  public interface Factory<T> {
+    T create();
+  }
+
+  private final AtomicReferenceArray<T> mEvents;
+  private final Factory<T> mFactory;
+  private final AtomicInteger mAllocationCount = new AtomicInteger();
+  private final @Nullable LeakDetector<T> mLeakDetector;
+
+  public EventPool(int maxSize, Factory<T> factory) {
+    this(maxSize, factory, ReactBuildConfig.DEBUG);
+  }
+
+  @VisibleForTesting
+  /* package */ EventPool(int maxSize, Factory<T> factory, boolean detectLeaks) {
+    mEvents = new AtomicReferenceArray<>(maxSize);
+    mFactory = factory;
+    mLeakDetector = detectLeaks ? new LeakDetector<T>() : null;
+  }
+
+  /** @return a pooled event, or a new one if the pool is empty */
+  public T acquire() {
+    T event = null;
+    for (int i = 0, length = mEvents.length(); i < length; i++) {
+      T pooled = mEvents.get(i);
+      if (pooled != null && mEvents.compareAndSet(i, pooled, null)) {
+        event = pooled;
+        break;
+      }
+    }
+    if (event == null) {
+      mAllocationCount.incrementAndGet();
+      event = mFactory.create();
+    }
+    if (mLeakDetector != null) {
+      mLeakDetector.onAcquire(event);
+    }
+    return event;
+  }
+
+  /**
+   * Returns the event to the pool, or drops it if the pool is full.
+   *
+   * @throws IllegalStateException if the event is already in the pool
+   */
+  public void release(T event) {
+    if (mLeakDetector != null) {
+      mLeakDetector.onRelease(event);
+    }
+    int length = mEvents.length();
+    for (int i = 0; i < length; i++) {
+      if (mEvents.get(i) == event) {
+        throw new IllegalStateException("Already in the pool!");
+      }
+    }
+    for (int i = 0; i < length; i++) {
+      if (mEvents.get(i) == null && mEvents.compareAndSet(i, null, event)) {
+        return;
+      }
+    }
+  }
+
+  /** @return number of events created because the pool was empty */
+  public int getAllocationCount() {
+    return mAllocationCount.get();
+  }
+
+  /** @return number of events collected without being released, always 0 in release builds */
+  public int getLeakCount() {
+    return mLeakDetector != null ? mLeakDetector.getLeakCount() : 0;
+  }
+
+  /** Reports the event as garbage collected, as the GC would once it is unreachable. */
+  @VisibleForTesting
+  /* package */ void onGarbageCollected(T event) {
+    if (mLeakDetector != null) {
+      mLeakDetector.onGarbageCollected(event);
+    }
+  }
+
+  /** Tracks acquired events with weak references, which are enqueued if an event leaks. */
+  private static final class LeakDetector<T> {
+    private final ReferenceQueue<T> mQueue = new ReferenceQueue<>();
+    private final WeakHashMap<T, TrackedEvent<T>> mTrackedByEvent = new WeakHashMap<>();
+    private final Set<TrackedEvent<T>> mTracked = new HashSet<>();
+    private int mLeakCount = 0;
+
+    synchronized void onAcquire(T event) {
+      pollLeaks();
+      TrackedEvent<T> tracked = new TrackedEvent<>(event, mQueue);
+      mTrackedByEvent.put(event, tracked);
+      mTracked.add(tracked);
+    }
+
+    synchronized void onRelease(T event) {
+      TrackedEvent<T> tracked = mTrackedByEvent.remove(event);
+      if (tracked != null) {
+        mTracked.remove(tracked);
+      }
+    }
+
+    synchronized void onGarbageCollected(T event) {
+      TrackedEvent<T> tracked = mTrackedByEvent.get(event);
+      if (tracked != null) {
+        tracked.enqueue();
+      }
+    }
+
+    synchronized int getLeakCount() {
+      pollLeaks();
+      return mLeakCount;
+    }
+
+    private void pollLeaks() {
+      TrackedEvent<T> leaked;
+      while ((leaked = (TrackedEvent<T>) mQueue.poll()) != null) {
+        if (mTracked.remove(leaked)) {
+          mLeakCount++;
+          FLog.w(
+              ReactConstants.TAG,
+              "%s was garbage collected without being disposed, it was never returned to its pool",
+              leaked.mEventName);
+        }
+      }
+    }
+  }
+
+  private static final class TrackedEvent<T> extends WeakReference<T> {
+    private final String mEventName;
+
+    TrackedEvent(T event, ReferenceQueue<T> queue) {
+      super(event, queue);
+      mEventName = event.getClass().getSimpleName();
+    }
+  }
+}
@@ -10,7 +10,6 @@ package com.facebook.react.uimanager.events;
 import android.view.KeyEvent;
 import android.view.MotionEvent;
 import androidx.annotation.Nullable;
-import androidx.core.util.Pools;
 import com.facebook.infer.annotation.Assertions;
 import com.facebook.react.bridge.Arguments;
 import com.facebook.react.bridge.ReactSoftExceptionLogger;
@@ -27,8 +26,8 @@ import java.util.Set;
 public class PointerEvent extends Event<PointerEvent> {
   private static final String TAG = PointerEvent.class.getSimpleName();
   private static final int POINTER_EVENTS_POOL_SIZE = 6;
-  private static final Pools.SynchronizedPool<PointerEvent> EVENTS_POOL =
-      new Pools.SynchronizedPool<>(POINTER_EVENTS_POOL_SIZE);
+  private static final EventPool<PointerEvent> EVENTS_POOL =
+      new EventPool<>(POINTER_EVENTS_POOL_SIZE, PointerEvent::new);
   private static final short UNSET_COALESCING_KEY = -1;
 
   public static PointerEvent obtain(
@@ -37,9 +36,6 @@ public class PointerEvent extends Event<PointerEvent> {
       PointerEventState eventState,
       MotionEvent motionEventToCopy) {
     PointerEvent event = EVENTS_POOL.acquire();
-    if (event == null) {
-      event = new PointerEvent();
-    }
     event.init(
         eventName, targetTag, eventState, Assertions.assertNotNull(motionEventToCopy), (short) 0);
     return event;
@@ -52,9 +48,6 @@ public class PointerEvent extends Event<PointerEvent> {
       MotionEvent motionEventToCopy,
       short coalescingKey) {
     PointerEvent event = EVENTS_POOL.acquire();
-    if (event == null) {
-      event = new PointerEvent();
-    }
     event.init(
         eventName,
         targetTag,
@@ -10,7 +10,6 @@
 package com.facebook.react.uimanager.events
 
 import android.view.MotionEvent
-import androidx.core.util.Pools.SynchronizedPool
 import com.facebook.infer.annotation.Assertions
 import com.facebook.react.bridge.ReactSoftExceptionLogger
 import com.facebook.react.bridge.SoftAssertions
@@ -150,7 +149,7 @@ public class TouchEvent private constructor() : Event<TouchEvent>() {
   public companion object {
     private val TAG = TouchEvent::class.java.simpleName
     private const val TOUCH_EVENTS_POOL_SIZE = 3
-    private val EVENTS_POOL = SynchronizedPool<TouchEvent>(TOUCH_EVENTS_POOL_SIZE)
+    private val EVENTS_POOL = EventPool(TOUCH_EVENTS_POOL_SIZE) { TouchEvent() }
     public const val UNSET: Long = Long.MIN_VALUE
 
     @Deprecated(
@@ -188,10 +187,7 @@ public class TouchEvent private constructor() : Event<TouchEvent>() {
         viewY: Float,
         touchEventCoalescingKeyHelper: TouchEventCoalescingKeyHelper
     ): TouchEvent {
-      var event = EVENTS_POOL.acquire()
-      if (event == null) {
-        event = TouchEvent()
-      }
+      val event = EVENTS_POOL.acquire()
       event.init(
           surfaceId,
           viewTag,
@@ -92,14 +92,25 @@ import java.util.Map;
     }
     Animation animation = createAnimationImpl(view, x, y, width, height);
     if (animation != null) {
-      int slowdownFactor = SLOWDOWN_ANIMATION_MODE ? 10 : 1;
-      animation.setDuration(mDurationMs * slowdownFactor);
-      animation.setStartOffset(mDelayMs * slowdownFactor);
+      animation.setDuration(getDurationMs());
+      animation.setStartOffset(getDelayMs());
       animation.setInterpolator(mInterpolator);
     }
     return animation;
   }
 
+  /* package */ final long getDurationMs() {
+    return mDurationMs * (SLOWDOWN_ANIMATION_MODE ? 10 : 1);
+  }
+
+  /* package */ final long getDelayMs() {
+    return mDelayMs * (SLOWDOWN_ANIMATION_MODE ? 10 : 1);
+  }
+
+  /* package */ final @Nullable Interpolator getInterpolator() {
+    return mInterpolator;
+  }
+
   private static Interpolator getInterpolator(InterpolatorType type, ReadableMap params) {
     Interpolator interpolator;
     if (type.equals(InterpolatorType.SPRING)) {
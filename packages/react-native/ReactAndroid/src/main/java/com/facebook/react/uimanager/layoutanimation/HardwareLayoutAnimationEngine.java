@@ -0,0 +1,402 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package com.facebook.react.uimanager.layoutanimation;
+
+import android.view.Choreographer;
+import android.view.Display;
+import android.view.View;
+import android.view.animation.Interpolator;
+import androidx.annotation.Nullable;
+import com.facebook.infer.annotation.Assertions;
+import com.facebook.react.bridge.UiThreadUtil;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.annotation.concurrent.NotThreadSafe;
+
+/**
+ * Runs layout animations by changing the alpha, scale and translation properties of the views from
+ * a single frame callback, instead of starting an {@link android.view.animation.Animation} per
+ * view. These properties are applied by the RenderThread without invalidating the parent of the
+ * view, and fading or scaling views are drawn into a hardware layer while they animate.
+ *
+ * <p>Layout updates that only move a view set its final layout once and animate its translation.
+ * Layout updates that resize a view still have to lay it out on every frame.
+ */
+@NotThreadSafe
+/* package */ final class HardwareLayoutAnimationEngine implements Choreographer.FrameCallback {
+
+  private static final long DEFAULT_FRAME_INTERVAL_NANOS = 1_000_000_000L / 60;
+
+  private static final AtomicLong sAnimatedFrameCount = new AtomicLong();
+  private static final AtomicLong sDroppedFrameCount = new AtomicLong();
+
+  private final List<ViewAnimation> mAnimations = new ArrayList<>();
+  private final Map<View, PropertyAnimation> mPropertyAnimations = new HashMap<>();
+  private final Map<Integer, BoundsAnimation> mBoundsAnimations = new HashMap<>();
+  private final List<ViewAnimation> mFinishedAnimations = new ArrayList<>();
+
+  private boolean mIsFrameCallbackPosted = false;
+  private long mLastFrameTimeNanos = 0;
+  private long mFrameIntervalNanos = DEFAULT_FRAME_INTERVAL_NANOS;
+
+  /** @return the ongoing animation of the layout of the view with this tag, if any */
+  /* package */ @Nullable LayoutHandlingAnimation getLayoutHandler(int reactTag) {
+    return mBoundsAnimations.get(reactTag);
+  }
+
+  /**
+   * Same as {@link AbstractLayoutAnimation#createAnimation} followed by {@link
+   * View#startAnimation}.
+   *
+   * @param listener called once the animation ends, if it is a delete animation
+   * @return the duration of the animation, or -1 if the view isn't animated, in which case the
+   *     caller has to lay it out, or remove it
+   */
+  /* package */ long start(
+      View view,
+      AbstractLayoutAnimation layoutAnimation,
+      int x,
+      int y,
+      int width,
+      int height,
+      @Nullable LayoutAnimationListener listener) {
+    UiThreadUtil.assertOnUiThread();
+    if (!layoutAnimation.isValid()) {
+      return -1;
+    }
+
+    ViewAnimation animation;
+    if (layoutAnimation instanceof BaseLayoutAnimation) {
+      AnimatedPropertyType property = Assertions.assertNotNull(layoutAnimation.mAnimatedProperty);
+      boolean isReverse = ((BaseLayoutAnimation) layoutAnimation).isReverse();
+      float from = isReverse ? 1.0f : 0.0f;
+      float to = isReverse ? 0.0f : 1.0f;
+      if (!isReverse) {
+        view.layout(x, y, x + width, y + height);
+      }
+      PropertyAnimation previousAnimation = mPropertyAnimations.get(view);
+      if (previousAnimation != null) {
+        mAnimations.remove(previousAnimation);
+        previousAnimation.cancel();
+      }
+      PropertyAnimation propertyAnimation =
+          new PropertyAnimation(view, property, from, to, listener);
+      mPropertyAnimations.put(view, propertyAnimation);
+      animation = propertyAnimation;
+    } else {
+      boolean animateLocation = view.getLeft() != x || view.getTop() != y;
+      boolean animateSize = view.getWidth() != width || view.getHeight() != height;
+      if (!animateLocation && !animateSize) {
+        return -1;
+      }
+      BoundsAnimation layoutHandler = new BoundsAnimation(view, x, y, width, height);
+      mBoundsAnimations.put(view.getId(), layoutHandler);
+      animation = layoutHandler;
+    }
+
+    animation.mDurationNanos = layoutAnimation.getDurationMs() * 1_000_000L;
+    animation.mDelayNanos = layoutAnimation.getDelayMs() * 1_000_000L;
+    animation.mInterpolator = Assertions.assertNotNull(layoutAnimation.getInterpolator());
+    animation.onStart();
+    // Views are drawn with the start values until the animation starts, same as an Animation
+    animation.apply(animation.mInterpolator.getInterpolation(0f));
+    mAnimations.add(animation);
+
+    if (mAnimations.size() == 1) {
+      Display display = view.getDisplay();
+      mFrameIntervalNanos =
+          display != null && display.getRefreshRate() > 0
+              ? (long) (1_000_000_000L / display.getRefreshRate())
+              : DEFAULT_FRAME_INTERVAL_NANOS;
+    }
+    if (!mIsFrameCallbackPosted) {
+      mIsFrameCallbackPosted = true;
+      Choreographer.getInstance().postFrameCallback(this);
+    }
+    return layoutAnimation.getDurationMs();
+  }
+
+  @Override
+  public void doFrame(long frameTimeNanos) {
+    mIsFrameCallbackPosted = false;
+    if (mAnimations.isEmpty()) {
+      mLastFrameTimeNanos = 0;
+      return;
+    }
+
+    sAnimatedFrameCount.incrementAndGet();
+    if (mLastFrameTimeNanos != 0) {
+      long droppedFrames =
+          Math.round((double) (frameTimeNanos - mLastFrameTimeNanos) / mFrameIntervalNanos) - 1;
+      if (droppedFrames > 0) {
+        sDroppedFrameCount.addAndGet(droppedFrames);
+      }
+    }
+    mLastFrameTimeNanos = frameTimeNanos;
+
+    int runningCount = 0;
+    for (int i = 0; i < mAnimations.size(); i++) {
+      ViewAnimation animation = mAnimations.get(i);
+      if (animation.mStartTimeNanos < 0) {
+        animation.mStartTimeNanos = frameTimeNanos;
+      }
+      long elapsedNanos = frameTimeNanos - animation.mStartTimeNanos - animation.mDelayNanos;
+      if (elapsedNanos >= animation.mDurationNanos) {
+        mFinishedAnimations.add(animation);
+        continue;
+      }
+      if (elapsedNanos >= 0) {
+        float fraction = (float) elapsedNanos / animation.mDurationNanos;
+        animation.apply(animation.mInterpolator.getInterpolation(fraction));
+      }
+      mAnimations.set(runningCount++, animation);
+    }
+    mAnimations.subList(runningCount, mAnimations.size()).clear();
+
+    for (int i = 0; i < mFinishedAnimations.size(); i++) {
+      ViewAnimation animation = mFinishedAnimations.get(i);
+      if (animation instanceof PropertyAnimation) {
+        mPropertyAnimations.remove(animation.mView);
+      } else {
+        mBoundsAnimations.remove(animation.mView.getId());
+      }
+    }
+    // Listeners may remove views or start animations, so they are called once the frame is done
+    for (int i = 0; i < mFinishedAnimations.size(); i++) {
+      ViewAnimation animation = mFinishedAnimations.get(i);
+      animation.apply(1f);
+      animation.onEnd();
+    }
+    mFinishedAnimations.clear();
+
+    if (!mAnimations.isEmpty() && !mIsFrameCallbackPosted) {
+      mIsFrameCallbackPosted = true;
+      Choreographer.getInstance().postFrameCallback(this);
+    } else if (mAnimations.isEmpty()) {
+      mLastFrameTimeNanos = 0;
+    }
+  }
+
+  /** @return number of frames in which layout animations ran */
+  /* package */ static long getAnimatedFrameCount() {
+    return sAnimatedFrameCount.get();
+  }
+
+  /** @return number of frames missed by layout animations, based on the display refresh rate */
+  /* package */ static long getDroppedFrameCount() {
+    return sDroppedFrameCount.get();
+  }
+
+  /**
+   * @return the value an animation applies its changes to: the value of the property when the
+   *     animation started, unless something else set it since the animation last did, e.g. a
+   *     transform prop update or the native driver, in which case it is that value
+   */
+  private static float getBaseValue(float value, float appliedValue, float baseValue) {
+    return value != appliedValue ? value : baseValue;
+  }
+
+  private abstract static class ViewAnimation {
+    protected final View mView;
+    private long mDurationNanos;
+    private long mDelayNanos;
+    private long mStartTimeNanos = -1;
+    private Interpolator mInterpolator;
+
+    private ViewAnimation(View view) {
+      mView = view;
+    }
+
+    abstract void apply(float value);
+
+    void onStart() {}
+
+    void onEnd() {}
+  }
+
+  /**
+   * Create and delete animations, which fade or scale a view in or out. They apply on top of the
+   * opacity and transform of the view, same as an AlphaAnimation or a ScaleAnimation.
+   */
+  private static final class PropertyAnimation extends ViewAnimation {
+    private final AnimatedPropertyType mProperty;
+    private final float mFrom;
+    private final float mTo;
+    private float mBaseAlpha, mBaseScaleX, mBaseScaleY;
+    private float mAppliedAlpha = Float.NaN;
+    private float mAppliedScaleX = Float.NaN;
+    private float mAppliedScaleY = Float.NaN;
+    private final @Nullable LayoutAnimationListener mListener;
+    private boolean mLayerTypeChanged = false;
+
+    private PropertyAnimation(
+        View view,
+        AnimatedPropertyType property,
+        float from,
+        float to,
+        @Nullable LayoutAnimationListener listener) {
+      super(view);
+      mProperty = property;
+      mFrom = from;
+      mTo = to;
+      mListener = listener;
+    }
+
+    @Override
+    void onStart() {
+      boolean needsLayer =
+          mProperty != AnimatedPropertyType.OPACITY || mView.hasOverlappingRendering();
+      if (needsLayer && mView.getLayerType() == View.LAYER_TYPE_NONE) {
+        mLayerTypeChanged = true;
+        mView.setLayerType(View.LAYER_TYPE_HARDWARE, null);
+      }
+    }
+
+    @Override
+    void apply(float value) {
+      float current = mFrom + (mTo - mFrom) * value;
+      switch (mProperty) {
+        case OPACITY:
+          mBaseAlpha = getBaseValue(mView.getAlpha(), mAppliedAlpha, mBaseAlpha);
+          mAppliedAlpha = mBaseAlpha * current;
+          mView.setAlpha(mAppliedAlpha);
+          break;
+        case SCALE_XY:
+          applyScaleX(current);
+          applyScaleY(current);
+          break;
+        case SCALE_X:
+          applyScaleX(current);
+          break;
+        case SCALE_Y:
+          applyScaleY(current);
+          break;
+      }
+    }
+
+    private void applyScaleX(float scale) {
+      mBaseScaleX = getBaseValue(mView.getScaleX(), mAppliedScaleX, mBaseScaleX);
+      mAppliedScaleX = mBaseScaleX * scale;
+      mView.setScaleX(mAppliedScaleX);
+    }
+
+    private void applyScaleY(float scale) {
+      mBaseScaleY = getBaseValue(mView.getScaleY(), mAppliedScaleY, mBaseScaleY);
+      mAppliedScaleY = mBaseScaleY * scale;
+      mView.setScaleY(mAppliedScaleY);
+    }
+
+    @Override
+    void onEnd() {
+      restoreLayerType();
+      if (mListener != null) {
+        mListener.onAnimationEnd();
+      }
+    }
+
+    /**
+     * Stops the animation where it is, because another animation of the view starts. Its listener
+     * isn't called, same as for an Animation replaced by {@link View#startAnimation}, so that a
+     * view deleted again is only removed once the last delete animation ends.
+     */
+    void cancel() {
+      restoreLayerType();
+    }
+
+    private void restoreLayerType() {
+      if (mLayerTypeChanged) {
+        mLayerTypeChanged = false;
+        mView.setLayerType(View.LAYER_TYPE_NONE, null);
+      }
+    }
+  }
+
+  /**
+   * Update animations, which move a view with its translation if its size doesn't change, and lay
+   * it out on every frame otherwise, same as {@link PositionAndSizeAnimation}. The translation is
+   * applied on top of the transform of the view.
+   */
+  private static final class BoundsAnimation extends ViewAnimation
+      implements LayoutHandlingAnimation {
+    private float mBaseTranslationX, mBaseTranslationY;
+    private float mAppliedTranslationX = Float.NaN;
+    private float mAppliedTranslationY = Float.NaN;
+    private boolean mTranslate;
+    private float mStartX, mStartY, mDeltaX, mDeltaY;
+    private int mStartWidth, mStartHeight, mDeltaWidth, mDeltaHeight;
+
+    private BoundsAnimation(View view, int x, int y, int width, int height) {
+      super(view);
+      calculateAnimation(x, y, width, height);
+    }
+
+    @Override
+    public void onLayoutUpdate(int x, int y, int width, int height) {
+      // Layout changed during the animation, continue from where the view is on screen towards
+      // the new layout
+      calculateAnimation(x, y, width, height);
+    }
+
+    private void calculateAnimation(int x, int y, int width, int height) {
+      updateBaseTranslation();
+      mStartX = mView.getLeft() + mView.getTranslationX() - mBaseTranslationX;
+      mStartY = mView.getTop() + mView.getTranslationY() - mBaseTranslationY;
+      mStartWidth = mView.getWidth();
+      mStartHeight = mView.getHeight();
+
+      mDeltaX = x - mStartX;
+      mDeltaY = y - mStartY;
+      mDeltaWidth = width - mStartWidth;
+      mDeltaHeight = height - mStartHeight;
+
+      mTranslate = mDeltaWidth == 0 && mDeltaHeight == 0;
+      if (mTranslate) {
+        mView.layout(x, y, x + width, y + height);
+        setTranslation(mBaseTranslationX - mDeltaX, mBaseTranslationY - mDeltaY);
+      } else {
+        setTranslation(mBaseTranslationX, mBaseTranslationY);
+      }
+    }
+
+    private void updateBaseTranslation() {
+      mBaseTranslationX =
+          getBaseValue(mView.getTranslationX(), mAppliedTranslationX, mBaseTranslationX);
+      mBaseTranslationY =
+          getBaseValue(mView.getTranslationY(), mAppliedTranslationY, mBaseTranslationY);
+    }
+
+    private void setTranslation(float translationX, float translationY) {
+      mAppliedTranslationX = translationX;
+      mAppliedTranslationY = translationY;
+      mView.setTranslationX(translationX);
+      mView.setTranslationY(translationY);
+    }
+
+    @Override
+    void apply(float value) {
+      if (mTranslate) {
+        updateBaseTranslation();
+        setTranslation(
+            mBaseTranslationX - mDeltaX * (1 - value), mBaseTranslationY - mDeltaY * (1 - value));
+        return;
+      }
+      float newX = mStartX + mDeltaX * value;
+      float newY = mStartY + mDeltaY * value;
+      float newWidth = mStartWidth + mDeltaWidth * value;
+      float newHeight = mStartHeight + mDeltaHeight * value;
+      mView.layout(
+          Math.round(newX),
+          Math.round(newY),
+          Math.round(newX + newWidth),
+          Math.round(newY + newHeight));
+    }
+  }
+}
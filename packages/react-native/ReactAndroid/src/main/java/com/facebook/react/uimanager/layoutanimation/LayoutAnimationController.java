@@ -16,6 +16,7 @@ import androidx.annotation.Nullable;
 import com.facebook.react.bridge.Callback;
 import com.facebook.react.bridge.ReadableMap;
 import com.facebook.react.bridge.UiThreadUtil;
+import com.facebook.react.config.ReactFeatureFlags;
 import javax.annotation.concurrent.NotThreadSafe;
 
 /**
@@ -30,6 +31,8 @@ public class LayoutAnimationController {
   private final AbstractLayoutAnimation mLayoutUpdateAnimation = new LayoutUpdateAnimation();
   private final AbstractLayoutAnimation mLayoutDeleteAnimation = new LayoutDeleteAnimation();
   private final SparseArray<LayoutHandlingAnimation> mLayoutHandlers = new SparseArray<>(0);
+  private final HardwareLayoutAnimationEngine mHardwareEngine =
+      new HardwareLayoutAnimationEngine();
 
   private boolean mShouldAnimateLayout;
   private long mMaxAnimationDuration = -1;
@@ -89,7 +92,8 @@ public class LayoutAnimationController {
       return false;
     }
     return (mShouldAnimateLayout && viewToAnimate.getParent() != null)
-        || mLayoutHandlers.get(viewToAnimate.getId()) != null;
+        || mLayoutHandlers.get(viewToAnimate.getId()) != null
+        || mHardwareEngine.getLayoutHandler(viewToAnimate.getId()) != null;
   }
 
   /**
@@ -111,6 +115,9 @@ public class LayoutAnimationController {
     // Update an ongoing animation if possible, otherwise the layout update would be ignored as
     // the existing animation would still animate to the old layout.
     LayoutHandlingAnimation existingAnimation = mLayoutHandlers.get(reactTag);
+    if (existingAnimation == null) {
+      existingAnimation = mHardwareEngine.getLayoutHandler(reactTag);
+    }
     if (existingAnimation != null) {
       existingAnimation.onLayoutUpdate(x, y, width, height);
       return;
@@ -124,6 +131,18 @@ public class LayoutAnimationController {
             ? mLayoutCreateAnimation
             : mLayoutUpdateAnimation;
 
+    if (ReactFeatureFlags.enableHardwareLayoutAnimations) {
+      long animationDuration =
+          mHardwareEngine.start(view, layoutAnimation, x, y, width, height, null);
+      if (animationDuration < 0) {
+        view.layout(x, y, x + width, y + height);
+      } else if (animationDuration > mMaxAnimationDuration) {
+        mMaxAnimationDuration = animationDuration;
+        scheduleCompletionCallback(animationDuration);
+      }
+      return;
+    }
+
     Animation animation = layoutAnimation.createAnimation(view, x, y, width, height);
 
     if (animation instanceof LayoutHandlingAnimation) {
@@ -168,6 +187,28 @@ public class LayoutAnimationController {
   public void deleteView(final View view, final LayoutAnimationListener listener) {
     UiThreadUtil.assertOnUiThread();
 
+    if (ReactFeatureFlags.enableHardwareLayoutAnimations) {
+      if (!mLayoutDeleteAnimation.isValid()) {
+        listener.onAnimationEnd();
+        return;
+      }
+      disableUserInteractions(view);
+      long animationDuration =
+          mHardwareEngine.start(
+              view,
+              mLayoutDeleteAnimation,
+              view.getLeft(),
+              view.getTop(),
+              view.getWidth(),
+              view.getHeight(),
+              listener);
+      if (animationDuration > mMaxAnimationDuration) {
+        scheduleCompletionCallback(animationDuration);
+        mMaxAnimationDuration = animationDuration;
+      }
+      return;
+    }
+
     Animation animation =
         mLayoutDeleteAnimation.createAnimation(
             view, view.getLeft(), view.getTop(), view.getWidth(), view.getHeight());
@@ -201,6 +242,19 @@ public class LayoutAnimationController {
     }
   }
 
+  /** @return number of frames in which layout animations ran with the hardware engine */
+  public static long getHardwareAnimationFrameCount() {
+    return HardwareLayoutAnimationEngine.getAnimatedFrameCount();
+  }
+
+  /**
+   * @return number of frames that layout animations running with the hardware engine missed, e.g.
+   *     because the UI thread was busy
+   */
+  public static long getHardwareAnimationDroppedFrameCount() {
+    return HardwareLayoutAnimationEngine.getDroppedFrameCount();
+  }
+
   /** Disables user interactions for a view and all it's subviews. */
   private void disableUserInteractions(View view) {
     view.setClickable(false);
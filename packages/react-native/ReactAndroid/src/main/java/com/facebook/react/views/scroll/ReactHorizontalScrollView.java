@@ -119,6 +119,7 @@ public class ReactHorizontalScrollView extends HorizontalScrollView
   private int mScrollEventThrottle = 0;
   private @Nullable View mContentView;
   private @Nullable MaintainVisibleScrollPositionHelper mMaintainVisibleContentPositionHelper;
+  private @Nullable ViewabilityHelper mViewabilityHelper = null;
 
   private final Rect mTempRect = new Rect();
 
@@ -290,6 +291,21 @@ public class ReactHorizontalScrollView extends HorizontalScrollView
     }
   }
 
+  public void setViewabilityConfig(@Nullable ViewabilityHelper.Config config) {
+    if (config != null && mViewabilityHelper == null) {
+      mViewabilityHelper = new ViewabilityHelper(this, true, config);
+      if (isAttachedToWindow()) {
+        mViewabilityHelper.start();
+      }
+    } else if (config == null && mViewabilityHelper != null) {
+      mViewabilityHelper.stop();
+      mViewabilityHelper = null;
+    }
+    if (mViewabilityHelper != null) {
+      mViewabilityHelper.setConfig(config);
+    }
+  }
+
   @Override
   public @Nullable String getOverflow() {
     return mOverflow;
@@ -466,6 +482,9 @@ public class ReactHorizontalScrollView extends HorizontalScrollView
       if (mRemoveClippedSubviews) {
         updateClippingRect();
       }
+      if (mViewabilityHelper != null) {
+        mViewabilityHelper.onScrollChanged();
+      }
       if (mPreventReentry) {
         return;
       }
@@ -735,6 +754,9 @@ public class ReactHorizontalScrollView extends HorizontalScrollView
     if (mMaintainVisibleContentPositionHelper != null) {
       mMaintainVisibleContentPositionHelper.start();
     }
+    if (mViewabilityHelper != null) {
+      mViewabilityHelper.start();
+    }
   }
 
   @Override
@@ -743,6 +765,9 @@ public class ReactHorizontalScrollView extends HorizontalScrollView
     if (mMaintainVisibleContentPositionHelper != null) {
       mMaintainVisibleContentPositionHelper.stop();
     }
+    if (mViewabilityHelper != null) {
+      mViewabilityHelper.stop();
+    }
   }
 
   @Override
@@ -1378,6 +1403,10 @@ public class ReactHorizontalScrollView extends HorizontalScrollView
       return;
     }
 
+    if (mViewabilityHelper != null) {
+      mViewabilityHelper.onContentLayoutChanged();
+    }
+
     // Adjust the scroll position to follow new content. In RTL, this means we keep a constant
     // offset from the right edge instead of the left edge, so content added to the end of the flow
     // does not shift layout. If `maintainVisibleContentPosition` is enabled, we try to adjust
@@ -15,6 +15,7 @@ import com.facebook.infer.annotation.Nullsafe;
 import com.facebook.react.bridge.ReadableArray;
 import com.facebook.react.bridge.ReadableMap;
 import com.facebook.react.bridge.RetryableMountingLayerException;
+import com.facebook.react.common.MapBuilder;
 import com.facebook.react.module.annotations.ReactModule;
 import com.facebook.react.uimanager.PixelUtil;
 import com.facebook.react.uimanager.PointerEvents;
@@ -29,7 +30,9 @@ import com.facebook.react.uimanager.annotations.ReactProp;
 import com.facebook.react.uimanager.annotations.ReactPropGroup;
 import com.facebook.yoga.YogaConstants;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * View manager for {@link ReactHorizontalScrollView} components.
@@ -347,6 +350,16 @@ public class ReactHorizontalScrollViewManager extends ViewGroupManager<ReactHori
     }
   }
 
+  @ReactProp(name = "nativeViewabilityConfig")
+  public void setNativeViewabilityConfig(
+      ReactHorizontalScrollView view, @Nullable ReadableMap value) {
+    if (value != null) {
+      view.setViewabilityConfig(ViewabilityHelper.Config.fromReadableMap(value));
+    } else {
+      view.setViewabilityConfig(null);
+    }
+  }
+
   @ReactProp(name = ViewProps.POINTER_EVENTS)
   public void setPointerEvents(ReactHorizontalScrollView view, @Nullable String pointerEventsStr) {
     view.setPointerEvents(PointerEvents.parsePointerEvents(pointerEventsStr));
@@ -361,4 +374,16 @@ public class ReactHorizontalScrollViewManager extends ViewGroupManager<ReactHori
   public void setHorizontal(ReactHorizontalScrollView view, boolean horizontal) {
     // Do Nothing: Align with static ViewConfigs
   }
+
+  @Override
+  public @Nullable Map<String, Object> getExportedCustomDirectEventTypeConstants() {
+    @Nullable
+    Map<String, Object> baseEventTypeConstants = super.getExportedCustomDirectEventTypeConstants();
+    Map<String, Object> eventTypeConstants =
+        baseEventTypeConstants == null ? new HashMap<String, Object>() : baseEventTypeConstants;
+    eventTypeConstants.put(
+        ViewableItemsChangedEvent.EVENT_NAME,
+        MapBuilder.of("registrationName", "onNativeViewableItemsChanged"));
+    return eventTypeConstants;
+  }
 }
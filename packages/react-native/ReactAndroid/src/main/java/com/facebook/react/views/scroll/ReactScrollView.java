@@ -121,6 +121,7 @@ public class ReactScrollView extends ScrollView
   private int mScrollEventThrottle = 0;
   private @Nullable MaintainVisibleScrollPositionHelper mMaintainVisibleContentPositionHelper =
       null;
+  private @Nullable ViewabilityHelper mViewabilityHelper = null;
 
   public ReactScrollView(Context context) {
     this(context, null);
@@ -278,6 +279,21 @@ public class ReactScrollView extends ScrollView
     }
   }
 
+  public void setViewabilityConfig(@Nullable ViewabilityHelper.Config config) {
+    if (config != null && mViewabilityHelper == null) {
+      mViewabilityHelper = new ViewabilityHelper(this, false, config);
+      if (isAttachedToWindow()) {
+        mViewabilityHelper.start();
+      }
+    } else if (config == null && mViewabilityHelper != null) {
+      mViewabilityHelper.stop();
+      mViewabilityHelper = null;
+    }
+    if (mViewabilityHelper != null) {
+      mViewabilityHelper.setConfig(config);
+    }
+  }
+
   @Override
   public @Nullable String getOverflow() {
     return mOverflow;
@@ -334,6 +350,9 @@ public class ReactScrollView extends ScrollView
     if (mMaintainVisibleContentPositionHelper != null) {
       mMaintainVisibleContentPositionHelper.start();
     }
+    if (mViewabilityHelper != null) {
+      mViewabilityHelper.start();
+    }
   }
 
   @Override
@@ -342,6 +361,9 @@ public class ReactScrollView extends ScrollView
     if (mMaintainVisibleContentPositionHelper != null) {
       mMaintainVisibleContentPositionHelper.stop();
     }
+    if (mViewabilityHelper != null) {
+      mViewabilityHelper.stop();
+    }
   }
 
   /**
@@ -396,6 +418,9 @@ public class ReactScrollView extends ScrollView
       if (mRemoveClippedSubviews) {
         updateClippingRect();
       }
+      if (mViewabilityHelper != null) {
+        mViewabilityHelper.onScrollChanged();
+      }
       if (mPreventReentry) {
         return;
       }
@@ -1194,6 +1219,10 @@ public class ReactScrollView extends ScrollView
       return;
     }
 
+    if (mViewabilityHelper != null) {
+      mViewabilityHelper.onContentLayoutChanged();
+    }
+
     if (mMaintainVisibleContentPositionHelper != null) {
       mMaintainVisibleContentPositionHelper.updateScrollPosition();
     }
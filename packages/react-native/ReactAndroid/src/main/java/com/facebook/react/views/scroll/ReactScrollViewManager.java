@@ -342,6 +342,15 @@ public class ReactScrollViewManager extends ViewGroupManager<ReactScrollView>
     }
   }
 
+  @ReactProp(name = "nativeViewabilityConfig")
+  public void setNativeViewabilityConfig(ReactScrollView view, @Nullable ReadableMap value) {
+    if (value != null) {
+      view.setViewabilityConfig(ViewabilityHelper.Config.fromReadableMap(value));
+    } else {
+      view.setViewabilityConfig(null);
+    }
+  }
+
   @Override
   public @Nullable Object updateState(
       ReactScrollView view, ReactStylesDiffMap props, StateWrapper stateWrapper) {
@@ -376,6 +385,9 @@ public class ReactScrollViewManager extends ViewGroupManager<ReactScrollView>
         .put(
             ScrollEventType.getJSEventName(ScrollEventType.MOMENTUM_END),
             MapBuilder.of("registrationName", "onMomentumScrollEnd"))
+        .put(
+            ViewableItemsChangedEvent.EVENT_NAME,
+            MapBuilder.of("registrationName", "onNativeViewableItemsChanged"))
         .build();
   }
 
@@ -7,7 +7,6 @@
 
 package com.facebook.react.views.scroll
 
-import androidx.core.util.Pools.SynchronizedPool
 import com.facebook.infer.annotation.Assertions
 import com.facebook.react.bridge.Arguments
 import com.facebook.react.bridge.ReactSoftExceptionLogger
@@ -15,6 +14,7 @@ import com.facebook.react.bridge.WritableMap
 import com.facebook.react.uimanager.PixelUtil.toDIPFromPixel
 import com.facebook.react.uimanager.common.ViewUtil
 import com.facebook.react.uimanager.events.Event
+import com.facebook.react.uimanager.events.EventPool
 
 /** A event dispatched from a ScrollView scrolling. */
 public class ScrollEvent private constructor() : Event<ScrollEvent>() {
@@ -106,7 +106,7 @@ public class ScrollEvent private constructor() : Event<ScrollEvent>() {
 
   public companion object {
     private val TAG = ScrollEvent::class.java.simpleName
-    private val EVENTS_POOL = SynchronizedPool<ScrollEvent>(3)
+    private val EVENTS_POOL = EventPool(3) { ScrollEvent() }
 
     @JvmStatic
     public fun obtain(
@@ -123,7 +123,7 @@ public class ScrollEvent private constructor() : Event<ScrollEvent>() {
         scrollViewHeight: Int,
         experimental_isSynchronous: Boolean,
     ): ScrollEvent =
-        (EVENTS_POOL.acquire() ?: ScrollEvent()).apply {
+        EVENTS_POOL.acquire().apply {
           init(
               surfaceId,
               viewTag,
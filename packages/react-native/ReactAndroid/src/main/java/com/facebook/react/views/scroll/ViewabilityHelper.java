@@ -0,0 +1,378 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package com.facebook.react.views.scroll;
+
+import android.os.SystemClock;
+import android.util.SparseIntArray;
+import android.util.SparseLongArray;
+import android.view.View;
+import android.view.ViewGroup;
+import androidx.annotation.Nullable;
+import androidx.annotation.VisibleForTesting;
+import com.facebook.infer.annotation.Nullsafe;
+import com.facebook.react.bridge.ReactContext;
+import com.facebook.react.bridge.ReadableMap;
+import com.facebook.react.bridge.UIManager;
+import com.facebook.react.bridge.UIManagerListener;
+import com.facebook.react.bridge.UiThreadUtil;
+import com.facebook.react.uimanager.UIManagerHelper;
+import com.facebook.react.uimanager.common.ViewUtil;
+import com.facebook.react.uimanager.events.EventDispatcher;
+
+/**
+ * Manage state for the nativeViewabilityConfig prop.
+ *
+ * <p>Tracks which children of the content view are viewable natively, so JS gets enter/exit deltas
+ * instead of having to process every scroll event and re-measure its items. Child frames are kept
+ * in an index sorted along the scroll axis, which is rebuilt only after mounting or when the
+ * content is laid out. Visibility is evaluated at most once per frame, and all changes of a frame
+ * are sent to JS in a single {@link ViewableItemsChangedEvent}.
+ */
+@Nullsafe(Nullsafe.Mode.LOCAL)
+class ViewabilityHelper implements UIManagerListener {
+
+  private final ViewGroup mScrollView;
+  private final boolean mHorizontal;
+  private Config mConfig;
+  private boolean mListening = false;
+
+  // Children of the content view sorted by the start of their frame along the scroll axis, with
+  // the running maximum of their frame ends so the first visible child can be binary searched even
+  // when frames overlap.
+  private int mIndexedCount = 0;
+  private int[] mChildIndices = new int[0];
+  private int[] mStarts = new int[0];
+  private int[] mEnds = new int[0];
+  private int[] mMaxEnds = new int[0];
+  private boolean mIndexDirty = true;
+
+  // Items that are visible but haven't been for minimumViewTime yet, tag -> visible since
+  private final SparseLongArray mPendingSince = new SparseLongArray();
+  // Items reported to JS as viewable, tag -> child index
+  private final SparseIntArray mViewable = new SparseIntArray();
+  // Items visible in the current update, tag -> child index
+  private final SparseIntArray mVisible = new SparseIntArray();
+
+  private final SparseIntArray mChangedIndices = new SparseIntArray();
+  private final SparseIntArray mChangedViewable = new SparseIntArray();
+
+  private boolean mUpdateScheduled = false;
+  private final Runnable mUpdateRunnable =
+      new Runnable() {
+        @Override
+        public void run() {
+          mUpdateScheduled = false;
+          update(SystemClock.uptimeMillis());
+        }
+      };
+
+  public static class Config {
+
+    /** Percentage of an item that has to be visible for it to count as viewable. */
+    public final int itemVisiblePercentThreshold;
+
+    /** How long an item has to be visible before it counts as viewable. */
+    public final long minimumViewTime;
+
+    Config(int itemVisiblePercentThreshold, long minimumViewTime) {
+      this.itemVisiblePercentThreshold = itemVisiblePercentThreshold;
+      this.minimumViewTime = minimumViewTime;
+    }
+
+    static Config fromReadableMap(ReadableMap value) {
+      int itemVisiblePercentThreshold =
+          value.hasKey("itemVisiblePercentThreshold")
+              ? value.getInt("itemVisiblePercentThreshold")
+              : 0;
+      long minimumViewTime =
+          value.hasKey("minimumViewTime") ? (long) value.getDouble("minimumViewTime") : 0;
+      return new Config(
+          Math.max(0, Math.min(100, itemVisiblePercentThreshold)), Math.max(0, minimumViewTime));
+    }
+  }
+
+  public ViewabilityHelper(ViewGroup scrollView, boolean horizontal, Config config) {
+    mScrollView = scrollView;
+    mHorizontal = horizontal;
+    mConfig = config;
+  }
+
+  public void setConfig(Config config) {
+    mConfig = config;
+    scheduleUpdate();
+  }
+
+  /** Start listening to view hierarchy updates. Should be called when this is created. */
+  public void start() {
+    if (mListening || !(mScrollView.getContext() instanceof ReactContext)) {
+      return;
+    }
+    UIManager uiManager = getUIManager();
+    if (uiManager != null) {
+      mListening = true;
+      uiManager.addUIManagerEventListener(this);
+    }
+  }
+
+  /**
+   * Stop listening to view hierarchy updates. Should be called before this is destroyed. Items
+   * that are still viewable are reported as no longer viewable.
+   */
+  public void stop() {
+    mScrollView.removeCallbacks(mUpdateRunnable);
+    mUpdateScheduled = false;
+    mPendingSince.clear();
+    mVisible.clear();
+    collectChanges();
+    dispatchChanges();
+
+    if (!mListening) {
+      return;
+    }
+    mListening = false;
+    UIManager uiManager = getUIManager();
+    if (uiManager != null) {
+      uiManager.removeUIManagerEventListener(this);
+    }
+  }
+
+  /** Should be called when the scroll position changed. */
+  public void onScrollChanged() {
+    scheduleUpdate();
+  }
+
+  /** Should be called when the layout of the content view changed. */
+  public void onContentLayoutChanged() {
+    mIndexDirty = true;
+    scheduleUpdate();
+  }
+
+  private void scheduleUpdate() {
+    if (mUpdateScheduled) {
+      return;
+    }
+    mUpdateScheduled = true;
+    mScrollView.postOnAnimation(mUpdateRunnable);
+  }
+
+  private @Nullable UIManager getUIManager() {
+    return UIManagerHelper.getUIManager(
+        (ReactContext) mScrollView.getContext(), ViewUtil.getUIManagerType(mScrollView.getId()));
+  }
+
+  @VisibleForTesting
+  /* package */ void update(long nowMs) {
+    if (mIndexDirty) {
+      rebuildIndex();
+    }
+
+    mVisible.clear();
+    int viewportStart = mHorizontal ? mScrollView.getScrollX() : mScrollView.getScrollY();
+    int viewportEnd =
+        viewportStart + (mHorizontal ? mScrollView.getWidth() : mScrollView.getHeight());
+    for (int i = firstCandidate(viewportStart); i < mIndexedCount; i++) {
+      int start = mStarts[i];
+      if (start >= viewportEnd) {
+        break;
+      }
+      int size = mEnds[i] - start;
+      int visible = Math.min(mEnds[i], viewportEnd) - Math.max(start, viewportStart);
+      if (size > 0 && visible > 0 && visible * 100 >= mConfig.itemVisiblePercentThreshold * size) {
+        View child = getContentChildAt(mChildIndices[i]);
+        if (child != null) {
+          mVisible.put(child.getId(), mChildIndices[i]);
+        }
+      }
+    }
+
+    // Items that became visible only count once they stayed visible for long enough
+    long nextDeadline = Long.MAX_VALUE;
+    for (int i = mPendingSince.size() - 1; i >= 0; i--) {
+      if (mVisible.indexOfKey(mPendingSince.keyAt(i)) < 0) {
+        mPendingSince.removeAt(i);
+      }
+    }
+    for (int i = 0; i < mVisible.size(); i++) {
+      int tag = mVisible.keyAt(i);
+      if (mViewable.indexOfKey(tag) >= 0) {
+        continue;
+      }
+      long visibleSince = mPendingSince.get(tag, nowMs);
+      if (nowMs - visibleSince < mConfig.minimumViewTime) {
+        mPendingSince.put(tag, visibleSince);
+        nextDeadline = Math.min(nextDeadline, visibleSince + mConfig.minimumViewTime);
+      } else {
+        mPendingSince.delete(tag);
+      }
+    }
+
+    collectChanges();
+    dispatchChanges();
+
+    if (nextDeadline != Long.MAX_VALUE && !mUpdateScheduled) {
+      mUpdateScheduled = true;
+      mScrollView.postOnAnimationDelayed(mUpdateRunnable, nextDeadline - nowMs);
+    }
+  }
+
+  /** Diffs the visible items that aren't pending against the items reported as viewable. */
+  private void collectChanges() {
+    for (int i = mViewable.size() - 1; i >= 0; i--) {
+      int tag = mViewable.keyAt(i);
+      if (mVisible.indexOfKey(tag) < 0) {
+        mChangedIndices.put(tag, mViewable.valueAt(i));
+        mChangedViewable.put(tag, 0);
+        mViewable.removeAt(i);
+      }
+    }
+    for (int i = 0; i < mVisible.size(); i++) {
+      int tag = mVisible.keyAt(i);
+      if (mViewable.indexOfKey(tag) < 0 && mPendingSince.indexOfKey(tag) < 0) {
+        mViewable.put(tag, mVisible.valueAt(i));
+        mChangedIndices.put(tag, mVisible.valueAt(i));
+        mChangedViewable.put(tag, 1);
+      }
+    }
+  }
+
+  private void dispatchChanges() {
+    int count = mChangedIndices.size();
+    if (count == 0) {
+      return;
+    }
+    int[] tags = new int[count];
+    int[] indices = new int[count];
+    boolean[] viewable = new boolean[count];
+    for (int i = 0; i < count; i++) {
+      tags[i] = mChangedIndices.keyAt(i);
+      indices[i] = mChangedIndices.valueAt(i);
+      viewable[i] = mChangedViewable.get(tags[i]) == 1;
+    }
+    mChangedIndices.clear();
+    mChangedViewable.clear();
+
+    if (!(mScrollView.getContext() instanceof ReactContext)) {
+      return;
+    }
+    ReactContext reactContext = (ReactContext) mScrollView.getContext();
+    EventDispatcher eventDispatcher =
+        UIManagerHelper.getEventDispatcherForReactTag(reactContext, mScrollView.getId());
+    if (eventDispatcher != null) {
+      eventDispatcher.dispatchEvent(
+          new ViewableItemsChangedEvent(
+              UIManagerHelper.getSurfaceId(reactContext),
+              mScrollView.getId(),
+              tags,
+              indices,
+              viewable));
+    }
+  }
+
+  /** @return position in the index of the first child that may end after the given offset */
+  private int firstCandidate(int offset) {
+    int low = 0;
+    int high = mIndexedCount;
+    while (low < high) {
+      int mid = (low + high) >>> 1;
+      if (mMaxEnds[mid] > offset) {
+        high = mid;
+      } else {
+        low = mid + 1;
+      }
+    }
+    return low;
+  }
+
+  private void rebuildIndex() {
+    mIndexDirty = false;
+    ViewGroup contentView = getContentView();
+    int count = contentView == null ? 0 : contentView.getChildCount();
+    if (mStarts.length < count) {
+      mChildIndices = new int[count];
+      mStarts = new int[count];
+      mEnds = new int[count];
+      mMaxEnds = new int[count];
+    }
+    mIndexedCount = count;
+    if (contentView == null) {
+      return;
+    }
+
+    // Children are usually already in order, so this is an insertion sort that rarely moves
+    for (int i = 0; i < count; i++) {
+      View child = contentView.getChildAt(i);
+      int start = mHorizontal ? child.getLeft() : child.getTop();
+      int end = mHorizontal ? child.getRight() : child.getBottom();
+      int j = i;
+      while (j > 0 && mStarts[j - 1] > start) {
+        mChildIndices[j] = mChildIndices[j - 1];
+        mStarts[j] = mStarts[j - 1];
+        mEnds[j] = mEnds[j - 1];
+        j--;
+      }
+      mChildIndices[j] = i;
+      mStarts[j] = start;
+      mEnds[j] = end;
+    }
+    int maxEnd = Integer.MIN_VALUE;
+    for (int i = 0; i < count; i++) {
+      maxEnd = Math.max(maxEnd, mEnds[i]);
+      mMaxEnds[i] = maxEnd;
+    }
+  }
+
+  private @Nullable ViewGroup getContentView() {
+    View contentView = mScrollView.getChildAt(0);
+    return contentView instanceof ViewGroup ? (ViewGroup) contentView : null;
+  }
+
+  private @Nullable View getContentChildAt(int index) {
+    ViewGroup contentView = getContentView();
+    return contentView == null || index >= contentView.getChildCount()
+        ? null
+        : contentView.getChildAt(index);
+  }
+
+  @VisibleForTesting
+  /* package */ boolean isViewable(int tag) {
+    return mViewable.indexOfKey(tag) >= 0;
+  }
+
+  // UIManagerListener
+
+  @Override
+  public void willDispatchViewUpdates(final UIManager uiManager) {
+    UiThreadUtil.runOnUiThread(
+        new Runnable() {
+          @Override
+          public void run() {
+            onContentLayoutChanged();
+          }
+        });
+  }
+
+  @Override
+  public void willMountItems(UIManager uiManager) {
+    // noop
+  }
+
+  @Override
+  public void didMountItems(UIManager uiManager) {
+    onContentLayoutChanged();
+  }
+
+  @Override
+  public void didDispatchMountItems(UIManager uiManager) {
+    // noop
+  }
+
+  @Override
+  public void didScheduleMountItems(UIManager uiManager) {
+    // noop
+  }
+}
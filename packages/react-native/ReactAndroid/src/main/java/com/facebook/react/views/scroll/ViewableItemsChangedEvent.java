@@ -0,0 +1,63 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package com.facebook.react.views.scroll;
+
+import com.facebook.infer.annotation.Nullsafe;
+import com.facebook.react.bridge.Arguments;
+import com.facebook.react.bridge.WritableArray;
+import com.facebook.react.bridge.WritableMap;
+import com.facebook.react.uimanager.events.Event;
+
+/**
+ * Dispatched by {@link ViewabilityHelper} with the items of a ScrollView that became viewable or
+ * stopped being viewable during a frame.
+ */
+@Nullsafe(Nullsafe.Mode.LOCAL)
+class ViewableItemsChangedEvent extends Event<ViewableItemsChangedEvent> {
+
+  static final String EVENT_NAME = "topNativeViewableItemsChanged";
+
+  private final int[] mTags;
+  private final int[] mIndices;
+  private final boolean[] mViewable;
+
+  ViewableItemsChangedEvent(
+      int surfaceId, int viewTag, int[] tags, int[] indices, boolean[] viewable) {
+    super(surfaceId, viewTag);
+    mTags = tags;
+    mIndices = indices;
+    mViewable = viewable;
+  }
+
+  @Override
+  public String getEventName() {
+    return EVENT_NAME;
+  }
+
+  @Override
+  public boolean canCoalesce() {
+    // Every event carries a delta, so none of them can be dropped
+    return false;
+  }
+
+  @Override
+  protected WritableMap getEventData() {
+    WritableArray changed = Arguments.createArray();
+    for (int i = 0; i < mTags.length; i++) {
+      WritableMap item = Arguments.createMap();
+      item.putInt("tag", mTags[i]);
+      item.putInt("index", mIndices[i]);
+      item.putBoolean("isViewable", mViewable[i]);
+      changed.pushMap(item);
+    }
+    WritableMap data = Arguments.createMap();
+    data.putArray("changed", changed);
+    data.putInt("target", getViewTag());
+    return data;
+  }
+}
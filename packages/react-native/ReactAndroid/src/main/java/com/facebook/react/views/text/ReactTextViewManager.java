@@ -17,6 +17,7 @@ import com.facebook.react.R;
 import com.facebook.react.common.MapBuilder;
 import com.facebook.react.common.annotations.VisibleForTesting;
 import com.facebook.react.common.mapbuffer.MapBuffer;
+import com.facebook.react.config.ReactFeatureFlags;
 import com.facebook.react.module.annotations.ReactModule;
 import com.facebook.react.uimanager.IViewManagerWithChildren;
 import com.facebook.react.uimanager.ReactAccessibilityDelegate;
@@ -100,11 +101,15 @@ public class ReactTextViewManager
         spannable.getSpans(0, update.getText().length(), ReactClickableSpan.class);
 
     if (clickableSpans.length > 0) {
-      view.setTag(
-          R.id.accessibility_links,
-          new ReactAccessibilityDelegate.AccessibilityLinks(clickableSpans, spannable));
-      ReactAccessibilityDelegate.resetDelegate(
-          view, view.isFocusable(), view.getImportantForAccessibility());
+      ReactAccessibilityDelegate.AccessibilityLinks links =
+          new ReactAccessibilityDelegate.AccessibilityLinks(clickableSpans, spannable);
+      // The delegate already exposes the same links when only the rest of the text changed
+      if (!ReactFeatureFlags.enableAccessibilitySummaryCache
+          || !links.equals(view.getTag(R.id.accessibility_links))) {
+        view.setTag(R.id.accessibility_links, links);
+        ReactAccessibilityDelegate.resetDelegate(
+            view, view.isFocusable(), view.getImportantForAccessibility());
+      }
     }
   }
 
@@ -30,6 +30,7 @@ import com.facebook.react.bridge.WritableArray;
 import com.facebook.react.common.ReactConstants;
 import com.facebook.react.common.build.ReactBuildConfig;
 import com.facebook.react.common.mapbuffer.MapBuffer;
+import com.facebook.react.common.mapbuffer.ReadableMapBuffer;
 import com.facebook.react.uimanager.PixelUtil;
 import com.facebook.react.uimanager.ReactAccessibilityDelegate.AccessibilityRole;
 import com.facebook.react.uimanager.ReactAccessibilityDelegate.Role;
@@ -198,6 +199,15 @@ public class TextLayoutManager {
     return gravity;
   }
 
+  private static CharSequence getFragmentText(MapBuffer fragment, TextTransform textTransform) {
+    if ((textTransform == TextTransform.NONE || textTransform == TextTransform.UNSET)
+        && fragment instanceof ReadableMapBuffer) {
+      // Copied straight into the builder, no need to decode it into an intermediate String
+      return ((ReadableMapBuffer) fragment).getStringView(FR_KEY_STRING);
+    }
+    return TextTransform.apply(fragment.getString(FR_KEY_STRING), textTransform);
+  }
+
   private static void buildSpannableFromFragments(
       Context context, MapBuffer fragments, SpannableStringBuilder sb, List<SetSpanOperation> ops) {
 
@@ -208,8 +218,7 @@ public class TextLayoutManager {
       TextAttributeProps textAttributes =
           TextAttributeProps.fromMapBuffer(fragment.getMapBuffer(FR_KEY_TEXT_ATTRIBUTES));
 
-      sb.append(
-          TextTransform.apply(fragment.getString(FR_KEY_STRING), textAttributes.mTextTransform));
+      sb.append(getFragmentText(fragment, textAttributes.mTextTransform));
 
       int end = sb.length();
       int reactTag =
@@ -39,7 +39,7 @@ public class ReactClickableSpan(public val reactTag: Int) : ClickableSpan(), Rea
     val context = view.context as ReactContext
     val eventDispatcher = UIManagerHelper.getEventDispatcherForReactTag(context, reactTag)
     eventDispatcher?.dispatchEvent(
-        ViewGroupClickEvent(UIManagerHelper.getSurfaceId(context), reactTag))
+        ViewGroupClickEvent(UIManagerHelper.getSurfaceId(view), reactTag))
   }
 
   public override fun updateDrawState(ds: TextPaint) {
@@ -41,7 +41,6 @@ import android.view.inputmethod.InputConnection;
 import android.view.inputmethod.InputMethodManager;
 import androidx.annotation.Nullable;
 import androidx.appcompat.widget.AppCompatEditText;
-import androidx.core.util.Predicate;
 import androidx.core.view.ViewCompat;
 import com.facebook.common.logging.FLog;
 import com.facebook.infer.annotation.Assertions;
@@ -49,6 +48,7 @@ import com.facebook.react.bridge.ReactContext;
 import com.facebook.react.bridge.ReactSoftExceptionLogger;
 import com.facebook.react.common.ReactConstants;
 import com.facebook.react.common.build.ReactBuildConfig;
+import com.facebook.react.config.ReactFeatureFlags;
 import com.facebook.react.uimanager.ReactAccessibilityDelegate;
 import com.facebook.react.uimanager.StateWrapper;
 import com.facebook.react.uimanager.UIManagerModule;
@@ -69,6 +69,9 @@ import com.facebook.react.views.text.internal.span.ReactUnderlineSpan;
 import com.facebook.react.views.text.internal.span.TextInlineImageSpan;
 import com.facebook.react.views.view.ReactViewBackgroundManager;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 
 /**
@@ -661,6 +664,12 @@ public class ReactEditText extends AppCompatEditText {
               + reactTextUpdate.getText());
     }
 
+    if (ReactFeatureFlags.enableIncrementalTextInputUpdates
+        && reactTextUpdate.getText().length() != 0) {
+      setTextIncrementally(reactTextUpdate);
+      return;
+    }
+
     // The current text gets replaced with the text received from JS. However, the spans on the
     // current text need to be adapted to the new text. Since TextView#setText() will remove or
     // reset some of these spans even if they are set directly, SpannableStringBuilder#replace() is
@@ -698,6 +707,105 @@ public class ReactEditText extends AppCompatEditText {
     updateCachedSpannable();
   }
 
+  /**
+   * Same as the end of {@link #maybeSetText}, but only replaces the characters that changed, and
+   * only adds or removes the spans that differ between the current text and the update. Typing in
+   * a controlled TextInput sends the text back from JS on every key stroke, and replacing the whole
+   * text each time makes the cost of a key stroke grow with the length of the text.
+   */
+  private void setTextIncrementally(ReactTextUpdate reactTextUpdate) {
+    Editable text = getText();
+    Spannable newText = reactTextUpdate.getText();
+    TextUpdateDiff diff = TextUpdateDiff.compute(text, newText);
+    int start = diff.getStart();
+    int oldEnd = diff.getOldEnd();
+    int newEnd = diff.getNewEnd();
+
+    mContainsImages = reactTextUpdate.containsImages();
+    mDisableTextDiffing = true;
+    boolean spansChanged = false;
+
+    if (!diff.isEmpty()) {
+      // Same as manageSpans, EXCLUSIVE_EXCLUSIVE spans only exist as long as the text they cover is
+      // the same, but the other spans keep following the text they cover
+      Object[] spans = text.getSpans(start, oldEnd, Object.class);
+      for (Object span : spans) {
+        int spanFlags = text.getSpanFlags(span);
+        if (!(span instanceof ReactSpan)
+            && (spanFlags & Spanned.SPAN_EXCLUSIVE_EXCLUSIVE) == Spanned.SPAN_EXCLUSIVE_EXCLUSIVE
+            && text.getSpanStart(span) < oldEnd
+            && text.getSpanEnd(span) > start) {
+          text.removeSpan(span);
+        }
+      }
+      // The spans of the update are set below, only where they differ from the current ones
+      text.replace(start, oldEnd, TextUtils.substring(newText, start, newEnd));
+    }
+
+    // Match the ReactSpans of the text, which now has the characters of the update, with the spans
+    // of the update. Spans that are in both texts are kept as they are.
+    Map<Long, List<Object>> currentSpans = new HashMap<>();
+    for (Object span : text.getSpans(0, text.length(), ReactSpan.class)) {
+      long key = getSpanKey(text.getSpanStart(span), text.getSpanEnd(span));
+      List<Object> spansWithKey = currentSpans.get(key);
+      if (spansWithKey == null) {
+        spansWithKey = new ArrayList<>(1);
+        currentSpans.put(key, spansWithKey);
+      }
+      spansWithKey.add(span);
+    }
+    List<Object> addedSpans = new ArrayList<>();
+    for (Object span : newText.getSpans(0, newText.length(), Object.class)) {
+      if (isStyleEquivalentSpan(span)) {
+        continue;
+      }
+      List<Object> spansWithKey =
+          currentSpans.get(getSpanKey(newText.getSpanStart(span), newText.getSpanEnd(span)));
+      boolean found = false;
+      if (spansWithKey != null) {
+        for (int i = 0; i < spansWithKey.size(); i++) {
+          Object currentSpan = spansWithKey.get(i);
+          if (text.getSpanFlags(currentSpan) == newText.getSpanFlags(span)
+              && TextUpdateDiff.isSameSpan(currentSpan, span)) {
+            spansWithKey.remove(i);
+            found = true;
+            break;
+          }
+        }
+      }
+      if (!found) {
+        addedSpans.add(span);
+      }
+    }
+    for (List<Object> removedSpans : currentSpans.values()) {
+      for (Object span : removedSpans) {
+        text.removeSpan(span);
+        spansChanged = true;
+      }
+    }
+    for (Object span : addedSpans) {
+      text.setSpan(
+          span, newText.getSpanStart(span), newText.getSpanEnd(span), newText.getSpanFlags(span));
+      spansChanged = true;
+    }
+
+    mDisableTextDiffing = false;
+
+    if (getBreakStrategy() != reactTextUpdate.getTextBreakStrategy()) {
+      setBreakStrategy(reactTextUpdate.getTextBreakStrategy());
+    }
+
+    // Replacing characters already updated the cached spans from onTextChanged, but that was before
+    // the spans were updated
+    if (spansChanged) {
+      updateCachedSpannable();
+    }
+  }
+
+  private static long getSpanKey(int start, int end) {
+    return (((long) start) << 32) | (end & 0xFFFFFFFFL);
+  }
+
   /**
    * Remove and/or add {@link Spanned.SPAN_EXCLUSIVE_EXCLUSIVE} spans, since they should only exist
    * as long as the text they cover is the same. All other spans will remain the same, since they
@@ -740,56 +848,46 @@ public class ReactEditText extends AppCompatEditText {
    * the presence of spans https://github.com/facebook/react-native/issues/35936 (S318090)
    */
   private void stripStyleEquivalentSpans(SpannableStringBuilder sb) {
-    stripSpansOfKind(
-        sb,
-        ReactAbsoluteSizeSpan.class,
-        (span) -> span.getSize() == mTextAttributes.getEffectiveFontSize());
-
-    stripSpansOfKind(
-        sb,
-        ReactBackgroundColorSpan.class,
-        (span) -> span.getBackgroundColor() == mReactBackgroundManager.getBackgroundColor());
-
-    stripSpansOfKind(
-        sb,
-        ReactForegroundColorSpan.class,
-        (span) -> span.getForegroundColor() == getCurrentTextColor());
-
-    stripSpansOfKind(
-        sb,
-        ReactStrikethroughSpan.class,
-        (span) -> (getPaintFlags() & Paint.STRIKE_THRU_TEXT_FLAG) != 0);
-
-    stripSpansOfKind(
-        sb, ReactUnderlineSpan.class, (span) -> (getPaintFlags() & Paint.UNDERLINE_TEXT_FLAG) != 0);
-
-    stripSpansOfKind(
-        sb,
-        CustomLetterSpacingSpan.class,
-        (span) -> span.getSpacing() == mTextAttributes.getEffectiveLetterSpacing());
-
-    stripSpansOfKind(
-        sb,
-        CustomStyleSpan.class,
-        (span) -> {
-          return span.getStyle() == mFontStyle
-              && Objects.equals(span.getFontFamily(), mFontFamily)
-              && span.getWeight() == mFontWeight
-              && Objects.equals(span.getFontFeatureSettings(), getFontFeatureSettings());
-        });
-  }
-
-  private <T> void stripSpansOfKind(
-      SpannableStringBuilder sb, Class<T> clazz, Predicate<T> shouldStrip) {
-    T[] spans = sb.getSpans(0, sb.length(), clazz);
-
-    for (T span : spans) {
-      if (shouldStrip.test(span)) {
+    Object[] spans = sb.getSpans(0, sb.length(), Object.class);
+    for (Object span : spans) {
+      if (isStyleEquivalentSpan(span)) {
         sb.removeSpan(span);
       }
     }
   }
 
+  /** @return whether the span can be represented by TextAppearance attributes of this EditText */
+  private boolean isStyleEquivalentSpan(Object span) {
+    if (span instanceof ReactAbsoluteSizeSpan) {
+      return ((ReactAbsoluteSizeSpan) span).getSize() == mTextAttributes.getEffectiveFontSize();
+    }
+    if (span instanceof ReactBackgroundColorSpan) {
+      return ((ReactBackgroundColorSpan) span).getBackgroundColor()
+          == mReactBackgroundManager.getBackgroundColor();
+    }
+    if (span instanceof ReactForegroundColorSpan) {
+      return ((ReactForegroundColorSpan) span).getForegroundColor() == getCurrentTextColor();
+    }
+    if (span instanceof ReactStrikethroughSpan) {
+      return (getPaintFlags() & Paint.STRIKE_THRU_TEXT_FLAG) != 0;
+    }
+    if (span instanceof ReactUnderlineSpan) {
+      return (getPaintFlags() & Paint.UNDERLINE_TEXT_FLAG) != 0;
+    }
+    if (span instanceof CustomLetterSpacingSpan) {
+      return ((CustomLetterSpacingSpan) span).getSpacing()
+          == mTextAttributes.getEffectiveLetterSpacing();
+    }
+    if (span instanceof CustomStyleSpan) {
+      CustomStyleSpan styleSpan = (CustomStyleSpan) span;
+      return styleSpan.getStyle() == mFontStyle
+          && Objects.equals(styleSpan.getFontFamily(), mFontFamily)
+          && styleSpan.getWeight() == mFontWeight
+          && Objects.equals(styleSpan.getFontFeatureSettings(), getFontFeatureSettings());
+    }
+    return false;
+  }
+
   /**
    * Copy styles represented as attributes to the underlying span, for later measurement or other
    * usage outside the ReactEditText.
@@ -13,6 +13,7 @@ import android.view.inputmethod.InputConnection;
 import android.view.inputmethod.InputConnectionWrapper;
 import androidx.annotation.Nullable;
 import com.facebook.react.bridge.ReactContext;
+import com.facebook.react.uimanager.common.ViewUtil;
 import com.facebook.react.uimanager.events.EventDispatcher;
 
 /**
@@ -155,6 +156,7 @@ class ReactEditTextInputConnectionWrapper extends InputConnectionWrapper {
     if (key.equals(NEWLINE_RAW_VALUE)) {
       key = ENTER_KEY_VALUE;
     }
-    mEventDispatcher.dispatchEvent(new ReactTextInputKeyPressEvent(mEditText.getId(), key));
+    mEventDispatcher.dispatchEvent(
+        ReactTextInputKeyPressEvent.obtain(ViewUtil.NO_SURFACE_ID, mEditText.getId(), key));
   }
 }
@@ -9,9 +9,11 @@ package com.facebook.react.views.textinput;
 
 import androidx.annotation.Nullable;
 import com.facebook.react.bridge.Arguments;
+import com.facebook.react.bridge.ReactSoftExceptionLogger;
 import com.facebook.react.bridge.WritableMap;
 import com.facebook.react.uimanager.common.ViewUtil;
 import com.facebook.react.uimanager.events.Event;
+import com.facebook.react.uimanager.events.EventPool;
 
 /**
  * Event emitted by EditText native view when text changes. VisibleForTesting from {@link
@@ -21,8 +23,26 @@ public class ReactTextChangedEvent extends Event<ReactTextChangedEvent> {
 
   public static final String EVENT_NAME = "topChange";
 
+  private static final String TAG = ReactTextChangedEvent.class.getSimpleName();
+
+  private static final EventPool<ReactTextChangedEvent> EVENTS_POOL =
+      new EventPool<>(4, ReactTextChangedEvent::new);
+
   private String mText;
   private int mEventCount;
+  private boolean mPooled;
+
+  public static ReactTextChangedEvent obtain(
+      int surfaceId, int viewId, String text, int eventCount) {
+    ReactTextChangedEvent event = EVENTS_POOL.acquire();
+    event.mPooled = true;
+    event.init(surfaceId, viewId, text, eventCount);
+    return event;
+  }
+
+  private ReactTextChangedEvent() {
+    mText = "";
+  }
 
   @Deprecated
   public ReactTextChangedEvent(int viewId, String text, int eventCount) {
@@ -35,6 +55,26 @@ public class ReactTextChangedEvent extends Event<ReactTextChangedEvent> {
     mEventCount = eventCount;
   }
 
+  private void init(int surfaceId, int viewId, String text, int eventCount) {
+    super.init(surfaceId, viewId);
+    mText = text;
+    mEventCount = eventCount;
+  }
+
+  @Override
+  public void onDispose() {
+    mText = "";
+    // Events built with the public constructors never came from the pool
+    if (mPooled) {
+      try {
+        EVENTS_POOL.release(this);
+      } catch (IllegalStateException e) {
+        // Thrown when an event is released twice, which doesn't cause user-visible issues
+        ReactSoftExceptionLogger.logSoftException(TAG, e);
+      }
+    }
+  }
+
   @Override
   public String getEventName() {
     return EVENT_NAME;
@@ -9,27 +9,49 @@ package com.facebook.react.views.textinput;
 
 import androidx.annotation.Nullable;
 import com.facebook.react.bridge.Arguments;
+import com.facebook.react.bridge.ReactSoftExceptionLogger;
 import com.facebook.react.bridge.WritableMap;
-import com.facebook.react.uimanager.common.ViewUtil;
 import com.facebook.react.uimanager.events.Event;
+import com.facebook.react.uimanager.events.EventPool;
 
 /** Event emitted by EditText native view when key pressed */
 /* package */ class ReactTextInputKeyPressEvent extends Event<ReactTextInputKeyPressEvent> {
 
   public static final String EVENT_NAME = "topKeyPress";
 
+  private static final String TAG = ReactTextInputKeyPressEvent.class.getSimpleName();
+
+  private static final EventPool<ReactTextInputKeyPressEvent> EVENTS_POOL =
+      new EventPool<>(4, ReactTextInputKeyPressEvent::new);
+
   private String mKey;
 
-  @Deprecated
-  ReactTextInputKeyPressEvent(int viewId, final String key) {
-    this(ViewUtil.NO_SURFACE_ID, viewId, key);
+  static ReactTextInputKeyPressEvent obtain(int surfaceId, int viewId, String key) {
+    ReactTextInputKeyPressEvent event = EVENTS_POOL.acquire();
+    event.init(surfaceId, viewId, key);
+    return event;
+  }
+
+  private ReactTextInputKeyPressEvent() {
+    mKey = "";
   }
 
-  ReactTextInputKeyPressEvent(int surfaceId, int viewId, final String key) {
-    super(surfaceId, viewId);
+  private void init(int surfaceId, int viewId, String key) {
+    super.init(surfaceId, viewId);
     mKey = key;
   }
 
+  @Override
+  public void onDispose() {
+    try {
+      EVENTS_POOL.release(this);
+    } catch (IllegalStateException e) {
+      // A double release may mean a logic error in the events system, but it has no user-visible
+      // impact, so it is only logged.
+      ReactSoftExceptionLogger.logSoftException(TAG, e);
+    }
+  }
+
   @Override
   public String getEventName() {
     return EVENT_NAME;
@@ -1114,7 +1114,7 @@ public class ReactTextInputManager extends BaseViewManager<ReactEditText, Layout
 
       // The event that contains the event counter and updates it must be sent first.
       mEventDispatcher.dispatchEvent(
-          new ReactTextChangedEvent(
+          ReactTextChangedEvent.obtain(
               mSurfaceId,
               mEditText.getId(),
               s.toString(),
@@ -1271,7 +1271,7 @@ public class ReactTextInputManager extends BaseViewManager<ReactEditText, Layout
 
       if (mPreviousSelectionStart != realStart || mPreviousSelectionEnd != realEnd) {
         mEventDispatcher.dispatchEvent(
-            new ReactTextInputSelectionEvent(
+            ReactTextInputSelectionEvent.obtain(
                 mSurfaceId, mReactEditText.getId(), realStart, realEnd));
 
         mPreviousSelectionStart = realStart;
@@ -9,17 +9,36 @@ package com.facebook.react.views.textinput;
 
 import androidx.annotation.Nullable;
 import com.facebook.react.bridge.Arguments;
+import com.facebook.react.bridge.ReactSoftExceptionLogger;
 import com.facebook.react.bridge.WritableMap;
 import com.facebook.react.uimanager.common.ViewUtil;
 import com.facebook.react.uimanager.events.Event;
+import com.facebook.react.uimanager.events.EventPool;
 
 /** Event emitted by EditText native view when the text selection changes. */
 /* package */ class ReactTextInputSelectionEvent extends Event<ReactTextInputSelectionEvent> {
 
   private static final String EVENT_NAME = "topSelectionChange";
 
+  private static final String TAG = ReactTextInputSelectionEvent.class.getSimpleName();
+
+  private static final EventPool<ReactTextInputSelectionEvent> EVENTS_POOL =
+      new EventPool<>(4, ReactTextInputSelectionEvent::new);
+
   private int mSelectionStart;
   private int mSelectionEnd;
+  // Whether the event came from obtain(), and not from one of the constructors
+  private boolean mPooled;
+
+  public static ReactTextInputSelectionEvent obtain(
+      int surfaceId, int viewId, int selectionStart, int selectionEnd) {
+    ReactTextInputSelectionEvent event = EVENTS_POOL.acquire();
+    event.mPooled = true;
+    event.init(surfaceId, viewId, selectionStart, selectionEnd);
+    return event;
+  }
+
+  private ReactTextInputSelectionEvent() {}
 
   @Deprecated
   public ReactTextInputSelectionEvent(int viewId, int selectionStart, int selectionEnd) {
@@ -33,6 +52,24 @@ import com.facebook.react.uimanager.events.Event;
     mSelectionEnd = selectionEnd;
   }
 
+  private void init(int surfaceId, int viewId, int selectionStart, int selectionEnd) {
+    super.init(surfaceId, viewId);
+    mSelectionStart = selectionStart;
+    mSelectionEnd = selectionEnd;
+  }
+
+  @Override
+  public void onDispose() {
+    if (!mPooled) {
+      return;
+    }
+    try {
+      EVENTS_POOL.release(this);
+    } catch (IllegalStateException e) {
+      ReactSoftExceptionLogger.logSoftException(TAG, e);
+    }
+  }
+
   @Override
   public String getEventName() {
     return EVENT_NAME;
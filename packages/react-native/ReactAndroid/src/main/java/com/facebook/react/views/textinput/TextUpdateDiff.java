@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package com.facebook.react.views.textinput;
+
+import android.text.style.AbsoluteSizeSpan;
+import android.text.style.BackgroundColorSpan;
+import android.text.style.ForegroundColorSpan;
+import com.facebook.infer.annotation.Nullsafe;
+import com.facebook.react.views.text.internal.span.CustomLetterSpacingSpan;
+import com.facebook.react.views.text.internal.span.CustomLineHeightSpan;
+import com.facebook.react.views.text.internal.span.CustomStyleSpan;
+import com.facebook.react.views.text.internal.span.ReactClickableSpan;
+import com.facebook.react.views.text.internal.span.ReactStrikethroughSpan;
+import com.facebook.react.views.text.internal.span.ReactTagSpan;
+import com.facebook.react.views.text.internal.span.ReactUnderlineSpan;
+import java.util.Objects;
+
+/**
+ * The region of a text that an update changes: the characters in [start, oldEnd) of the current
+ * text are replaced by the characters in [start, newEnd) of the new text, and the characters
+ * around that region are the same in both texts.
+ */
+@Nullsafe(Nullsafe.Mode.LOCAL)
+/* package */ final class TextUpdateDiff {
+
+  private final int mStart;
+  private final int mOldEnd;
+  private final int mNewEnd;
+
+  private TextUpdateDiff(int start, int oldEnd, int newEnd) {
+    mStart = start;
+    mOldEnd = oldEnd;
+    mNewEnd = newEnd;
+  }
+
+  /* package */ static TextUpdateDiff compute(CharSequence oldText, CharSequence newText) {
+    int oldLength = oldText.length();
+    int newLength = newText.length();
+    int maxLength = Math.min(oldLength, newLength);
+
+    int start = 0;
+    while (start < maxLength && oldText.charAt(start) == newText.charAt(start)) {
+      start++;
+    }
+    // The common suffix can't overlap the common prefix, e.g. "aa" -> "aaa" inserts the last "a"
+    int suffix = 0;
+    while (suffix < maxLength - start
+        && oldText.charAt(oldLength - suffix - 1) == newText.charAt(newLength - suffix - 1)) {
+      suffix++;
+    }
+    return new TextUpdateDiff(start, oldLength - suffix, newLength - suffix);
+  }
+
+  /* package */ int getStart() {
+    return mStart;
+  }
+
+  /* package */ int getOldEnd() {
+    return mOldEnd;
+  }
+
+  /* package */ int getNewEnd() {
+    return mNewEnd;
+  }
+
+  /** @return whether the characters of both texts are the same */
+  /* package */ boolean isEmpty() {
+    return mStart == mOldEnd && mStart == mNewEnd;
+  }
+
+  /**
+   * @return whether two spans, usually created for two updates of the same text, style the text in
+   *     the same way. Spans whose attributes aren't visible here are only the same as themselves.
+   */
+  /* package */ static boolean isSameSpan(Object a, Object b) {
+    if (a == b) {
+      return true;
+    }
+    if (a.getClass() != b.getClass()) {
+      return false;
+    }
+    if (a instanceof AbsoluteSizeSpan) {
+      return ((AbsoluteSizeSpan) a).getSize() == ((AbsoluteSizeSpan) b).getSize()
+          && ((AbsoluteSizeSpan) a).getDip() == ((AbsoluteSizeSpan) b).getDip();
+    }
+    if (a instanceof ForegroundColorSpan) {
+      return ((ForegroundColorSpan) a).getForegroundColor()
+          == ((ForegroundColorSpan) b).getForegroundColor();
+    }
+    if (a instanceof BackgroundColorSpan) {
+      return ((BackgroundColorSpan) a).getBackgroundColor()
+          == ((BackgroundColorSpan) b).getBackgroundColor();
+    }
+    if (a instanceof ReactStrikethroughSpan || a instanceof ReactUnderlineSpan) {
+      return true;
+    }
+    if (a instanceof CustomLetterSpacingSpan) {
+      float spacingA = ((CustomLetterSpacingSpan) a).getSpacing();
+      float spacingB = ((CustomLetterSpacingSpan) b).getSpacing();
+      return Float.compare(spacingA, spacingB) == 0;
+    }
+    if (a instanceof CustomLineHeightSpan) {
+      return ((CustomLineHeightSpan) a).getLineHeight()
+          == ((CustomLineHeightSpan) b).getLineHeight();
+    }
+    if (a instanceof CustomStyleSpan) {
+      CustomStyleSpan styleA = (CustomStyleSpan) a;
+      CustomStyleSpan styleB = (CustomStyleSpan) b;
+      return styleA.getStyle() == styleB.getStyle()
+          && styleA.getWeight() == styleB.getWeight()
+          && Objects.equals(styleA.getFontFamily(), styleB.getFontFamily())
+          && Objects.equals(styleA.getFontFeatureSettings(), styleB.getFontFeatureSettings());
+    }
+    if (a instanceof ReactTagSpan) {
+      return ((ReactTagSpan) a).getReactTag() == ((ReactTagSpan) b).getReactTag();
+    }
+    if (a instanceof ReactClickableSpan) {
+      return ((ReactClickableSpan) a).getReactTag() == ((ReactClickableSpan) b).getReactTag();
+    }
+    return false;
+  }
+}
@@ -278,8 +278,7 @@ public class ReactViewManager extends ReactClippingViewManager<ReactViewGroup> {
                 return;
               }
               mEventDispatcher.dispatchEvent(
-                  new ViewGroupClickEvent(
-                      UIManagerHelper.getSurfaceId(view.getContext()), view.getId()));
+                  new ViewGroupClickEvent(UIManagerHelper.getSurfaceId(view), view.getId()));
             }
           });
 
@@ -8,6 +8,10 @@
 #include "EventEmitterWrapper.h"
 #include <fbjni/fbjni.h>
 
+#include <optional>
+#include <string>
+#include <vector>
+
 using namespace facebook::jni;
 
 namespace facebook::react {
@@ -55,9 +59,53 @@ void EventEmitterWrapper::dispatchUniqueEvent(
   }
 }
 
+void EventEmitterWrapper::dispatchEvents(
+    alias_ref<jclass> /*unused*/,
+    alias_ref<JArrayClass<EventEmitterWrapper::javaobject>> emitters,
+    alias_ref<JArrayClass<jstring>> eventNames,
+    alias_ref<JArrayInt> emitterIndices,
+    alias_ref<JArrayInt> nameIndices,
+    alias_ref<JArrayClass<NativeMap::javaobject>> params,
+    alias_ref<JArrayInt> categories,
+    int count) {
+  auto pinnedEmitterIndices = emitterIndices->pin();
+  auto pinnedNameIndices = nameIndices->pin();
+  auto pinnedCategories = categories->pin();
+
+  // Emitters and names are read lazily, once each
+  std::vector<EventEmitterWrapper*> resolvedEmitters(emitters->size(), nullptr);
+  std::vector<bool> emitterResolved(emitters->size(), false);
+  std::vector<std::optional<std::string>> resolvedNames(eventNames->size());
+
+  for (int i = 0; i < count; i++) {
+    int emitterIndex = pinnedEmitterIndices[i];
+    if (!emitterResolved[emitterIndex]) {
+      auto emitter = emitters->getElement(emitterIndex);
+      resolvedEmitters[emitterIndex] = emitter ? emitter->cthis() : nullptr;
+      emitterResolved[emitterIndex] = true;
+    }
+    EventEmitterWrapper* emitter = resolvedEmitters[emitterIndex];
+    if (emitter == nullptr) {
+      continue;
+    }
+
+    int nameIndex = pinnedNameIndices[i];
+    if (!resolvedNames[nameIndex].has_value()) {
+      resolvedNames[nameIndex] = eventNames->getElement(nameIndex)->toStdString();
+    }
+
+    auto payload = params->getElement(i);
+    emitter->dispatchEvent(
+        *resolvedNames[nameIndex],
+        payload ? payload->cthis() : nullptr,
+        pinnedCategories[i]);
+  }
+}
+
 void EventEmitterWrapper::registerNatives() {
   registerHybrid({
       makeNativeMethod("dispatchEvent", EventEmitterWrapper::dispatchEvent),
+      makeNativeMethod("dispatchEvents", EventEmitterWrapper::dispatchEvents),
       makeNativeMethod(
           "dispatchUniqueEvent", EventEmitterWrapper::dispatchUniqueEvent),
       makeNativeMethod(
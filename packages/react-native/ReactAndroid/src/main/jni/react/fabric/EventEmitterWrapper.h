@@ -30,6 +30,24 @@ class EventEmitterWrapper : public jni::HybridClass<EventEmitterWrapper> {
   void dispatchEvent(std::string eventName, NativeMap* params, int category);
   void dispatchEventSynchronously(std::string eventName, NativeMap* params);
   void dispatchUniqueEvent(std::string eventName, NativeMap* params);
+
+  /*
+   * Dispatches the first `count` events of the arrays, each through its own
+   * emitter, in order. Used to send all the events of a beat in a single JNI
+   * call. Events refer to their emitter and name by index, so that each
+   * distinct emitter and name is only read once; events of a null emitter are
+   * skipped.
+   */
+  static void dispatchEvents(
+      jni::alias_ref<jclass>,
+      jni::alias_ref<jni::JArrayClass<EventEmitterWrapper::javaobject>>
+          emitters,
+      jni::alias_ref<jni::JArrayClass<jstring>> eventNames,
+      jni::alias_ref<jni::JArrayInt> emitterIndices,
+      jni::alias_ref<jni::JArrayInt> nameIndices,
+      jni::alias_ref<jni::JArrayClass<NativeMap::javaobject>> params,
+      jni::alias_ref<jni::JArrayInt> categories,
+      int count);
 };
 
 } // namespace facebook::react
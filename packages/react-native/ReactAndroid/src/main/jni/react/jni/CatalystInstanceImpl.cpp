@@ -107,6 +107,7 @@ void CatalystInstanceImpl::registerNatives() {
           "jniLoadScriptFromFile", CatalystInstanceImpl::jniLoadScriptFromFile),
       makeNativeMethod(
           "jniCallJSFunction", CatalystInstanceImpl::jniCallJSFunction),
+      makeNativeMethod("jniCallJSBatch", CatalystInstanceImpl::jniCallJSBatch),
       makeNativeMethod(
           "jniCallJSCallback", CatalystInstanceImpl::jniCallJSCallback),
       makeNativeMethod(
@@ -309,6 +310,29 @@ void CatalystInstanceImpl::jniCallJSFunction(
       std::move(module), std::move(method), arguments->consume());
 }
 
+void CatalystInstanceImpl::jniCallJSBatch(
+    jni::alias_ref<jni::JArrayClass<jstring>> modules,
+    jni::alias_ref<jni::JArrayClass<jstring>> methods,
+    jni::alias_ref<jni::JArrayInt> callbackIds,
+    jni::alias_ref<jni::JArrayClass<NativeArray::javaobject>> arguments,
+    jint count) {
+  auto ids = callbackIds->getRegion(0, count);
+  folly::dynamic calls = folly::dynamic::array();
+  for (jint i = 0; i < count; i++) {
+    auto module = modules->getElement(i);
+    auto callArguments = arguments->getElement(i)->cthis()->consume();
+    if (module) {
+      calls.push_back(folly::dynamic::array(
+          module->toStdString(),
+          methods->getElement(i)->toStdString(),
+          std::move(callArguments)));
+    } else {
+      calls.push_back(folly::dynamic::array(ids[i], std::move(callArguments)));
+    }
+  }
+  instance_->callJSBatchSync(std::move(calls));
+}
+
 void CatalystInstanceImpl::jniCallJSCallback(
     jint callbackId,
     NativeArray* arguments) {
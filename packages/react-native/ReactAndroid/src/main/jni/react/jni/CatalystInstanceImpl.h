@@ -19,13 +19,13 @@
 #include "JSLoader.h"
 #include "JavaModuleWrapper.h"
 #include "ModuleRegistryBuilder.h"
+#include "NativeArray.h"
 #include "ReactInstanceManagerInspectorTarget.h"
 
 namespace facebook::react {
 
 class Instance;
 class JavaScriptExecutorHolder;
-class NativeArray;
 
 struct JInstanceCallback : public jni::JavaClass<JInstanceCallback> {
   static constexpr auto kJavaDescriptor =
@@ -93,6 +93,18 @@ class CatalystInstanceImpl : public jni::HybridClass<CatalystInstanceImpl> {
       std::string module,
       std::string method,
       NativeArray* arguments);
+  /*
+   * Makes the first `count` calls in JS, in order and before returning. A call
+   * without a module is the invocation of the callback at its index in
+   * `callbackIds`. Used to send all the calls batched while the JS thread was
+   * busy with a single JNI call.
+   */
+  void jniCallJSBatch(
+      jni::alias_ref<jni::JArrayClass<jstring>> modules,
+      jni::alias_ref<jni::JArrayClass<jstring>> methods,
+      jni::alias_ref<jni::JArrayInt> callbackIds,
+      jni::alias_ref<jni::JArrayClass<NativeArray::javaobject>> arguments,
+      jint count);
   void jniCallJSCallback(jint callbackId, NativeArray* arguments);
   jni::alias_ref<CallInvokerHolder::javaobject> getJSCallInvokerHolder();
   jni::alias_ref<NativeMethodCallInvokerHolder::javaobject>
@@ -0,0 +1,70 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+#include "JSBundlePageProfile.h"
+
+#include <fcntl.h>
+#include <sys/mman.h>
+#include <sys/stat.h>
+#include <unistd.h>
+
+#include <vector>
+
+namespace facebook::react {
+
+jni::local_ref<jni::JArrayBoolean> JSBundlePageProfile::nativeGetResidentChunks(
+    jni::alias_ref<jclass> /* unused */,
+    std::string path,
+    jint chunkSize) {
+  int fd = open(path.c_str(), O_RDONLY | O_CLOEXEC);
+  if (fd < 0) {
+    return nullptr;
+  }
+  struct stat fileInfo {};
+  if (fstat(fd, &fileInfo) != 0 || fileInfo.st_size <= 0) {
+    close(fd);
+    return nullptr;
+  }
+  auto length = static_cast<size_t>(fileInfo.st_size);
+  // The whole bundle is mapped once, mincore then reports every page of it
+  void* data = mmap(nullptr, length, PROT_READ, MAP_SHARED, fd, 0);
+  close(fd);
+  if (data == MAP_FAILED) {
+    return nullptr;
+  }
+  auto pageSize = static_cast<size_t>(sysconf(_SC_PAGESIZE));
+  std::vector<unsigned char> residentPages((length + pageSize - 1) / pageSize);
+  int result = mincore(data, length, residentPages.data());
+  munmap(data, length);
+  if (result != 0) {
+    return nullptr;
+  }
+
+  // The chunk size is a multiple of the page size, a chunk is resident when
+  // all of its pages are
+  auto chunkLength = static_cast<size_t>(chunkSize);
+  std::vector<jboolean> residentChunks(
+      (length + chunkLength - 1) / chunkLength, JNI_TRUE);
+  for (size_t page = 0; page < residentPages.size(); page++) {
+    if ((residentPages[page] & 1) == 0) {
+      residentChunks[page * pageSize / chunkLength] = JNI_FALSE;
+    }
+  }
+  auto chunks = jni::JArrayBoolean::newArray(residentChunks.size());
+  chunks->setRegion(0, residentChunks.size(), residentChunks.data());
+  return chunks;
+}
+
+void JSBundlePageProfile::registerNatives() {
+  javaClassStatic()->registerNatives({
+      makeNativeMethod(
+          "nativeGetResidentChunks",
+          JSBundlePageProfile::nativeGetResidentChunks),
+  });
+}
+
+} // namespace facebook::react
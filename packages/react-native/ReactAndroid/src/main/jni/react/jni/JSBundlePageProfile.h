@@ -0,0 +1,28 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+#pragma once
+
+#include <fbjni/fbjni.h>
+#include <string>
+
+namespace facebook::react {
+
+class JSBundlePageProfile : public jni::JavaClass<JSBundlePageProfile> {
+ public:
+  static constexpr auto kJavaDescriptor =
+      "Lcom/facebook/react/bridge/JSBundlePageProfile;";
+  static void registerNatives();
+
+ private:
+  static jni::local_ref<jni::JArrayBoolean> nativeGetResidentChunks(
+      jni::alias_ref<jclass> /* unused */,
+      std::string path,
+      jint chunkSize);
+};
+
+} // namespace facebook::react
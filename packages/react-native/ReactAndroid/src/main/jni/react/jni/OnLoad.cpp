@@ -17,6 +17,7 @@
 #include "JCallback.h"
 #include "JInspector.h"
 #include "JReactMarker.h"
+#include "JSBundlePageProfile.h"
 #include "JavaScriptExecutorHolder.h"
 #include "ProxyExecutor.h"
 #include "ReactInstanceManagerInspectorTarget.h"
@@ -90,6 +91,7 @@ extern "C" JNIEXPORT jint JNI_OnLoad(JavaVM* vm, void* reserved) {
     ReadableNativeMap::registerNatives();
     WritableNativeMap::registerNatives();
     JReactMarker::registerNatives();
+    JSBundlePageProfile::registerNatives();
     JInspector::registerNatives();
     ReactInstanceManagerInspectorTarget::registerNatives();
   });
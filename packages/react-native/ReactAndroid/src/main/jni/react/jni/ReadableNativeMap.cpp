@@ -7,6 +7,8 @@
 
 #include "ReadableNativeMap.h"
 
+#include <vector>
+
 using namespace facebook::jni;
 
 namespace facebook::react {
@@ -59,46 +61,88 @@ void addDynamicToJArray(
   }
 }
 
-local_ref<JArrayClass<jstring>> ReadableNativeMap::importKeys() {
-  throwIfConsumed();
-
-  keys_ = folly::dynamic::array();
-  if (map_ == nullptr) {
-    return JArrayClass<jstring>::newArray(0);
-  }
-  auto jarray = JArrayClass<jstring>::newArray(map_.size());
-  jint i = 0;
-  for (auto& pair : map_.items()) {
-    auto value = pair.first.asString();
-    (*keys_).push_back(value);
-    (*jarray)[i++] = make_jstring(value);
+namespace {
+
+// Must match the ordinals of com.facebook.react.bridge.ReadableType
+enum class ReadableTypeTag : jbyte {
+  Null = 0,
+  Boolean = 1,
+  Number = 2,
+  String = 3,
+  Map = 4,
+  Array = 5,
+};
+
+ReadableTypeTag getTypeTag(folly::dynamic::Type type) {
+  switch (type) {
+    case folly::dynamic::Type::NULLT:
+      return ReadableTypeTag::Null;
+    case folly::dynamic::Type::BOOL:
+      return ReadableTypeTag::Boolean;
+    case folly::dynamic::Type::DOUBLE:
+    case folly::dynamic::Type::INT64:
+      return ReadableTypeTag::Number;
+    case folly::dynamic::Type::STRING:
+      return ReadableTypeTag::String;
+    case folly::dynamic::Type::OBJECT:
+      return ReadableTypeTag::Map;
+    case folly::dynamic::Type::ARRAY:
+      return ReadableTypeTag::Array;
+    default:
+      throwNewJavaException(
+          exceptions::gUnexpectedNativeTypeExceptionClass, "Unknown type");
   }
-
-  return jarray;
 }
 
-local_ref<JArrayClass<jobject>> ReadableNativeMap::importValues() {
-  throwIfConsumed();
-
-  auto size = static_cast<jint>(keys_.value().size());
-  auto jarray = JArrayClass<jobject>::newArray(size);
-  for (jint ii = 0; ii < size; ii++) {
-    const std::string& key = (*keys_)[ii].getString();
-    addDynamicToJArray(jarray, ii, map_.at(key));
-  }
-  return jarray;
-}
+} // namespace
 
-local_ref<JArrayClass<jobject>> ReadableNativeMap::importTypes() {
+local_ref<JArrayClass<jobject>> ReadableNativeMap::importEntries() {
   throwIfConsumed();
 
-  auto size = static_cast<jint>(keys_.value().size());
-  auto jarray = JArrayClass<jobject>::newArray(size);
-  for (jint ii = 0; ii < size; ii++) {
-    const std::string& key = (*keys_)[ii].getString();
-    (*jarray)[ii] = ReadableType::getType(map_.at(key).type());
+  auto size = map_ == nullptr ? 0 : static_cast<jint>(map_.size());
+  auto jkeys = JArrayClass<jstring>::newArray(size);
+  auto jtypes = JArrayByte::newArray(size);
+  auto jnumbers = JArrayDouble::newArray(size);
+  auto jobjects = JArrayClass<jobject>::newArray(size);
+
+  if (size > 0) {
+    std::vector<jbyte> types(size);
+    std::vector<jdouble> numbers(size);
+    jint i = 0;
+    for (auto& pair : map_.items()) {
+      const folly::dynamic& value = pair.second;
+      (*jkeys)[i] = make_jstring(pair.first.asString());
+      types[i] = static_cast<jbyte>(getTypeTag(value.type()));
+      switch (value.type()) {
+        case folly::dynamic::Type::BOOL:
+          numbers[i] = value.getBool() ? 1 : 0;
+          break;
+        case folly::dynamic::Type::INT64:
+          numbers[i] = static_cast<jdouble>(value.getInt());
+          break;
+        case folly::dynamic::Type::DOUBLE:
+          numbers[i] = value.getDouble();
+          break;
+        case folly::dynamic::Type::STRING:
+        case folly::dynamic::Type::OBJECT:
+        case folly::dynamic::Type::ARRAY:
+          addDynamicToJArray(jobjects, i, value);
+          break;
+        default:
+          break;
+      }
+      i++;
+    }
+    jtypes->setRegion(0, size, types.data());
+    jnumbers->setRegion(0, size, numbers.data());
   }
-  return jarray;
+
+  auto entries = JArrayClass<jobject>::newArray(4);
+  entries->setElement(0, jkeys.get());
+  entries->setElement(1, jtypes.get());
+  entries->setElement(2, jnumbers.get());
+  entries->setElement(3, jobjects.get());
+  return entries;
 }
 
 local_ref<ReadableNativeMap::jhybridobject>
@@ -119,9 +163,7 @@ ReadableNativeMap::createWithContents(folly::dynamic&& map) {
 
 void ReadableNativeMap::registerNatives() {
   registerHybrid({
-      makeNativeMethod("importKeys", ReadableNativeMap::importKeys),
-      makeNativeMethod("importValues", ReadableNativeMap::importValues),
-      makeNativeMethod("importTypes", ReadableNativeMap::importTypes),
+      makeNativeMethod("importEntries", ReadableNativeMap::importEntries),
   });
 }
 
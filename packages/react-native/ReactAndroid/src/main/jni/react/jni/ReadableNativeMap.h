@@ -34,10 +34,8 @@ struct ReadableNativeMap : jni::HybridClass<ReadableNativeMap, NativeMap> {
   static auto constexpr kJavaDescriptor =
       "Lcom/facebook/react/bridge/ReadableNativeMap;";
 
-  jni::local_ref<jni::JArrayClass<jstring>> importKeys();
-  jni::local_ref<jni::JArrayClass<jobject>> importValues();
-  jni::local_ref<jni::JArrayClass<jobject>> importTypes();
-  std::optional<folly::dynamic> keys_;
+  // Returns [String[] keys, byte[] types, double[] numbers, Object[] objects]
+  jni::local_ref<jni::JArrayClass<jobject>> importEntries();
   static jni::local_ref<jhybridobject> createWithContents(folly::dynamic&& map);
 
   static void mapException(std::exception_ptr ex);
@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package com.facebook.react
+
+import android.os.SystemClock
+import com.facebook.react.bridge.JSBundleLoader
+import com.facebook.react.bridge.ReactMarker
+import com.facebook.react.bridge.ReactMarkerConstants
+import java.io.File
+import org.assertj.core.api.Assertions.assertThat
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.robolectric.RobolectricTestRunner
+
+/** Tests for [ReactStartupTimeline] */
+@RunWith(RobolectricTestRunner::class)
+class ReactStartupTimelineTest {
+
+  @Test
+  fun testRecordsStagesInStartOrder() {
+    val timeline = ReactStartupTimeline(true)
+
+    timeline.beginStage(ReactStartupTimeline.STAGE_PROCESS_PACKAGES)
+    timeline.beginStage(ReactStartupTimeline.STAGE_CREATE_JS_EXECUTOR)
+    SystemClock.sleep(10)
+    timeline.endStage(ReactStartupTimeline.STAGE_CREATE_JS_EXECUTOR)
+    SystemClock.sleep(5)
+    timeline.endStage(ReactStartupTimeline.STAGE_PROCESS_PACKAGES)
+
+    assertThat(timeline.isOverlapped).isTrue()
+    assertThat(timeline.stages.map { it.name })
+        .containsExactly(
+            ReactStartupTimeline.STAGE_PROCESS_PACKAGES,
+            ReactStartupTimeline.STAGE_CREATE_JS_EXECUTOR)
+    assertThat(timeline.stageDurationsMs)
+        .containsEntry(ReactStartupTimeline.STAGE_CREATE_JS_EXECUTOR, 10L)
+        .containsEntry(ReactStartupTimeline.STAGE_PROCESS_PACKAGES, 15L)
+  }
+
+  @Test
+  fun testUnfinishedStagesAreNotReported() {
+    val timeline = ReactStartupTimeline(false)
+
+    timeline.beginStage(ReactStartupTimeline.STAGE_RUN_JS_BUNDLE)
+
+    assertThat(timeline.getStage(ReactStartupTimeline.STAGE_RUN_JS_BUNDLE)?.durationMs)
+        .isEqualTo(-1L)
+    assertThat(timeline.stageDurationsMs).isEmpty()
+    assertThat(timeline.totalDurationMs).isEqualTo(-1L)
+  }
+
+  @Test
+  fun testTotalDurationCoversWholeStartup() {
+    val timeline = ReactStartupTimeline(false)
+    SystemClock.sleep(20)
+    timeline.finish()
+
+    assertThat(timeline.totalDurationMs).isEqualTo(20L)
+  }
+
+  @Test
+  fun testRunJSBundleEndsWhenTheBundleHasRun() {
+    val timeline = ReactStartupTimeline(false)
+
+    timeline.beginRunJSBundle()
+    SystemClock.sleep(10)
+    assertThat(timeline.getStage(ReactStartupTimeline.STAGE_RUN_JS_BUNDLE)?.durationMs)
+        .isEqualTo(-1L)
+
+    ReactMarker.logMarker(ReactMarkerConstants.RUN_JS_BUNDLE_END)
+    SystemClock.sleep(5)
+    assertThat(timeline.getStage(ReactStartupTimeline.STAGE_RUN_JS_BUNDLE)?.durationMs)
+        .isEqualTo(10L)
+    assertThat(timeline.totalDurationMs).isEqualTo(-1L)
+
+    ReactMarker.logMarker(ReactMarkerConstants.CONTENT_APPEARED)
+    assertThat(timeline.totalDurationMs).isEqualTo(15L)
+
+    // Later content doesn't move the end of the startup
+    SystemClock.sleep(5)
+    ReactMarker.logMarker(ReactMarkerConstants.CONTENT_APPEARED)
+    assertThat(timeline.totalDurationMs).isEqualTo(15L)
+  }
+
+  @Test
+  fun testFileLoaderPrefetchReadsWholeBundle() {
+    val bundle = File.createTempFile("index.android", ".bundle")
+    bundle.writeBytes(ByteArray(200 * 1024))
+
+    assertThat(JSBundleLoader.createFileLoader(bundle.path).prefetch()).isEqualTo(200 * 1024L)
+    assertThat(JSBundleLoader.createFileLoader(bundle.path + ".missing").prefetch()).isEqualTo(0L)
+
+    bundle.delete()
+  }
+}
@@ -0,0 +1,176 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package com.facebook.react.bridge
+
+import com.facebook.react.config.ReactFeatureFlags
+import java.io.File
+import java.util.concurrent.Executor
+import org.assertj.core.api.Assertions.assertThat
+import org.junit.After
+import org.junit.Before
+import org.junit.Rule
+import org.junit.Test
+import org.junit.rules.TemporaryFolder
+import org.junit.runner.RunWith
+import org.mockito.ArgumentMatchers.any
+import org.mockito.MockedStatic
+import org.mockito.Mockito.CALLS_REAL_METHODS
+import org.mockito.Mockito.mock
+import org.mockito.Mockito.mockStatic
+import org.mockito.Mockito.never
+import org.robolectric.RobolectricTestRunner
+
+/** Tests for [JSBundlePageProfile] and the page prefetch of the file [JSBundleLoader] */
+@RunWith(RobolectricTestRunner::class)
+class JSBundlePageProfileTest {
+
+  @get:Rule val temporaryFolder = TemporaryFolder()
+
+  private lateinit var bundle: File
+  private lateinit var profileStatic: MockedStatic<JSBundlePageProfile>
+  private lateinit var backgroundExecutor: Executor
+  private val markers = mutableListOf<Pair<ReactMarkerConstants, String?>>()
+  private val markerListener =
+      ReactMarker.MarkerListener { name, tag, _ -> markers.add(Pair(name, tag)) }
+
+  @Before
+  fun setup() {
+    bundle = temporaryFolder.newFile("index.android.bundle")
+    bundle.writeBytes(ByteArray(BUNDLE_LENGTH))
+    ReactFeatureFlags.enableBundlePagePrefetch = true
+    // Runs the background work inline, so that it's done when the call that started it returns
+    backgroundExecutor = JSBundleLoader.sBackgroundExecutor
+    JSBundleLoader.sBackgroundExecutor = Executor { it.run() }
+    // Page residency is checked natively, the recording gets the profile the test creates instead
+    profileStatic = mockStatic(JSBundlePageProfile::class.java, CALLS_REAL_METHODS)
+    profileStatic
+        .`when`<JSBundlePageProfile> { JSBundlePageProfile.recordResidentPages(any()) }
+        .thenAnswer { createProfile() }
+    ReactMarker.addListener(markerListener)
+  }
+
+  @After
+  fun tearDown() {
+    ReactMarker.removeListener(markerListener)
+    profileStatic.close()
+    JSBundleLoader.sBackgroundExecutor = backgroundExecutor
+    ReactFeatureFlags.enableBundlePagePrefetch = false
+  }
+
+  @Test
+  fun testProfileIsStoredNextToTheBundle() {
+    createProfile().write(bundle)
+
+    assertThat(File(bundle.path + JSBundlePageProfile.FILE_SUFFIX).exists()).isTrue()
+    val profile = JSBundlePageProfile.read(bundle)
+    assertThat(profile).isNotNull()
+    assertThat(profile!!.rangeCount).isEqualTo(2)
+    assertThat(profile.byteCount).isEqualTo(3L * JSBundlePageProfile.CHUNK_SIZE)
+  }
+
+  @Test
+  fun testProfileOfAnotherVersionOfTheBundleIsIgnored() {
+    createProfile().write(bundle)
+    bundle.appendBytes(ByteArray(1))
+
+    assertThat(JSBundlePageProfile.read(bundle)).isNull()
+  }
+
+  @Test
+  fun testOnlyTheProfiledPagesArePrefetched() {
+    createProfile().write(bundle)
+    val loader = JSBundleLoader.createFileLoader(bundle.path)
+
+    assertThat(loader.prefetch()).isEqualTo(3L * JSBundlePageProfile.CHUNK_SIZE)
+    assertThat(markers)
+        .containsSubsequence(
+            Pair(ReactMarkerConstants.JS_BUNDLE_PREFETCH_START, null),
+            Pair(
+                ReactMarkerConstants.JS_BUNDLE_PREFETCH_END,
+                (3L * JSBundlePageProfile.CHUNK_SIZE).toString()))
+  }
+
+  @Test
+  fun testProfiledPagesArePrefetchedWhenLoadingWithoutPrefetch() {
+    createProfile().write(bundle)
+    val loader = JSBundleLoader.createFileLoader(bundle.path)
+
+    loader.loadScript(mock(JSBundleLoaderDelegate::class.java))
+
+    assertThat(markers)
+        .containsSubsequence(
+            Pair(ReactMarkerConstants.JS_BUNDLE_PREFETCH_START, null),
+            Pair(
+                ReactMarkerConstants.JS_BUNDLE_PREFETCH_END,
+                (3L * JSBundlePageProfile.CHUNK_SIZE).toString()))
+  }
+
+  @Test
+  fun testProfileIsRecordedInsteadOfPrefetchingWithoutAProfile() {
+    val loader = JSBundleLoader.createFileLoader(bundle.path)
+
+    assertThat(loader.prefetch()).isEqualTo(0)
+
+    ReactMarker.logMarker(ReactMarkerConstants.CONTENT_APPEARED)
+    assertThat(File(bundle.path + JSBundlePageProfile.FILE_SUFFIX).exists()).isTrue()
+    assertThat(JSBundlePageProfile.read(bundle)!!.byteCount)
+        .isEqualTo(3L * JSBundlePageProfile.CHUNK_SIZE)
+  }
+
+  @Test
+  fun testProfileIsNotRecordedOnceTheInstanceIsDestroyed() {
+    val loader = JSBundleLoader.createFileLoader(bundle.path)
+    loader.prefetch()
+
+    loader.onInstanceDestroyed()
+    ReactMarker.logMarker(ReactMarkerConstants.CONTENT_APPEARED)
+
+    assertThat(File(bundle.path + JSBundlePageProfile.FILE_SUFFIX).exists()).isFalse()
+    profileStatic.verify(never()) { JSBundlePageProfile.recordResidentPages(any()) }
+    // The bundle can be recorded again by the next loader
+    JSBundleLoader.createFileLoader(bundle.path).prefetch()
+    ReactMarker.logMarker(ReactMarkerConstants.CONTENT_APPEARED)
+    assertThat(File(bundle.path + JSBundlePageProfile.FILE_SUFFIX).exists()).isTrue()
+  }
+
+  @Test
+  fun testWholeBundleIsPrefetchedWhenDisabled() {
+    ReactFeatureFlags.enableBundlePagePrefetch = false
+    val loader = JSBundleLoader.createFileLoader(bundle.path)
+
+    assertThat(loader.prefetch()).isEqualTo(BUNDLE_LENGTH.toLong())
+  }
+
+  @Test
+  fun testResidentChunksAreMergedIntoRanges() {
+    val length = BUNDLE_LENGTH - 100L
+    bundle.writeBytes(ByteArray(length.toInt()))
+    val profile =
+        JSBundlePageProfile.fromResidentChunks(
+            length,
+            bundle.lastModified(),
+            booleanArrayOf(true, true, false, true, false, false, true, true))
+    profile.write(bundle)
+
+    val chunk = JSBundlePageProfile.CHUNK_SIZE.toLong()
+    assertThat(profile.rangeCount).isEqualTo(3)
+    // The last range ends with the bundle
+    assertThat(profile.byteCount).isEqualTo(3 * chunk + length - 6 * chunk)
+    assertThat(JSBundlePageProfile.read(bundle)!!.byteCount).isEqualTo(profile.byteCount)
+  }
+
+  private fun createProfile(): JSBundlePageProfile {
+    val chunk = JSBundlePageProfile.CHUNK_SIZE.toLong()
+    return JSBundlePageProfile(
+        bundle.length(), bundle.lastModified(), longArrayOf(0, chunk, 4 * chunk, 2 * chunk))
+  }
+
+  private companion object {
+    const val BUNDLE_LENGTH = 8 * JSBundlePageProfile.CHUNK_SIZE
+  }
+}
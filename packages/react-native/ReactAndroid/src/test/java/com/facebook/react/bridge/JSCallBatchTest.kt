@@ -0,0 +1,68 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package com.facebook.react.bridge
+
+import com.facebook.react.bridge.CatalystInstanceImpl.PendingJSCall
+import com.facebook.react.bridge.JSCallBatch.PendingJSCallback
+import com.facebook.testutils.shadows.ShadowSoLoader
+import org.assertj.core.api.Assertions.assertThat
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.mockito.Mockito.mock
+import org.robolectric.RobolectricTestRunner
+import org.robolectric.annotation.Config
+
+/** Tests for [JSCallBatch] */
+@RunWith(RobolectricTestRunner::class)
+@Config(shadows = [ShadowSoLoader::class])
+class JSCallBatchTest {
+
+  @Test
+  fun testOnlyTheFirstCallSchedulesAFlush() {
+    val batch = JSCallBatch()
+
+    assertThat(batch.add(PendingJSCall("RCTDeviceEventEmitter", "emit", null))).isTrue()
+    assertThat(batch.add(PendingJSCall("RCTDeviceEventEmitter", "emit", null))).isFalse()
+    batch.takeAll()
+    assertThat(batch.add(PendingJSCall("RCTDeviceEventEmitter", "emit", null))).isTrue()
+  }
+
+  @Test
+  fun testCallsAreTakenInOrder() {
+    val batch = JSCallBatch()
+    val batchesBefore = JSCallBatch.getBatchCount()
+    val callsBefore = JSCallBatch.getCallCount()
+    batch.add(PendingJSCall("AppState", "change", null))
+    batch.add(PendingJSCall("Dimensions", "change", null))
+
+    val calls = batch.takeAll()
+
+    assertThat(calls.map { (it as PendingJSCall).mModule })
+        .containsExactly("AppState", "Dimensions")
+    assertThat(batch.takeAll()).isEmpty()
+    assertThat(JSCallBatch.getBatchCount() - batchesBefore).isEqualTo(1)
+    assertThat(JSCallBatch.getCallCount() - callsBefore).isEqualTo(2)
+  }
+
+  @Test
+  fun testCallbacksAreTakenInOrderWithTheCalls() {
+    val batch = JSCallBatch()
+    val arguments = mock(NativeArray::class.java)
+
+    assertThat(batch.addCallback(1, arguments)).isTrue()
+    assertThat(batch.add(PendingJSCall("AppState", "change", null))).isFalse()
+    assertThat(batch.addCallback(2, arguments)).isFalse()
+
+    val calls =
+        batch.takeAll().map {
+          if (it is PendingJSCall) it.mModule else (it as PendingJSCallback).mCallbackID
+        }
+
+    assertThat(calls).containsExactly(1, "AppState", 2)
+  }
+}
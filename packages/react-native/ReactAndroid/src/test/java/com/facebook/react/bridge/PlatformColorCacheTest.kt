@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package com.facebook.react.bridge
+
+import android.graphics.Color
+import android.view.ContextThemeWrapper
+import com.facebook.react.config.ReactFeatureFlags
+import org.assertj.core.api.Assertions.assertThat
+import org.junit.After
+import org.junit.Before
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.robolectric.RobolectricTestRunner
+import org.robolectric.RuntimeEnvironment
+
+/** Tests for [PlatformColorCache] */
+@RunWith(RobolectricTestRunner::class)
+class PlatformColorCacheTest {
+
+  // The cache is process-wide, so its counters carry over between tests
+  private var initialHitCount = 0
+  private var initialMissCount = 0
+
+  @Before
+  fun setup() {
+    ReactFeatureFlags.enablePlatformColorCache = true
+    PlatformColorCache.clear()
+    initialHitCount = PlatformColorCache.getHitCount()
+    initialMissCount = PlatformColorCache.getMissCount()
+  }
+
+  @After
+  fun tearDown() {
+    ReactFeatureFlags.enablePlatformColorCache = false
+    PlatformColorCache.clear()
+  }
+
+  @Test
+  fun testResolvedColorsAreCached() {
+    val context = RuntimeEnvironment.getApplication()
+
+    assertThat(ColorPropConverter.resolveResourcePath(context, BLACK)).isEqualTo(Color.BLACK)
+    assertThat(ColorPropConverter.resolveResourcePath(context, BLACK)).isEqualTo(Color.BLACK)
+
+    assertThat(hits()).isEqualTo(1)
+    assertThat(misses()).isEqualTo(1)
+  }
+
+  @Test
+  fun testUnresolvedPathsAreCached() {
+    val context = RuntimeEnvironment.getApplication()
+
+    assertThat(ColorPropConverter.resolveResourcePath(context, MISSING)).isNull()
+    assertThat(ColorPropConverter.resolveResourcePath(context, MISSING)).isNull()
+
+    assertThat(hits()).isEqualTo(1)
+    assertThat(misses()).isEqualTo(1)
+  }
+
+  @Test
+  fun testConfigurationChangeInvalidatesColors() {
+    val context = RuntimeEnvironment.getApplication()
+
+    ColorPropConverter.resolveResourcePath(context, BLACK)
+    PlatformColorCache.onConfigurationChanged()
+    ColorPropConverter.resolveResourcePath(context, BLACK)
+
+    assertThat(hits()).isEqualTo(0)
+    assertThat(misses()).isEqualTo(2)
+  }
+
+  @Test
+  fun testThemeAttributesAreCachedPerTheme() {
+    val application = RuntimeEnvironment.getApplication()
+    val light = ContextThemeWrapper(application, android.R.style.Theme_Material_Light)
+    val dark = ContextThemeWrapper(application, android.R.style.Theme_Material)
+
+    val lightColor = ColorPropConverter.resolveResourcePath(light, FOREGROUND)
+    val darkColor = ColorPropConverter.resolveResourcePath(dark, FOREGROUND)
+
+    assertThat(lightColor).isNotNull().isNotEqualTo(darkColor)
+    assertThat(ColorPropConverter.resolveResourcePath(light, FOREGROUND)).isEqualTo(lightColor)
+    assertThat(ColorPropConverter.resolveResourcePath(dark, FOREGROUND)).isEqualTo(darkColor)
+    assertThat(hits()).isEqualTo(2)
+    assertThat(misses()).isEqualTo(2)
+  }
+
+  private fun hits(): Int = PlatformColorCache.getHitCount() - initialHitCount
+
+  private fun misses(): Int = PlatformColorCache.getMissCount() - initialMissCount
+
+  private companion object {
+    const val BLACK = "@android:color/black"
+    const val MISSING = "@color/does_not_exist"
+    const val FOREGROUND = "?android:attr/colorForeground"
+  }
+}
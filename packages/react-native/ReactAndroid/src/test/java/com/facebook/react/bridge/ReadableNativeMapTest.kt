@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package com.facebook.react.bridge
+
+import com.facebook.testutils.shadows.ShadowReadableNativeMap
+import com.facebook.testutils.shadows.ShadowSoLoader
+import org.assertj.core.api.Assertions.assertThat
+import org.assertj.core.api.Assertions.assertThatThrownBy
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.robolectric.RobolectricTestRunner
+import org.robolectric.annotation.Config
+
+@RunWith(RobolectricTestRunner::class)
+@Config(shadows = [ShadowSoLoader::class, ShadowReadableNativeMap::class])
+class ReadableNativeMapTest {
+
+  @Test
+  fun testSmallMapReadsEveryType() {
+    val nested = createMap(mapOf("inner" to 1))
+    val map =
+        createMap(
+            mapOf(
+                "bool" to true,
+                "number" to 4.5,
+                "string" to "hello",
+                "null" to null,
+                "map" to nested))
+
+    assertThat(map.getBoolean("bool")).isTrue()
+    assertThat(map.getDouble("number")).isEqualTo(4.5)
+    assertThat(map.getInt("number")).isEqualTo(4)
+    assertThat(map.getString("string")).isEqualTo("hello")
+    assertThat(map.isNull("null")).isTrue()
+    assertThat(map.getString("null")).isNull()
+    assertThat(map.getString("missing")).isNull()
+    assertThat(map.getMap("map")).isSameAs(nested)
+    assertThat(map.getType("number")).isEqualTo(ReadableType.Number)
+    assertThat(map.hasKey("missing")).isFalse()
+  }
+
+  @Test
+  fun testReadsUseSingleJniPass() {
+    val map = createMap((0 until SMALL_MAP_SIZE).associate { "key$it" to it.toDouble() })
+    val passesBefore = ReadableNativeMap.getJNIPassCounter()
+
+    for (i in 0 until SMALL_MAP_SIZE) {
+      assertThat(map.getType("key$i")).isEqualTo(ReadableType.Number)
+      assertThat(map.getDouble("key$i")).isEqualTo(i.toDouble())
+    }
+    map.getEntryIterator().forEach {}
+    map.toHashMap()
+
+    assertThat(ReadableNativeMap.getJNIPassCounter() - passesBefore).isEqualTo(1)
+  }
+
+  @Test
+  fun testLargeMapLookups() {
+    val map = createMap((0 until LARGE_MAP_SIZE).associate { "key$it" to it.toDouble() })
+
+    for (i in 0 until LARGE_MAP_SIZE) {
+      assertThat(map.getInt("key$i")).isEqualTo(i)
+    }
+    assertThat(map.hasKey("key$LARGE_MAP_SIZE")).isFalse()
+    assertThat(map.toHashMap()).hasSize(LARGE_MAP_SIZE)
+  }
+
+  @Test
+  fun testWrongTypeThrows() {
+    val map = createMap(mapOf("string" to "hello"))
+
+    assertThatThrownBy { map.getDouble("string") }
+        .isInstanceOf(UnexpectedNativeTypeException::class.java)
+    assertThatThrownBy { map.getDouble("missing") }.isInstanceOf(NoSuchKeyException::class.java)
+  }
+
+  @Test
+  fun testEqualsAndHashCode() {
+    val first = createMap(mapOf("a" to 1.0, "b" to "c", "d" to null))
+    val second = createMap(mapOf("d" to null, "b" to "c", "a" to 1.0))
+    val different = createMap(mapOf("a" to 2.0, "b" to "c", "d" to null))
+
+    assertThat(first).isEqualTo(second)
+    assertThat(first.hashCode()).isEqualTo(second.hashCode())
+    assertThat(first).isNotEqualTo(different)
+  }
+
+  private fun createMap(contents: Map<String, Any?>): ReadableNativeMap =
+      object : ReadableNativeMap(null) {}.also { ShadowReadableNativeMap.setContents(it, contents) }
+
+  private companion object {
+    const val SMALL_MAP_SIZE = 5
+    const val LARGE_MAP_SIZE = 200
+  }
+}
@@ -0,0 +1,159 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package com.facebook.react.common.mapbuffer
+
+import com.facebook.testutils.shadows.ShadowSoLoader
+import java.io.ByteArrayOutputStream
+import java.nio.ByteBuffer
+import java.nio.ByteOrder
+import org.assertj.core.api.Assertions.assertThat
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.robolectric.RobolectricTestRunner
+import org.robolectric.annotation.Config
+
+/** Tests for [ReadableMapBuffer] */
+@RunWith(RobolectricTestRunner::class)
+@Config(shadows = [ShadowSoLoader::class])
+class ReadableMapBufferTest {
+
+  @Test
+  fun testReadsValues() {
+    val mapBuffer =
+        readableMapBuffer(
+            serialize(
+                KEY_INT to 42,
+                KEY_STRING to "Hello",
+                KEY_MAP to serialize(KEY_STRING to "nested"),
+                KEY_LIST to listOf(serialize(KEY_INT to 1), serialize(KEY_INT to 2))))
+
+    assertThat(mapBuffer.getInt(KEY_INT)).isEqualTo(42)
+    assertThat(mapBuffer.getString(KEY_STRING)).isEqualTo("Hello")
+    assertThat(mapBuffer.getMapBuffer(KEY_MAP).getString(KEY_STRING)).isEqualTo("nested")
+    assertThat(mapBuffer.getMapBufferList(KEY_LIST).map { it.getInt(KEY_INT) })
+        .containsExactly(1, 2)
+  }
+
+  @Test
+  fun testRepeatedReadsReuseDecodedValues() {
+    val fragments = (0 until FRAGMENT_COUNT).map { serialize(KEY_STRING to "Fragment $it") }
+    val mapBuffer = readableMapBuffer(serialize(KEY_LIST to fragments))
+
+    // Measure and mount both walk the same fragments
+    val measured = mapBuffer.getMapBufferList(KEY_LIST).map { it.getString(KEY_STRING) }
+    val mounted = mapBuffer.getMapBufferList(KEY_LIST).map { it.getString(KEY_STRING) }
+
+    assertThat(mapBuffer.getMapBufferList(KEY_LIST)).isSameAs(mapBuffer.getMapBufferList(KEY_LIST))
+    assertThat(mounted).hasSize(FRAGMENT_COUNT)
+    for (i in 0 until FRAGMENT_COUNT) {
+      assertThat(mounted[i]).isEqualTo("Fragment $i").isSameAs(measured[i])
+    }
+  }
+
+  @Test
+  fun testNestedMapBufferIsReused() {
+    val mapBuffer = readableMapBuffer(serialize(KEY_MAP to serialize(KEY_INT to 1)))
+
+    assertThat(mapBuffer.getMapBuffer(KEY_MAP)).isSameAs(mapBuffer.getMapBuffer(KEY_MAP))
+  }
+
+  @Test
+  fun testStringViewOverAsciiBytes() {
+    val mapBuffer = readableMapBuffer(serialize(KEY_STRING to "Hello, world"))
+
+    val view = mapBuffer.getStringView(KEY_STRING)
+
+    assertThat(view).isNotInstanceOf(String::class.java)
+    assertThat(view.length).isEqualTo(12)
+    assertThat(view[7]).isEqualTo('w')
+    assertThat(view.subSequence(7, 12).toString()).isEqualTo("world")
+    assertThat(view.toString()).isEqualTo("Hello, world")
+  }
+
+  @Test
+  fun testStringViewFallsBackForNonAscii() {
+    val mapBuffer = readableMapBuffer(serialize(KEY_STRING to "héllo ✓"))
+
+    val view = mapBuffer.getStringView(KEY_STRING)
+
+    assertThat(view).isInstanceOf(String::class.java).isEqualTo("héllo ✓")
+    assertThat(view).isSameAs(mapBuffer.getString(KEY_STRING))
+  }
+
+  private fun readableMapBuffer(bytes: ByteArray): ReadableMapBuffer {
+    val constructor = ReadableMapBuffer::class.java.getDeclaredConstructor(ByteBuffer::class.java)
+    constructor.isAccessible = true
+    return constructor.newInstance(ByteBuffer.wrap(bytes))
+  }
+
+  /**
+   * Serializes entries in the same little endian layout as the C++ MapBufferBuilder. Values can be
+   * [Int], [String], a serialized map buffer or a list of serialized map buffers.
+   */
+  private fun serialize(vararg entries: Pair<Int, Any>): ByteArray {
+    val sorted = entries.sortedBy { it.first }
+    val dynamicData = ByteArrayOutputStream()
+    val buckets = ByteBuffer.allocate(BUCKET_SIZE * sorted.size).order(ByteOrder.LITTLE_ENDIAN)
+    for ((key, value) in sorted) {
+      buckets.putShort(key.toShort())
+      when (value) {
+        is Int -> {
+          buckets.putShort(MapBuffer.DataType.INT.ordinal.toShort())
+          buckets.putInt(value).putInt(0)
+        }
+        is String -> {
+          buckets.putShort(MapBuffer.DataType.STRING.ordinal.toShort())
+          buckets.putInt(dynamicData.size()).putInt(0)
+          writeSized(dynamicData, value.toByteArray(Charsets.UTF_8))
+        }
+        is ByteArray -> {
+          buckets.putShort(MapBuffer.DataType.MAP.ordinal.toShort())
+          buckets.putInt(dynamicData.size()).putInt(0)
+          writeSized(dynamicData, value)
+        }
+        is List<*> -> {
+          buckets.putShort(MapBuffer.DataType.MAP.ordinal.toShort())
+          buckets.putInt(dynamicData.size()).putInt(0)
+          val list = ByteArrayOutputStream()
+          value.forEach { writeSized(list, it as ByteArray) }
+          writeSized(dynamicData, list.toByteArray())
+        }
+        else -> throw IllegalArgumentException("Unsupported value: $value")
+      }
+    }
+
+    val size = HEADER_SIZE + buckets.capacity() + dynamicData.size()
+    return ByteBuffer.allocate(size)
+        .order(ByteOrder.LITTLE_ENDIAN)
+        .putShort(ALIGNMENT.toShort())
+        .putShort(sorted.size.toShort())
+        .putInt(size)
+        .put(buckets.array())
+        .put(dynamicData.toByteArray())
+        .array()
+  }
+
+  private fun writeSized(out: ByteArrayOutputStream, bytes: ByteArray) {
+    val size = ByteBuffer.allocate(Int.SIZE_BYTES).order(ByteOrder.LITTLE_ENDIAN)
+    out.write(size.putInt(bytes.size).array())
+    out.write(bytes)
+  }
+
+  private companion object {
+    const val ALIGNMENT = 0xFE
+    const val HEADER_SIZE = 8
+    const val BUCKET_SIZE = 12
+
+    const val KEY_INT = 0
+    const val KEY_STRING = 1
+    const val KEY_MAP = 2
+    const val KEY_LIST = 3
+
+    const val FRAGMENT_COUNT = 100
+  }
+}
@@ -9,6 +9,7 @@ package com.facebook.react.devsupport
 
 import okio.Buffer
 import okio.ByteString
+import okio.Sink
 import org.assertj.core.api.Assertions.assertThat
 import org.junit.Test
 import org.junit.runner.RunWith
@@ -124,6 +125,98 @@ class MultipartStreamReaderTest {
     assertThat(success).isFalse
   }
 
+  @Test
+  fun testLargePartIsStreamedThroughABoundedWindow() {
+    val body = "x".repeat(LARGE_BODY_LENGTH)
+    val source = Buffer()
+    source.writeUtf8(
+        "\r\n--sample_boundary\r\n" +
+            "Content-Type: application/json\r\n\r\n" +
+            "{}\r\n" +
+            "--sample_boundary\r\n" +
+            "Content-Type: application/javascript\r\n\r\n" +
+            body +
+            "\r\n--sample_boundary--\r\n")
+
+    val reader = MultipartStreamReader(source, "sample_boundary", WINDOW_SIZE)
+    val sinks = mutableListOf<Buffer>()
+    val completedParts = mutableListOf<Boolean>()
+    val success =
+        reader.readAllParts(
+            object : MultipartStreamReader.PartListener {
+              override fun onPartStart(headers: Map<String, String>?): Sink {
+                val sink = Buffer()
+                sinks.add(sink)
+                return sink
+              }
+
+              override fun onPartProgress(headers: Map<String, String>, loaded: Long, total: Long) =
+                  Unit
+
+              override fun onPartComplete(headers: Map<String, String>?, isLastPart: Boolean) {
+                completedParts.add(isLastPart)
+              }
+            })
+
+    assertThat(success).isTrue
+    assertThat(completedParts).containsExactly(false, true)
+    assertThat(sinks[0].readUtf8()).isEqualTo("{}")
+    assertThat(sinks[1].readUtf8()).isEqualTo(body)
+    assertThat(reader.maxWindowBytes).isLessThanOrEqualTo(2L * WINDOW_SIZE)
+  }
+
+  @Test
+  fun testDelimiterSplitAcrossWindows() {
+    val source = Buffer()
+    source.writeUtf8("\r\n--sample_boundary\r\n1\r\n--sample_boundary--\r\n")
+
+    // Every read ends in the middle of a delimiter
+    val reader = MultipartStreamReader(source, "sample_boundary", 3)
+    val callback: CallCountTrackingChunkCallback =
+        object : CallCountTrackingChunkCallback() {
+          override fun onChunkComplete(headers: Map<String, String>?, body: Buffer, done: Boolean) {
+            super.onChunkComplete(headers, body, done)
+
+            assertThat(done).isTrue
+            assertThat(body.readUtf8()).isEqualTo("1")
+          }
+        }
+
+    assertThat(reader.readAllParts(callback)).isTrue
+    assertThat(callback.callCount).isEqualTo(1)
+  }
+
+  @Test
+  fun testHeadersAreReadWhenTheWindowEndsInsideTheNextDelimiter() {
+    val source = Buffer()
+    source.writeUtf8(
+        "\r\n--sample_boundary\r\n" +
+            "Content-Type: a\r\n\r\n" +
+            "1234" +
+            "\r\n--sample_boundary\r" +
+            // The second read ends here, between the CR and LF after the boundary
+            "\n" +
+            "Content-Type: b\r\n\r\n" +
+            "2" +
+            "\r\n--sample_boundary--\r\n")
+
+    val reader = MultipartStreamReader(source, "sample_boundary", 32)
+    val contentTypes = mutableListOf<String?>()
+    val bodies = mutableListOf<String>()
+    val callback: CallCountTrackingChunkCallback =
+        object : CallCountTrackingChunkCallback() {
+          override fun onChunkComplete(headers: Map<String, String>?, body: Buffer, done: Boolean) {
+            super.onChunkComplete(headers, body, done)
+            contentTypes.add(headers?.get("Content-Type"))
+            bodies.add(body.readUtf8())
+          }
+        }
+
+    assertThat(reader.readAllParts(callback)).isTrue
+    assertThat(contentTypes).containsExactly("a", "b")
+    assertThat(bodies).containsExactly("1234", "2")
+  }
+
   internal open class CallCountTrackingChunkCallback : MultipartStreamReader.ChunkListener {
     var callCount = 0
       private set
@@ -137,4 +230,9 @@ class MultipartStreamReaderTest {
 
   private fun encodeUtf8(input: String): ByteString =
       ByteString.of(*input.toByteArray(Charsets.UTF_8))
+
+  private companion object {
+    const val WINDOW_SIZE = 1024
+    const val LARGE_BODY_LENGTH = 1024 * 1024
+  }
 }
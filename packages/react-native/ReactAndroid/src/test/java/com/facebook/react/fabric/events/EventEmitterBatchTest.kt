@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package com.facebook.react.fabric.events
+
+import com.facebook.react.uimanager.events.EventCategoryDef
+import com.facebook.testutils.shadows.ShadowSoLoader
+import org.assertj.core.api.Assertions.assertThat
+import org.junit.Before
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.mockito.Mockito.mock
+import org.mockito.Mockito.`when` as whenever
+import org.robolectric.RobolectricTestRunner
+import org.robolectric.annotation.Config
+
+/** Tests for [EventEmitterBatch] */
+@RunWith(RobolectricTestRunner::class)
+@Config(shadows = [ShadowSoLoader::class])
+class EventEmitterBatchTest {
+
+  private lateinit var batch: EventEmitterBatch
+  private val dispatchedEvents = mutableListOf<List<Pair<EventEmitterWrapper, String>>>()
+  private var lastDispatchedEmitters: Array<out EventEmitterWrapper?> = emptyArray()
+
+  @Before
+  fun setup() {
+    batch = EventEmitterBatch { emitters, eventNames, emitterIndices, nameIndices, _, _, count ->
+      lastDispatchedEmitters = emitters.clone()
+      dispatchedEvents.add(
+          (0 until count).mapNotNull { i ->
+            emitters[emitterIndices[i]]?.let { Pair(it, eventNames[nameIndices[i]]) }
+          })
+    }
+  }
+
+  @Test
+  fun testBatchGrowsPastItsInitialCapacity() {
+    val dispatchCountBefore = EventEmitterBatch.getDispatchCount()
+    val emitters = (1..40).map { createEmitter(valid = true) }
+    val eventNames = (1..40).map { "topEvent$it" }
+    for (i in emitters.indices) {
+      batch.add(emitters[i], eventNames[i], null, EventCategoryDef.CONTINUOUS)
+    }
+    batch.dispatch()
+
+    assertThat(dispatchedEvents).containsExactly(emitters.zip(eventNames))
+    assertThat(EventEmitterBatch.getDispatchCount() - dispatchCountBefore).isEqualTo(1)
+  }
+
+  @Test
+  fun testEmittersAndNamesAreSentOnce() {
+    val scrollView = createEmitter(valid = true)
+    val textInput = createEmitter(valid = true)
+    batch.add(scrollView, "topScroll", null, EventCategoryDef.CONTINUOUS)
+    batch.add(textInput, "topChange", null, EventCategoryDef.DISCRETE)
+    batch.add(scrollView, "topScroll", null, EventCategoryDef.CONTINUOUS)
+    batch.dispatch()
+
+    assertThat(lastDispatchedEmitters.take(3)).containsExactly(scrollView, textInput, null)
+    assertThat(dispatchedEvents[0])
+        .containsExactly(
+            Pair(scrollView, "topScroll"),
+            Pair(textInput, "topChange"),
+            Pair(scrollView, "topScroll"))
+  }
+
+  @Test
+  fun testBatchIsClearedAfterDispatch() {
+    val emitter = createEmitter(valid = true)
+    batch.add(emitter, "topScroll", null, EventCategoryDef.CONTINUOUS)
+    batch.add(emitter, "topScroll", null, EventCategoryDef.CONTINUOUS)
+    batch.dispatch()
+
+    assertThat(batch.isEmpty()).isTrue()
+
+    // Nothing is left to send
+    batch.dispatch()
+    assertThat(dispatchedEvents).hasSize(1)
+
+    batch.add(emitter, "topMomentumScrollEnd", null, EventCategoryDef.DISCRETE)
+    batch.dispatch()
+    assertThat(dispatchedEvents[1]).containsExactly(Pair(emitter, "topMomentumScrollEnd"))
+  }
+
+  @Test
+  fun testEventsOfDestroyedEmittersAreSkipped() {
+    val focused = createEmitter(valid = true)
+    val destroyed = createEmitter(valid = false)
+    val changed = createEmitter(valid = true)
+    batch.add(focused, "topFocus", null, EventCategoryDef.DISCRETE)
+    batch.add(destroyed, "topBlur", null, EventCategoryDef.CONTINUOUS)
+    batch.add(changed, "topChange", null, EventCategoryDef.UNSPECIFIED)
+    batch.dispatch()
+
+    assertThat(dispatchedEvents[0])
+        .containsExactly(Pair(focused, "topFocus"), Pair(changed, "topChange"))
+  }
+
+  private fun createEmitter(valid: Boolean): EventEmitterWrapper {
+    val emitter = mock(EventEmitterWrapper::class.java)
+    whenever(emitter.isValid).thenReturn(valid)
+    return emitter
+  }
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package com.facebook.react.fabric.mounting
+
+import com.facebook.react.fabric.mounting.mountitems.MountItem
+import org.assertj.core.api.Assertions.assertThat
+import org.junit.Before
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.robolectric.RobolectricTestRunner
+
+/** Tests for [PreallocationScheduler] */
+@RunWith(RobolectricTestRunner::class)
+class PreallocationSchedulerTest {
+
+  private lateinit var scheduler: PreallocationScheduler
+  private var dispatchedCountBefore = 0
+  private var cancelledCountBefore = 0
+
+  @Before
+  fun setup() {
+    scheduler = PreallocationScheduler()
+    // The stats are process wide, so only what each test adds is checked
+    dispatchedCountBefore = PreallocationScheduler.getDispatchedCount()
+    cancelledCountBefore = PreallocationScheduler.getCancelledCount()
+  }
+
+  @Test
+  fun testPreallocationsAreExecutedInOrderByDefault() {
+    val first = TestMountItem(1)
+    val second = TestMountItem(2)
+    val third = TestMountItem(1)
+    scheduler.add(first)
+    scheduler.add(second)
+    scheduler.add(third)
+
+    assertThat(pollAll()).containsExactly(first, third, second)
+    assertThat(PreallocationScheduler.getDispatchedCount() - dispatchedCountBefore).isEqualTo(3)
+  }
+
+  @Test
+  fun testPrioritizedSurfacesComeFirst() {
+    val background = TestMountItem(1)
+    val shown = TestMountItem(2)
+    val shownLast = TestMountItem(3)
+    scheduler.add(background)
+    scheduler.add(shown)
+    scheduler.add(shownLast)
+
+    scheduler.prioritizeSurface(2)
+    scheduler.prioritizeSurface(3)
+
+    assertThat(pollAll()).containsExactly(shownLast, shown, background)
+  }
+
+  @Test
+  fun testCancelledSurfacesAreNeverExecuted() {
+    val kept = TestMountItem(1)
+    scheduler.add(kept)
+    scheduler.add(TestMountItem(2))
+    scheduler.add(TestMountItem(2))
+    scheduler.prioritizeSurface(2)
+
+    scheduler.cancelSurface(2)
+
+    assertThat(pollAll()).containsExactly(kept)
+    assertThat(PreallocationScheduler.getCancelledCount() - cancelledCountBefore).isEqualTo(2)
+  }
+
+  @Test
+  fun testDrainSurfaceOnlyTakesThatSurface() {
+    val other = TestMountItem(1)
+    val first = TestMountItem(2)
+    val second = TestMountItem(2)
+    scheduler.add(other)
+    scheduler.add(first)
+    scheduler.add(second)
+
+    val drained = mutableListOf<MountItem>()
+    scheduler.drainSurface(2, drained)
+
+    assertThat(drained).containsExactly(first, second)
+    assertThat(pollAll()).containsExactly(other)
+    assertThat(scheduler.isEmpty()).isTrue()
+  }
+
+  @Test
+  fun testIdlePassIsOnlyRequestedOnceUntilDrained() {
+    assertThat(scheduler.add(TestMountItem(1))).isTrue()
+    assertThat(scheduler.add(TestMountItem(1))).isFalse()
+
+    // Draining a surface still leaves the idle pass pending, it finds nothing and ends
+    scheduler.drainSurface(1, mutableListOf())
+    assertThat(scheduler.add(TestMountItem(2))).isFalse()
+
+    pollAll()
+    assertThat(scheduler.add(TestMountItem(1))).isTrue()
+  }
+
+  private fun pollAll(): List<MountItem> {
+    val items = mutableListOf<MountItem>()
+    while (true) {
+      items.add(scheduler.poll() ?: return items)
+    }
+  }
+
+  private class TestMountItem(private val surfaceId: Int) : MountItem {
+    override fun execute(mountingManager: MountingManager) = Unit
+
+    override fun getSurfaceId(): Int = surfaceId
+  }
+}
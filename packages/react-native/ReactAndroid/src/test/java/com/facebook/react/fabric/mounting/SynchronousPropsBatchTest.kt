@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package com.facebook.react.fabric.mounting
+
+import com.facebook.react.bridge.JavaOnlyMap
+import com.facebook.react.bridge.ReadableMap
+import org.assertj.core.api.Assertions.assertThat
+import org.junit.Before
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.mockito.ArgumentMatchers.any
+import org.mockito.ArgumentMatchers.anyInt
+import org.mockito.ArgumentMatchers.anyString
+import org.mockito.ArgumentMatchers.eq
+import org.mockito.Mockito.doAnswer
+import org.mockito.Mockito.doCallRealMethod
+import org.mockito.Mockito.mock
+import org.mockito.Mockito.`when` as whenever
+import org.robolectric.RobolectricTestRunner
+
+/** Tests for [SynchronousPropsBatch] */
+@RunWith(RobolectricTestRunner::class)
+class SynchronousPropsBatchTest {
+
+  private lateinit var batch: SynchronousPropsBatch
+  private lateinit var mountingManager: MountingManager
+  private val updates = mutableListOf<Pair<Int, Map<String, Any?>>>()
+
+  @Before
+  fun setup() {
+    batch = SynchronousPropsBatch()
+    mountingManager = mock(MountingManager::class.java)
+    doAnswer {
+          updates.add(
+              Pair(it.getArgument<Int>(0), it.getArgument<ReadableMap>(1).toHashMap().toMap()))
+          null
+        }
+        .`when`(mountingManager)
+        .updateProps(anyInt(), any())
+    doCallRealMethod().`when`(mountingManager).updatePropsIgnoringErrors(anyInt(), any())
+  }
+
+  @Test
+  fun testUpdatesOfAViewAreMergedLastWriterWins() {
+    val mergedCountBefore = SynchronousPropsBatch.getMergedUpdateCount()
+
+    assertThat(batch.add(1, JavaOnlyMap.of("opacity", 0.5, "translateX", 1.0))).isTrue()
+    assertThat(batch.add(1, JavaOnlyMap.of("opacity", 1.0))).isFalse()
+    batch.apply(mountingManager)
+
+    assertThat(updates).containsExactly(Pair(1, mapOf("opacity" to 1.0, "translateX" to 1.0)))
+    assertThat(SynchronousPropsBatch.getMergedUpdateCount() - mergedCountBefore).isEqualTo(1)
+  }
+
+  @Test
+  fun testViewsAreUpdatedInTagOrder() {
+    batch.add(7, JavaOnlyMap.of("opacity", 0.0))
+    batch.add(3, JavaOnlyMap.of("opacity", 0.0))
+    batch.add(5, JavaOnlyMap.of("opacity", 0.0))
+    batch.apply(mountingManager)
+
+    assertThat(updates.map { it.first }).containsExactly(3, 5, 7)
+  }
+
+  @Test
+  fun testPropsAreCopiedWhenAdded() {
+    val reusedProps = JavaOnlyMap.of("opacity", 0.5)
+    batch.add(1, reusedProps)
+    reusedProps.putDouble("opacity", 0.0)
+    batch.apply(mountingManager)
+
+    assertThat(updates).containsExactly(Pair(1, mapOf("opacity" to 0.5)))
+  }
+
+  @Test
+  fun testNativeMapsAreDeepCopied() {
+    val shadowOffset = JavaOnlyMap.of("width", 1.0)
+    batch.add(1, asNativeMap(JavaOnlyMap.of("shadowOffset", shadowOffset)))
+    batch.add(1, asNativeMap(JavaOnlyMap.of("opacity", 0.5)))
+    shadowOffset.putDouble("width", 2.0)
+    batch.apply(mountingManager)
+
+    assertThat(updates)
+        .containsExactly(
+            Pair(1, mapOf("shadowOffset" to JavaOnlyMap.of("width", 1.0), "opacity" to 0.5)))
+  }
+
+  @Test
+  fun testApplyEmptiesTheBatch() {
+    batch.add(1, JavaOnlyMap.of("opacity", 0.5))
+    batch.apply(mountingManager)
+    assertThat(batch.isEmpty()).isTrue()
+
+    // The next update starts a new batch, which needs to be scheduled again
+    assertThat(batch.add(1, JavaOnlyMap.of("opacity", 1.0))).isTrue()
+    batch.apply(mountingManager)
+    assertThat(updates).hasSize(2)
+  }
+
+  @Test
+  fun testFailingUpdatesDoNotStopTheBatch() {
+    doAnswer { throw IllegalStateException("Surface was stopped") }
+        .`when`(mountingManager)
+        .updateProps(eq(1), any())
+    batch.add(1, JavaOnlyMap.of("opacity", 0.5))
+    batch.add(2, JavaOnlyMap.of("opacity", 0.5))
+    batch.apply(mountingManager)
+
+    assertThat(updates.map { it.first }).containsExactly(2)
+    assertThat(batch.isEmpty()).isTrue()
+  }
+
+  /** A map that is read through the [ReadableMap] interface only, like a ReadableNativeMap. */
+  private fun asNativeMap(props: JavaOnlyMap): ReadableMap {
+    val map = mock(ReadableMap::class.java)
+    whenever(map.keySetIterator()).thenAnswer { props.keySetIterator() }
+    whenever(map.getType(anyString())).thenAnswer { props.getType(it.getArgument(0)) }
+    whenever(map.getDouble(anyString())).thenAnswer { props.getDouble(it.getArgument(0)) }
+    whenever(map.getMap(anyString())).thenAnswer { props.getMap(it.getArgument(0)) }
+    return map
+  }
+}
@@ -0,0 +1,139 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package com.facebook.react.internal.turbomodule.core
+
+import com.facebook.react.bridge.ReactMarker
+import com.facebook.react.bridge.ReactMarkerConstants
+import java.util.Collections
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.Executor
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+import org.assertj.core.api.Assertions.assertThat
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.robolectric.RobolectricTestRunner
+
+@RunWith(RobolectricTestRunner::class)
+class EagerTurboModuleInitializerTest {
+
+  private val createdModules: MutableList<String> = Collections.synchronizedList(mutableListOf())
+  private val uiThreadModules: MutableList<String> = Collections.synchronizedList(mutableListOf())
+  private val reportedExceptions: MutableList<Exception> =
+      Collections.synchronizedList(mutableListOf())
+  private val uiExecutor = Executor { runnable -> runnable.run() }
+  private val backgroundExecutor =
+      Executors.newFixedThreadPool(4) { runnable -> Thread(runnable, POOL_THREAD_NAME) }
+
+  @Test
+  fun testCreatesDependenciesFirst() {
+    initialize(
+        listOf("C", "B", "A", "D"),
+        dependencies = mapOf("B" to listOf("A"), "C" to listOf("B", "A")))
+
+    assertThat(createdModules).containsExactlyInAnyOrder("A", "B", "C", "D")
+    assertThat(createdModules.indexOf("A")).isLessThan(createdModules.indexOf("B"))
+    assertThat(createdModules.indexOf("B")).isLessThan(createdModules.indexOf("C"))
+  }
+
+  @Test
+  fun testIgnoresDependenciesOutsideOfEagerSet() {
+    initialize(listOf("A"), dependencies = mapOf("A" to listOf("NotEager")))
+
+    assertThat(createdModules).containsExactly("A")
+  }
+
+  @Test
+  fun testCreatesEveryModuleWhenDependenciesHaveACycle() {
+    initialize(listOf("A", "B"), dependencies = mapOf("A" to listOf("B"), "B" to listOf("A")))
+
+    assertThat(createdModules).containsExactlyInAnyOrder("A", "B")
+  }
+
+  @Test
+  fun testHonorsUiThreadModules() {
+    initialize(listOf("A", "B"), uiThread = setOf("B"))
+
+    assertThat(createdModules).containsExactlyInAnyOrder("A", "B")
+    assertThat(uiThreadModules).containsExactly("B")
+  }
+
+  @Test
+  fun testContinuesAfterModuleFailure() {
+    initialize(listOf("A", "B"), dependencies = mapOf("B" to listOf("A")), failing = setOf("A"))
+
+    assertThat(createdModules).containsExactly("B")
+    assertThat(reportedExceptions).hasSize(1)
+    assertThat(reportedExceptions[0]).hasMessage("Failed to create A")
+  }
+
+  @Test
+  fun testReportsTheCreationOfEachModule() {
+    val createdMarkers: MutableList<String?> = Collections.synchronizedList(mutableListOf())
+    val markerListener =
+        ReactMarker.MarkerListener { name, tag, _ ->
+          if (name == ReactMarkerConstants.CREATE_MODULE_END) {
+            createdMarkers.add(tag)
+          }
+        }
+    ReactMarker.addListener(markerListener)
+    try {
+      initialize(listOf("A", "B"), failing = setOf("B"))
+    } finally {
+      ReactMarker.removeListener(markerListener)
+    }
+
+    assertThat(createdMarkers).containsExactlyInAnyOrder("A", "B")
+  }
+
+  @Test
+  fun testNotifiesListenerWithoutModules() {
+    initialize(emptyList())
+
+    assertThat(createdModules).isEmpty()
+  }
+
+  private fun initialize(
+      moduleNames: List<String>,
+      dependencies: Map<String, List<String>> = emptyMap(),
+      uiThread: Set<String> = emptySet(),
+      failing: Set<String> = emptySet(),
+  ) {
+    val done = CountDownLatch(1)
+    val initializer =
+        EagerTurboModuleInitializer(
+            moduleNames,
+            { moduleName ->
+              if (failing.contains(moduleName)) {
+                throw IllegalStateException("Failed to create $moduleName")
+              }
+              if (Thread.currentThread().name != POOL_THREAD_NAME) {
+                uiThreadModules.add(moduleName)
+              }
+              createdModules.add(moduleName)
+            },
+            object : EagerTurboModuleInitializer.ModuleInfoProvider {
+              override fun getDependencies(moduleName: String): List<String> =
+                  dependencies[moduleName] ?: emptyList()
+
+              override fun shouldCreateOnUiThread(moduleName: String): Boolean =
+                  uiThread.contains(moduleName)
+            },
+            uiExecutor,
+            backgroundExecutor,
+            { e -> reportedExceptions.add(e) }) {
+              done.countDown()
+            }
+    initializer.start()
+    assertThat(done.await(5, TimeUnit.SECONDS)).isTrue()
+  }
+
+  private companion object {
+    const val POOL_THREAD_NAME = "eager_turbomodule_init"
+  }
+}
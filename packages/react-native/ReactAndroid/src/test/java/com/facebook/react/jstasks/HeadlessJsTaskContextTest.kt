@@ -0,0 +1,148 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package com.facebook.react.jstasks
+
+import android.content.Context
+import android.os.Looper
+import com.facebook.react.bridge.BridgeReactContext
+import com.facebook.react.bridge.CatalystInstance
+import com.facebook.react.bridge.JavaOnlyMap
+import com.facebook.react.bridge.WritableMap
+import com.facebook.react.config.ReactFeatureFlags
+import com.facebook.react.modules.appregistry.AppRegistry
+import java.time.Duration
+import org.assertj.core.api.Assertions.assertThat
+import org.junit.After
+import org.junit.Before
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.mockito.Mockito.doReturn
+import org.mockito.Mockito.mock
+import org.mockito.Mockito.spy
+import org.robolectric.RobolectricTestRunner
+import org.robolectric.Shadows.shadowOf
+
+/** Tests for the task scheduler of [HeadlessJsTaskContext] */
+@RunWith(RobolectricTestRunner::class)
+class HeadlessJsTaskContextTest {
+
+  private val startedTaskIds = mutableListOf<Int>()
+  private lateinit var headlessContext: HeadlessJsTaskContext
+
+  @Before
+  fun setup() {
+    ReactFeatureFlags.enableHeadlessJsTaskScheduler = true
+    val reactContext = spy(BridgeReactContext(mock(Context::class.java)))
+    doReturn(mock(CatalystInstance::class.java)).`when`(reactContext).catalystInstance
+    doReturn(true).`when`(reactContext).hasActiveReactInstance()
+    val appRegistry =
+        object : AppRegistry {
+          override fun runApplication(appKey: String, appParameters: WritableMap) = Unit
+
+          override fun unmountApplicationComponentAtRootTag(rootNodeTag: Int) = Unit
+
+          override fun startHeadlessTask(taskId: Int, taskKey: String, data: WritableMap) {
+            startedTaskIds.add(taskId)
+          }
+        }
+    doReturn(appRegistry).`when`(reactContext).getJSModule(AppRegistry::class.java)
+    headlessContext = HeadlessJsTaskContext.getInstance(reactContext)
+  }
+
+  @After
+  fun tearDown() {
+    ReactFeatureFlags.enableHeadlessJsTaskScheduler = false
+  }
+
+  @Test
+  fun testTasksWaitForTheirConcurrencyLimit() {
+    headlessContext.setMaxConcurrentTasks("sync", 2)
+    val taskIds = (0 until 5).map { headlessContext.startTask(createTaskConfig("sync", it)) }
+
+    assertThat(startedTaskIds).containsExactly(taskIds[0], taskIds[1])
+    assertThat(headlessContext.isTaskRunning(taskIds[1])).isTrue()
+    assertThat(headlessContext.isTaskRunning(taskIds[2])).isFalse()
+    assertThat(headlessContext.hasActiveTasks()).isTrue()
+
+    headlessContext.finishTask(taskIds[0])
+    shadowOf(Looper.getMainLooper()).idle()
+
+    assertThat(startedTaskIds).containsExactly(taskIds[0], taskIds[1], taskIds[2])
+    assertThat(headlessContext.isTaskRunning(taskIds[2])).isTrue()
+    assertThat(headlessContext.taskMetrics.pendingTaskCount).isEqualTo(2)
+  }
+
+  @Test
+  fun testTasksWithOtherKeysAreNotLimited() {
+    headlessContext.setMaxConcurrentTasks("sync", 1)
+    val syncTaskId = headlessContext.startTask(createTaskConfig("sync", 0))
+    headlessContext.startTask(createTaskConfig("sync", 1))
+    val geofenceTaskId = headlessContext.startTask(createTaskConfig("geofence", 0))
+
+    assertThat(startedTaskIds).containsExactly(syncTaskId, geofenceTaskId)
+  }
+
+  @Test
+  fun testIdenticalPendingTasksAreCoalesced() {
+    headlessContext.setMaxConcurrentTasks("sync", 1)
+    val runningTaskId = headlessContext.startTask(createTaskConfig("sync", 0))
+    val pendingTaskId = headlessContext.startTask(createTaskConfig("sync", 1))
+
+    assertThat(headlessContext.startTask(createTaskConfig("sync", 1))).isEqualTo(pendingTaskId)
+    // A running task has already done part of its work, so it isn't coalesced
+    assertThat(headlessContext.startTask(createTaskConfig("sync", 0))).isNotEqualTo(runningTaskId)
+    assertThat(headlessContext.taskMetrics.coalescedTaskCount).isEqualTo(1)
+    assertThat(headlessContext.taskMetrics.pendingTaskCount).isEqualTo(2)
+  }
+
+  @Test
+  fun testPendingTasksStartByPriority() {
+    headlessContext.setMaxConcurrentTasks("sync", 1)
+    val runningTaskId = headlessContext.startTask(createTaskConfig("sync", 0))
+    val lowPriorityTaskId =
+        headlessContext.startTask(createTaskConfig("sync", 1, HeadlessJsTaskConfig.PRIORITY_LOW))
+    val highPriorityTaskId =
+        headlessContext.startTask(createTaskConfig("sync", 2, HeadlessJsTaskConfig.PRIORITY_HIGH))
+
+    headlessContext.finishTask(runningTaskId)
+    shadowOf(Looper.getMainLooper()).idle()
+    headlessContext.finishTask(highPriorityTaskId)
+    shadowOf(Looper.getMainLooper()).idle()
+
+    assertThat(startedTaskIds)
+        .containsExactly(runningTaskId, highPriorityTaskId, lowPriorityTaskId)
+  }
+
+  @Test
+  fun testQueueWaitAndRunTimeAreMeasured() {
+    headlessContext.setMaxConcurrentTasks("sync", 1)
+    val firstTaskId = headlessContext.startTask(createTaskConfig("sync", 0))
+    val secondTaskId = headlessContext.startTask(createTaskConfig("sync", 1))
+
+    shadowOf(Looper.getMainLooper()).idleFor(Duration.ofMillis(100))
+    headlessContext.finishTask(firstTaskId)
+    shadowOf(Looper.getMainLooper()).idleFor(Duration.ofMillis(50))
+    headlessContext.finishTask(secondTaskId)
+
+    val metrics = headlessContext.taskMetrics
+    assertThat(metrics.startedTaskCount).isEqualTo(2)
+    assertThat(metrics.finishedTaskCount).isEqualTo(2)
+    assertThat(metrics.maxQueueWaitMs).isEqualTo(100)
+    assertThat(metrics.totalQueueWaitMs).isEqualTo(100)
+    assertThat(metrics.maxRunTimeMs).isEqualTo(100)
+    assertThat(metrics.totalRunTimeMs).isEqualTo(150)
+  }
+
+  private fun createTaskConfig(
+      taskKey: String,
+      index: Int,
+      priority: Int = HeadlessJsTaskConfig.PRIORITY_NORMAL
+  ): HeadlessJsTaskConfig =
+      HeadlessJsTaskConfig(
+          taskKey, JavaOnlyMap.of("i", index), 0, false, NoRetryPolicy.INSTANCE, priority)
+}
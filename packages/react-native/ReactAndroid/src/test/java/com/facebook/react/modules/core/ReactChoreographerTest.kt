@@ -0,0 +1,259 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package com.facebook.react.modules.core
+
+import android.os.Looper
+import android.view.Choreographer.FrameCallback
+import com.facebook.react.internal.ChoreographerProvider
+import com.facebook.react.modules.core.ReactChoreographer.CallbackType
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicInteger
+import org.assertj.core.api.Assertions.assertThat
+import org.assertj.core.api.Assertions.assertThatThrownBy
+import org.junit.Before
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.robolectric.RobolectricTestRunner
+import org.robolectric.Shadows.shadowOf
+
+/** Tests for [ReactChoreographer] */
+@RunWith(RobolectricTestRunner::class)
+class ReactChoreographerTest {
+
+  private lateinit var choreographer: FakeChoreographer
+  private lateinit var reactChoreographer: ReactChoreographer
+
+  @Before
+  fun setup() {
+    choreographer = FakeChoreographer()
+    reactChoreographer =
+        ReactChoreographer(
+            object : ChoreographerProvider {
+              override fun getChoreographer(): ChoreographerProvider.Choreographer = choreographer
+            })
+    shadowOf(Looper.getMainLooper()).idle()
+  }
+
+  @Test
+  fun testCallbacksRunInCallbackTypeOrder() {
+    val order = mutableListOf<CallbackType>()
+    reactChoreographer.postFrameCallback(CallbackType.IDLE_EVENT) {
+      order.add(CallbackType.IDLE_EVENT)
+    }
+    reactChoreographer.postFrameCallback(CallbackType.DISPATCH_UI) {
+      order.add(CallbackType.DISPATCH_UI)
+    }
+    reactChoreographer.postFrameCallback(CallbackType.TIMERS_EVENTS) {
+      order.add(CallbackType.TIMERS_EVENTS)
+    }
+
+    assertThat(choreographer.postCount).isEqualTo(1)
+    choreographer.runFrame()
+
+    assertThat(order)
+        .containsExactly(
+            CallbackType.DISPATCH_UI, CallbackType.TIMERS_EVENTS, CallbackType.IDLE_EVENT)
+  }
+
+  @Test
+  fun testFramesAreOnlyRequestedWithWork() {
+    val runs = AtomicInteger()
+    reactChoreographer.postFrameCallback(CallbackType.TIMERS_EVENTS) { runs.incrementAndGet() }
+    choreographer.runFrame()
+
+    assertThat(runs.get()).isEqualTo(1)
+    assertThat(choreographer.hasPendingFrame).isFalse()
+  }
+
+  @Test
+  fun testCallbacksPostedWhileRunningRunInTheNextFrame() {
+    val runs = AtomicInteger()
+    val callback =
+        object : FrameCallback {
+          override fun doFrame(frameTimeNanos: Long) {
+            if (runs.incrementAndGet() < 3) {
+              reactChoreographer.postFrameCallback(CallbackType.TIMERS_EVENTS, this)
+            }
+          }
+        }
+    reactChoreographer.postFrameCallback(CallbackType.TIMERS_EVENTS, callback)
+
+    choreographer.runFrame()
+    assertThat(runs.get()).isEqualTo(1)
+    choreographer.runFrame()
+    choreographer.runFrame()
+    assertThat(runs.get()).isEqualTo(3)
+    assertThat(choreographer.hasPendingFrame).isFalse()
+  }
+
+  @Test
+  fun testCancelledCallbacksDoNotRun() {
+    val runs = AtomicInteger()
+    val handle =
+        reactChoreographer.postCancellableFrameCallback(CallbackType.TIMERS_EVENTS) {
+          runs.incrementAndGet()
+        }
+
+    assertThat(handle.cancel()).isTrue()
+    assertThat(handle.cancel()).isFalse()
+    assertThat(choreographer.hasPendingFrame).isFalse()
+    choreographer.runFrame()
+    assertThat(runs.get()).isEqualTo(0)
+  }
+
+  @Test
+  fun testRemovedCallbacksDoNotRun() {
+    val runs = AtomicInteger()
+    val callback = FrameCallback { runs.incrementAndGet() }
+    reactChoreographer.postFrameCallback(CallbackType.NATIVE_ANIMATED_MODULE, callback)
+    reactChoreographer.removeFrameCallback(CallbackType.NATIVE_ANIMATED_MODULE, callback)
+
+    assertThat(choreographer.hasPendingFrame).isFalse()
+    choreographer.runFrame()
+    assertThat(runs.get()).isEqualTo(0)
+  }
+
+  @Test
+  fun testFrameIsKeptWhileOtherCallbacksArePending() {
+    val runs = AtomicInteger()
+    val handle = reactChoreographer.postCancellableFrameCallback(CallbackType.DISPATCH_UI) {}
+    reactChoreographer.postFrameCallback(CallbackType.TIMERS_EVENTS) { runs.incrementAndGet() }
+
+    handle.cancel()
+    assertThat(choreographer.hasPendingFrame).isTrue()
+    choreographer.runFrame()
+    assertThat(runs.get()).isEqualTo(1)
+  }
+
+  @Test
+  fun testCallbacksPostedForLaterTypesRunInTheSameFrame() {
+    val runs = AtomicInteger()
+    reactChoreographer.postFrameCallback(CallbackType.DISPATCH_UI) {
+      reactChoreographer.postFrameCallback(CallbackType.IDLE_EVENT) { runs.incrementAndGet() }
+    }
+
+    choreographer.runFrame()
+    assertThat(runs.get()).isEqualTo(1)
+    assertThat(choreographer.hasPendingFrame).isFalse()
+    assertThat(choreographer.postCount).isEqualTo(1)
+  }
+
+  @Test
+  fun testRunningCallbackTypeIsKnownDuringTheFrame() {
+    val beforeTimersEvents = mutableListOf<Boolean>()
+    val callback = FrameCallback {
+      beforeTimersEvents.add(
+          reactChoreographer.isRunningCallbacksBefore(CallbackType.TIMERS_EVENTS))
+    }
+    reactChoreographer.postFrameCallback(CallbackType.DISPATCH_UI, callback)
+    reactChoreographer.postFrameCallback(CallbackType.IDLE_EVENT, callback)
+
+    assertThat(reactChoreographer.isRunningCallbacksBefore(CallbackType.TIMERS_EVENTS)).isFalse()
+    choreographer.runFrame()
+    assertThat(beforeTimersEvents).containsExactly(true, false)
+    assertThat(reactChoreographer.isRunningCallbacksBefore(CallbackType.TIMERS_EVENTS)).isFalse()
+  }
+
+  @Test
+  fun testCallbacksAfterAThrowingOneRunInTheNextFrame() {
+    val runs = AtomicInteger()
+    reactChoreographer.postFrameCallback(CallbackType.TIMERS_EVENTS) {
+      throw IllegalStateException("Callback failed")
+    }
+    reactChoreographer.postFrameCallback(CallbackType.TIMERS_EVENTS) { runs.incrementAndGet() }
+
+    assertThatThrownBy { choreographer.runFrame() }.isInstanceOf(IllegalStateException::class.java)
+    assertThat(runs.get()).isEqualTo(0)
+    assertThat(choreographer.hasPendingFrame).isTrue()
+    choreographer.runFrame()
+    assertThat(runs.get()).isEqualTo(1)
+    assertThat(choreographer.hasPendingFrame).isFalse()
+  }
+
+  @Test
+  fun testCallbacksCanBeRemovedByEarlierCallbacksOfTheSameFrame() {
+    val runs = AtomicInteger()
+    val second = FrameCallback { runs.incrementAndGet() }
+    reactChoreographer.postFrameCallback(CallbackType.TIMERS_EVENTS) {
+      reactChoreographer.removeFrameCallback(CallbackType.TIMERS_EVENTS, second)
+    }
+    reactChoreographer.postFrameCallback(CallbackType.TIMERS_EVENTS, second)
+
+    choreographer.runFrame()
+    assertThat(runs.get()).isEqualTo(0)
+  }
+
+  @Test
+  fun testTimingIsReportedForTypesWithCallbacks() {
+    val timedTypes = mutableListOf<CallbackType>()
+    reactChoreographer.setFrameTimingListener { type, frameTimeNanos, durationNanos ->
+      assertThat(frameTimeNanos).isEqualTo(FRAME_TIME_NANOS)
+      assertThat(durationNanos).isGreaterThanOrEqualTo(0)
+      timedTypes.add(type)
+    }
+    reactChoreographer.postFrameCallback(CallbackType.DISPATCH_UI) {}
+    reactChoreographer.postFrameCallback(CallbackType.IDLE_EVENT) {}
+
+    choreographer.runFrame()
+    assertThat(timedTypes).containsExactly(CallbackType.DISPATCH_UI, CallbackType.IDLE_EVENT)
+  }
+
+  @Test
+  fun testCallbacksPostedFromManyThreadsAllRunOnce() {
+    val runs = AtomicInteger()
+    val done = CountDownLatch(THREADS)
+    repeat(THREADS) {
+      Thread {
+            repeat(CALLBACKS_PER_THREAD) {
+              reactChoreographer.postFrameCallback(CallbackType.TIMERS_EVENTS) {
+                runs.incrementAndGet()
+              }
+            }
+            done.countDown()
+          }
+          .start()
+    }
+    assertThat(done.await(10, TimeUnit.SECONDS)).isTrue()
+
+    choreographer.runFrame()
+    assertThat(runs.get()).isEqualTo(THREADS * CALLBACKS_PER_THREAD)
+    assertThat(choreographer.postCount).isEqualTo(1)
+  }
+
+  private class FakeChoreographer : ChoreographerProvider.Choreographer {
+    private var pendingCallback: FrameCallback? = null
+    var postCount = 0
+      private set
+
+    val hasPendingFrame: Boolean
+      get() = pendingCallback != null
+
+    @Synchronized
+    override fun postFrameCallback(callback: FrameCallback) {
+      pendingCallback = callback
+      postCount++
+    }
+
+    @Synchronized
+    override fun removeFrameCallback(callback: FrameCallback) {
+      pendingCallback = null
+    }
+
+    fun runFrame() {
+      val callback = synchronized(this) { pendingCallback.also { pendingCallback = null } }
+      callback?.doFrame(FRAME_TIME_NANOS)
+    }
+  }
+
+  private companion object {
+    const val FRAME_TIME_NANOS = 1_000_000L
+    const val THREADS = 4
+    const val CALLBACKS_PER_THREAD = 250
+  }
+}
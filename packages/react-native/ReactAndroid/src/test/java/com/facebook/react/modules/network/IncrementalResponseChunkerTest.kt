@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package com.facebook.react.modules.network
+
+import org.assertj.core.api.Assertions.assertThat
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.robolectric.RobolectricTestRunner
+
+/** Tests for [IncrementalResponseChunker] */
+@RunWith(RobolectricTestRunner::class)
+class IncrementalResponseChunkerTest {
+
+  @Test
+  fun testDataIsSentOnceNothingMoreIsBuffered() {
+    val chunker = IncrementalResponseChunker(0)
+    chunker.append("data: 1\n\n", 9)
+
+    assertThat(chunker.shouldFlush(1, true)).isFalse()
+    assertThat(chunker.shouldFlush(1, false)).isTrue()
+    assertThat(chunker.flush(1)).isEqualTo("data: 1\n\n")
+    assertThat(chunker.shouldFlush(2, false)).isFalse()
+  }
+
+  @Test
+  fun testBufferedChunksAreCoalescedUntilTheIntervalPasses() {
+    val chunker = IncrementalResponseChunker(0)
+    val eventsBefore = IncrementalResponseChunker.getEventCount()
+    val bytesBefore = IncrementalResponseChunker.getByteCount()
+    var events = 0
+    var now = 0L
+
+    repeat(100) {
+      chunker.append("{\"n\":$it}\n", 8)
+      now += 1000000 // 1ms per chunk
+      if (chunker.shouldFlush(now, true)) {
+        chunker.flush(now)
+        events++
+      }
+    }
+
+    assertThat(events).isLessThan(10)
+    assertThat(IncrementalResponseChunker.getEventCount() - eventsBefore).isEqualTo(events.toLong())
+    assertThat(IncrementalResponseChunker.getByteCount() - bytesBefore).isGreaterThan(0)
+  }
+
+  @Test
+  fun testLargePendingDataIsSentWithoutWaitingForTheInterval() {
+    val chunker = IncrementalResponseChunker(0)
+    chunker.append("a".repeat(IncrementalResponseChunker.MAX_PENDING_BYTES), 64 * 1024)
+
+    assertThat(chunker.shouldFlush(1, true)).isTrue()
+  }
+
+  @Test
+  fun testFlushIntervalAdaptsToTheSizeOfFlushes() {
+    val chunker = IncrementalResponseChunker(0)
+    var now = 0L
+
+    repeat(5) {
+      chunker.append("x", 1)
+      now += IncrementalResponseChunker.MAX_FLUSH_INTERVAL_NS
+      chunker.flush(now)
+    }
+    assertThat(chunker.getFlushIntervalNs())
+        .isEqualTo(IncrementalResponseChunker.MAX_FLUSH_INTERVAL_NS)
+
+    repeat(5) {
+      chunker.append("x".repeat(8192), 8192)
+      now += IncrementalResponseChunker.MAX_FLUSH_INTERVAL_NS
+      chunker.flush(now)
+    }
+    assertThat(chunker.getFlushIntervalNs())
+        .isEqualTo(IncrementalResponseChunker.MIN_FLUSH_INTERVAL_NS)
+  }
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package com.facebook.react.modules.network
+
+import android.os.Looper
+import java.io.IOException
+import java.net.InetSocketAddress
+import java.net.Proxy
+import java.time.Duration
+import okhttp3.Call
+import okhttp3.OkHttpClient
+import okhttp3.Request
+import org.assertj.core.api.Assertions.assertThat
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.robolectric.RobolectricTestRunner
+import org.robolectric.Shadows.shadowOf
+
+/** Tests for [NetworkTelemetry] and [NetworkTelemetryEventListener] */
+@RunWith(RobolectricTestRunner::class)
+class NetworkTelemetryTest {
+
+  private val telemetry = NetworkTelemetry()
+  private val call: Call =
+      OkHttpClient().newCall(Request.Builder().url("https://example.com/").build())
+
+  @Test
+  fun testPhasesOfACallAreRecorded() {
+    val listener = telemetry.eventListenerFactory.create(call)
+    listener.callStart(call)
+    listener.dnsStart(call, "example.com")
+    advanceBy(10)
+    listener.dnsEnd(call, "example.com", emptyList())
+    listener.connectStart(call, DUMMY_ADDRESS, Proxy.NO_PROXY)
+    advanceBy(20)
+    listener.secureConnectStart(call)
+    advanceBy(30)
+    listener.secureConnectEnd(call, null)
+    listener.connectEnd(call, DUMMY_ADDRESS, Proxy.NO_PROXY, null)
+    listener.requestBodyEnd(call, 100)
+    advanceBy(40)
+    listener.responseHeadersStart(call)
+    listener.responseBodyStart(call)
+    advanceBy(50)
+    listener.responseBodyEnd(call, 2000)
+    listener.callEnd(call)
+
+    assertThat(telemetry.getHistogram(NetworkTelemetry.PHASE_DNS)!!.sumMs).isEqualTo(10)
+    assertThat(telemetry.getHistogram(NetworkTelemetry.PHASE_CONNECT)!!.sumMs).isEqualTo(50)
+    assertThat(telemetry.getHistogram(NetworkTelemetry.PHASE_TLS)!!.sumMs).isEqualTo(30)
+    assertThat(telemetry.getHistogram(NetworkTelemetry.PHASE_TTFB)!!.sumMs).isEqualTo(100)
+    assertThat(telemetry.getHistogram(NetworkTelemetry.PHASE_DOWNLOAD)!!.sumMs).isEqualTo(50)
+    assertThat(telemetry.getHistogram(NetworkTelemetry.PHASE_TOTAL)!!.sumMs).isEqualTo(150)
+    assertThat(telemetry.requestCount).isEqualTo(1)
+    assertThat(telemetry.requestBytes).isEqualTo(100)
+    assertThat(telemetry.responseBytes).isEqualTo(2000)
+  }
+
+  @Test
+  fun testPhasesThatDidNotHappenAreNotRecorded() {
+    val timings = mutableListOf<NetworkTelemetry.RequestTiming>()
+    telemetry.addListener { timings.add(it) }
+
+    // A call on a pooled connection that failed before the response arrived
+    val listener = telemetry.eventListenerFactory.create(call)
+    listener.callStart(call)
+    listener.callFailed(call, IOException())
+
+    assertThat(timings).hasSize(1)
+    assertThat(timings[0].isFailed).isTrue()
+    assertThat(timings[0].getPhaseDurationMs(NetworkTelemetry.PHASE_DNS)).isEqualTo(-1)
+    assertThat(timings[0].getPhaseDurationMs(NetworkTelemetry.PHASE_TOTAL)).isEqualTo(0)
+    assertThat(telemetry.getHistogram(NetworkTelemetry.PHASE_DNS)!!.count).isEqualTo(0)
+    assertThat(telemetry.failedRequestCount).isEqualTo(1)
+  }
+
+  @Test
+  fun testPercentilesComeFromBoundedBuckets() {
+    for (durationMs in 1L..100L) {
+      telemetry.recordJSDelivery(durationMs)
+    }
+    telemetry.recordJSDelivery(60_000)
+
+    val histogram = telemetry.getHistogram(NetworkTelemetry.PHASE_JS_DELIVERY)!!
+    assertThat(histogram.count).isEqualTo(101)
+    assertThat(histogram.bucketCounts).hasSameSizeAs(histogram.bucketUpperBoundsMs)
+    assertThat(histogram.getPercentileMs(50.0)).isEqualTo(100)
+    assertThat(histogram.getPercentileMs(100.0)).isEqualTo(60_000)
+    assertThat(histogram.maxMs).isEqualTo(60_000)
+  }
+
+  private fun advanceBy(durationMs: Long) {
+    shadowOf(Looper.getMainLooper()).idleFor(Duration.ofMillis(durationMs))
+  }
+
+  private companion object {
+    val DUMMY_ADDRESS: InetSocketAddress = InetSocketAddress.createUnresolved("example.com", 443)
+  }
+}
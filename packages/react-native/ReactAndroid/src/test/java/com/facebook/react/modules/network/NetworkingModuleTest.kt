@@ -16,17 +16,22 @@ import com.facebook.react.bridge.ReactContext
 import com.facebook.react.bridge.WritableArray
 import com.facebook.react.bridge.WritableMap
 import com.facebook.react.common.network.OkHttpCallUtil
+import com.facebook.react.config.ReactFeatureFlags
 import java.io.InputStream
 import java.nio.charset.StandardCharsets
 import okhttp3.Call
+import okhttp3.Callback
 import okhttp3.Headers
 import okhttp3.MediaType
 import okhttp3.MediaType.Companion.toMediaTypeOrNull
 import okhttp3.MultipartBody
 import okhttp3.MultipartBody.Companion.FORM
 import okhttp3.OkHttpClient
+import okhttp3.Protocol
 import okhttp3.Request
 import okhttp3.RequestBody
+import okhttp3.Response
+import okhttp3.ResponseBody.Companion.toResponseBody
 import okio.Buffer
 import org.assertj.core.api.Assertions.assertThat
 import org.junit.After
@@ -39,12 +44,15 @@ import org.mockito.ArgumentMatchers.any
 import org.mockito.ArgumentMatchers.eq
 import org.mockito.Captor
 import org.mockito.MockedStatic
+import org.mockito.Mockito.atLeastOnce
 import org.mockito.Mockito.mock
 import org.mockito.Mockito.mockStatic
+import org.mockito.Mockito.never
 import org.mockito.Mockito.times
 import org.mockito.Mockito.verify
 import org.mockito.Mockito.`when` as whenever
 import org.robolectric.RobolectricTestRunner
+import org.robolectric.shadows.ShadowPausedAsyncTask
 
 /**
  * Returns Mockito.any() as nullable type to avoid java.lang.IllegalStateException when null is
@@ -585,4 +593,98 @@ class NetworkingModuleTest {
       assertThat(requestIdArguments.allValues.contains(idx + 1)).isTrue
     }
   }
+
+  @Test
+  fun testIdenticalGetsShareOneCallAndEachGetTheResponse() {
+    val call = mock(Call::class.java)
+    val deduplicatingModule = createDeduplicatingModule(call)
+
+    for (requestId in 1..3) {
+      sendGet(deduplicatingModule, requestId)
+    }
+    verify(httpClient, times(1)).newCall(anyOrNull(Request::class.java))
+
+    respond(call, "shared")
+
+    assertThat(getReceivedData())
+        .containsExactly(Pair(1, "shared"), Pair(2, "shared"), Pair(3, "shared"))
+  }
+
+  @Test
+  fun testAbortingOneRequestOfAGroupKeepsTheSharedCall() {
+    val call = mock(Call::class.java)
+    val deduplicatingModule = createDeduplicatingModule(call)
+    sendGet(deduplicatingModule, 1)
+    sendGet(deduplicatingModule, 2)
+
+    deduplicatingModule.abortRequest(1.0)
+    verify(call, never()).cancel()
+
+    respond(call, "shared")
+    assertThat(getReceivedData()).containsExactly(Pair(2, "shared"))
+  }
+
+  @Test
+  fun testSharedCallIsCancelledOnceEveryRequestAborted() {
+    val call = mock(Call::class.java)
+    val deduplicatingModule = createDeduplicatingModule(call)
+    sendGet(deduplicatingModule, 1)
+    sendGet(deduplicatingModule, 2)
+
+    deduplicatingModule.abortRequest(1.0)
+    deduplicatingModule.abortRequest(2.0)
+
+    verify(call, times(1)).cancel()
+  }
+
+  private fun createDeduplicatingModule(call: Call): NetworkingModule {
+    whenever(httpClient.newCall(anyOrNull(Request::class.java))).thenReturn(call)
+    // Calls are cancelled with an AsyncTask, run it right away
+    ShadowPausedAsyncTask.overrideExecutor { it.run() }
+    ReactFeatureFlags.enableNetworkingRequestDeduplication = true
+    try {
+      return NetworkingModule(context, "", httpClient)
+    } finally {
+      ReactFeatureFlags.enableNetworkingRequestDeduplication = false
+    }
+  }
+
+  private fun sendGet(module: NetworkingModule, requestId: Int) {
+    module.sendRequest(
+        "GET",
+        "http://somedomain/foo",
+        requestId.toDouble(),
+        JavaOnlyArray.of(),
+        null,
+        "text", /* responseType */
+        false, /* useIncrementalUpdates*/
+        0.0, /* timeout */
+        false /* withCredentials */)
+  }
+
+  private fun respond(call: Call, body: String) {
+    val callbackCaptor = ArgumentCaptor.forClass(Callback::class.java)
+    verify(call).enqueue(capture(callbackCaptor))
+    val request = Request.Builder().url("http://somedomain/foo").build()
+    callbackCaptor.value.onResponse(
+        call,
+        Response.Builder()
+            .request(request)
+            .protocol(Protocol.HTTP_1_1)
+            .code(200)
+            .message("OK")
+            .body(body.toResponseBody("text/plain".toMediaTypeOrNull()))
+            .build())
+  }
+
+  /** @return the request ids and response data sent to JS, in order */
+  private fun getReceivedData(): List<Pair<Int, String>> {
+    val argsCaptor = ArgumentCaptor.forClass(Any::class.java)
+    verify(context, atLeastOnce())
+        .emitDeviceEvent(eq("didReceiveNetworkData"), capture(argsCaptor))
+    return argsCaptor.allValues.map {
+      val args = it as JavaOnlyArray
+      Pair(args.getInt(0), args.getString(1))
+    }
+  }
 }
@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package com.facebook.react.modules.network
+
+import okhttp3.Cookie
+import okhttp3.HttpUrl.Companion.toHttpUrl
+import okhttp3.Request
+import org.assertj.core.api.Assertions.assertThat
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.robolectric.RobolectricTestRunner
+
+/** Tests for [RequestDeduplicator] */
+@RunWith(RobolectricTestRunner::class)
+class RequestDeduplicatorTest {
+
+  @Test
+  fun testIdenticalRequestsShareAGroup() {
+    val deduplicator = RequestDeduplicator()
+
+    val group = deduplicator.join("key", 1, "text")
+    assertThat(group).isNotNull()
+    assertThat(deduplicator.join("key", 2, "base64")).isNull()
+    assertThat(deduplicator.join("other", 3, "text")).isNotNull()
+
+    assertThat(group!!.size()).isEqualTo(2)
+    assertThat(group.getRequestId(1)).isEqualTo(2)
+    assertThat(group.getResponseType(1)).isEqualTo("base64")
+    assertThat(deduplicator.getDeduplicatedCount()).isEqualTo(1)
+  }
+
+  @Test
+  fun testCompletedGroupIsNotJoined() {
+    val deduplicator = RequestDeduplicator()
+    val group = deduplicator.join("key", 1, "text")!!
+
+    assertThat(deduplicator.complete(group)).isTrue()
+    assertThat(deduplicator.join("key", 2, "text")).isNotNull()
+    assertThat(deduplicator.leave(1)).isNull()
+  }
+
+  @Test
+  fun testLeavingRequestsEmptiesTheGroup() {
+    val deduplicator = RequestDeduplicator()
+    val group = deduplicator.join("key", 1, "text")!!
+    deduplicator.join("key", 2, "text")
+
+    assertThat(deduplicator.leave(1)).isSameAs(group)
+    assertThat(group.size()).isEqualTo(1)
+    assertThat(group.getRequestId(0)).isEqualTo(2)
+    assertThat(deduplicator.leave(2)).isSameAs(group)
+    assertThat(group.size()).isEqualTo(0)
+    assertThat(deduplicator.leave(2)).isNull()
+    assertThat(deduplicator.complete(group)).isFalse()
+    assertThat(deduplicator.join("key", 3, "text")).isNotSameAs(group).isNotNull()
+  }
+
+  @Test
+  fun testKeyDependsOnUrlHeadersTimeoutCredentialsAndCookies() {
+    val request = Request.Builder().url("https://example.com/a").header("Accept", "*/*").build()
+    val cookie = Cookie.parse("https://example.com".toHttpUrl(), "session=1")!!
+    val key = RequestDeduplicator.getKey(request, 0, true, emptyList())
+
+    assertThat(RequestDeduplicator.getKey(request.newBuilder().build(), 0, true, emptyList()))
+        .isEqualTo(key)
+    assertThat(
+            RequestDeduplicator.getKey(
+                request.newBuilder().url("https://example.com/b").build(), 0, true, emptyList()))
+        .isNotEqualTo(key)
+    assertThat(
+            RequestDeduplicator.getKey(
+                request.newBuilder().header("Accept", "text/plain").build(),
+                0,
+                true,
+                emptyList()))
+        .isNotEqualTo(key)
+    assertThat(RequestDeduplicator.getKey(request, 1000, true, emptyList())).isNotEqualTo(key)
+    assertThat(RequestDeduplicator.getKey(request, 0, false, emptyList())).isNotEqualTo(key)
+    assertThat(RequestDeduplicator.getKey(request, 0, true, listOf(cookie))).isNotEqualTo(key)
+  }
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package com.facebook.react.modules.network
+
+import java.util.Date
+import okhttp3.Protocol
+import okhttp3.Request
+import okhttp3.Response
+import org.assertj.core.api.Assertions.assertThat
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.robolectric.RobolectricTestRunner
+
+/** Tests for [ResponseMemoryCache] */
+@RunWith(RobolectricTestRunner::class)
+class ResponseMemoryCacheTest {
+
+  private fun response(cacheControl: String): Response =
+      Response.Builder()
+          .request(Request.Builder().url("https://example.com/").build())
+          .protocol(Protocol.HTTP_1_1)
+          .code(200)
+          .message("OK")
+          .header("Cache-Control", cacheControl)
+          .build()
+
+  @Test
+  fun testFreshResponseIsServedUntilItExpires() {
+    val cache = ResponseMemoryCache(1024 * 1024)
+    cache.put("key", response("max-age=10"), "body".toByteArray(), 0)
+
+    val cachedResponse = cache.get("key", 9999)
+    assertThat(cachedResponse).isNotNull()
+    assertThat(cachedResponse!!.body!!.string()).isEqualTo("body")
+    assertThat(cache.get("key", 10000)).isNull()
+    assertThat(cache.getHitCount()).isEqualTo(1)
+    assertThat(cache.getMissCount()).isEqualTo(1)
+    assertThat(cache.getSizeBytes()).isEqualTo(0)
+  }
+
+  @Test
+  fun testAgeCountsAgainstMaxAge() {
+    val cache = ResponseMemoryCache(1024 * 1024)
+    val aged = response("max-age=10").newBuilder().header("Age", "4").build()
+    cache.put("key", aged, "body".toByteArray(), 0)
+
+    assertThat(cache.get("key", 5999)).isNotNull()
+    assertThat(cache.get("key", 6000)).isNull()
+  }
+
+  @Test
+  fun testFreshnessAccountsForTimeInFlightAndSinceReceived() {
+    val now = 1_000_000L
+    val fresh = response("max-age=10")
+    val response =
+        fresh
+            .newBuilder()
+            .headers(fresh.headers.newBuilder().add("Date", Date(now - 5000)).build())
+            .sentRequestAtMillis(now - 3000)
+            .receivedResponseAtMillis(now - 2000)
+            .build()
+
+    // 3s between the Date and receiving it, 1s in flight and 2s since it was received
+    assertThat(ResponseMemoryCache.getFreshnessMs(response, now)).isEqualTo(4000)
+    assertThat(
+            ResponseMemoryCache.getFreshnessMs(
+                response.newBuilder().header("Age", "9").build(), now))
+        .isEqualTo(-2000)
+  }
+
+  @Test
+  fun testResponsesThatMayNotBeStoredAreNotCached() {
+    val cache = ResponseMemoryCache(1024 * 1024)
+    cache.put("no-store", response("no-store, max-age=10"), "body".toByteArray(), 0)
+    cache.put("no-cache", response("no-cache"), "body".toByteArray(), 0)
+    cache.put("no-max-age", response("public"), "body".toByteArray(), 0)
+    cache.put("too-large", response("max-age=10"), ByteArray(200 * 1024), 0)
+
+    assertThat(cache.get("no-store", 0)).isNull()
+    assertThat(cache.get("no-cache", 0)).isNull()
+    assertThat(cache.get("no-max-age", 0)).isNull()
+    assertThat(cache.get("too-large", 0)).isNull()
+  }
+
+  @Test
+  fun testLeastRecentlyUsedResponsesAreEvicted() {
+    val cache = ResponseMemoryCache(800)
+    cache.put("a", response("max-age=10"), ByteArray(100), 0)
+    cache.put("b", response("max-age=10"), ByteArray(100), 0)
+    repeat(6) { cache.put("filler$it", response("max-age=10"), ByteArray(100), 0) }
+    cache.get("a", 0)
+    cache.put("c", response("max-age=10"), ByteArray(100), 0)
+
+    assertThat(cache.get("a", 0)).isNotNull()
+    assertThat(cache.get("b", 0)).isNull()
+    assertThat(cache.getSizeBytes()).isEqualTo(800)
+  }
+}
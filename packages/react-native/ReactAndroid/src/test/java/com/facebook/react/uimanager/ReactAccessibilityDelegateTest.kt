@@ -0,0 +1,174 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package com.facebook.react.uimanager
+
+import android.app.Activity
+import android.os.Looper
+import android.text.SpannableString
+import android.text.style.ClickableSpan
+import android.view.View
+import android.view.ViewGroup
+import android.view.accessibility.AccessibilityNodeInfo
+import android.widget.FrameLayout
+import android.widget.LinearLayout
+import android.widget.TextView
+import com.facebook.react.config.ReactFeatureFlags
+import org.assertj.core.api.Assertions.assertThat
+import org.junit.After
+import org.junit.Before
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.robolectric.Robolectric
+import org.robolectric.RobolectricTestRunner
+import org.robolectric.Shadows.shadowOf
+
+/** Tests for the accessibility summaries cached by [ReactAccessibilityDelegate] */
+@RunWith(RobolectricTestRunner::class)
+class ReactAccessibilityDelegateTest {
+
+  private lateinit var group: LinearLayout
+  private lateinit var textView: TextView
+
+  @Before
+  fun setup() {
+    ReactFeatureFlags.enableAccessibilitySummaryCache = true
+    val activity = Robolectric.buildActivity(Activity::class.java).setup().get()
+    group = LinearLayout(activity)
+    textView = TextView(activity)
+    textView.text = "Hello"
+    group.addView(textView, LinearLayout.LayoutParams(100, 100))
+    // As the mounting layer does for the views it creates
+    ReactAccessibilityDelegate.enableAccessibilitySummaryCache(group)
+    ReactAccessibilityDelegate.enableAccessibilitySummaryCache(textView)
+    val root = FrameLayout(activity)
+    root.addView(group, FrameLayout.LayoutParams(100, 100))
+    activity.setContentView(root)
+    shadowOf(Looper.getMainLooper()).idle()
+  }
+
+  @After
+  fun tearDown() {
+    ReactFeatureFlags.enableAccessibilitySummaryCache = false
+  }
+
+  private fun hasNonActionableSpeakingDescendants(view: View): Boolean {
+    val node = ReactAccessibilityDelegate.createNodeInfoFromView(view)
+    try {
+      return ReactAccessibilityDelegate.hasNonActionableSpeakingDescendants(node, view)
+    } finally {
+      node?.recycle()
+    }
+  }
+
+  @Test
+  fun testSummaryIsKeptUntilTheViewChanges() {
+    assertThat(hasNonActionableSpeakingDescendants(group)).isTrue()
+
+    textView.text = ""
+    assertThat(hasNonActionableSpeakingDescendants(group)).isTrue()
+
+    ReactAccessibilityDelegate.invalidateAccessibilitySummary(textView)
+    assertThat(hasNonActionableSpeakingDescendants(group)).isFalse()
+  }
+
+  @Test
+  fun testSummaryOfAViewNotFromTheMountingLayerIsNotCached() {
+    val nativeChild = TextView(group.context)
+    nativeChild.text = "Added by a native component"
+    group.removeView(textView)
+    group.addView(nativeChild, LinearLayout.LayoutParams(100, 100))
+    shadowOf(Looper.getMainLooper()).idle()
+    assertThat(hasNonActionableSpeakingDescendants(group)).isTrue()
+
+    nativeChild.text = ""
+    assertThat(hasNonActionableSpeakingDescendants(group)).isFalse()
+  }
+
+  @Test
+  fun testVisibilityIsCheckedWithoutInvalidation() {
+    assertThat(hasNonActionableSpeakingDescendants(group)).isTrue()
+
+    textView.visibility = View.GONE
+    assertThat(hasNonActionableSpeakingDescendants(group)).isFalse()
+
+    textView.visibility = View.VISIBLE
+    shadowOf(Looper.getMainLooper()).idle()
+    assertThat(hasNonActionableSpeakingDescendants(group)).isTrue()
+  }
+
+  @Test
+  fun testViewsScrolledOutOfSightAreNotVisible() {
+    assertThat(hasNonActionableSpeakingDescendants(group)).isTrue()
+
+    group.scrollTo(0, 1000)
+    assertThat(hasNonActionableSpeakingDescendants(group)).isFalse()
+  }
+
+  @Test
+  fun testTalkbackDescriptionComesFromChildren() {
+    assertThat(ReactAccessibilityDelegate.getTalkbackDescription(group, null).toString())
+        .isEqualTo("Hello")
+  }
+
+  @Test
+  fun testSummaryIsNotCachedWhenDisabled() {
+    ReactFeatureFlags.enableAccessibilitySummaryCache = false
+    assertThat(hasNonActionableSpeakingDescendants(group)).isTrue()
+
+    textView.text = ""
+    assertThat(hasNonActionableSpeakingDescendants(group)).isFalse()
+  }
+
+  @Test
+  fun testNodeInfosAreCreatedOnceForNestedDescendants() {
+    // A deep hierarchy, as with TalkBack exploring the rows of a long list
+    group.removeView(textView)
+    var parent: ViewGroup = group
+    repeat(20) {
+      val child = LinearLayout(group.context)
+      ReactAccessibilityDelegate.enableAccessibilitySummaryCache(child)
+      parent.addView(child, LinearLayout.LayoutParams(100, 100))
+      parent = child
+    }
+    shadowOf(Looper.getMainLooper()).idle()
+    var initializedNodes = 0
+    parent.accessibilityDelegate =
+        object : View.AccessibilityDelegate() {
+          override fun onInitializeAccessibilityNodeInfo(host: View, info: AccessibilityNodeInfo) {
+            initializedNodes++
+            super.onInitializeAccessibilityNodeInfo(host, info)
+          }
+        }
+
+    // Each ancestor asks about its subtree, which would create the node info of the deepest view
+    // once per ancestor
+    var view: View = parent
+    while (view != group) {
+      view = view.parent as View
+      hasNonActionableSpeakingDescendants(view)
+    }
+
+    assertThat(initializedNodes).isEqualTo(1)
+  }
+
+  @Test
+  fun testLinksOfTheSameTextAreEqual() {
+    val text = SpannableString("Open the link")
+    text.setSpan(
+        object : ClickableSpan() {
+          override fun onClick(widget: View) = Unit
+        },
+        9,
+        13,
+        0)
+    val spans = text.getSpans(0, text.length, ClickableSpan::class.java)
+
+    assertThat(ReactAccessibilityDelegate.AccessibilityLinks(spans, text))
+        .isEqualTo(ReactAccessibilityDelegate.AccessibilityLinks(spans, text))
+  }
+}
@@ -0,0 +1,160 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package com.facebook.react.uimanager
+
+import com.facebook.react.bridge.JavaOnlyArray
+import com.facebook.react.bridge.JavaOnlyMap
+import com.facebook.react.bridge.ReadableArray
+import com.facebook.react.uimanager.MatrixMathHelper.MatrixDecompositionContext
+import org.assertj.core.api.Assertions.assertThat
+import org.junit.Before
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.robolectric.RobolectricTestRunner
+
+/** Tests for [TransformDecompositionCache] */
+@RunWith(RobolectricTestRunner::class)
+class TransformDecompositionCacheTest {
+
+  // The cache is process-wide, so its counters carry over between tests
+  private var initialHitCount = 0
+  private var initialMissCount = 0
+
+  @Before
+  fun setup() {
+    TransformDecompositionCache.clear()
+    initialHitCount = TransformDecompositionCache.hitCount()
+    initialMissCount = TransformDecompositionCache.missCount()
+  }
+
+  @Test
+  fun testCachedDecompositionMatchesUncached() {
+    for (transforms in typicalTransforms()) {
+      val expected = decomposeUncached(transforms, 100f, 50f, null)
+      val miss = decomposeCached(transforms, 100f, 50f, null)
+      val hit = decomposeCached(transforms, 100f, 50f, null)
+
+      assertSameDecomposition(miss, expected)
+      assertSameDecomposition(hit, expected)
+    }
+    assertThat(misses()).isEqualTo(typicalTransforms().size)
+    assertThat(hits()).isEqualTo(typicalTransforms().size)
+  }
+
+  @Test
+  fun testViewSizeAndOriginArePartOfTheKey() {
+    val transforms = JavaOnlyArray.of(JavaOnlyMap.of("translateY", "50%"))
+    val origin = JavaOnlyArray.of("0%", "0%")
+
+    assertThat(decomposeCached(transforms, 100f, 50f, null).translation[1]).isEqualTo(25.0)
+    assertThat(decomposeCached(transforms, 100f, 80f, null).translation[1]).isEqualTo(40.0)
+    decomposeCached(transforms, 100f, 80f, origin)
+    assertThat(misses()).isEqualTo(3)
+    assertThat(hits()).isEqualTo(0)
+  }
+
+  @Test
+  fun testStringAndNumberValuesDoNotCollide() {
+    val degrees = JavaOnlyArray.of(JavaOnlyMap.of("rotate", "1"))
+    val radians = JavaOnlyArray.of(JavaOnlyMap.of("rotate", 1.0))
+
+    decomposeCached(degrees, 100f, 100f, null)
+    decomposeCached(radians, 100f, 100f, null)
+    assertThat(misses()).isEqualTo(2)
+  }
+
+  @Test
+  fun testRepeatedTransformsAreFasterWhenCached() {
+    val transforms = typicalTransforms()
+    val ctx = MatrixDecompositionContext()
+    val matrix = DoubleArray(16)
+
+    val uncachedNanos = measure {
+      for (t in transforms) {
+        ctx.reset()
+        TransformHelper.processTransform(t, matrix, 100f, 50f, null)
+        MatrixMathHelper.decomposeMatrix(matrix, ctx)
+      }
+    }
+    val cachedNanos = measure {
+      for (t in transforms) {
+        TransformDecompositionCache.decompose(t, 100f, 50f, null, ctx)
+      }
+    }
+
+    println("Transform decomposition: uncached=${uncachedNanos}ns cached=${cachedNanos}ns")
+    assertThat(misses()).isEqualTo(transforms.size)
+    assertThat(hits())
+        .isEqualTo((WARMUP_ITERATIONS + ITERATIONS) * transforms.size - transforms.size)
+  }
+
+  private fun hits(): Int = TransformDecompositionCache.hitCount() - initialHitCount
+
+  private fun misses(): Int = TransformDecompositionCache.missCount() - initialMissCount
+
+  private fun measure(block: () -> Unit): Long {
+    repeat(WARMUP_ITERATIONS) { block() }
+    val start = System.nanoTime()
+    repeat(ITERATIONS) { block() }
+    return (System.nanoTime() - start) / ITERATIONS
+  }
+
+  private fun typicalTransforms(): List<ReadableArray> =
+      listOf(
+          JavaOnlyArray.of(JavaOnlyMap.of("rotate", "45deg")),
+          JavaOnlyArray.of(JavaOnlyMap.of("scale", 1.5)),
+          JavaOnlyArray.of(JavaOnlyMap.of("translateX", 10.0), JavaOnlyMap.of("translateY", -4.0)),
+          JavaOnlyArray.of(
+              JavaOnlyMap.of("translateY", "50%"),
+              JavaOnlyMap.of("rotate", "0.5rad"),
+              JavaOnlyMap.of("scale", 0.9)),
+          JavaOnlyArray.of(
+              JavaOnlyMap.of("perspective", 1000.0),
+              JavaOnlyMap.of("rotateY", "30deg"),
+              JavaOnlyMap.of("translate", JavaOnlyArray.of(12.0, "10%"))))
+
+  private fun decomposeUncached(
+      transforms: ReadableArray,
+      width: Float,
+      height: Float,
+      origin: ReadableArray?
+  ): MatrixDecompositionContext {
+    val matrix = DoubleArray(16)
+    val ctx = MatrixDecompositionContext()
+    TransformHelper.processTransform(transforms, matrix, width, height, origin)
+    MatrixMathHelper.decomposeMatrix(matrix, ctx)
+    return ctx
+  }
+
+  private fun decomposeCached(
+      transforms: ReadableArray,
+      width: Float,
+      height: Float,
+      origin: ReadableArray?
+  ): MatrixDecompositionContext {
+    val ctx = MatrixDecompositionContext()
+    TransformDecompositionCache.decompose(transforms, width, height, origin, ctx)
+    return ctx
+  }
+
+  private fun assertSameDecomposition(
+      actual: MatrixDecompositionContext,
+      expected: MatrixDecompositionContext
+  ) {
+    assertThat(actual.perspective).containsExactly(*expected.perspective)
+    assertThat(actual.scale).containsExactly(*expected.scale)
+    assertThat(actual.skew).containsExactly(*expected.skew)
+    assertThat(actual.translation).containsExactly(*expected.translation)
+    assertThat(actual.rotationDegrees).containsExactly(*expected.rotationDegrees)
+  }
+
+  private companion object {
+    const val WARMUP_ITERATIONS = 100
+    const val ITERATIONS = 1000
+  }
+}
@@ -0,0 +1,162 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package com.facebook.react.uimanager
+
+import android.os.Looper
+import android.view.View
+import com.facebook.react.bridge.BridgeReactContext
+import com.facebook.react.bridge.ReactTestHelper.createMockCatalystInstance
+import com.facebook.react.config.ReactFeatureFlags
+import com.facebook.react.touch.JSResponderHandler
+import org.assertj.core.api.Assertions.assertThat
+import org.junit.After
+import org.junit.Before
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.robolectric.RobolectricTestRunner
+import org.robolectric.RuntimeEnvironment
+import org.robolectric.Shadows.shadowOf
+
+/** Tests for [ViewRecyclingPool] */
+@RunWith(RobolectricTestRunner::class)
+class ViewRecyclingPoolTest {
+
+  private class RecyclingViewManager : SimpleViewManager<View>() {
+    var createdViews = 0
+
+    init {
+      setupViewRecycling()
+    }
+
+    override fun createViewInstance(reactContext: ThemedReactContext): View {
+      createdViews++
+      return View(reactContext)
+    }
+
+    override fun getName(): String = COMPONENT_NAME
+  }
+
+  private lateinit var context: BridgeReactContext
+  private lateinit var surfaceA: ThemedReactContext
+  private lateinit var surfaceB: ThemedReactContext
+  private lateinit var pool: ViewRecyclingPool
+
+  @Before
+  fun setup() {
+    ReactFeatureFlags.enableViewRecycling = true
+    context = BridgeReactContext(RuntimeEnvironment.getApplication())
+    context.initializeWithInstance(createMockCatalystInstance())
+    surfaceA = ThemedReactContext(context, context, null, SURFACE_A)
+    surfaceB = ThemedReactContext(context, context, null, SURFACE_B)
+    pool = ViewRecyclingPool()
+    ViewRecyclingPool.getInstance().clear()
+  }
+
+  @After
+  fun tearDown() {
+    ReactFeatureFlags.enableViewRecycling = false
+    ViewRecyclingPool.getInstance().clear()
+  }
+
+  @Test
+  fun testViewsAreSharedBySurfacesOfTheSameInstance() {
+    val view = View(surfaceA)
+    pool.release(COMPONENT_NAME, view)
+
+    assertThat(pool.acquire(COMPONENT_NAME, surfaceB)).isSameAs(view)
+    assertThat(pool.acquire(COMPONENT_NAME, surfaceA)).isNull()
+
+    val stats = pool.stats[COMPONENT_NAME]!!
+    assertThat(stats.hits).isEqualTo(1)
+    assertThat(stats.misses).isEqualTo(1)
+    assertThat(stats.hitRate).isEqualTo(0.5f)
+  }
+
+  @Test
+  fun testViewsAreNotReusedByAnotherInstance() {
+    val otherContext = BridgeReactContext(RuntimeEnvironment.getApplication())
+    otherContext.initializeWithInstance(createMockCatalystInstance())
+    pool.release(COMPONENT_NAME, View(surfaceA))
+
+    val otherSurface = ThemedReactContext(otherContext, otherContext, null, SURFACE_B)
+
+    assertThat(pool.acquire(COMPONENT_NAME, otherSurface)).isNull()
+  }
+
+  @Test
+  fun testPoolIsBoundedPerComponentAcrossSurfaces() {
+    pool.setMaxSize(COMPONENT_NAME, 3)
+
+    repeat(2) { pool.release(COMPONENT_NAME, View(surfaceA)) }
+    repeat(2) { pool.release(COMPONENT_NAME, View(surfaceB)) }
+    pool.release(OTHER_COMPONENT_NAME, View(surfaceA))
+
+    assertThat(pool.stats[COMPONENT_NAME]!!.size).isEqualTo(3)
+    assertThat(pool.stats[COMPONENT_NAME]!!.dropped).isEqualTo(1)
+    assertThat(pool.stats[OTHER_COMPONENT_NAME]!!.size).isEqualTo(1)
+  }
+
+  @Test
+  fun testSurfaceStopOnlyEvictsViewsThatCannotBeReused() {
+    val destroyedContext = BridgeReactContext(RuntimeEnvironment.getApplication())
+    pool.release(
+        COMPONENT_NAME, View(ThemedReactContext(destroyedContext, context, null, SURFACE_B)))
+    pool.release(COMPONENT_NAME, View(surfaceA))
+
+    pool.onSurfaceStopped(COMPONENT_NAME, SURFACE_A)
+    assertThat(pool.stats[COMPONENT_NAME]!!.size).isEqualTo(1)
+    assertThat(pool.acquire(COMPONENT_NAME, surfaceB)).isNotNull()
+  }
+
+  @Test
+  fun testMemoryPressureEvictsViews() {
+    pool.release(COMPONENT_NAME, View(surfaceA))
+    pool.release(COMPONENT_NAME, View(surfaceB))
+
+    pool.handleMemoryPressure(0)
+    assertThat(pool.stats[COMPONENT_NAME]!!.size).isEqualTo(0)
+  }
+
+  @Test
+  fun testViewManagerRecyclesThroughGlobalPool() {
+    val manager = RecyclingViewManager()
+
+    val first = manager.createView(2, surfaceA, null, null, JSResponderHandler())
+    manager.onDropViewInstance(first)
+    val second = manager.createView(4, surfaceB, null, null, JSResponderHandler())
+
+    assertThat(second).isSameAs(first)
+    assertThat(second.id).isEqualTo(4)
+    assertThat(UIManagerHelper.getSurfaceId(second)).isEqualTo(SURFACE_B)
+    assertThat(manager.createdViews).isEqualTo(1)
+    assertThat(ViewRecyclingPool.getInstance().stats[COMPONENT_NAME]!!.hits).isEqualTo(1)
+  }
+
+  @Test
+  fun testPrewarmInflatesCommonlyUsedViewsWhileIdle() {
+    val manager = RecyclingViewManager()
+    val registry = ViewManagerRegistry(listOf<ViewManager<*, *>>(manager))
+    val globalPool = ViewRecyclingPool.getInstance()
+    // Make the component commonly used
+    repeat(10) { globalPool.acquire(COMPONENT_NAME, surfaceA) }
+
+    globalPool.prewarm(surfaceB, registry)
+    shadowOf(Looper.getMainLooper()).idle()
+
+    assertThat(manager.createdViews).isGreaterThan(0)
+    assertThat(globalPool.stats[COMPONENT_NAME]!!.prewarmed).isEqualTo(manager.createdViews)
+    assertThat(globalPool.acquire(COMPONENT_NAME, surfaceA)).isNotNull()
+  }
+
+  private companion object {
+    const val COMPONENT_NAME = "RCTRecyclingView"
+    const val OTHER_COMPONENT_NAME = "RCTOtherView"
+    const val SURFACE_A = 1
+    const val SURFACE_B = 11
+  }
+}
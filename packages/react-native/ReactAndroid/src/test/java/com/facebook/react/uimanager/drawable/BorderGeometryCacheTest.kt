@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package com.facebook.react.uimanager.drawable
+
+import android.content.Context
+import android.graphics.Bitmap
+import android.graphics.Canvas
+import android.graphics.Path
+import android.graphics.RectF
+import com.facebook.react.config.ReactFeatureFlags
+import com.facebook.react.uimanager.LengthPercentage
+import com.facebook.react.uimanager.LengthPercentageType
+import com.facebook.react.uimanager.Spacing
+import com.facebook.react.uimanager.style.BorderRadiusProp
+import org.assertj.core.api.Assertions.assertThat
+import org.junit.After
+import org.junit.Before
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.robolectric.RobolectricTestRunner
+import org.robolectric.RuntimeEnvironment
+
+/** Tests for [BorderGeometryCache] */
+@RunWith(RobolectricTestRunner::class)
+class BorderGeometryCacheTest {
+
+  private val ctx: Context = RuntimeEnvironment.getApplication()
+
+  @Before
+  fun setUp() {
+    ReactFeatureFlags.enableBorderGeometryCache = true
+    BorderGeometryCache.clear()
+  }
+
+  @After
+  fun tearDown() {
+    ReactFeatureFlags.enableBorderGeometryCache = false
+    BorderGeometryCache.clear()
+  }
+
+  @Test
+  fun testIdenticalCardsShareGeometry() {
+    val canvas = Canvas(Bitmap.createBitmap(CARD_WIDTH, CARD_HEIGHT, Bitmap.Config.ARGB_8888))
+    val missesBefore = BorderGeometryCache.missCount()
+    val hitsBefore = BorderGeometryCache.hitCount()
+
+    val cards = (0 until CARD_COUNT).map { createCard(12f) }
+    cards.forEach { it.draw(canvas) }
+
+    assertThat(BorderGeometryCache.missCount() - missesBefore).isEqualTo(1)
+    assertThat(BorderGeometryCache.hitCount() - hitsBefore).isEqualTo(CARD_COUNT - 1)
+    assertThat(cards.first().getSharedBorderBoxPath())
+        .isSameAs(cards.last().getSharedBorderBoxPath())
+  }
+
+  @Test
+  fun testDifferentRadiiDoNotShareGeometry() {
+    val first = createCard(12f)
+    val second = createCard(16f)
+
+    assertThat(first.getSharedBorderBoxPath()).isNotSameAs(second.getSharedBorderBoxPath())
+    assertThat(BorderGeometryCache.size()).isEqualTo(2)
+  }
+
+  @Test
+  fun testBorderBoxPathIsCopied() {
+    val first = createCard(12f)
+    val second = createCard(12f)
+    val shared = second.getSharedBorderBoxPath()!!
+    val boundsBefore = RectF().also { shared.computeBounds(it, true) }
+
+    val copy = first.borderBoxPath!!
+    copy.reset()
+    copy.addRect(0f, 0f, 1f, 1f, Path.Direction.CW)
+
+    val boundsAfter = RectF().also { shared.computeBounds(it, true) }
+    assertThat(copy).isNotSameAs(shared)
+    assertThat(shared.isEmpty).isFalse()
+    assertThat(boundsAfter).isEqualTo(boundsBefore)
+    assertThat(first.getSharedBorderBoxPath()).isSameAs(shared)
+  }
+
+  @Test
+  fun testGeometryIsUpdatedInPlaceWithoutTheCache() {
+    ReactFeatureFlags.enableBorderGeometryCache = false
+    val card = createCard(12f)
+    val path = card.getSharedBorderBoxPath()!!
+
+    card.setBounds(0, 0, CARD_WIDTH * 2, CARD_HEIGHT)
+    val bounds = RectF().also { card.getSharedBorderBoxPath()!!.computeBounds(it, true) }
+
+    assertThat(card.getSharedBorderBoxPath()).isSameAs(path)
+    assertThat(bounds.width()).isEqualTo(CARD_WIDTH * 2f)
+    assertThat(BorderGeometryCache.size()).isEqualTo(0)
+  }
+
+  @Test
+  fun testCacheIsBounded() {
+    (0 until CARD_COUNT).forEach { createCard(it.toFloat() + 1f).getSharedBorderBoxPath() }
+
+    assertThat(BorderGeometryCache.size()).isLessThan(CARD_COUNT)
+  }
+
+  private fun createCard(radius: Float): CSSBackgroundDrawable =
+      CSSBackgroundDrawable(ctx).apply {
+        setBounds(0, 0, CARD_WIDTH, CARD_HEIGHT)
+        setColor(0xFFFFFFFF.toInt())
+        setBorderWidth(Spacing.ALL, 1f)
+        setBorderRadius(
+            BorderRadiusProp.BORDER_RADIUS, LengthPercentage(radius, LengthPercentageType.POINT))
+      }
+
+  private companion object {
+    const val CARD_COUNT = 500
+    const val CARD_WIDTH = 320
+    const val CARD_HEIGHT = 120
+  }
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package com.facebook.react.uimanager.events
+
+import com.facebook.react.uimanager.OnLayoutEvent
+import org.assertj.core.api.Assertions.assertThat
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.robolectric.RobolectricTestRunner
+
+/** Tests for [EventBackpressurePolicy] */
+@RunWith(RobolectricTestRunner::class)
+class EventBackpressurePolicyTest {
+
+  @Test
+  fun testContinuousEventsAreDroppedOnceLatencyIsReached() {
+    val policy = EventBackpressurePolicy(200, 8)
+
+    assertThat(policy.shouldDropContinuousEvents(0)).isFalse()
+    assertThat(policy.shouldDropContinuousEvents(199)).isFalse()
+    assertThat(policy.shouldDropContinuousEvents(200)).isTrue()
+  }
+
+  @Test(expected = IllegalArgumentException::class)
+  fun testNegativeDropLatencyIsRejected() {
+    EventBackpressurePolicy(-1, 8)
+  }
+
+  @Test(expected = IllegalArgumentException::class)
+  fun testNegativeMaxPendingEventsIsRejected() {
+    EventBackpressurePolicy(100, -1)
+  }
+
+  @Test
+  fun testOnlyContinuousEventsCanBeDropped() {
+    assertThat(EventBackpressurePolicy.isContinuous(TestEvent(EventCategoryDef.CONTINUOUS)))
+        .isTrue()
+    assertThat(EventBackpressurePolicy.isContinuous(OnLayoutEvent.obtain(1, 0, 0, 10, 10)))
+        .isFalse()
+    assertThat(EventBackpressurePolicy.isContinuous(ContentSizeChangeEvent(1, 10, 10))).isFalse()
+  }
+
+  @Test
+  fun testDiscreteEventsAreNeverShed() {
+    for (category in
+        listOf(
+            EventCategoryDef.DISCRETE,
+            EventCategoryDef.CONTINUOUS_START,
+            EventCategoryDef.CONTINUOUS_END,
+            EventCategoryDef.UNSPECIFIED)) {
+      assertThat(EventBackpressurePolicy.isContinuous(TestEvent(category))).isFalse()
+    }
+  }
+
+  private class TestEvent(private val category: Int) : Event<TestEvent>(1, 1) {
+    override fun getEventName(): String = "topTest"
+
+    override fun getEventCategory(): Int = category
+  }
+}
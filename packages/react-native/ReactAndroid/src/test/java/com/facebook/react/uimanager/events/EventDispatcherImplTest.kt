@@ -0,0 +1,186 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package com.facebook.react.uimanager.events
+
+import android.os.Looper
+import android.util.DisplayMetrics
+import android.view.Choreographer.FrameCallback
+import com.facebook.react.bridge.Arguments
+import com.facebook.react.bridge.JavaOnlyMap
+import com.facebook.react.bridge.ReactApplicationContext
+import com.facebook.react.bridge.WritableMap
+import com.facebook.react.modules.core.ReactChoreographer
+import com.facebook.react.modules.core.ReactChoreographer.CallbackType
+import com.facebook.react.uimanager.DisplayMetricsHolder
+import com.facebook.react.uimanager.OnLayoutEvent
+import com.facebook.react.uimanager.common.UIManagerType
+import java.time.Duration
+import org.assertj.core.api.Assertions.assertThat
+import org.junit.After
+import org.junit.Before
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.mockito.ArgumentMatchers.any
+import org.mockito.ArgumentMatchers.anyBoolean
+import org.mockito.ArgumentMatchers.anyInt
+import org.mockito.ArgumentMatchers.eq
+import org.mockito.MockedStatic
+import org.mockito.Mockito.mock
+import org.mockito.Mockito.mockStatic
+import org.mockito.Mockito.`when` as whenever
+import org.robolectric.RobolectricTestRunner
+import org.robolectric.Shadows.shadowOf
+
+/** Tests for the backpressure handling of [EventDispatcherImpl] */
+@RunWith(RobolectricTestRunner::class)
+class EventDispatcherImplTest {
+
+  private lateinit var arguments: MockedStatic<Arguments>
+  private lateinit var reactChoreographer: MockedStatic<ReactChoreographer>
+  private lateinit var eventDispatcher: EventDispatcherImpl
+  private var frameCallback: FrameCallback? = null
+  private val jsQueue = ArrayDeque<Runnable>()
+  private val receivedEvents = mutableListOf<String>()
+
+  @Before
+  fun setup() {
+    arguments = mockStatic(Arguments::class.java)
+    arguments.`when`<WritableMap> { Arguments.createMap() }.thenAnswer { JavaOnlyMap() }
+    DisplayMetricsHolder.setWindowDisplayMetrics(DisplayMetrics().apply { density = 1f })
+
+    val reactChoreographerMock = mock(ReactChoreographer::class.java)
+    reactChoreographer = mockStatic(ReactChoreographer::class.java)
+    reactChoreographer
+        .`when`<ReactChoreographer> { ReactChoreographer.getInstance() }
+        .thenAnswer { reactChoreographerMock }
+    whenever(
+            reactChoreographerMock.postFrameCallback(
+                eq(CallbackType.TIMERS_EVENTS), any(FrameCallback::class.java)))
+        .thenAnswer { frameCallback = it.arguments[1] as FrameCallback }
+
+    val reactContext = mock(ReactApplicationContext::class.java)
+    whenever(reactContext.isOnUiQueueThread).thenReturn(true)
+    whenever(reactContext.runOnJSQueueThread(any(Runnable::class.java))).thenAnswer {
+      jsQueue.add(it.arguments[0] as Runnable)
+    }
+
+    val eventEmitter = mock(RCTModernEventEmitter::class.java)
+    whenever(
+            eventEmitter.receiveEvent(
+                anyInt(),
+                anyInt(),
+                any(String::class.java),
+                anyBoolean(),
+                anyInt(),
+                any(),
+                anyInt()))
+        .thenAnswer { receivedEvents.add(it.arguments[2] as String) }
+
+    eventDispatcher = EventDispatcherImpl(reactContext)
+    eventDispatcher.setBackpressurePolicy(EventBackpressurePolicy(DROP_LATENCY_MS, 2))
+    eventDispatcher.registerEventEmitter(UIManagerType.FABRIC, eventEmitter)
+  }
+
+  @After
+  fun tearDown() {
+    DisplayMetricsHolder.setWindowDisplayMetrics(null)
+    arguments.close()
+    reactChoreographer.close()
+  }
+
+  @Test
+  fun testNothingIsDroppedWhileJSKeepsUp() {
+    repeat(5) { eventDispatcher.dispatchEvent(TestEvent(EventCategoryDef.CONTINUOUS)) }
+    runFrame()
+    runJSQueue()
+
+    assertThat(receivedEvents).hasSize(5)
+    assertThat(eventDispatcher.droppedEventCount).isEqualTo(0)
+  }
+
+  @Test
+  fun testContinuousEventsAreDroppedWhileJSIsBehind() {
+    makeJSFallBehind()
+
+    repeat(4) { eventDispatcher.dispatchEvent(TestEvent(EventCategoryDef.CONTINUOUS)) }
+    runFrame()
+    runJSQueue()
+
+    // One event was already pending, so only one more fits under the limit of 2
+    assertThat(receivedEvents).hasSize(2)
+    assertThat(eventDispatcher.droppedEventCount).isEqualTo(3)
+  }
+
+  @Test
+  fun testDiscreteLayoutAndContentSizeEventsAreNotDropped() {
+    makeJSFallBehind()
+
+    repeat(3) { eventDispatcher.dispatchEvent(TestEvent(EventCategoryDef.CONTINUOUS)) }
+    eventDispatcher.dispatchEvent(TestEvent(EventCategoryDef.DISCRETE))
+    eventDispatcher.dispatchEvent(OnLayoutEvent.obtain(SURFACE_ID, 4, 0, 0, 10, 10))
+    eventDispatcher.dispatchEvent(ContentSizeChangeEvent(SURFACE_ID, 6, 10, 10))
+    runFrame()
+    runJSQueue()
+
+    assertThat(receivedEvents)
+        .containsOnlyOnce("topLayout", ContentSizeChangeEvent.EVENT_NAME, DISCRETE_EVENT_NAME)
+    assertThat(receivedEvents.count { it == CONTINUOUS_EVENT_NAME }).isEqualTo(2)
+    assertThat(eventDispatcher.droppedEventCount).isEqualTo(2)
+  }
+
+  @Test
+  fun testCoalescedEventsAreCounted() {
+    makeJSFallBehind()
+
+    eventDispatcher.dispatchEvent(OnLayoutEvent.obtain(SURFACE_ID, 4, 0, 0, 10, 10))
+    eventDispatcher.dispatchEvent(OnLayoutEvent.obtain(SURFACE_ID, 4, 0, 0, 20, 20))
+    eventDispatcher.dispatchEvent(OnLayoutEvent.obtain(SURFACE_ID, 4, 0, 0, 30, 30))
+    runFrame()
+    runJSQueue()
+
+    assertThat(receivedEvents.count { it == "topLayout" }).isEqualTo(1)
+    assertThat(eventDispatcher.coalescedEventCount).isEqualTo(2)
+    assertThat(eventDispatcher.droppedEventCount).isEqualTo(0)
+  }
+
+  /** Leaves a batch with one continuous event waiting on the JS thread for too long. */
+  private fun makeJSFallBehind() {
+    eventDispatcher.dispatchEvent(TestEvent(EventCategoryDef.CONTINUOUS))
+    runFrame()
+    shadowOf(Looper.getMainLooper()).idleFor(Duration.ofMillis(DROP_LATENCY_MS + 100))
+  }
+
+  private fun runFrame() {
+    checkNotNull(frameCallback).doFrame(0)
+  }
+
+  private fun runJSQueue() {
+    while (jsQueue.isNotEmpty()) {
+      jsQueue.removeFirst().run()
+    }
+  }
+
+  private class TestEvent(private val category: Int) : Event<TestEvent>(SURFACE_ID, 2) {
+    override fun getEventName(): String =
+        if (category == EventCategoryDef.CONTINUOUS) CONTINUOUS_EVENT_NAME
+        else DISCRETE_EVENT_NAME
+
+    override fun canCoalesce(): Boolean = false
+
+    override fun getEventCategory(): Int = category
+
+    override fun getEventData(): WritableMap? = null
+  }
+
+  private companion object {
+    const val SURFACE_ID = 1
+    const val DROP_LATENCY_MS = 200L
+    const val CONTINUOUS_EVENT_NAME = "topContinuous"
+    const val DISCRETE_EVENT_NAME = "topDiscrete"
+  }
+}
@@ -0,0 +1,153 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package com.facebook.react.uimanager.events
+
+import com.facebook.react.views.scroll.ScrollEvent
+import com.facebook.react.views.scroll.ScrollEventType
+import com.facebook.react.views.textinput.ReactTextChangedEvent
+import java.util.Collections
+import java.util.IdentityHashMap
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicBoolean
+import org.assertj.core.api.Assertions.assertThat
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.robolectric.RobolectricTestRunner
+
+/** Tests for [EventPool] */
+@RunWith(RobolectricTestRunner::class)
+class EventPoolTest {
+
+  @Test
+  fun testReleasedEventsAreReused() {
+    val pool = EventPool(2, { TestEvent() }, false)
+
+    val first = pool.acquire()
+    pool.release(first)
+
+    assertThat(pool.acquire()).isSameAs(first)
+    assertThat(pool.getAllocationCount()).isEqualTo(1)
+  }
+
+  @Test
+  fun testEventsAreDroppedWhenThePoolIsFull() {
+    val pool = EventPool(1, { TestEvent() }, false)
+    val first = pool.acquire()
+    val second = pool.acquire()
+
+    pool.release(first)
+    pool.release(second)
+
+    assertThat(pool.acquire()).isSameAs(first)
+    assertThat(pool.acquire()).isNotSameAs(second)
+    assertThat(pool.getAllocationCount()).isEqualTo(3)
+  }
+
+  @Test(expected = IllegalStateException::class)
+  fun testDoubleReleaseThrows() {
+    val pool = EventPool(2, { TestEvent() }, false)
+    val event = pool.acquire()
+
+    pool.release(event)
+    pool.release(event)
+  }
+
+  @Test
+  fun testConcurrentAcquireNeverHandsOutTheSameEventTwice() {
+    val pool = EventPool(4, { TestEvent() }, false)
+    val inUse = Collections.synchronizedSet(identitySet<TestEvent>())
+    val failed = AtomicBoolean(false)
+    val done = CountDownLatch(THREADS)
+
+    repeat(THREADS) {
+      Thread {
+            repeat(1000) {
+              val event = pool.acquire()
+              if (!inUse.add(event)) {
+                failed.set(true)
+              }
+              inUse.remove(event)
+              pool.release(event)
+            }
+            done.countDown()
+          }
+          .start()
+    }
+
+    assertThat(done.await(10, TimeUnit.SECONDS)).isTrue()
+    assertThat(failed.get()).isFalse()
+  }
+
+  @Test
+  fun testLeakedEventsAreReported() {
+    val pool = EventPool(2, { TestEvent() }, true)
+    val released = pool.acquire()
+    val leaked = pool.acquire()
+    pool.release(released)
+
+    // Only the event that is never released leaks
+    pool.onGarbageCollected(released)
+    pool.onGarbageCollected(leaked)
+
+    assertThat(pool.getLeakCount()).isEqualTo(1)
+  }
+
+  @Test
+  fun testScrollingReusesEvents() {
+    val events = identitySet<ScrollEvent>()
+
+    repeat(1000) {
+      val event =
+          ScrollEvent.obtain(
+              1, 2, ScrollEventType.SCROLL, 0f, it.toFloat(), 0f, 0f, 100, 1000, 100, 100, false)
+      events.add(event)
+      event.dispose()
+    }
+
+    // The pools are shared with the rest of the process, so at most every slot was allocated
+    assertThat(events.size).isLessThanOrEqualTo(SCROLL_EVENTS_POOL_SIZE)
+  }
+
+  @Test
+  fun testTypingReusesEvents() {
+    val events = identitySet<ReactTextChangedEvent>()
+
+    repeat(1000) {
+      val event = ReactTextChangedEvent.obtain(1, 2, "a".repeat(it % 10), it)
+      events.add(event)
+      event.dispose()
+    }
+
+    assertThat(events.size).isLessThanOrEqualTo(TEXT_CHANGED_EVENTS_POOL_SIZE)
+  }
+
+  @Test
+  fun testConstructedTypingEventsAreNotPooled() {
+    val constructed = ReactTextChangedEvent(1, 2, "a", 0)
+    constructed.dispose()
+    constructed.dispose()
+
+    repeat(TEXT_CHANGED_EVENTS_POOL_SIZE + 1) {
+      assertThat(ReactTextChangedEvent.obtain(1, 2, "b", it)).isNotSameAs(constructed)
+    }
+  }
+
+  private fun <T> identitySet(): MutableSet<T> =
+      Collections.newSetFromMap(IdentityHashMap<T, Boolean>())
+
+  private class TestEvent : Event<TestEvent>() {
+    override fun getEventName(): String = "topTest"
+  }
+
+  private companion object {
+    const val THREADS = 4
+    const val SCROLL_EVENTS_POOL_SIZE = 3
+    const val TEXT_CHANGED_EVENTS_POOL_SIZE = 4
+  }
+}
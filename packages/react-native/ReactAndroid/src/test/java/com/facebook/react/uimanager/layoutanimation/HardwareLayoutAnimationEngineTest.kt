@@ -0,0 +1,219 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package com.facebook.react.uimanager.layoutanimation
+
+import android.app.Activity
+import android.os.Looper
+import android.view.View
+import android.widget.FrameLayout
+import com.facebook.react.bridge.JavaOnlyMap
+import org.assertj.core.api.Assertions.assertThat
+import org.junit.Before
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.robolectric.Robolectric
+import org.robolectric.RobolectricTestRunner
+import org.robolectric.Shadows.shadowOf
+
+@RunWith(RobolectricTestRunner::class)
+class HardwareLayoutAnimationEngineTest {
+
+  private lateinit var engine: HardwareLayoutAnimationEngine
+  private lateinit var view: View
+
+  @Before
+  fun setup() {
+    val activity = Robolectric.buildActivity(Activity::class.java).setup().get()
+    val root = FrameLayout(activity)
+    view = View(activity)
+    view.id = 42
+    root.addView(view, FrameLayout.LayoutParams(100, 100))
+    activity.setContentView(root)
+    shadowOf(Looper.getMainLooper()).idle()
+    view.layout(0, 0, 100, 100)
+    engine = HardwareLayoutAnimationEngine()
+  }
+
+  @Test
+  fun testMoveAnimatesTranslation() {
+    val duration = engine.start(view, createUpdateAnimation(), 50, 0, 100, 100, null)
+
+    assertThat(duration).isEqualTo(DURATION_MS.toLong())
+    // The view gets its final layout right away and is moved back with its translation
+    assertThat(view.left).isEqualTo(50)
+    assertThat(view.translationX).isEqualTo(-50f)
+    assertThat(engine.getLayoutHandler(view.id)).isNotNull()
+
+    engine.doFrame(START_NANOS)
+    engine.doFrame(START_NANOS + DURATION_NANOS / 2)
+    assertThat(view.translationX).isEqualTo(-25f)
+
+    engine.doFrame(START_NANOS + DURATION_NANOS)
+    assertThat(view.translationX).isEqualTo(0f)
+    assertThat(view.left).isEqualTo(50)
+    assertThat(engine.getLayoutHandler(view.id)).isNull()
+  }
+
+  @Test
+  fun testResizeLaysOutTheViewOnEveryFrame() {
+    engine.start(view, createUpdateAnimation(), 0, 0, 200, 100, null)
+    assertThat(view.width).isEqualTo(100)
+
+    engine.doFrame(START_NANOS)
+    engine.doFrame(START_NANOS + DURATION_NANOS / 2)
+    assertThat(view.width).isEqualTo(150)
+
+    engine.doFrame(START_NANOS + DURATION_NANOS)
+    assertThat(view.width).isEqualTo(200)
+  }
+
+  @Test
+  fun testLayoutUpdateDuringAMoveContinuesFromTheCurrentPosition() {
+    engine.start(view, createUpdateAnimation(), 50, 0, 100, 100, null)
+    engine.doFrame(START_NANOS)
+    engine.doFrame(START_NANOS + DURATION_NANOS / 2)
+
+    // The view is drawn at x = 25
+    engine.getLayoutHandler(view.id)!!.onLayoutUpdate(75, 0, 100, 100)
+    assertThat(view.left).isEqualTo(75)
+    assertThat(view.left + view.translationX).isEqualTo(25f)
+
+    engine.doFrame(START_NANOS + DURATION_NANOS)
+    assertThat(view.left + view.translationX).isEqualTo(75f)
+  }
+
+  @Test
+  fun testDeleteFadesTheViewOutAndCallsTheListener() {
+    var ended = false
+    engine.start(
+        view,
+        createAnimation(LayoutDeleteAnimation(), "opacity"),
+        0,
+        0,
+        100,
+        100,
+        LayoutAnimationListener { ended = true })
+    assertThat(view.layerType).isEqualTo(View.LAYER_TYPE_HARDWARE)
+
+    engine.doFrame(START_NANOS)
+    engine.doFrame(START_NANOS + DURATION_NANOS / 2)
+    assertThat(view.alpha).isEqualTo(0.5f)
+    assertThat(ended).isFalse()
+
+    engine.doFrame(START_NANOS + DURATION_NANOS)
+    assertThat(view.alpha).isEqualTo(0f)
+    assertThat(view.layerType).isEqualTo(View.LAYER_TYPE_NONE)
+    assertThat(ended).isTrue()
+  }
+
+  @Test
+  fun testCreateScalesOnTopOfTheTransformOfTheView() {
+    view.scaleX = 2f
+    engine.start(view, createAnimation(LayoutCreateAnimation(), "scaleXY"), 0, 0, 100, 100, null)
+    assertThat(view.scaleX).isEqualTo(0f)
+
+    engine.doFrame(START_NANOS)
+    engine.doFrame(START_NANOS + DURATION_NANOS / 2)
+    assertThat(view.scaleX).isEqualTo(1f)
+    assertThat(view.scaleY).isEqualTo(0.5f)
+
+    engine.doFrame(START_NANOS + DURATION_NANOS)
+    assertThat(view.scaleX).isEqualTo(2f)
+    assertThat(view.scaleY).isEqualTo(1f)
+  }
+
+  @Test
+  fun testTranslationSetDuringAMoveIsAnimatedFrom() {
+    engine.start(view, createUpdateAnimation(), 50, 0, 100, 100, null)
+    engine.doFrame(START_NANOS)
+    engine.doFrame(START_NANOS + DURATION_NANOS / 2)
+
+    // As with a transform prop update, or the native driver
+    view.translationX = 10f
+    engine.doFrame(START_NANOS + DURATION_NANOS * 3 / 4)
+    assertThat(view.translationX).isEqualTo(10f - 50f / 4)
+
+    engine.doFrame(START_NANOS + DURATION_NANOS)
+    assertThat(view.translationX).isEqualTo(10f)
+  }
+
+  @Test
+  fun testScaleSetDuringACreateIsAnimatedTo() {
+    engine.start(view, createAnimation(LayoutCreateAnimation(), "scaleXY"), 0, 0, 100, 100, null)
+    engine.doFrame(START_NANOS)
+    engine.doFrame(START_NANOS + DURATION_NANOS / 2)
+
+    view.scaleX = 4f
+    engine.doFrame(START_NANOS + DURATION_NANOS * 3 / 4)
+    assertThat(view.scaleX).isEqualTo(3f)
+    assertThat(view.scaleY).isEqualTo(0.75f)
+
+    engine.doFrame(START_NANOS + DURATION_NANOS)
+    assertThat(view.scaleX).isEqualTo(4f)
+    assertThat(view.scaleY).isEqualTo(1f)
+  }
+
+  @Test
+  fun testDeletingAViewAgainOnlyCallsTheLastListener() {
+    val ended = mutableListOf<String>()
+    val deleteAnimation = createAnimation(LayoutDeleteAnimation(), "opacity")
+    engine.start(
+        view, deleteAnimation, 0, 0, 100, 100, LayoutAnimationListener { ended.add("first") })
+    engine.doFrame(START_NANOS)
+    engine.doFrame(START_NANOS + DURATION_NANOS / 2)
+
+    engine.start(
+        view, deleteAnimation, 0, 0, 100, 100, LayoutAnimationListener { ended.add("second") })
+    assertThat(ended).isEmpty()
+
+    engine.doFrame(START_NANOS + DURATION_NANOS)
+    engine.doFrame(START_NANOS + DURATION_NANOS * 3 / 2)
+    assertThat(ended).isEmpty()
+    engine.doFrame(START_NANOS + DURATION_NANOS * 2)
+    assertThat(ended).containsExactly("second")
+    assertThat(view.alpha).isEqualTo(0f)
+  }
+
+  @Test
+  fun testFramesMissedWhileAnimatingAreReported() {
+    val frameIntervalNanos = 1_000_000_000L / 60
+    val animatedFrames = HardwareLayoutAnimationEngine.getAnimatedFrameCount()
+    val droppedFrames = HardwareLayoutAnimationEngine.getDroppedFrameCount()
+    engine.start(view, createUpdateAnimation(), 50, 0, 100, 100, null)
+
+    engine.doFrame(START_NANOS)
+    engine.doFrame(START_NANOS + frameIntervalNanos)
+    // Two frames are skipped
+    engine.doFrame(START_NANOS + frameIntervalNanos * 4)
+
+    assertThat(HardwareLayoutAnimationEngine.getAnimatedFrameCount() - animatedFrames)
+        .isEqualTo(3)
+    assertThat(HardwareLayoutAnimationEngine.getDroppedFrameCount() - droppedFrames).isEqualTo(2)
+  }
+
+  private fun createUpdateAnimation(): AbstractLayoutAnimation {
+    val animation = LayoutUpdateAnimation()
+    animation.initializeFromConfig(JavaOnlyMap.of("type", "linear"), DURATION_MS)
+    return animation
+  }
+
+  private fun createAnimation(
+      animation: AbstractLayoutAnimation,
+      property: String
+  ): AbstractLayoutAnimation {
+    animation.initializeFromConfig(
+        JavaOnlyMap.of("type", "linear", "property", property), DURATION_MS)
+    return animation
+  }
+
+  private companion object {
+    const val DURATION_MS = 100
+    const val DURATION_NANOS = DURATION_MS * 1_000_000L
+    const val START_NANOS = 1_000_000_000L
+  }
+}
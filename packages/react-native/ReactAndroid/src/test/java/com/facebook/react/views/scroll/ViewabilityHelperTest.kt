@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package com.facebook.react.views.scroll
+
+import android.view.View
+import android.widget.FrameLayout
+import org.assertj.core.api.Assertions.assertThat
+import org.junit.Before
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.robolectric.RobolectricTestRunner
+import org.robolectric.RuntimeEnvironment
+
+/** Tests for [ViewabilityHelper] */
+@RunWith(RobolectricTestRunner::class)
+class ViewabilityHelperTest {
+
+  private lateinit var scrollView: FrameLayout
+  private lateinit var contentView: FrameLayout
+
+  @Before
+  fun setup() {
+    val context = RuntimeEnvironment.getApplication()
+    scrollView = FrameLayout(context)
+    contentView = FrameLayout(context)
+    scrollView.addView(contentView)
+    scrollView.layout(0, 0, 100, VIEWPORT_HEIGHT)
+    contentView.layout(0, 0, 100, ITEM_COUNT * ITEM_HEIGHT)
+    for (i in 0 until ITEM_COUNT) {
+      val item = View(context)
+      item.id = tagOf(i)
+      contentView.addView(item)
+      item.layout(0, i * ITEM_HEIGHT, 100, (i + 1) * ITEM_HEIGHT)
+    }
+  }
+
+  @Test
+  fun testOnlyItemsAboveThresholdAreViewable() {
+    val helper = ViewabilityHelper(scrollView, false, ViewabilityHelper.Config(60, 0))
+
+    // The viewport covers items 0 and 1 fully and 60% of item 2
+    scrollView.scrollTo(0, 0)
+    helper.update(0)
+    assertThat(viewableItems(helper)).containsExactly(0, 1, 2)
+
+    // Now half of item 1, items 2 and 3, and 10% of item 4 are in view
+    scrollView.scrollTo(0, 150)
+    helper.update(16)
+    assertThat(viewableItems(helper)).containsExactly(2, 3)
+  }
+
+  @Test
+  fun testItemsHaveToStayVisibleForMinimumViewTime() {
+    val helper = ViewabilityHelper(scrollView, false, ViewabilityHelper.Config(0, 500))
+
+    helper.update(0)
+    assertThat(viewableItems(helper)).isEmpty()
+
+    helper.update(499)
+    assertThat(viewableItems(helper)).isEmpty()
+
+    helper.update(500)
+    assertThat(viewableItems(helper)).containsExactly(0, 1, 2)
+
+    // Item 3 scrolls in but leaves again before it counts as viewable
+    scrollView.scrollTo(0, 50)
+    helper.update(600)
+    scrollView.scrollTo(0, 0)
+    helper.update(1200)
+    assertThat(viewableItems(helper)).containsExactly(0, 1, 2)
+  }
+
+  @Test
+  fun testIndexIsRebuiltAfterContentLayout() {
+    val helper = ViewabilityHelper(scrollView, false, ViewabilityHelper.Config(0, 0))
+    scrollView.scrollTo(0, ITEM_HEIGHT * 10)
+    helper.update(0)
+    assertThat(viewableItems(helper)).containsExactly(10, 11, 12)
+
+    // Move the last item to the top of the viewport
+    contentView.getChildAt(ITEM_COUNT - 1).layout(0, ITEM_HEIGHT * 10, 100, ITEM_HEIGHT * 11)
+    helper.update(16)
+    assertThat(viewableItems(helper)).containsExactly(10, 11, 12)
+
+    helper.onContentLayoutChanged()
+    helper.update(32)
+    assertThat(viewableItems(helper)).containsExactly(10, 11, 12, ITEM_COUNT - 1)
+  }
+
+  private fun viewableItems(helper: ViewabilityHelper): List<Int> =
+      (0 until ITEM_COUNT).filter { helper.isViewable(tagOf(it)) }
+
+  private fun tagOf(index: Int): Int = index + 1
+
+  private companion object {
+    const val ITEM_COUNT = 50
+    const val ITEM_HEIGHT = 100
+    const val VIEWPORT_HEIGHT = 260
+  }
+}
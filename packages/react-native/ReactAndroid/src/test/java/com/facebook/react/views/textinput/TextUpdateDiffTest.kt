@@ -0,0 +1,203 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package com.facebook.react.views.textinput
+
+import android.graphics.Color
+import android.text.Editable
+import android.text.Layout
+import android.text.SpanWatcher
+import android.text.Spannable
+import android.text.SpannableString
+import android.text.Spanned
+import android.text.TextWatcher
+import android.util.DisplayMetrics
+import android.view.Gravity
+import androidx.core.content.res.ResourcesCompat.ID_NULL
+import com.facebook.react.bridge.BridgeReactContext
+import com.facebook.react.bridge.ReactTestHelper.createMockCatalystInstance
+import com.facebook.react.config.ReactFeatureFlags
+import com.facebook.react.uimanager.DisplayMetricsHolder
+import com.facebook.react.uimanager.ThemedReactContext
+import com.facebook.react.views.text.ReactTextUpdate
+import com.facebook.react.views.text.internal.span.ReactForegroundColorSpan
+import com.facebook.react.views.text.internal.span.ReactSpan
+import org.assertj.core.api.Assertions.assertThat
+import org.junit.After
+import org.junit.Before
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.robolectric.RobolectricTestRunner
+import org.robolectric.RuntimeEnvironment
+
+/** Tests for [TextUpdateDiff] and the incremental text updates of [ReactEditText] */
+@RunWith(RobolectricTestRunner::class)
+class TextUpdateDiffTest {
+
+  private lateinit var view: ReactEditText
+
+  @Before
+  fun setup() {
+    val context = BridgeReactContext(RuntimeEnvironment.getApplication())
+    context.initializeWithInstance(createMockCatalystInstance())
+    val themedContext = ThemedReactContext(context, context.baseContext, null, ID_NULL)
+    DisplayMetricsHolder.setWindowDisplayMetrics(DisplayMetrics())
+    view = ReactTextInputManager().createViewInstance(themedContext)
+  }
+
+  @After
+  fun tearDown() {
+    ReactFeatureFlags.enableIncrementalTextInputUpdates = false
+  }
+
+  @Test
+  fun testInsertion() {
+    val diff = TextUpdateDiff.compute("hello world", "hello, world")
+    assertThat(diff.start).isEqualTo(5)
+    assertThat(diff.oldEnd).isEqualTo(5)
+    assertThat(diff.newEnd).isEqualTo(6)
+  }
+
+  @Test
+  fun testDeletion() {
+    val diff = TextUpdateDiff.compute("hello world", "hello")
+    assertThat(diff.start).isEqualTo(5)
+    assertThat(diff.oldEnd).isEqualTo(11)
+    assertThat(diff.newEnd).isEqualTo(5)
+  }
+
+  @Test
+  fun testRepeatedCharacters() {
+    val diff = TextUpdateDiff.compute("aa", "aaa")
+    assertThat(diff.start).isEqualTo(2)
+    assertThat(diff.oldEnd).isEqualTo(2)
+    assertThat(diff.newEnd).isEqualTo(3)
+  }
+
+  @Test
+  fun testSameText() {
+    assertThat(TextUpdateDiff.compute("hello", "hello").isEmpty).isTrue()
+    assertThat(TextUpdateDiff.compute("hello", "hallo").isEmpty).isFalse()
+  }
+
+  @Test
+  fun testSpansWithTheSameAttributesAreTheSame() {
+    assertThat(
+            TextUpdateDiff.isSameSpan(
+                ReactForegroundColorSpan(Color.RED), ReactForegroundColorSpan(Color.RED)))
+        .isTrue()
+    assertThat(
+            TextUpdateDiff.isSameSpan(
+                ReactForegroundColorSpan(Color.RED), ReactForegroundColorSpan(Color.BLUE)))
+        .isFalse()
+  }
+
+  @Test
+  fun testTypingInALargeTextOnlyReplacesTheTypedCharacter() {
+    ReactFeatureFlags.enableIncrementalTextInputUpdates = true
+    val changes = typeAtTheEndOfALargeText()
+
+    assertThat(changes.textChanges).containsExactly(Triple(LARGE_TEXT_LENGTH, 0, 1))
+    assertThat(changes.spansAdded).isEqualTo(0)
+    assertThat(changes.spansRemoved).isEqualTo(0)
+    assertThat(view.text.toString()).isEqualTo("a".repeat(LARGE_TEXT_LENGTH) + "b")
+    val spans = view.text.getSpans(0, view.text.length, ReactForegroundColorSpan::class.java)
+    assertThat(spans).hasSize(1)
+    assertThat(view.text.getSpanEnd(spans[0])).isEqualTo(LARGE_TEXT_LENGTH + 1)
+  }
+
+  @Test
+  fun testTypingInALargeTextReplacesTheWholeTextWhenDisabled() {
+    val changes = typeAtTheEndOfALargeText()
+
+    assertThat(changes.textChanges)
+        .containsExactly(Triple(0, LARGE_TEXT_LENGTH, LARGE_TEXT_LENGTH + 1))
+    assertThat(changes.spansAdded).isEqualTo(1)
+    assertThat(changes.spansRemoved).isEqualTo(1)
+  }
+
+  @Test
+  fun testChangedSpansAreReplaced() {
+    ReactFeatureFlags.enableIncrementalTextInputUpdates = true
+    view.maybeSetText(createUpdate("hello", Color.RED))
+    view.maybeSetText(createUpdate("hello", Color.BLUE))
+
+    val spans = view.text.getSpans(0, view.text.length, ReactForegroundColorSpan::class.java)
+    assertThat(spans).hasSize(1)
+    assertThat(spans[0].foregroundColor).isEqualTo(Color.BLUE)
+  }
+
+  private class Changes {
+    val textChanges = mutableListOf<Triple<Int, Int, Int>>()
+    var spansAdded = 0
+    var spansRemoved = 0
+  }
+
+  private fun typeAtTheEndOfALargeText(): Changes {
+    val text = "a".repeat(LARGE_TEXT_LENGTH)
+    view.maybeSetText(createUpdate(text, Color.RED))
+
+    val changes = Changes()
+    view.addTextChangedListener(
+        object : TextWatcher {
+          override fun beforeTextChanged(s: CharSequence, start: Int, count: Int, after: Int) =
+              Unit
+
+          override fun onTextChanged(s: CharSequence, start: Int, before: Int, count: Int) {
+            changes.textChanges.add(Triple(start, before, count))
+          }
+
+          override fun afterTextChanged(s: Editable) = Unit
+        })
+    view.text.setSpan(
+        object : SpanWatcher {
+          override fun onSpanAdded(text: Spannable, what: Any, start: Int, end: Int) {
+            if (what is ReactSpan) {
+              changes.spansAdded++
+            }
+          }
+
+          override fun onSpanRemoved(text: Spannable, what: Any, start: Int, end: Int) {
+            if (what is ReactSpan) {
+              changes.spansRemoved++
+            }
+          }
+
+          override fun onSpanChanged(
+              text: Spannable,
+              what: Any,
+              ostart: Int,
+              oend: Int,
+              nstart: Int,
+              nend: Int
+          ) = Unit
+        },
+        0,
+        text.length,
+        Spanned.SPAN_INCLUSIVE_INCLUSIVE)
+
+    view.maybeSetText(createUpdate(text + "b", Color.RED))
+    return changes
+  }
+
+  private fun createUpdate(text: String, color: Int): ReactTextUpdate {
+    val spannable = SpannableString(text)
+    spannable.setSpan(
+        ReactForegroundColorSpan(color), 0, text.length, Spanned.SPAN_INCLUSIVE_INCLUSIVE)
+    return ReactTextUpdate(
+        spannable,
+        0,
+        false,
+        Gravity.NO_GRAVITY,
+        Layout.BREAK_STRATEGY_HIGH_QUALITY,
+        Layout.JUSTIFICATION_MODE_NONE)
+  }
+
+  private companion object {
+    const val LARGE_TEXT_LENGTH = 10_000
+  }
+}
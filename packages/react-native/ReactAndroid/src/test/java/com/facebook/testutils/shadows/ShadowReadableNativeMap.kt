@@ -0,0 +1,55 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package com.facebook.testutils.shadows
+
+import com.facebook.react.bridge.ReadableArray
+import com.facebook.react.bridge.ReadableNativeMap
+import com.facebook.react.bridge.ReadableType
+import org.robolectric.annotation.Implementation
+import org.robolectric.annotation.Implements
+import org.robolectric.shadow.api.Shadow
+
+// Serves the native import of ReadableNativeMap from a plain Kotlin map
+@Implements(ReadableNativeMap::class)
+public class ShadowReadableNativeMap {
+  public var contents: Map<String, Any?> = emptyMap()
+
+  @Implementation
+  protected fun importEntries(): Array<Any> {
+    val keys = contents.keys.toTypedArray()
+    val types = ByteArray(keys.size)
+    val numbers = DoubleArray(keys.size)
+    val objects = arrayOfNulls<Any>(keys.size)
+    keys.forEachIndexed { i, key ->
+      val value = contents[key]
+      val type =
+          when (value) {
+            null -> ReadableType.Null
+            is Boolean -> ReadableType.Boolean
+            is Number -> ReadableType.Number
+            is String -> ReadableType.String
+            is ReadableNativeMap -> ReadableType.Map
+            is ReadableArray -> ReadableType.Array
+            else -> throw IllegalArgumentException("Unsupported value $value")
+          }
+      types[i] = type.ordinal.toByte()
+      when (value) {
+        is Boolean -> numbers[i] = if (value) 1.0 else 0.0
+        is Number -> numbers[i] = value.toDouble()
+        else -> objects[i] = value
+      }
+    }
+    return arrayOf(keys, types, numbers, objects)
+  }
+
+  public companion object {
+    public fun setContents(map: ReadableNativeMap, contents: Map<String, Any?>) {
+      (Shadow.extract(map) as ShadowReadableNativeMap).contents = contents
+    }
+  }
+}
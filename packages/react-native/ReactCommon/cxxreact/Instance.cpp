@@ -246,6 +246,11 @@ void Instance::callJSCallback(uint64_t callbackId, folly::dynamic&& params) {
   nativeToJsBridge_->invokeCallback((double)callbackId, std::move(params));
 }
 
+void Instance::callJSBatchSync(folly::dynamic&& calls) {
+  SystraceSection s("Instance::callJSBatchSync");
+  nativeToJsBridge_->callBatchSync(std::move(calls));
+}
+
 void Instance::registerBundle(
     uint32_t bundleId,
     const std::string& bundlePath) {
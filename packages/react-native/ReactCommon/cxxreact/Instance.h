@@ -81,6 +81,8 @@ class RN_EXPORT Instance : private jsinspector_modern::InstanceTargetDelegate {
       std::string&& method,
       folly::dynamic&& params);
   void callJSCallback(uint64_t callbackId, folly::dynamic&& params);
+  // See NativeToJsBridge::callBatchSync. The caller counts the calls as pending
+  void callJSBatchSync(folly::dynamic&& calls);
 
   // This method is experimental, and may be modified or removed.
   void registerBundle(uint32_t bundleId, const std::string& bundlePath);
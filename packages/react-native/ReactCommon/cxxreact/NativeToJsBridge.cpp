@@ -237,6 +237,35 @@ void NativeToJsBridge::invokeCallback(
       });
 }
 
+void NativeToJsBridge::callBatchSync(folly::dynamic&& calls) {
+  if (*m_destroyed) {
+    return;
+  }
+
+  std::shared_ptr<bool> isDestroyed = m_destroyed;
+  m_executorMessageQueueThread->runOnQueueSync([this, isDestroyed, &calls] {
+    if (*isDestroyed) {
+      return;
+    }
+    if (m_applicationScriptHasFailure) {
+      LOG(ERROR) << "Attempting to call JS batch on a bad application bundle";
+      throw std::runtime_error(
+          "Attempting to call JS batch on a bad application bundle.");
+    }
+
+    SystraceSection s("NativeToJsBridge::callBatchSync");
+    // The executor is valid for the same reasons as in runOnExecutorQueue
+    for (const auto& call : calls) {
+      if (call.size() == 3) {
+        m_executor->callFunction(
+            call[0].getString(), call[1].getString(), call[2]);
+      } else {
+        m_executor->invokeCallback(call[0].asDouble(), call[1]);
+      }
+    }
+  });
+}
+
 void NativeToJsBridge::registerBundle(
     uint32_t bundleId,
     const std::string& bundlePath) {
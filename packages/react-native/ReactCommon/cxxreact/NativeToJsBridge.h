@@ -64,6 +64,14 @@ class NativeToJsBridge {
    */
   void invokeCallback(double callbackId, folly::dynamic&& args);
 
+  /**
+   * Makes a batch of calls in JS, in order. Each is either a function call,
+   * [module, method, args], or a callback invocation, [cbID, args]. When
+   * called on the JS thread the calls are made before this returns, instead of
+   * being queued one by one.
+   */
+  void callBatchSync(folly::dynamic&& calls);
+
   /**
    * Sets global variables in the JS Context.
    */
@@ -28,6 +28,28 @@ export interface Spec extends TurboModule {
   ) => void;
   +abortRequest: (requestId: number) => void;
   +clearCookies: (callback: (result: boolean) => void) => void;
+  +getRequestDeduplicationStats?: () => Promise<{|
+    deduplicatedRequests: number,
+    memoryCacheHits: number,
+    memoryCacheMisses: number,
+    memoryCacheSizeBytes: number,
+  |}>;
+  +getNetworkTelemetry?: () => Promise<{|
+    requests: number,
+    failedRequests: number,
+    requestBytes: number,
+    responseBytes: number,
+    phases: {
+      [phase: string]: {|
+        count: number,
+        sumMs: number,
+        maxMs: number,
+        p50Ms: number,
+        p90Ms: number,
+        p99Ms: number,
+      |},
+    },
+  |}>;
 
   // RCTEventEmitter
   +addListener: (eventName: string) => void;